@@ -0,0 +1,77 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.reader.BufferedLineSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Чтение и разбор строк: строка {@link String} на каждую строку лога (как у {@code Files.lines})
+ * против представлений в переиспользуемом буфере {@link BufferedLineSource}.
+ * Половина строк некорректна: для них представление не требует создания строк вовсе.
+ * Выделение памяти сравнивается с профилировщиком {@code gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LineReadBenchmark {
+
+    private static final int LINES = 10_000;
+
+    private final LogParser parser = new LogParser();
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        List<String> lines = new ArrayList<>(LogCorpus.validLines(LINES / 2));
+        lines.addAll(LogCorpus.invalidLines(LINES / 2));
+        data = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void readStrings(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                blackhole.consume(parser.parse(line));
+                line = reader.readLine();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void readViews(Blackhole blackhole) throws IOException {
+        try (BufferedLineSource source = new BufferedLineSource(new ByteArrayInputStream(data))) {
+            CharSequence line = source.nextLine();
+            while (line != null) {
+                blackhole.consume(parser.parse(line));
+                line = source.nextLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.reader.scan.ByteScanner;
+import backend.academy.log.analyzer.reader.scan.ByteScanners;
+import backend.academy.log.analyzer.reader.scan.ScalarByteScanner;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Поиск границ строк в байтах лога: последовательный перебор против блочного сравнения через Vector API.
+ * Результат - время на одну строку. Векторный вариант требует сборки с профилем {@code vector}
+ * ({@code mvn -P benchmarks,vector package}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class LineScanBenchmark {
+
+    private static final int LINES = 10_000;
+
+    @Param({"scalar", "vector"})
+    private String scanner;
+
+    private ByteScanner byteScanner;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        byteScanner = "vector".equals(scanner) ? ByteScanners.preferred() : new ScalarByteScanner();
+        if (byteScanner instanceof ScalarByteScanner && "vector".equals(scanner)) {
+            throw new IllegalStateException("The vector scanner is not built, use -P benchmarks,vector");
+        }
+        data = (String.join("\n", LogCorpus.validLines(LINES)) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public int splitLines() {
+        int lines = 0;
+        int position = 0;
+        int newline;
+        while ((newline = byteScanner.indexOf(data, position, data.length, (byte) '\n')) >= 0) {
+            lines++;
+            position = newline + 1;
+        }
+        return lines;
+    }
+}
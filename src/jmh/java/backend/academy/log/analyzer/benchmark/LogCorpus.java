@@ -0,0 +1,123 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.generator.GeneratorSettings;
+import backend.academy.log.analyzer.generator.LogGenerator;
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.parser.LogParser;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Синтетический корпус строк логов nginx для бенчмарков, построенный {@link LogGenerator}.
+ * Распределения полей приближены к реальным логам: популярность ресурсов по закону Ципфа,
+ * преобладание кода 200 и метода GET, несколько тысяч уникальных клиентов.
+ * Генерация детерминирована, поэтому результаты разных запусков сопоставимы.
+ */
+final class LogCorpus {
+
+    private static final long SEED = 42;
+
+    /**
+     * Расширенный формат из 15 переменных: combined и переменные, которые пишут наши серверы.
+     */
+    static final String EXTENDED_FORMAT = LogFormat.COMBINED + " $request_time \"$upstream_response_time\" $host "
+        + "\"$http_x_forwarded_for\" $upstream_addr $ssl_protocol $request_id";
+
+    private LogCorpus() {
+    }
+
+    /**
+     * Генерирует корректные строки логов.
+     *
+     * @param count количество строк
+     * @return строки логов
+     */
+    static List<String> validLines(int count) {
+        GeneratorSettings settings = GeneratorSettings.defaults()
+            .seed(SEED)
+            .lines(count)
+            .distinctIps(4096)
+            .build();
+        StringWriter writer = new StringWriter();
+        try {
+            new LogGenerator().generate(settings, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString().lines().toList();
+    }
+
+    /**
+     * Генерирует корректные строки в расширенном формате {@link #EXTENDED_FORMAT}:
+     * к строкам combined добавляются время ответа, адрес upstream, хост и другие переменные.
+     *
+     * @param count количество строк
+     * @return строки логов
+     */
+    static List<String> extendedLines(int count) {
+        Random random = new Random(SEED);
+        List<String> lines = new ArrayList<>(count);
+        for (String line : validLines(count)) {
+            lines.add(line + " 0." + random.nextInt(1000) + " \"0." + random.nextInt(1000) + "\" "
+                + "api" + random.nextInt(4) + ".example.com \"203.0.113." + random.nextInt(256) + "\" "
+                + "10.1.0." + random.nextInt(16) + ":8080 TLSv1.3 " + Long.toHexString(random.nextLong()));
+        }
+        return lines;
+    }
+
+    /**
+     * Генерирует строки, которые не соответствуют формату логов nginx: обрезанные строки
+     * и строки с поврежденными полями. Такие строки проверяют путь отказа парсера.
+     *
+     * @param count количество строк
+     * @return некорректные строки
+     */
+    static List<String> invalidLines(int count) {
+        Random random = new Random(SEED);
+        List<String> validLines = validLines(count);
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String line = validLines.get(i);
+            lines.add(switch (i % 3) {
+                case 0 -> line.substring(0, random.nextInt(line.length()));
+                case 1 -> line.replaceFirst("\" \\d{3} ", "\" OK ");
+                default -> line.replace("+0000", "UTC");
+            });
+        }
+        return lines;
+    }
+
+    /**
+     * Разбирает корректные строки в записи логов.
+     *
+     * @param count количество записей
+     * @return записи логов
+     */
+    static List<LogEntry> entries(int count) {
+        LogParser parser = new LogParser();
+        return validLines(count).stream()
+            .map(parser::parse)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Возвращает поток заданной длины, циклически повторяющий набор записей.
+     * Позволяет получать потоки из миллионов записей без хранения их всех в памяти.
+     *
+     * @param pool  набор записей
+     * @param count длина потока
+     * @return поток записей
+     */
+    static Stream<LogEntry> cycle(List<LogEntry> pool, int count) {
+        return IntStream.range(0, count).mapToObj(i -> pool.get(i % pool.size()));
+    }
+}
@@ -0,0 +1,72 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.filter.LogFilter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Пропускная способность фильтрации записей {@link LogFilter}:
+ * шаблон в том виде, в котором его строит обработчик логов (".*value.*"), точное значение без метасимволов
+ * и проверка диапазона дат.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFilterBenchmark {
+
+    private static final int ENTRIES = 10_000;
+
+    private static final LocalDate FROM = LocalDate.of(2015, 5, 17);
+
+    private static final LocalDate TO = LocalDate.of(2015, 5, 17);
+
+    private final LogFilter filter = new LogFilter();
+
+    private List<LogEntry> entries;
+
+    @Setup
+    public void setUp() {
+        entries = LogCorpus.entries(ENTRIES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public void matchesRegex(Blackhole blackhole) {
+        for (LogEntry entry : entries) {
+            blackhole.consume(filter.matches(entry, "http_user_agent", ".*Mozilla.*"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public void matchesLiteral(Blackhole blackhole) {
+        for (LogEntry entry : entries) {
+            blackhole.consume(filter.matches(entry, "status", "404"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public void withinDateRange(Blackhole blackhole) {
+        for (LogEntry entry : entries) {
+            blackhole.consume(filter.isWithinDateRange(entry.timeLocal(), FROM, TO));
+        }
+    }
+}
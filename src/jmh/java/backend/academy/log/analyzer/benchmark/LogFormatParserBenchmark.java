@@ -0,0 +1,145 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.parser.LogParserFactory;
+import backend.academy.log.analyzer.parser.LogParserGenerator;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Сравнение режимов разбора строк для формата combined и расширенного формата из 15 переменных:
+ * regex - регулярное выражение, построенное по формату, interpreted - разбор по плану формата,
+ * generated - класс, сгенерированный для формата. Извлекаются только поля, нужные статистике.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogFormatParserBenchmark {
+
+    private static final int LINES = 10_000;
+
+    private static final Set<String> STATISTICS_FIELDS =
+        Set.of("remote_addr", "time_local", "request", "status", "body_bytes_sent");
+
+    @Param({"regex", "interpreted", "generated"})
+    private String mode;
+
+    @Param({"combined", "extended"})
+    private String format;
+
+    private LogParser parser;
+
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        boolean extended = "extended".equals(format);
+        String pattern = extended ? LogCorpus.EXTENDED_FORMAT : LogFormat.COMBINED;
+        LogFormat logFormat = LogFormat.compile(pattern, STATISTICS_FIELDS);
+        parser = "regex".equals(mode)
+            ? new RegexLogParser(extended ? RegexLogParser.compile(pattern) : LogParser.LOG_PATTERN)
+            : new LogParserFactory(new LogParserGenerator()).create(mode, logFormat);
+        lines = extended ? LogCorpus.extendedLines(LINES) : LogCorpus.validLines(LINES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void parse(Blackhole blackhole) {
+        for (String line : lines) {
+            LogEntry entry = parser.parse(line);
+            blackhole.consume(entry);
+        }
+    }
+
+    /**
+     * Парсер на регулярном выражении, которым строки разбирались до появления плана формата.
+     * Для формата combined используется {@link LogParser#LOG_PATTERN}; для других форматов каждая переменная -
+     * группа символов, отличных от первого символа следующего за ней разделителя.
+     */
+    static final class RegexLogParser extends LogParser {
+
+        private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$(?:\\{(\\w+)}|(\\w+))");
+
+        private static final Pattern UNDERSCORE_PATTERN = Pattern.compile("_(\\w)");
+
+        private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter
+            .ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+        private final Pattern pattern;
+
+        RegexLogParser(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        /**
+         * Строит регулярное выражение по формату с группами, названными как в {@link LogParser#LOG_PATTERN}.
+         *
+         * @param format формат строк лога
+         * @return регулярное выражение
+         */
+        static Pattern compile(String format) {
+            StringBuilder regex = new StringBuilder();
+            Matcher matcher = VARIABLE_PATTERN.matcher(format);
+            int position = 0;
+            while (matcher.find()) {
+                String variable = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                regex.append(Pattern.quote(format.substring(position, matcher.start())))
+                    .append("(?<").append(groupName(variable)).append('>');
+                position = matcher.end();
+                if (position < format.length()) {
+                    regex.append("[^").append(Pattern.quote(format.substring(position, position + 1))).append("]*)");
+                } else {
+                    regex.append(".*)");
+                }
+            }
+            regex.append(Pattern.quote(format.substring(position)));
+            return Pattern.compile(regex.toString());
+        }
+
+        private static String groupName(String variable) {
+            return UNDERSCORE_PATTERN.matcher(variable).replaceAll(result -> result.group(1).toUpperCase(Locale.ROOT));
+        }
+
+        @Override
+        protected LogEntry parseFields(String logLine) {
+            Matcher matcher = pattern.matcher(logLine);
+            if (!matcher.matches()) {
+                return null;
+            }
+            return new LogEntry(
+                matcher.group("remoteAddr"),
+                null,
+                ZonedDateTime.parse(matcher.group("timeLocal"), TIME_FORMATTER),
+                matcher.group("request"),
+                Integer.parseInt(matcher.group("status")),
+                Long.parseLong(matcher.group("bodyBytesSent")),
+                null,
+                null
+            );
+        }
+    }
+}
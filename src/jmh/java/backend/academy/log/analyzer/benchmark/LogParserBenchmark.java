@@ -0,0 +1,75 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.parser.LogParser;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Пропускная способность разбора строк {@link LogParser#parse(String)}
+ * на корректных и некорректных строках, а также при извлечении только полей, нужных статистике.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogParserBenchmark {
+
+    private static final int LINES = 10_000;
+
+    private final LogParser parser = new LogParser();
+
+    private final LogParser statisticsParser = new LogParser(LogFormat.compile(LogFormat.COMBINED,
+        Set.of("remote_addr", "time_local", "request", "status", "body_bytes_sent")));
+
+    private List<String> validLines;
+
+    private List<String> invalidLines;
+
+    @Setup
+    public void setUp() {
+        validLines = LogCorpus.validLines(LINES);
+        invalidLines = LogCorpus.invalidLines(LINES);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void parseValid(Blackhole blackhole) {
+        for (String line : validLines) {
+            LogEntry entry = parser.parse(line);
+            blackhole.consume(entry);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void parseValidStatisticsFields(Blackhole blackhole) {
+        for (String line : validLines) {
+            blackhole.consume(statisticsParser.parse(line));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public void parseInvalid(Blackhole blackhole) {
+        for (String line : invalidLines) {
+            blackhole.consume(parser.parse(line));
+        }
+    }
+}
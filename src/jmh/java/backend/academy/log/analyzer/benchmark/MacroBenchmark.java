@@ -0,0 +1,252 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.generator.GeneratorArguments;
+import backend.academy.log.analyzer.generator.GeneratorSettings;
+import backend.academy.log.analyzer.generator.LogGenerator;
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Макробенчмарк сквозной обработки логов: генерирует корпуса заданных размеров и для каждого сочетания
+ * корпуса, режима обработки и количества потоков запускает анализатор в отдельной JVM ({@link MacroRun}).
+ * Результаты (строк и мегабайт в секунду, пиковая резидентная память и куча, время сборок мусора,
+ * время выполнения) записываются в файл JSON, пригодный для построения кривых масштабирования
+ * и сравнения версий.
+ * Запуск: {@code java -cp target/analyzer-1.0.0.jar backend.academy.log.analyzer.benchmark.MacroBenchmark}
+ */
+public final class MacroBenchmark {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    private static final String CONCURRENT_ENGINE = "concurrent";
+
+    /**
+     * Режимы обработки: имя режима и аргументы анализатора, которые его включают.
+     * Для режима concurrent к аргументам добавляется --parallelism с количеством потоков.
+     */
+    private static final Map<String, List<String>> ENGINES = new LinkedHashMap<>();
+
+    static {
+        ENGINES.put("sequential", List.of("--execution", "sequential"));
+        ENGINES.put(CONCURRENT_ENGINE, List.of("--execution", "concurrent"));
+        ENGINES.put("generated-parser", List.of("--execution", "sequential", "--parser", "generated"));
+    }
+
+    private MacroBenchmark() {
+    }
+
+    /**
+     * Аргументы командной строки макробенчмарка.
+     */
+    static final class Arguments {
+
+        @Parameter(names = "--sizes", description = "Comma-separated uncompressed corpus sizes, e.g. 1G,10G,100G")
+        private String sizes = "1G";
+
+        @Parameter(names = "--threads", description = "Comma-separated thread counts for the concurrent engine")
+        private String threads = "1," + Runtime.getRuntime().availableProcessors();
+
+        @Parameter(names = "--engines",
+            description = "Comma-separated engines: sequential, concurrent, generated-parser")
+        private String engines = String.join(",", ENGINES.keySet());
+
+        @Parameter(names = "--work-dir", description = "Directory for generated corpora and reports")
+        private String workDir = "target/macro-benchmark";
+
+        @Parameter(names = "--results", description = "Results file (JSON)")
+        private String results = "target/macro-benchmark/results.json";
+
+        @Parameter(names = "--jvm-args", description = "Extra JVM arguments of the measured runs, e.g. -Xmx4g")
+        private String jvmArgs = "";
+
+        @Parameter(names = "--seed", description = "Random seed of the generated corpora")
+        private long seed = 1;
+    }
+
+    /**
+     * Результат одного замера.
+     *
+     * @param corpus             имя файла корпуса
+     * @param corpusBytes        размер корпуса в байтах
+     * @param lines              количество строк в корпусе
+     * @param engine             режим обработки
+     * @param threads            количество потоков
+     * @param wallSeconds        время выполнения
+     * @param linesPerSecond     строк в секунду
+     * @param megabytesPerSecond мегабайт в секунду
+     * @param peakRssBytes       пиковая резидентная память процесса
+     * @param peakHeapBytes      пиковое заполнение кучи
+     * @param gcPauseMillis      суммарное время сборок мусора
+     * @param gcCount            количество сборок мусора
+     */
+    record Result(
+        String corpus,
+        long corpusBytes,
+        long lines,
+        String engine,
+        int threads,
+        double wallSeconds,
+        double linesPerSecond,
+        double megabytesPerSecond,
+        long peakRssBytes,
+        long peakHeapBytes,
+        long gcPauseMillis,
+        long gcCount
+    ) {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Arguments arguments = new Arguments();
+        JCommander.newBuilder().addObject(arguments).build().parse(args);
+
+        Path workDir = Path.of(arguments.workDir);
+        Files.createDirectories(workDir);
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        List<Result> results = new ArrayList<>();
+        for (String size : split(arguments.sizes)) {
+            Path corpus = workDir.resolve("corpus-" + size + "-" + arguments.seed + ".log");
+            long lines = prepareCorpus(corpus, size, arguments.seed);
+
+            for (String engine : split(arguments.engines)) {
+                List<Integer> threadCounts = CONCURRENT_ENGINE.equals(engine)
+                    ? split(arguments.threads).stream().map(Integer::parseInt).toList()
+                    : List.of(1);
+                for (int threads : threadCounts) {
+                    Result result = measure(arguments, corpus, lines, engine, threads, mapper);
+                    results.add(result);
+                    System.out.printf("%s %s x%d: %.0f lines/s, %.1f MB/s, %.1f s%n", corpus.getFileName(),
+                        engine, threads, result.linesPerSecond(), result.megabytesPerSecond(), result.wallSeconds());
+                    mapper.writeValue(Path.of(arguments.results).toFile(), results);
+                }
+            }
+        }
+    }
+
+    /**
+     * Генерирует корпус, если он еще не сгенерирован, и возвращает количество строк в нем.
+     *
+     * @param corpus путь к корпусу
+     * @param size   размер корпуса
+     * @param seed   начальное значение генератора
+     * @return количество строк
+     * @throws IOException если произошла ошибка записи
+     */
+    private static long prepareCorpus(Path corpus, String size, long seed) throws IOException {
+        Path linesFile = corpus.resolveSibling(corpus.getFileName() + ".lines");
+        if (Files.isRegularFile(corpus) && Files.isRegularFile(linesFile)) {
+            return Long.parseLong(Files.readString(linesFile).trim());
+        }
+
+        GeneratorSettings settings = GeneratorSettings.defaults()
+            .seed(seed)
+            .lines(0)
+            .targetBytes(GeneratorArguments.parseSize(size))
+            .distinctIps(100_000)
+            .distinctPaths(10_000)
+            .build();
+        System.out.printf("Generating %s corpus %s%n", size, corpus);
+        long lines = new LogGenerator().generate(settings, corpus);
+        Files.writeString(linesFile, Long.toString(lines));
+        return lines;
+    }
+
+    /**
+     * Запускает анализатор в отдельной JVM и собирает метрики.
+     *
+     * @param arguments аргументы макробенчмарка
+     * @param corpus    путь к корпусу
+     * @param lines     количество строк в корпусе
+     * @param engine    режим обработки
+     * @param threads   количество потоков
+     * @param mapper    преобразователь JSON
+     * @return результат замера
+     * @throws IOException          если не удалось запустить JVM или прочитать результат
+     * @throws InterruptedException если ожидание JVM было прервано
+     */
+    private static Result measure(
+        Arguments arguments,
+        Path corpus,
+        long lines,
+        String engine,
+        int threads,
+        ObjectMapper mapper
+    ) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(split(arguments.jvmArgs));
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), MacroRun.class.getName()));
+        command.addAll(List.of("--path", corpus.toAbsolutePath().toString()));
+        List<String> engineArgs = ENGINES.get(engine);
+        if (engineArgs == null) {
+            throw new IllegalArgumentException("Unknown engine: " + engine);
+        }
+        command.addAll(engineArgs);
+        if (CONCURRENT_ENGINE.equals(engine)) {
+            command.addAll(List.of("--parallelism", Integer.toString(threads)));
+        }
+
+        Process process = new ProcessBuilder(command)
+            .directory(Path.of(arguments.workDir).toFile())
+            .redirectErrorStream(true)
+            .start();
+        String resultLine = null;
+        try (BufferedReader output = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (line.startsWith(MacroRun.RESULT_PREFIX)) {
+                    resultLine = line.substring(MacroRun.RESULT_PREFIX.length());
+                }
+            }
+        }
+        if (process.waitFor() != 0 || resultLine == null) {
+            throw new IOException("The measured run failed: " + String.join(" ", command));
+        }
+
+        MacroRun.RunMetrics metrics = mapper.readValue(resultLine, MacroRun.RunMetrics.class);
+        long corpusBytes = Files.size(corpus);
+        double seconds = metrics.wallNanos() / NANOS_PER_SECOND;
+        return new Result(
+            corpus.getFileName().toString(),
+            corpusBytes,
+            lines,
+            engine,
+            threads,
+            seconds,
+            lines / seconds,
+            corpusBytes / BYTES_PER_MEGABYTE / seconds,
+            metrics.peakRssBytes(),
+            metrics.peakHeapBytes(),
+            metrics.gcPauseMillis(),
+            metrics.gcCount()
+        );
+    }
+
+    /**
+     * Разбивает список, перечисленный через запятую или пробел.
+     *
+     * @param value список
+     * @return элементы списка
+     */
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split("[,\\s]+"))
+            .filter(item -> !item.isBlank())
+            .toList();
+    }
+}
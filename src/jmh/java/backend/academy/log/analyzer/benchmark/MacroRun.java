@@ -0,0 +1,88 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.app.AnalyzerApplication;
+import backend.academy.log.analyzer.config.LogAnalyzerModule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Guice;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Один замер макробенчмарка: запускает {@link AnalyzerApplication#run(String[])} с переданными аргументами
+ * в отдельной JVM и выводит метрики этой JVM строкой JSON с префиксом {@link #RESULT_PREFIX}.
+ * Отдельная JVM на каждый замер нужна, чтобы пиковые значения памяти и счетчики сборщика мусора
+ * относились только к одному запуску.
+ */
+public final class MacroRun {
+
+    /** Префикс строки с результатом в стандартном выводе */
+    static final String RESULT_PREFIX = "MACRO_RESULT ";
+
+    private static final Path PROC_STATUS = Path.of("/proc/self/status");
+
+    private static final String PEAK_RSS_FIELD = "VmHWM:";
+
+    private static final long KILOBYTE = 1024;
+
+    private MacroRun() {
+    }
+
+    /**
+     * Метрики одного запуска анализатора.
+     *
+     * @param wallNanos      время выполнения в наносекундах
+     * @param peakRssBytes   пиковый размер резидентной памяти процесса (-1, если недоступен)
+     * @param peakHeapBytes  сумма пиковых заполнений областей кучи
+     * @param gcPauseMillis  суммарное время сборок мусора
+     * @param gcCount        количество сборок мусора
+     */
+    record RunMetrics(long wallNanos, long peakRssBytes, long peakHeapBytes, long gcPauseMillis, long gcCount) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        AnalyzerApplication application = Guice.createInjector(new LogAnalyzerModule())
+            .getInstance(AnalyzerApplication.class);
+
+        long start = System.nanoTime();
+        application.run(args);
+        long wallNanos = System.nanoTime() - start;
+
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+        RunMetrics metrics = new RunMetrics(
+            wallNanos,
+            peakRssBytes(),
+            ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getPeakUsage)
+                .mapToLong(usage -> usage.getUsed())
+                .sum(),
+            collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).sum(),
+            collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).sum()
+        );
+        System.out.println(RESULT_PREFIX + new ObjectMapper().writeValueAsString(metrics));
+    }
+
+    /**
+     * Читает пиковый размер резидентной памяти процесса (Linux).
+     *
+     * @return размер в байтах или -1, если он недоступен
+     * @throws IOException если не удалось прочитать информацию о процессе
+     */
+    private static long peakRssBytes() throws IOException {
+        if (!Files.isReadable(PROC_STATUS)) {
+            return -1;
+        }
+        return Files.readAllLines(PROC_STATUS).stream()
+            .filter(line -> line.startsWith(PEAK_RSS_FIELD))
+            .map(line -> line.substring(PEAK_RSS_FIELD.length()).replace("kB", "").trim())
+            .mapToLong(value -> Long.parseLong(value) * KILOBYTE)
+            .findFirst()
+            .orElse(-1);
+    }
+}
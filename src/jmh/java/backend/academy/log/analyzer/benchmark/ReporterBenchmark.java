@@ -0,0 +1,64 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.reporter.ReportFormat;
+import backend.academy.log.analyzer.reporter.Reporter;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Пропускная способность формирования отчетов в форматах markdown и adoc по заранее вычисленной статистике.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReporterBenchmark {
+
+    private static final int ENTRIES = 100_000;
+
+    @Param({"markdown", "adoc"})
+    public String format;
+
+    private final CliArguments cliArgs = new CliArguments();
+
+    private Reporter reporter;
+
+    private Path outputFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        LogStatisticsCollector statistics = new LogStatisticsCollector();
+        statistics.computeStatistics(LogCorpus.entries(ENTRIES).stream(), List.of("access.log"));
+        reporter = ReportFormat.fromString(format).createReporter(statistics);
+        outputFile = Files.createTempFile("report_", "." + format);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+    }
+
+    @Benchmark
+    public void formatReport() {
+        reporter.formatReport(outputFile.toString(), cliArgs);
+    }
+}
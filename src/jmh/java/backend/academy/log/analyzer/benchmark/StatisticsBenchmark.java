@@ -0,0 +1,49 @@
+package backend.academy.log.analyzer.benchmark;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Время вычисления статистики {@link LogStatisticsCollector#computeStatistics} на 1 и 10 миллионах записей.
+ * Записи берутся циклически из заранее разобранного набора, чтобы измерялась только агрегация.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    private static final int POOL_SIZE = 100_000;
+
+    @Param({"1000000", "10000000"})
+    public int entryCount;
+
+    private List<LogEntry> pool;
+
+    @Setup
+    public void setUp() {
+        pool = LogCorpus.entries(POOL_SIZE);
+    }
+
+    @Benchmark
+    public LogStatisticsCollector computeStatistics() {
+        LogStatisticsCollector collector = new LogStatisticsCollector();
+        collector.computeStatistics(LogCorpus.cycle(pool, entryCount), List.of("access.log"));
+        return collector;
+    }
+}
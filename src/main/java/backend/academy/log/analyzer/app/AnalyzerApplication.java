@@ -1,6 +1,7 @@
 package backend.academy.log.analyzer.app;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.arguments.MergeArguments;
 import backend.academy.log.analyzer.arguments.Validator;
 import backend.academy.log.analyzer.handler.LogHandler;
 import com.beust.jcommander.JCommander;
@@ -36,16 +37,29 @@ public class AnalyzerApplication {
     /**
      * Запускает приложение: разбирает и валидирует аргументы CLI,
      * затем передает обработку логов обработчику LogHandler.
+     * Команда {@code merge} объединяет частичные результаты вместо обработки логов.
      *
      * @param args аргументы CLI
      */
     public void run(String[] args) {
         CliArguments cliArgs = new CliArguments();
+        MergeArguments mergeArgs = new MergeArguments();
         jCommander.addObject(cliArgs);
+        jCommander.addCommand(MergeArguments.COMMAND, mergeArgs);
 
         try {
             jCommander.parse(args);
 
+            if (MergeArguments.COMMAND.equals(jCommander.getParsedCommand())) {
+                if (!validator.validate(mergeArgs)) {
+                    jCommander.usage();
+                    return;
+                }
+
+                logHandler.merge(mergeArgs);
+                return;
+            }
+
             if (!validator.validate(cliArgs)) {
                 jCommander.usage();
                 return;
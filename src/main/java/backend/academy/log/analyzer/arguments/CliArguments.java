@@ -10,10 +10,30 @@ import lombok.Getter;
 @Getter
 public class CliArguments {
 
+    /**
+     * Интервал вывода хода обработки по умолчанию в секундах.
+     */
+    private static final long DEFAULT_PROGRESS_INTERVAL = 10;
+
+    /**
+     * Максимальное количество строк в файле карантина по умолчанию.
+     */
+    private static final int DEFAULT_QUARANTINE_LIMIT = 1000;
+
+    /**
+     * Допустимая доля ошибок разбора по умолчанию в процентах: проверка отключена.
+     */
+    private static final double DEFAULT_MAX_PARSE_ERRORS = 100;
+
+    /**
+     * Количество первых строк, по которым проверяется доля ошибок разбора, по умолчанию.
+     */
+    private static final long DEFAULT_PARSE_CHECK_LINES = 10_000;
+
     /**
      * Путь к логам (локальный файл или URL).
      */
-    @Parameter(names = "--path", description = "The path to the logs (local or URL)", required = true)
+    @Parameter(names = "--path", description = "The path to the logs (local or URL)")
     private String path;
 
     /**
@@ -29,10 +49,10 @@ public class CliArguments {
     private String to;
 
     /**
-     * Формат вывода результата: markdown или adoc.
+     * Формат вывода результата: markdown, adoc, json или csv.
      * По умолчанию используется "markdown".
      */
-    @Parameter(names = "--format", description = "Output format: markdown или adoc")
+    @Parameter(names = "--format", description = "Output format: markdown, adoc, json или csv")
     private String format = "markdown";
 
     /**
@@ -46,4 +66,171 @@ public class CliArguments {
      */
     @Parameter(names = "--filter-value", description = "Value for filtering")
     private String filterValue;
+
+    /**
+     * Инкрементальный режим: чтение файлов продолжается с места, где остановился предыдущий запуск.
+     */
+    @Parameter(names = "--follow", description = "Incremental mode: resume reading files from the saved offsets")
+    private boolean follow;
+
+    /**
+     * Файл состояния инкрементального режима (позиции и накопленная статистика по файлам).
+     */
+    @Parameter(names = "--state-file", description = "State file for the --follow mode")
+    private String stateFile = ".log-analyzer-state.json";
+
+    /**
+     * Интервал обновления отчета в секундах для инкрементального режима.
+     * По умолчанию 0: выполняется один проход, после чего приложение завершается.
+     */
+    @Parameter(names = "--follow-interval",
+        description = "Report refresh interval in seconds for the --follow mode (0 - single pass)")
+    private long followInterval;
+
+    /**
+     * Директория кэша статистики по отдельным файлам.
+     * Если задана, статистика по неизменившимся локальным файлам берется из кэша без повторного чтения.
+     */
+    @Parameter(names = "--cache-dir", description = "Directory of the per-file statistics cache")
+    private String cacheDir;
+
+    /**
+     * Директория индексов файлов: агрегатов по часовым интервалам и позиций строк по времени.
+     * Если задана и фильтр по полю не используется, отчеты по диапазону дат собираются из индексов агрегатов;
+     * иначе из файла читается только диапазон байт, найденный по индексу позиций.
+     */
+    @Parameter(names = "--index-dir",
+        description = "Directory of the per-file hourly rollup and line offset indexes")
+    private String indexDir;
+
+    /**
+     * Режим выполнения: sequential (последовательно) или concurrent (файлы читаются в виртуальных потоках,
+     * записи разбираются и агрегируются параллельно).
+     */
+    @Parameter(names = "--execution", description = "Execution mode: sequential or concurrent")
+    private String execution = "sequential";
+
+    /**
+     * Количество потоков для разбора и агрегирования записей в режиме concurrent.
+     * По умолчанию 0: по числу доступных процессоров.
+     */
+    @Parameter(names = "--parallelism",
+        description = "Number of parsing threads for the concurrent mode (0 - number of processors)")
+    private int parallelism;
+
+    /**
+     * Добавлять ли в отчет раздел с диагностикой запуска: объемом прочитанных данных,
+     * количеством отброшенных строк и временем этапов обработки.
+     */
+    @Parameter(names = "--diagnostics", description = "Add the run diagnostics section to the report")
+    private boolean diagnostics;
+
+    /**
+     * Файл, в который записываются метрики запуска в формате JSON.
+     */
+    @Parameter(names = "--metrics-file", description = "File to write the run metrics to in JSON format")
+    private String metricsFile;
+
+    /**
+     * Интервал вывода хода обработки (доля прочитанных данных, скорость и оставшееся время) в секундах.
+     * 0 отключает вывод.
+     */
+    @Parameter(names = "--progress-interval",
+        description = "Progress output interval in seconds (0 - no progress output)")
+    private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    /**
+     * Записывать ли события Java Flight Recorder о чтении файлов, обработке пачек строк и формировании отчета.
+     * События попадают в запись JFR, запущенную для процесса.
+     */
+    @Parameter(names = "--jfr-events", description = "Emit Java Flight Recorder events for files, batches and reports")
+    private boolean jfrEvents;
+
+    /**
+     * Формат строк лога в синтаксисе директивы nginx {@code log_format} (в том числе шаблон JSON-объекта)
+     * или имя формата: {@code combined}, {@code common}, {@code json}. По умолчанию формат каждого файла
+     * определяется по его первым строкам.
+     */
+    @Parameter(names = "--log-format",
+        description = "Log line format in the nginx log_format syntax, or combined, common or json "
+            + "(by default detected per file from its first lines)")
+    private String logFormat;
+
+    /**
+     * Режим разбора строк: interpreted - разбор по плану формата,
+     * generated - разбор классом, сгенерированным для формата при запуске.
+     */
+    @Parameter(names = "--parser", description = "Parser mode: interpreted or generated")
+    private String parser = "interpreted";
+
+    /**
+     * Длина интервала динамики запросов, например 1m, 5m или 1h.
+     * Если задана, в отчет добавляется раздел с количеством запросов, долей ответов 4xx и 5xx,
+     * объемом отправленных данных и 95-м процентилем размера ответа по интервалам.
+     */
+    @Parameter(names = "--time-series",
+        description = "Interval of the requests time series in the report, e.g. 1m, 5m or 1h")
+    private String timeSeries;
+
+    /**
+     * Файл, в который дополнительно к отчету записывается частичный результат анализа
+     * для последующего объединения командой {@code merge}.
+     */
+    @Parameter(names = "--partial-output", description = "File to write the partial result to for the merge command")
+    private String partialOutput;
+
+    /**
+     * Файл карантина, в который записывается выборка строк, которые не удалось разобрать,
+     * вместе с причиной ошибки.
+     */
+    @Parameter(names = "--quarantine-file", description = "File to write a sample of unparsed lines to")
+    private String quarantineFile;
+
+    /**
+     * Максимальное количество строк в файле карантина.
+     */
+    @Parameter(names = "--quarantine-limit", description = "Maximum number of lines in the quarantine file")
+    private int quarantineLimit = DEFAULT_QUARANTINE_LIMIT;
+
+    /**
+     * Допустимая доля строк, которые не удалось разобрать, в процентах среди первых {@link #parseCheckLines} строк.
+     * При превышении обработка прерывается без отчета. По умолчанию 100: проверка отключена.
+     */
+    @Parameter(names = "--max-parse-errors",
+        description = "Maximum share of unparsed lines in percent among the first --parse-check-lines lines "
+            + "(100 - no limit)")
+    private double maxParseErrors = DEFAULT_MAX_PARSE_ERRORS;
+
+    /**
+     * Количество первых строк, по которым проверяется доля ошибок разбора.
+     */
+    @Parameter(names = "--parse-check-lines",
+        description = "Number of first lines in which the share of unparsed lines is checked")
+    private long parseCheckLines = DEFAULT_PARSE_CHECK_LINES;
+
+    /**
+     * Создает аргументы со значениями по умолчанию; значения задаются при разборе командной строки.
+     */
+    public CliArguments() {
+    }
+
+    /**
+     * Создает аргументы для формирования отчета по уже собранной статистике (например, объединенной командой
+     * {@code merge}): остальные параметры принимают значения по умолчанию.
+     *
+     * @param path        описание источника логов
+     * @param from        начальная дата в формате ISO8601
+     * @param to          конечная дата в формате ISO8601
+     * @param format      формат отчета
+     * @param filterField поле для фильтрации
+     * @param filterValue значение для фильтрации
+     */
+    public CliArguments(String path, String from, String to, String format, String filterField, String filterValue) {
+        this.path = path;
+        this.from = from;
+        this.to = to;
+        this.format = format;
+        this.filterField = filterField;
+        this.filterValue = filterValue;
+    }
 }
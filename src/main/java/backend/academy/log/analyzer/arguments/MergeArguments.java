@@ -0,0 +1,39 @@
+package backend.academy.log.analyzer.arguments;
+
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Аргументы команды {@code merge}, объединяющей частичные результаты анализа в один отчет.
+ */
+@Getter
+@Parameters(commandDescription = "Merge partial results into a single report")
+public class MergeArguments {
+
+    /**
+     * Имя команды.
+     */
+    public static final String COMMAND = "merge";
+
+    /**
+     * Файлы частичных результатов, записанные параметром --partial-output.
+     */
+    @Parameter(description = "Partial result files", required = true)
+    private List<String> inputs = new ArrayList<>();
+
+    /**
+     * Формат вывода результата: markdown, adoc, json или csv.
+     * По умолчанию используется "markdown".
+     */
+    @Parameter(names = "--format", description = "Output format: markdown, adoc, json или csv")
+    private String format = "markdown";
+
+    /**
+     * Файл, в который записывается объединенный частичный результат для дальнейшего объединения.
+     */
+    @Parameter(names = "--partial-output", description = "File to write the merged partial result to")
+    private String partialOutput;
+}
@@ -1,5 +1,7 @@
 package backend.academy.log.analyzer.arguments;
 
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.statistics.TimeSeries;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
@@ -16,7 +18,22 @@ public class Validator {
     /**
      * Список поддерживаемых форматов вывода.
      */
-    private static final List<String> SUPPORTED_FORMATS = Arrays.asList("markdown", "adoc");
+    private static final List<String> SUPPORTED_FORMATS = Arrays.asList("markdown", "adoc", "json", "csv");
+
+    /**
+     * Список поддерживаемых режимов выполнения.
+     */
+    private static final List<String> SUPPORTED_EXECUTION_MODES = Arrays.asList("sequential", "concurrent");
+
+    /**
+     * Список поддерживаемых режимов разбора строк.
+     */
+    private static final List<String> SUPPORTED_PARSER_MODES = Arrays.asList("interpreted", "generated");
+
+    /**
+     * Максимальная доля в процентах.
+     */
+    private static final double PERCENT = 100;
 
     /**
      * Список поддерживаемых полей для фильтрации.
@@ -44,7 +61,25 @@ public class Validator {
             && validateDate(cliArgs.from())
             && validateDate(cliArgs.to())
             && validateFormat(cliArgs.format())
-            && validateFilter(cliArgs.filterField(), cliArgs.filterValue());
+            && validateFilter(cliArgs.filterField(), cliArgs.filterValue())
+            && validateFollow(cliArgs)
+            && validateExecution(cliArgs.execution(), cliArgs.parallelism())
+            && validateProgress(cliArgs.progressInterval())
+            && validateTimeSeries(cliArgs.timeSeries())
+            && validateLogFormat(cliArgs.logFormat())
+            && validateParser(cliArgs.parser())
+            && validateParseErrors(cliArgs);
+    }
+
+    /**
+     * Выполняет валидацию параметров команды объединения частичных результатов.
+     *
+     * @param mergeArgs объект с аргументами команды merge
+     * @return true, если все параметры валидны; иначе false
+     */
+    public boolean validate(MergeArguments mergeArgs) {
+        return validateInputs(mergeArgs.inputs())
+            && validateFormat(mergeArgs.format());
     }
 
     /**
@@ -61,6 +96,20 @@ public class Validator {
         return true;
     }
 
+    /**
+     * Проверяет список файлов частичных результатов.
+     *
+     * @param inputs файлы частичных результатов
+     * @return true, если задан хотя бы один файл; иначе false
+     */
+    private boolean validateInputs(List<String> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            log.error("At least one partial result file must be specified");
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Проверяет валидность формата даты (ISO8601).
      *
@@ -92,7 +141,7 @@ public class Validator {
             return false;
         }
         if (!SUPPORTED_FORMATS.contains(format.toLowerCase())) {
-            log.error("Invalid format. Available formats: markdown, adoc");
+            log.error("Invalid format. Available formats: markdown, adoc, json, csv");
             return false;
         }
         return true;
@@ -122,4 +171,145 @@ public class Validator {
 
         return true;
     }
+
+    /**
+     * Проверяет параметры инкрементального режима.
+     *
+     * @param cliArgs объект с аргументами командной строки
+     * @return true, если режим выключен или его параметры валидны; иначе false
+     */
+    private boolean validateFollow(CliArguments cliArgs) {
+        if (!cliArgs.follow()) {
+            return true;
+        }
+
+        if (cliArgs.path().contains("://")) {
+            log.error("The --follow mode is available only for local files");
+            return false;
+        }
+
+        if (cliArgs.stateFile() == null || cliArgs.stateFile().isEmpty()) {
+            log.error("The state file cannot be empty");
+            return false;
+        }
+
+        if (cliArgs.followInterval() < 0) {
+            log.error("The follow interval cannot be negative");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Проверяет параметры режима выполнения.
+     *
+     * @param execution   режим выполнения
+     * @param parallelism количество потоков для разбора записей
+     * @return true, если параметры валидны; иначе false
+     */
+    private boolean validateExecution(String execution, int parallelism) {
+        if (execution == null || !SUPPORTED_EXECUTION_MODES.contains(execution.toLowerCase())) {
+            log.error("Invalid execution mode. Available modes: {}", SUPPORTED_EXECUTION_MODES);
+            return false;
+        }
+
+        if (parallelism < 0) {
+            log.error("The parallelism cannot be negative");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Проверяет интервал вывода хода обработки.
+     *
+     * @param progressInterval интервал вывода в секундах
+     * @return true, если интервал валиден; иначе false
+     */
+    private boolean validateProgress(long progressInterval) {
+        if (progressInterval < 0) {
+            log.error("The progress interval cannot be negative");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет длину интервала динамики запросов.
+     *
+     * @param timeSeries длина интервала, например 5m
+     * @return true, если динамика не запрошена или интервал валиден; иначе false
+     */
+    private boolean validateTimeSeries(String timeSeries) {
+        if (timeSeries == null) {
+            return true;
+        }
+        try {
+            TimeSeries.parseInterval(timeSeries);
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid time series interval. Use a number with a unit s, m, h or d, for example 5m");
+            return false;
+        }
+    }
+
+    /**
+     * Проверяет формат строк лога.
+     *
+     * @param logFormat формат в синтаксисе nginx log_format
+     * @return true, если формат не задан или его можно разобрать; иначе false
+     */
+    private boolean validateLogFormat(String logFormat) {
+        if (logFormat == null) {
+            return true;
+        }
+        try {
+            LogFormat.compile(logFormat);
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid log format: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Проверяет режим разбора строк.
+     *
+     * @param parser режим разбора
+     * @return true, если режим поддерживается; иначе false
+     */
+    private boolean validateParser(String parser) {
+        if (parser == null || !SUPPORTED_PARSER_MODES.contains(parser.toLowerCase())) {
+            log.error("Invalid parser mode. Available modes: {}", SUPPORTED_PARSER_MODES);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет параметры учета ошибок разбора.
+     *
+     * @param cliArgs объект с аргументами командной строки
+     * @return true, если параметры валидны; иначе false
+     */
+    private boolean validateParseErrors(CliArguments cliArgs) {
+        if (cliArgs.quarantineLimit() < 0) {
+            log.error("The quarantine limit cannot be negative");
+            return false;
+        }
+
+        if (cliArgs.maxParseErrors() < 0 || cliArgs.maxParseErrors() > PERCENT) {
+            log.error("The maximum share of parse errors must be between 0 and 100");
+            return false;
+        }
+
+        if (cliArgs.parseCheckLines() <= 0) {
+            log.error("The number of lines to check for parse errors must be positive");
+            return false;
+        }
+
+        return true;
+    }
 }
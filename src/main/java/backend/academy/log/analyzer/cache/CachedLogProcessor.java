@@ -0,0 +1,101 @@
+package backend.academy.log.analyzer.cache;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.execution.ExecutionModel;
+import backend.academy.log.analyzer.metrics.ProgressReporter;
+import backend.academy.log.analyzer.pipeline.EntryPipeline;
+import backend.academy.log.analyzer.pipeline.ProcessedLogs;
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Обработка локальных файлов с кэшем статистики: неизменившиеся файлы не читаются повторно,
+ * а статистика по ним берется из кэша.
+ */
+@Slf4j
+public class CachedLogProcessor {
+
+    private final StatisticsCache statisticsCache;
+
+    private final EntryPipeline entryPipeline;
+
+    private final ProgressReporter progressReporter;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param statisticsCache  кэш статистики по отдельным файлам
+     * @param entryPipeline    преобразование строк логов в записи
+     * @param progressReporter вывод хода обработки
+     */
+    @Inject
+    public CachedLogProcessor(
+        StatisticsCache statisticsCache,
+        EntryPipeline entryPipeline,
+        ProgressReporter progressReporter
+    ) {
+        this.statisticsCache = statisticsCache;
+        this.entryPipeline = entryPipeline;
+        this.progressReporter = progressReporter;
+    }
+
+    /**
+     * Обрабатывает локальные файлы, каждый отдельной задачей модели выполнения, и объединяет статистику по ним.
+     * Статистика прочитанного файла сохраняется в кэш, если файл не изменился за время чтения.
+     *
+     * @param cliArgs        аргументы командной строки
+     * @param fileLogReader  ридер локальных файлов
+     * @param files          найденные файлы логов
+     * @param executionModel модель выполнения
+     * @return результат обработки файлов
+     * @throws IOException          если произошла ошибка при чтении файлов
+     * @throws InterruptedException если обработка была прервана
+     */
+    public ProcessedLogs process(
+        CliArguments cliArgs,
+        FileLogReader fileLogReader,
+        List<Path> files,
+        ExecutionModel executionModel
+    ) throws IOException, InterruptedException {
+        String query = entryPipeline.querySignature(cliArgs);
+        Path cacheDir = Path.of(cliArgs.cacheDir());
+
+        List<Callable<StatisticsAccumulator>> tasks = new ArrayList<>();
+        for (Path file : files) {
+            Function<Stream<CharSequence>, Stream<LogEntry>> pipeline =
+                entryPipeline.entries(cliArgs, fileLogReader.parserFor(file));
+            tasks.add(() -> {
+                String key = statisticsCache.keyOf(file, query);
+                Optional<StatisticsAccumulator> cached = statisticsCache.load(cacheDir, key);
+                if (cached.isPresent()) {
+                    log.info("Statistics for the file {} were taken from the cache", file);
+                    progressReporter.skip(FileLogReader.estimateSize(file));
+                    return cached.get();
+                }
+
+                StatisticsAccumulator statistics;
+                try (Stream<CharSequence> logLines = fileLogReader.openLogFile(file).stream()) {
+                    statistics =
+                        executionModel.aggregate(pipeline.apply(logLines), entryPipeline.accumulatorFactory(cliArgs));
+                }
+                if (key.equals(statisticsCache.keyOf(file, query))) {
+                    statisticsCache.store(cacheDir, key, statistics);
+                }
+                return statistics;
+            });
+        }
+
+        return ProcessedLogs.merged(executionModel.invokeAll(tasks), fileLogReader);
+    }
+}
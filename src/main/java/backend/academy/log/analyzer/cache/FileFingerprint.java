@@ -0,0 +1,39 @@
+package backend.academy.log.analyzer.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Отпечаток состояния файла для ключей дисковых кэшей и индексов.
+ * Отпечаток меняется при изменении пути, размера или времени изменения файла.
+ */
+@UtilityClass
+public class FileFingerprint {
+
+    /**
+     * Вычисляет отпечаток текущего состояния файла.
+     *
+     * @param file  путь к файлу
+     * @param parts дополнительные значения, от которых зависит ключ (версия формата, параметры запроса)
+     * @return шестнадцатеричная строка SHA-256
+     * @throws IOException если не удалось прочитать атрибуты файла
+     */
+    public static String of(Path file, String... parts) throws IOException {
+        Path absolutePath = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(absolutePath, BasicFileAttributes.class);
+
+        List<String> values = new ArrayList<>(List.of(
+            absolutePath.toString(),
+            String.valueOf(attributes.size()),
+            String.valueOf(attributes.lastModifiedTime().toMillis())
+        ));
+        values.addAll(List.of(parts));
+        return DigestUtils.sha256Hex(String.join("\n", values));
+    }
+}
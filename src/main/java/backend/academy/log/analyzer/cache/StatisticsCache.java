@@ -0,0 +1,84 @@
+package backend.academy.log.analyzer.cache;
+
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import backend.academy.log.analyzer.statistics.StatisticsCodec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Дисковый кэш статистики, посчитанной по отдельным файлам логов.
+ * Запись кэша определяется путем к файлу, его размером, временем изменения и параметрами запроса
+ * (даты и фильтры), поэтому изменившийся файл или другой запрос никогда не получают чужую статистику.
+ * Статистика хранится в компактном двоичном формате {@link StatisticsCodec}.
+ */
+@Slf4j
+public class StatisticsCache {
+
+    private static final String ENTRY_SUFFIX = ".stats";
+
+    /**
+     * Ищет в кэше статистику по файлу.
+     *
+     * @param cacheDir директория кэша
+     * @param key      ключ записи, полученный из {@link #keyOf(Path, String)}
+     * @return статистика, если файл не изменялся с момента ее сохранения
+     */
+    public Optional<StatisticsAccumulator> load(Path cacheDir, String key) {
+        Path entry = cacheDir.resolve(key + ENTRY_SUFFIX);
+        if (!Files.isRegularFile(entry)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            return Optional.of(StatisticsCodec.read(input));
+        } catch (IOException e) {
+            log.warn("The cache entry {} is damaged and will be rebuilt", entry);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Сохраняет статистику по файлу в кэш.
+     *
+     * @param cacheDir   директория кэша
+     * @param key        ключ записи, полученный из {@link #keyOf(Path, String)}
+     * @param statistics статистика по файлу
+     */
+    public void store(Path cacheDir, String key, StatisticsAccumulator statistics) {
+        try {
+            Files.createDirectories(cacheDir);
+            Path tempFile = Files.createTempFile(cacheDir, "entry_", ".tmp");
+            try {
+                try (DataOutputStream output =
+                         new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    StatisticsCodec.write(statistics, output);
+                }
+                Files.move(tempFile, cacheDir.resolve(key + ENTRY_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to save statistics to the cache directory {}", cacheDir);
+        }
+    }
+
+    /**
+     * Вычисляет ключ записи кэша для текущего состояния файла.
+     *
+     * @param file  путь к файлу логов
+     * @param query сигнатура параметров запроса
+     * @return ключ записи
+     * @throws IOException если не удалось прочитать атрибуты файла
+     */
+    public String keyOf(Path file, String query) throws IOException {
+        return FileFingerprint.of(file, String.valueOf(StatisticsCodec.FORMAT_VERSION), query);
+    }
+}
@@ -2,8 +2,20 @@ package backend.academy.log.analyzer.config;
 
 import backend.academy.log.analyzer.app.AnalyzerApplication;
 import backend.academy.log.analyzer.arguments.Validator;
+import backend.academy.log.analyzer.cache.StatisticsCache;
+import backend.academy.log.analyzer.execution.ExecutionModelFactory;
 import backend.academy.log.analyzer.filter.LogFilter;
+import backend.academy.log.analyzer.follow.FollowStateStore;
+import backend.academy.log.analyzer.follow.IncrementalLogProcessor;
+import backend.academy.log.analyzer.index.FileIndexer;
+import backend.academy.log.analyzer.index.IndexStore;
+import backend.academy.log.analyzer.metrics.ParseErrorMonitor;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.metrics.ProgressReporter;
 import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.parser.LogParserFactory;
+import backend.academy.log.analyzer.parser.LogParserGenerator;
+import backend.academy.log.analyzer.partial.PartialResultStore;
 import backend.academy.log.analyzer.reader.factory.LogReaderFactory;
 import backend.academy.log.analyzer.reporter.factory.ReporterFactory;
 import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
@@ -16,18 +28,40 @@ import com.google.inject.AbstractModule;
 public class LogAnalyzerModule extends AbstractModule {
     @Override
     protected void configure() {
-        bind(LogParser.class).toInstance(new LogParser());
+        LogParser logParser = new LogParser();
+        bind(LogParser.class).toInstance(logParser);
+
+        bind(LogParserFactory.class).toInstance(new LogParserFactory(new LogParserGenerator()));
 
         bind(LogStatisticsCollector.class).toInstance(new LogStatisticsCollector());
 
         bind(LogFilter.class).toInstance(new LogFilter());
 
+        bind(IncrementalLogProcessor.class).toInstance(new IncrementalLogProcessor(new FollowStateStore()));
+
+        bind(StatisticsCache.class).toInstance(new StatisticsCache());
+
+        bind(PartialResultStore.class).toInstance(new PartialResultStore());
+
+        PipelineMetrics pipelineMetrics = new PipelineMetrics();
+        bind(PipelineMetrics.class).toInstance(pipelineMetrics);
+        bind(ProgressReporter.class).toInstance(new ProgressReporter(pipelineMetrics));
+        ParseErrorMonitor parseErrorMonitor = new ParseErrorMonitor(pipelineMetrics);
+        bind(ParseErrorMonitor.class).toInstance(parseErrorMonitor);
+
+        IndexStore indexStore = new IndexStore();
+        bind(IndexStore.class).toInstance(indexStore);
+
+        bind(FileIndexer.class).toInstance(new FileIndexer(indexStore, pipelineMetrics, parseErrorMonitor));
+
         bind(LogReaderFactory.class).toInstance(new LogReaderFactory());
 
         bind(Validator.class).toInstance(new Validator());
 
         bind(ReporterFactory.class).toInstance(new ReporterFactory());
 
+        bind(ExecutionModelFactory.class).toInstance(new ExecutionModelFactory(pipelineMetrics));
+
         bind(JCommander.class).toInstance(JCommander.newBuilder().build());
 
         bind(AnalyzerApplication.class);
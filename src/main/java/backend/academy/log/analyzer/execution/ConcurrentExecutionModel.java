@@ -0,0 +1,162 @@
+package backend.academy.log.analyzer.execution;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Параллельная модель выполнения.
+ * Задачи ввода-вывода выполняются в отдельных виртуальных потоках (не более {@code maxConcurrentTasks}
+ * одновременно), а разбор и агрегирование записей - параллельным потоком данных в пуле {@link ForkJoinPool}
+ * заданного размера, не занимая общий пул JVM.
+ * Задачи ввода-вывода структурированы: {@link #invokeAll(List)} не возвращает управление, пока не завершатся
+ * все запущенные задачи, а ошибка или прерывание одной из них отменяет остальные.
+ */
+public class ConcurrentExecutionModel implements ExecutionModel {
+
+    private final ForkJoinPool computePool;
+
+    private final Semaphore taskPermits;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * Создает параллельную модель выполнения.
+     *
+     * @param parallelism        количество потоков для вычислительной работы
+     * @param maxConcurrentTasks максимальное количество одновременно выполняемых задач ввода-вывода
+     * @param pipelineMetrics    метрики конвейера
+     */
+    public ConcurrentExecutionModel(int parallelism, int maxConcurrentTasks, PipelineMetrics pipelineMetrics) {
+        this.computePool = new ForkJoinPool(parallelism);
+        this.taskPermits = new Semaphore(maxConcurrentTasks);
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    /**
+     * Выполняет задачи в виртуальных потоках и дожидается завершения всех задач.
+     *
+     * @param tasks задачи
+     * @param <T>   тип результата задачи
+     * @return результаты задач
+     * @throws IOException          если одна из задач завершилась ошибкой ввода-вывода
+     * @throws InterruptedException если ожидание задач было прервано
+     */
+    @Override
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException, InterruptedException {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+            for (Callable<T> task : tasks) {
+                futures.add(completion.submit(() -> runWithPermit(task)));
+            }
+            try {
+                for (int i = 0; i < futures.size(); i++) {
+                    completion.take().get();
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException("The task failed", cause);
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+
+    /**
+     * Собирает статистику параллельным потоком данных в вычислительном пуле.
+     *
+     * @param entries            поток записей
+     * @param accumulatorFactory фабрика пустых накопителей
+     * @return накопленная статистика
+     * @throws InterruptedException если ожидание вычисления было прервано
+     */
+    @Override
+    public StatisticsAccumulator aggregate(
+        Stream<LogEntry> entries,
+        Supplier<StatisticsAccumulator> accumulatorFactory
+    ) throws InterruptedException {
+        try {
+            return computePool.submit(() -> entries
+                .parallel()
+                .collect(accumulatorFactory, pipelineMetrics::aggregate, StatisticsAccumulator::merge)
+            ).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Завершает вычислительный пул.
+     */
+    @Override
+    public void close() {
+        computePool.close();
+    }
+
+    /**
+     * Выполняет задачу, дождавшись разрешения на запуск.
+     *
+     * @param task задача
+     * @param <T>  тип результата задачи
+     * @return результат задачи
+     * @throws Exception если задача завершилась ошибкой
+     */
+    private <T> T runWithPermit(Callable<T> task) throws Exception {
+        taskPermits.acquire();
+        try {
+            return task.call();
+        } finally {
+            taskPermits.release();
+        }
+    }
+
+    /**
+     * Извлекает исходную ошибку задачи: {@link UncheckedIOException} заменяется ошибкой ввода-вывода,
+     * которую она оборачивает.
+     *
+     * @param e ошибка выполнения задачи
+     * @return исходная ошибка задачи
+     */
+    private static Throwable unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof UncheckedIOException uncheckedIOException) {
+            return uncheckedIOException.getCause();
+        }
+        return cause;
+    }
+}
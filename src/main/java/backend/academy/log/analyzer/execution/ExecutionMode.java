@@ -0,0 +1,30 @@
+package backend.academy.log.analyzer.execution;
+
+import java.util.Arrays;
+
+/**
+ * Поддерживаемые режимы выполнения обработки логов.
+ */
+public enum ExecutionMode {
+    SEQUENTIAL("sequential"),
+    CONCURRENT("concurrent");
+
+    private final String mode;
+
+    ExecutionMode(String mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Возвращает режим выполнения по его имени.
+     *
+     * @param mode имя режима
+     * @return режим выполнения
+     */
+    public static ExecutionMode fromString(String mode) {
+        return Arrays.stream(values())
+            .filter(m -> m.mode.equalsIgnoreCase(mode))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported execution mode: " + mode));
+    }
+}
@@ -0,0 +1,59 @@
+package backend.academy.log.analyzer.execution;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Модель выполнения обработки логов.
+ * Разделяет работу на задачи, ограниченные вводом-выводом (чтение отдельных файлов и URL),
+ * и вычислительную работу (разбор, фильтрация и агрегирование записей).
+ * Модель создается на один запуск обработки и должна быть закрыта после использования.
+ */
+public interface ExecutionModel extends AutoCloseable {
+
+    /**
+     * Выполняет задачи, ограниченные вводом-выводом, и возвращает их результаты в порядке задач.
+     * Ошибка любой задачи отменяет остальные и пробрасывается вызывающему коду.
+     *
+     * @param tasks задачи
+     * @param <T>   тип результата задачи
+     * @return результаты задач
+     * @throws IOException          если одна из задач завершилась ошибкой ввода-вывода
+     * @throws InterruptedException если ожидание задач было прервано
+     */
+    <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException, InterruptedException;
+
+    /**
+     * Собирает статистику по потоку записей.
+     *
+     * @param entries поток записей; поток закрывает вызывающий код
+     * @return накопленная статистика
+     * @throws InterruptedException если ожидание вычисления было прервано
+     */
+    default StatisticsAccumulator aggregate(Stream<LogEntry> entries) throws InterruptedException {
+        return aggregate(entries, StatisticsAccumulator::new);
+    }
+
+    /**
+     * Собирает статистику по потоку записей в накопители, созданные заданной фабрикой
+     * (например, собирающие динамику запросов).
+     *
+     * @param entries            поток записей; поток закрывает вызывающий код
+     * @param accumulatorFactory фабрика пустых накопителей
+     * @return накопленная статистика
+     * @throws InterruptedException если ожидание вычисления было прервано
+     */
+    StatisticsAccumulator aggregate(Stream<LogEntry> entries, Supplier<StatisticsAccumulator> accumulatorFactory)
+        throws InterruptedException;
+
+    /**
+     * Освобождает потоки, занятые моделью выполнения.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,41 @@
+package backend.academy.log.analyzer.execution;
+
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+
+/**
+ * Фабрика для создания моделей выполнения по режиму, выбранному в аргументах командной строки.
+ */
+public class ExecutionModelFactory {
+
+    /** Максимальное количество одновременно читаемых файлов, чтобы не исчерпать файловые дескрипторы */
+    private static final int MAX_CONCURRENT_TASKS = 64;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * Создает фабрику моделей выполнения.
+     *
+     * @param pipelineMetrics метрики конвейера, в которых учитывается время агрегирования
+     */
+    public ExecutionModelFactory(PipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    /**
+     * Создает модель выполнения.
+     *
+     * @param mode        режим выполнения
+     * @param parallelism количество потоков для вычислительной работы (0 - по числу процессоров)
+     * @return модель выполнения, которую нужно закрыть после использования
+     */
+    public ExecutionModel create(String mode, int parallelism) {
+        return switch (ExecutionMode.fromString(mode)) {
+            case SEQUENTIAL -> new SequentialExecutionModel(pipelineMetrics);
+            case CONCURRENT -> new ConcurrentExecutionModel(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                MAX_CONCURRENT_TASKS,
+                pipelineMetrics
+            );
+        };
+    }
+}
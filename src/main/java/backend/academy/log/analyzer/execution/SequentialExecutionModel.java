@@ -0,0 +1,76 @@
+package backend.academy.log.analyzer.execution;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Последовательная модель выполнения: все задачи выполняются по очереди в вызывающем потоке.
+ */
+public class SequentialExecutionModel implements ExecutionModel {
+
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * Создает последовательную модель выполнения.
+     *
+     * @param pipelineMetrics метрики конвейера
+     */
+    public SequentialExecutionModel(PipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    /**
+     * Выполняет задачи по очереди в вызывающем потоке.
+     *
+     * @param tasks задачи
+     * @param <T>   тип результата задачи
+     * @return результаты задач
+     * @throws IOException          если одна из задач завершилась ошибкой ввода-вывода
+     * @throws InterruptedException если выполнение задачи было прервано
+     */
+    @Override
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws IOException, InterruptedException {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            try {
+                results.add(task.call());
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Собирает статистику по потоку записей в вызывающем потоке.
+     *
+     * @param entries            поток записей
+     * @param accumulatorFactory фабрика пустых накопителей
+     * @return накопленная статистика
+     */
+    @Override
+    public StatisticsAccumulator aggregate(
+        Stream<LogEntry> entries,
+        Supplier<StatisticsAccumulator> accumulatorFactory
+    ) {
+        StatisticsAccumulator statistics = accumulatorFactory.get();
+        entries.forEach(entry -> pipelineMetrics.aggregate(statistics, entry));
+        return statistics;
+    }
+
+    /**
+     * Ничего не делает: модель не создает потоков.
+     */
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,26 @@
+package backend.academy.log.analyzer.follow;
+
+/**
+ * Контрольная точка обработки одного файла логов.
+ * Хранит идентичность файла и позицию, до которой он уже прочитан. Статистика по прочитанной части файла
+ * хранится отдельно, см. {@link FollowStateStore}.
+ *
+ * @param fileKey      Идентификатор файла в файловой системе (например, устройство и inode)
+ * @param size         Размер файла на момент последнего чтения
+ * @param offset       Позиция (в байтах) сразу после последней полностью прочитанной строки
+ * @param headLength   Количество байт от начала файла, по которым посчитана контрольная сумма
+ * @param headChecksum Контрольная сумма CRC32 первых {@code headLength} байт файла
+ */
+public record FileCheckpoint(
+
+    String fileKey,
+
+    long size,
+
+    long offset,
+
+    int headLength,
+
+    long headChecksum
+) {
+}
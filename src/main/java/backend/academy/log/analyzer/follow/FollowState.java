@@ -0,0 +1,26 @@
+package backend.academy.log.analyzer.follow;
+
+import java.util.Map;
+
+/**
+ * Состояние инкрементального режима, сохраняемое между запусками.
+ *
+ * @param query Сигнатура параметров запроса (даты и фильтры), для которых накоплена статистика
+ * @param files Контрольные точки по абсолютным путям файлов
+ */
+public record FollowState(
+
+    String query,
+
+    Map<String, FileCheckpoint> files
+) {
+
+    /**
+     * Создает пустое состояние, с которого начинается первый запуск.
+     *
+     * @return пустое состояние
+     */
+    public static FollowState empty() {
+        return new FollowState(null, Map.of());
+    }
+}
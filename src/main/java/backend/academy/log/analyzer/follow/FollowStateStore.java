@@ -0,0 +1,129 @@
+package backend.academy.log.analyzer.follow;
+
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import backend.academy.log.analyzer.statistics.StatisticsCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Хранилище состояния инкрементального режима.
+ * Контрольные точки (позиции и признаки идентичности файлов) хранятся в небольшом JSON-файле,
+ * а накопленная по файлам статистика - рядом с ним в двоичном файле в формате {@link StatisticsCodec}.
+ * Статистика каждого файла записывается вместе с позицией, до которой она посчитана, и используется,
+ * только если позиция совпадает с контрольной точкой, поэтому прерванное сохранение не приводит
+ * к повторному учету строк.
+ */
+@Slf4j
+public class FollowStateStore {
+
+    private static final String STATISTICS_SUFFIX = ".stats";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Загружает контрольные точки из файла.
+     * Если файла нет или он поврежден, возвращает пустое состояние.
+     *
+     * @param stateFile путь к файлу состояния
+     * @return загруженное состояние
+     */
+    public FollowState load(Path stateFile) {
+        if (!Files.isRegularFile(stateFile)) {
+            return FollowState.empty();
+        }
+        try {
+            FollowState state = mapper.readValue(stateFile.toFile(), FollowState.class);
+            return state.files() != null ? state : FollowState.empty();
+        } catch (IOException e) {
+            log.warn("The state file {} is damaged and will be rebuilt", stateFile);
+            return FollowState.empty();
+        }
+    }
+
+    /**
+     * Загружает статистику, накопленную по файлам до их контрольных точек.
+     * Статистика, посчитанная не до позиции контрольной точки файла, не возвращается.
+     * Если файла статистики нет или он поврежден, возвращает пустое отображение.
+     *
+     * @param stateFile путь к файлу состояния
+     * @param state     загруженное состояние
+     * @return статистика по абсолютным путям файлов
+     */
+    public Map<String, StatisticsAccumulator> loadStatistics(Path stateFile, FollowState state) {
+        Path statisticsFile = statisticsFile(stateFile);
+        if (state.files().isEmpty() || !Files.isRegularFile(statisticsFile)) {
+            return Map.of();
+        }
+        try (DataInputStream input =
+                 new DataInputStream(new BufferedInputStream(Files.newInputStream(statisticsFile)))) {
+            Map<String, StatisticsAccumulator> statistics = new HashMap<>();
+            long count = StatisticsCodec.readVarLong(input);
+            for (long i = 0; i < count; i++) {
+                String file = StatisticsCodec.readString(input);
+                long offset = StatisticsCodec.readVarLong(input);
+                StatisticsAccumulator accumulator = StatisticsCodec.read(input);
+                FileCheckpoint checkpoint = state.files().get(file);
+                if (checkpoint != null && checkpoint.offset() == offset) {
+                    statistics.put(file, accumulator);
+                }
+            }
+            return statistics;
+        } catch (IOException | RuntimeException e) {
+            log.warn("The state statistics file {} is damaged and will be rebuilt", statisticsFile);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Сохраняет контрольные точки и статистику по файлам. Каждый файл записывается через временный файл,
+     * чтобы прерванный запуск не оставил поврежденное состояние. Статистика записывается первой.
+     *
+     * @param stateFile  путь к файлу состояния
+     * @param state      контрольные точки для сохранения
+     * @param statistics статистика по абсолютным путям файлов из {@code state}
+     * @throws IOException если не удалось записать файлы
+     */
+    public void save(Path stateFile, FollowState state, Map<String, StatisticsAccumulator> statistics)
+        throws IOException {
+        Path absolutePath = stateFile.toAbsolutePath();
+        Path tempFile = Files.createTempFile(absolutePath.getParent(), "log_state_", ".tmp");
+        try {
+            try (DataOutputStream output =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                StatisticsCodec.writeVarLong(output, statistics.size());
+                for (Map.Entry<String, StatisticsAccumulator> entry : statistics.entrySet()) {
+                    StatisticsCodec.writeString(output, entry.getKey());
+                    StatisticsCodec.writeVarLong(output, state.files().get(entry.getKey()).offset());
+                    StatisticsCodec.write(entry.getValue(), output);
+                }
+            }
+            Files.move(tempFile, statisticsFile(absolutePath),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            mapper.writeValue(tempFile.toFile(), state);
+            Files.move(tempFile, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Возвращает путь к файлу статистики, который хранится рядом с файлом состояния.
+     *
+     * @param stateFile путь к файлу состояния
+     * @return путь к файлу статистики
+     */
+    private static Path statisticsFile(Path stateFile) {
+        return stateFile.resolveSibling(stateFile.getFileName() + STATISTICS_SUFFIX);
+    }
+}
@@ -0,0 +1,219 @@
+package backend.academy.log.analyzer.follow;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.reader.BufferedLineSource;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Инкрементальная обработка файлов логов.
+ * Для каждого файла хранит контрольную точку (идентичность файла, позицию и накопленную статистику)
+ * и при следующем запуске дочитывает только новые строки. Распознает ротацию файла
+ * (файл по тому же пути стал другим файлом) и его усечение (файл стал короче или изменилось его начало).
+ */
+@Slf4j
+public class IncrementalLogProcessor {
+
+    /** Количество байт от начала файла, по которым проверяется, что файл не был перезаписан */
+    private static final int HEAD_LENGTH = 1024;
+
+    private final FollowStateStore stateStore;
+
+    /**
+     * Создает обработчик с заданным хранилищем состояния.
+     *
+     * @param stateStore хранилище контрольных точек
+     */
+    public IncrementalLogProcessor(FollowStateStore stateStore) {
+        this.stateStore = stateStore;
+    }
+
+    /**
+     * Дочитывает новые строки из файлов и возвращает статистику по файлам целиком,
+     * накапливая статистику новых файлов в накопители, созданные заданной фабрикой.
+     * Строки каждого файла преобразуются в записи своим преобразованием, например по формату этого файла.
+     *
+     * @param files              файлы логов для обработки
+     * @param stateFile          путь к файлу состояния
+     * @param query              сигнатура параметров запроса; при ее изменении состояние сбрасывается
+     * @param pipelines          преобразования строк лога в отфильтрованные записи по файлам из {@code files}
+     * @param accumulatorFactory фабрика пустых накопителей
+     * @return статистика, объединенная по всем файлам
+     * @throws IOException если не удалось прочитать файлы или сохранить состояние
+     */
+    public StatisticsAccumulator process(
+        List<Path> files,
+        Path stateFile,
+        String query,
+        Function<Path, Function<Stream<CharSequence>, Stream<LogEntry>>> pipelines,
+        Supplier<StatisticsAccumulator> accumulatorFactory
+    ) throws IOException {
+        FollowState previous = stateStore.load(stateFile);
+        Map<String, FileCheckpoint> known = previous.files();
+        if (!Objects.equals(query, previous.query())) {
+            if (previous.query() != null) {
+                log.info("The query parameters have changed, the saved state is reset");
+            }
+            known = Map.of();
+        }
+        Map<String, StatisticsAccumulator> knownStatistics =
+            stateStore.loadStatistics(stateFile, new FollowState(query, known));
+
+        Map<String, FileCheckpoint> updated = new LinkedHashMap<>();
+        Map<String, StatisticsAccumulator> updatedStatistics = new LinkedHashMap<>();
+        StatisticsAccumulator total = new StatisticsAccumulator();
+        for (Path path : files) {
+            Path file = path.toAbsolutePath().normalize();
+            FileProgress progress =
+                processFile(file, known, knownStatistics, pipelines.apply(path), accumulatorFactory);
+            updated.put(file.toString(), progress.checkpoint());
+            updatedStatistics.put(file.toString(), progress.statistics());
+            total.merge(progress.statistics());
+        }
+
+        stateStore.save(stateFile, new FollowState(query, updated), updatedStatistics);
+        return total;
+    }
+
+    /**
+     * Обрабатывает один файл, продолжая с сохраненной контрольной точки, если она применима
+     * и для нее сохранена статистика.
+     *
+     * @param file               путь к файлу
+     * @param known              контрольные точки предыдущего запуска
+     * @param knownStatistics    статистика предыдущего запуска по путям файлов
+     * @param pipeline           преобразование строк лога в отфильтрованные записи
+     * @param accumulatorFactory фабрика пустых накопителей
+     * @return новая контрольная точка файла и статистика по файлу целиком
+     * @throws IOException если не удалось прочитать файл
+     */
+    private FileProgress processFile(
+        Path file,
+        Map<String, FileCheckpoint> known,
+        Map<String, StatisticsAccumulator> knownStatistics,
+        Function<Stream<CharSequence>, Stream<LogEntry>> pipeline,
+        Supplier<StatisticsAccumulator> accumulatorFactory
+    ) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        String fileKey = fileKey(attributes);
+        long size = attributes.size();
+
+        Map.Entry<String, FileCheckpoint> checkpoint = findCheckpoint(file, fileKey, known);
+        long offset = 0;
+        StatisticsAccumulator statistics = accumulatorFactory.get();
+        if (checkpoint != null
+            && knownStatistics.containsKey(checkpoint.getKey())
+            && isResumable(file, checkpoint.getValue(), size)) {
+            offset = checkpoint.getValue().offset();
+            statistics = knownStatistics.get(checkpoint.getKey());
+        }
+
+        try (BufferedLineSource lines = BufferedLineSource.open(file, offset, size, false);
+             Stream<CharSequence> logLines = lines.stream()) {
+            pipeline.apply(logLines).forEach(statistics::add);
+            log.info("The file {} was read from offset {} to {}", file, offset, lines.offset());
+            offset = lines.offset();
+        }
+
+        int headLength = (int) Math.min(HEAD_LENGTH, offset);
+        FileCheckpoint updated = new FileCheckpoint(fileKey, size, offset, headLength, headChecksum(file, headLength));
+        return new FileProgress(updated, statistics);
+    }
+
+    /**
+     * Ищет контрольную точку файла: сначала по идентичности файла (чтобы найти переименованный
+     * при ротации файл), затем по пути.
+     *
+     * @param file    путь к файлу
+     * @param fileKey идентификатор файла
+     * @param known   контрольные точки предыдущего запуска
+     * @return путь, под которым сохранена найденная контрольная точка, и сама точка или null
+     */
+    private Map.Entry<String, FileCheckpoint> findCheckpoint(
+        Path file,
+        String fileKey,
+        Map<String, FileCheckpoint> known
+    ) {
+        for (Map.Entry<String, FileCheckpoint> entry : known.entrySet()) {
+            if (fileKey.equals(entry.getValue().fileKey())) {
+                if (!entry.getKey().equals(file.toString())) {
+                    log.info("The file {} was rotated to {}", entry.getKey(), file);
+                }
+                return entry;
+            }
+        }
+
+        if (known.containsKey(file.toString())) {
+            log.info("The file {} was rotated, reading from the beginning", file);
+        }
+        return null;
+    }
+
+    /**
+     * Проверяет, можно ли продолжить чтение файла с сохраненной позиции.
+     *
+     * @param file       путь к файлу
+     * @param checkpoint сохраненная контрольная точка
+     * @param size       текущий размер файла
+     * @return true, если файл только дописывался с момента последнего чтения
+     * @throws IOException если не удалось прочитать начало файла
+     */
+    private boolean isResumable(Path file, FileCheckpoint checkpoint, long size) throws IOException {
+        if (size < checkpoint.offset()
+            || headChecksum(file, checkpoint.headLength()) != checkpoint.headChecksum()) {
+            log.info("The file {} was truncated, reading from the beginning", file);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Вычисляет контрольную сумму начала файла.
+     *
+     * @param file   путь к файлу
+     * @param length количество байт от начала файла
+     * @return контрольная сумма CRC32
+     * @throws IOException если не удалось прочитать файл
+     */
+    private long headChecksum(Path file, int length) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (InputStream input = Files.newInputStream(file)) {
+            checksum.update(input.readNBytes(length));
+        }
+        return checksum.getValue();
+    }
+
+    /**
+     * Возвращает идентификатор файла в файловой системе.
+     * Если файловая система его не предоставляет, используется время создания файла.
+     *
+     * @param attributes атрибуты файла
+     * @return идентификатор файла
+     */
+    private String fileKey(BasicFileAttributes attributes) {
+        Object fileKey = attributes.fileKey();
+        return fileKey != null ? fileKey.toString() : attributes.creationTime().toString();
+    }
+
+    /**
+     * Результат обработки одного файла.
+     *
+     * @param checkpoint новая контрольная точка файла
+     * @param statistics статистика по файлу целиком
+     */
+    private record FileProgress(FileCheckpoint checkpoint, StatisticsAccumulator statistics) {
+    }
+}
@@ -0,0 +1,93 @@
+package backend.academy.log.analyzer.follow;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.pipeline.EntryPipeline;
+import backend.academy.log.analyzer.pipeline.ProcessedLogs;
+import backend.academy.log.analyzer.reader.LogReader;
+import backend.academy.log.analyzer.reader.factory.LogReaderFactory;
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Инкрементальный режим ({@code --follow}): дочитывает только новые строки файлов через
+ * {@link IncrementalLogProcessor}, объединяет их со статистикой предыдущих запусков и передает результат
+ * для отчета. Если задан интервал обновления, повторяет обработку до остановки приложения.
+ * Сжатые файлы пропускаются: это уже прочитанные архивы ротации.
+ */
+@Slf4j
+public class LogFollower {
+
+    private final LogReaderFactory logReaderFactory;
+
+    private final IncrementalLogProcessor incrementalLogProcessor;
+
+    private final EntryPipeline entryPipeline;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param logReaderFactory        фабрика для создания лог-ридеров
+     * @param incrementalLogProcessor обработчик инкрементального режима
+     * @param entryPipeline           преобразование строк логов в записи
+     */
+    @Inject
+    public LogFollower(
+        LogReaderFactory logReaderFactory,
+        IncrementalLogProcessor incrementalLogProcessor,
+        EntryPipeline entryPipeline
+    ) {
+        this.logReaderFactory = logReaderFactory;
+        this.incrementalLogProcessor = incrementalLogProcessor;
+        this.entryPipeline = entryPipeline;
+    }
+
+    /**
+     * Обрабатывает новые строки логов и передает результат каждой обработки получателю.
+     *
+     * @param cliArgs аргументы командной строки
+     * @param report  получатель результатов, например построение отчета
+     * @throws IOException          если произошла ошибка при чтении файлов или состояния
+     * @throws InterruptedException если ожидание следующего обновления было прервано
+     */
+    public void follow(CliArguments cliArgs, Consumer<ProcessedLogs> report) throws IOException, InterruptedException {
+        String query = entryPipeline.querySignature(cliArgs);
+
+        while (true) {
+            LogReader logReader = logReaderFactory.create(cliArgs.path(), entryPipeline.detector(cliArgs));
+            if (!(logReader instanceof FileLogReader fileLogReader)) {
+                log.error("The --follow mode is available only for local files");
+                return;
+            }
+
+            entryPipeline.start(cliArgs);
+            try {
+                List<Path> files = fileLogReader.findLogFiles(cliArgs.path()).stream()
+                    .filter(file -> !FileLogReader.isCompressed(file))
+                    .toList();
+                StatisticsAccumulator statistics = incrementalLogProcessor.process(
+                    files,
+                    Path.of(cliArgs.stateFile()),
+                    query,
+                    file -> entryPipeline.entries(cliArgs, fileLogReader.parserFor(file)),
+                    entryPipeline.accumulatorFactory(cliArgs)
+                );
+
+                report.accept(ProcessedLogs.of(statistics, fileLogReader));
+            } finally {
+                entryPipeline.stop();
+            }
+
+            if (cliArgs.followInterval() <= 0) {
+                return;
+            }
+            TimeUnit.SECONDS.sleep(cliArgs.followInterval());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package backend.academy.log.analyzer.generator;
+
+import com.beust.jcommander.Parameter;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Аргументы командной строки генератора синтетических логов.
+ */
+@Getter
+public class GeneratorArguments {
+
+    private static final long KILOBYTE = 1024;
+
+    /**
+     * Путь к файлу, в который записывается лог. Если имя файла оканчивается на ".gz", лог сжимается.
+     */
+    @Parameter(names = "--output", description = "Output file (compressed if the name ends with .gz)", required = true)
+    private String output;
+
+    /**
+     * Начальное значение генератора случайных чисел.
+     */
+    @Parameter(names = "--seed", description = "Random seed")
+    private long seed = GeneratorSettings.DEFAULT_SEED;
+
+    /**
+     * Количество строк.
+     */
+    @Parameter(names = "--lines", description = "Number of lines (ignored if --size is set)")
+    private long lines = GeneratorSettings.DEFAULT_LINES;
+
+    /**
+     * Размер несжатого лога, например 500M или 10G.
+     */
+    @Parameter(names = "--size", description = "Uncompressed log size, e.g. 500M or 10G")
+    private String size;
+
+    /**
+     * Количество уникальных IP-адресов.
+     */
+    @Parameter(names = "--ips", description = "Number of distinct client IP addresses")
+    private int distinctIps = GeneratorSettings.DEFAULT_DISTINCT_IPS;
+
+    /**
+     * Количество уникальных ресурсов.
+     */
+    @Parameter(names = "--paths", description = "Number of distinct request paths")
+    private int distinctPaths = GeneratorSettings.DEFAULT_DISTINCT_PATHS;
+
+    /**
+     * Показатель распределения Ципфа для популярности ресурсов.
+     */
+    @Parameter(names = "--path-skew", description = "Zipf exponent of the path popularity")
+    private double pathSkew = GeneratorSettings.DEFAULT_PATH_SKEW;
+
+    /**
+     * Веса кодов ответа в виде "код=вес,код=вес".
+     */
+    @Parameter(names = "--statuses", description = "Status mix, e.g. 200=80,304=5,404=10,500=5")
+    private String statuses = GeneratorSettings.DEFAULT_STATUSES;
+
+    /**
+     * Количество уникальных значений User-Agent.
+     */
+    @Parameter(names = "--user-agents", description = "Number of distinct user agents")
+    private int distinctUserAgents = GeneratorSettings.DEFAULT_DISTINCT_USER_AGENTS;
+
+    /**
+     * Время первой записи в формате ISO8601.
+     */
+    @Parameter(names = "--start", description = "Time of the first entry in ISO8601 format")
+    private String start = GeneratorSettings.DEFAULT_START;
+
+    /**
+     * Промежуток времени, на который распределяются записи, в формате ISO8601 (например, P1D или PT6H).
+     */
+    @Parameter(names = "--span", description = "Time span of the log in ISO8601 format, e.g. P1D or PT6H")
+    private String span = GeneratorSettings.DEFAULT_SPAN;
+
+    /**
+     * Наибольшее отставание времени записи от ее позиции в файле, в секундах.
+     */
+    @Parameter(names = "--disorder", description = "Maximum time disorder of entries in seconds")
+    private long disorder = GeneratorSettings.DEFAULT_MAX_DISORDER_SECONDS;
+
+    /**
+     * Преобразует аргументы в параметры генерации.
+     *
+     * @return параметры генерации
+     * @throws IllegalArgumentException если аргументы некорректны
+     */
+    public GeneratorSettings toSettings() {
+        if (distinctIps <= 0 || distinctPaths <= 0 || distinctUserAgents <= 0 || disorder < 0) {
+            throw new IllegalArgumentException("Cardinalities must be positive and disorder cannot be negative");
+        }
+        long targetBytes = size != null ? parseSize(size) : 0;
+        return GeneratorSettings.defaults()
+            .seed(seed)
+            .lines(targetBytes > 0 ? 0 : lines)
+            .targetBytes(targetBytes)
+            .distinctIps(distinctIps)
+            .distinctPaths(distinctPaths)
+            .pathSkew(pathSkew)
+            .statusWeights(parseStatuses(statuses))
+            .distinctUserAgents(distinctUserAgents)
+            .start(ZonedDateTime.parse(start))
+            .span(Duration.parse(span))
+            .maxDisorder(Duration.ofSeconds(disorder))
+            .gzip(output.endsWith(".gz"))
+            .build();
+    }
+
+    /**
+     * Разбирает размер с необязательным суффиксом K, M или G.
+     *
+     * @param value размер
+     * @return размер в байтах
+     */
+    static long parseSize(String value) {
+        String normalized = value.trim().toUpperCase(Locale.ROOT);
+        char unit = normalized.charAt(normalized.length() - 1);
+        long multiplier = switch (unit) {
+            case 'K' -> KILOBYTE;
+            case 'M' -> KILOBYTE * KILOBYTE;
+            case 'G' -> KILOBYTE * KILOBYTE * KILOBYTE;
+            default -> 1;
+        };
+        String number = multiplier == 1 ? normalized : normalized.substring(0, normalized.length() - 1);
+        return Long.parseLong(number) * multiplier;
+    }
+
+    /**
+     * Разбирает веса кодов ответа.
+     *
+     * @param value веса в виде "код=вес,код=вес"
+     * @return веса кодов ответа
+     */
+    static Map<Integer, Double> parseStatuses(String value) {
+        Map<Integer, Double> weights = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid status weight: " + pair);
+            }
+            weights.put(Integer.parseInt(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,42 @@
+package backend.academy.log.analyzer.generator;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.ParameterException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Точка входа генератора синтетических логов nginx.
+ * Запуск: {@code java -cp analyzer.jar backend.academy.log.analyzer.generator.GeneratorMain --output access.log}
+ */
+@Slf4j
+@UtilityClass
+public class GeneratorMain {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    public static void main(String[] args) {
+        GeneratorArguments arguments = new GeneratorArguments();
+        JCommander jCommander = JCommander.newBuilder().addObject(arguments).build();
+        try {
+            jCommander.parse(args);
+            GeneratorSettings settings = arguments.toSettings();
+
+            long startTime = System.nanoTime();
+            long lines = new LogGenerator().generate(settings, Path.of(arguments.output()));
+            double seconds = (System.nanoTime() - startTime) / NANOS_PER_SECOND;
+
+            log.info("Generated {} lines to {} in {} s", lines, arguments.output(), String.format("%.1f", seconds));
+        } catch (ParameterException e) {
+            log.error("Error in command line arguments: {}", e.getMessage());
+            jCommander.usage();
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            log.error("Invalid generator parameters: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("Error writing the log to {}", arguments.output());
+        }
+    }
+}
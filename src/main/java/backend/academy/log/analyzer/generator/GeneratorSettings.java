@@ -0,0 +1,109 @@
+package backend.academy.log.analyzer.generator;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import lombok.Builder;
+
+/**
+ * Параметры генерации синтетических логов.
+ *
+ * @param seed               начальное значение генератора случайных чисел; одинаковые параметры дают одинаковый лог
+ * @param lines              количество строк (0 - ограничение только по размеру)
+ * @param targetBytes        размер несжатого лога в байтах, при достижении которого генерация завершается
+ * @param distinctIps        количество уникальных IP-адресов клиентов
+ * @param distinctPaths      количество уникальных ресурсов
+ * @param pathSkew           показатель распределения Ципфа для популярности ресурсов
+ * @param statusWeights      веса кодов ответа
+ * @param distinctUserAgents количество уникальных значений User-Agent
+ * @param start              время первой записи
+ * @param span               промежуток времени, на который равномерно распределяются записи
+ * @param maxDisorder        наибольшее отставание времени записи от ее позиции в файле
+ *                           (nginx пишет запись по завершении запроса, поэтому время в логе немонотонно)
+ * @param gzip               сжимать ли лог в формате gzip
+ */
+@Builder(toBuilder = true)
+public record GeneratorSettings(
+    long seed,
+    long lines,
+    long targetBytes,
+    int distinctIps,
+    int distinctPaths,
+    double pathSkew,
+    Map<Integer, Double> statusWeights,
+    int distinctUserAgents,
+    ZonedDateTime start,
+    Duration span,
+    Duration maxDisorder,
+    boolean gzip
+) {
+
+    /**
+     * Начальное значение генератора случайных чисел по умолчанию.
+     */
+    static final long DEFAULT_SEED = 1;
+
+    /**
+     * Количество строк по умолчанию.
+     */
+    static final long DEFAULT_LINES = 1_000_000;
+
+    /**
+     * Количество уникальных IP-адресов по умолчанию.
+     */
+    static final int DEFAULT_DISTINCT_IPS = 10_000;
+
+    /**
+     * Количество уникальных ресурсов по умолчанию.
+     */
+    static final int DEFAULT_DISTINCT_PATHS = 1_000;
+
+    /**
+     * Показатель распределения Ципфа для популярности ресурсов по умолчанию.
+     */
+    static final double DEFAULT_PATH_SKEW = 1.1;
+
+    /**
+     * Веса кодов ответа по умолчанию в виде "код=вес,код=вес".
+     */
+    static final String DEFAULT_STATUSES = "200=80,304=5,404=10,500=5";
+
+    /**
+     * Количество уникальных значений User-Agent по умолчанию.
+     */
+    static final int DEFAULT_DISTINCT_USER_AGENTS = 50;
+
+    /**
+     * Время первой записи по умолчанию в формате ISO8601.
+     */
+    static final String DEFAULT_START = "2015-05-17T08:00:00Z";
+
+    /**
+     * Промежуток времени, на который распределяются записи, по умолчанию в формате ISO8601.
+     */
+    static final String DEFAULT_SPAN = "P1D";
+
+    /**
+     * Наибольшее отставание времени записи от ее позиции в файле по умолчанию, в секундах.
+     */
+    static final long DEFAULT_MAX_DISORDER_SECONDS = 5;
+
+    /**
+     * Возвращает параметры по умолчанию: миллион строк за одни сутки.
+     *
+     * @return построитель параметров со значениями по умолчанию
+     */
+    public static GeneratorSettingsBuilder defaults() {
+        return builder()
+            .seed(DEFAULT_SEED)
+            .lines(DEFAULT_LINES)
+            .distinctIps(DEFAULT_DISTINCT_IPS)
+            .distinctPaths(DEFAULT_DISTINCT_PATHS)
+            .pathSkew(DEFAULT_PATH_SKEW)
+            .statusWeights(GeneratorArguments.parseStatuses(DEFAULT_STATUSES))
+            .distinctUserAgents(DEFAULT_DISTINCT_USER_AGENTS)
+            .start(ZonedDateTime.parse(DEFAULT_START))
+            .span(Duration.parse(DEFAULT_SPAN))
+            .maxDisorder(Duration.ofSeconds(DEFAULT_MAX_DISORDER_SECONDS));
+    }
+}
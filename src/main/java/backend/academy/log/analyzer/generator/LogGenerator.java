@@ -0,0 +1,273 @@
+package backend.academy.log.analyzer.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Генератор синтетических логов nginx в формате combined, соответствующих {@link
+ * backend.academy.log.analyzer.parser.LogParser#LOG_PATTERN}.
+ * Генерация детерминирована: при одинаковых параметрах получается один и тот же лог,
+ * поэтому сгенерированные файлы можно не хранить, а воспроизводить по параметрам.
+ * Строки собираются в переиспользуемом буфере без форматтеров, что позволяет генерировать
+ * десятки гигабайт со скоростью записи на диск.
+ */
+public class LogGenerator {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    /** Показатель распределения Ципфа для активности клиентов */
+    private static final double CLIENT_SKEW = 0.8;
+
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+
+    private static final String[] METHODS = {"GET", "POST", "HEAD", "PUT", "DELETE"};
+
+    private static final double[] METHOD_WEIGHTS = {85, 8, 5, 1, 1};
+
+    private static final String[] PATH_PREFIXES = {
+        "/downloads/product_", "/api/v1/items/", "/static/assets/", "/blog/posts/", "/images/"
+    };
+
+    private static final List<String> USER_AGENT_TEMPLATES = List.of(
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/%d.0 Safari/537.36",
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:%d.0) Gecko/20100101 Firefox/%<d.0",
+        "Debian APT-HTTP/1.3 (1.%d.2)",
+        "curl/7.%d.0",
+        "Wget/1.%d"
+    );
+
+    private static final double BODY_SIZE_MEAN_LOG = 8;
+
+    private static final double BODY_SIZE_SIGMA_LOG = 1.5;
+
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    private static final int SECONDS_PER_HOUR = 3600;
+
+    private static final int TWO_DIGITS = 10;
+
+    private static final int LINE_CAPACITY = 512;
+
+    /** Средняя длина строки, по которой оценивается количество строк в логе заданного размера */
+    private static final int AVERAGE_LINE_LENGTH = 180;
+
+    /** Нечетный множитель для перемешивания номеров клиентов (золотое сечение в 32 битах) */
+    private static final int ADDRESS_MULTIPLIER = 0x9E3779B1;
+
+    private static final int BYTE_MASK = 0xFF;
+
+    /**
+     * Генерирует лог в файл. Файл сжимается, если это задано в параметрах.
+     *
+     * @param settings параметры генерации
+     * @param output   путь к файлу
+     * @return количество записанных строк
+     * @throws IOException если произошла ошибка записи
+     */
+    public long generate(GeneratorSettings settings, Path output) throws IOException {
+        try (OutputStream file = Files.newOutputStream(output);
+             OutputStream stream = settings.gzip() ? new FastGzipOutputStream(file) : file;
+             Writer writer = new BufferedWriter(
+                 new OutputStreamWriter(stream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            return generate(settings, writer);
+        }
+    }
+
+    /**
+     * Генерирует лог в поток символов.
+     *
+     * @param settings параметры генерации
+     * @param writer   приемник строк; не закрывается
+     * @return количество записанных строк
+     * @throws IOException если произошла ошибка записи
+     */
+    public long generate(GeneratorSettings settings, Writer writer) throws IOException {
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        String[] ips = ipAddresses(settings.distinctIps());
+        String[] paths = paths(settings.distinctPaths(), random.split());
+        String[] userAgents = userAgents(settings.distinctUserAgents());
+        int[] statuses = settings.statusWeights().keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        WeightedSampler ipSampler = WeightedSampler.zipf(ips.length, CLIENT_SKEW);
+        WeightedSampler pathSampler = WeightedSampler.zipf(paths.length, settings.pathSkew());
+        WeightedSampler userAgentSampler = WeightedSampler.zipf(userAgents.length, 1);
+        WeightedSampler methodSampler = new WeightedSampler(METHOD_WEIGHTS);
+        WeightedSampler statusSampler = new WeightedSampler(statusWeights(statuses, settings.statusWeights()));
+
+        long expectedLines = settings.lines() > 0 ? settings.lines() : estimateLines(settings.targetBytes());
+        long startSecond = settings.start().toEpochSecond();
+        long spanSeconds = settings.span().toSeconds();
+        long maxDisorder = settings.maxDisorder().toSeconds();
+        ZoneOffset offset = settings.start().getOffset();
+        String offsetSuffix = " " + offset.getId().replace(":", "").replace("Z", "+0000") + "] \"";
+
+        StringBuilder line = new StringBuilder(LINE_CAPACITY);
+        long writtenBytes = 0;
+        long lineCount = 0;
+        while (settings.lines() > 0 ? lineCount < settings.lines() : writtenBytes < settings.targetBytes()) {
+            long second = startSecond + spanSeconds * Math.min(lineCount, expectedLines) / Math.max(expectedLines, 1);
+            if (maxDisorder > 0) {
+                second -= random.nextLong(maxDisorder + 1);
+            }
+
+            line.setLength(0);
+            line.append(ips[ipSampler.sample(random)]).append(" - - [");
+            appendTime(line, LocalDateTime.ofEpochSecond(second, 0, offset));
+            line.append(offsetSuffix)
+                .append(METHODS[methodSampler.sample(random)]).append(' ')
+                .append(paths[pathSampler.sample(random)]).append(" HTTP/1.1\" ")
+                .append(statuses[statusSampler.sample(random)]).append(' ')
+                .append(bodySize(random)).append(" \"-\" \"")
+                .append(userAgents[userAgentSampler.sample(random)]).append("\"\n");
+
+            writer.append(line);
+            writtenBytes += line.length();
+            lineCount++;
+        }
+        writer.flush();
+        return lineCount;
+    }
+
+    /**
+     * Добавляет время в формате "dd/MMM/yyyy:HH:mm:ss".
+     *
+     * @param line строка лога
+     * @param time время
+     */
+    private void appendTime(StringBuilder line, LocalDateTime time) {
+        appendTwoDigits(line, time.getDayOfMonth());
+        line.append('/').append(MONTHS[time.getMonthValue() - 1]).append('/').append(time.getYear()).append(':');
+        int secondOfDay = time.toLocalTime().toSecondOfDay();
+        appendTwoDigits(line, secondOfDay / SECONDS_PER_HOUR);
+        line.append(':');
+        appendTwoDigits(line, secondOfDay % SECONDS_PER_HOUR / SECONDS_PER_MINUTE);
+        line.append(':');
+        appendTwoDigits(line, secondOfDay % SECONDS_PER_MINUTE);
+    }
+
+    /**
+     * Добавляет число с ведущим нулем.
+     *
+     * @param line  строка лога
+     * @param value число от 0 до 99
+     */
+    private void appendTwoDigits(StringBuilder line, int value) {
+        if (value < TWO_DIGITS) {
+            line.append('0');
+        }
+        line.append(value);
+    }
+
+    /**
+     * Возвращает размер ответа с логнормальным распределением: много небольших ответов
+     * и редкие большие загрузки.
+     *
+     * @param random генератор случайных чисел
+     * @return размер ответа в байтах
+     */
+    private long bodySize(SplittableRandom random) {
+        return (long) Math.exp(BODY_SIZE_MEAN_LOG + BODY_SIZE_SIGMA_LOG * random.nextGaussian());
+    }
+
+    /**
+     * Строит уникальные IP-адреса. Номер клиента переводится в адрес взаимно однозначным
+     * перемешиванием, поэтому адреса различны и не идут подряд.
+     *
+     * @param count количество адресов
+     * @return IP-адреса
+     */
+    private String[] ipAddresses(int count) {
+        String[] ips = new String[count];
+        StringBuilder ip = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int address = (i + 1) * ADDRESS_MULTIPLIER;
+            ip.setLength(0);
+            for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+                ip.append(address >>> shift & BYTE_MASK).append(shift > 0 ? "." : "");
+            }
+            ips[i] = ip.toString();
+        }
+        return ips;
+    }
+
+    /**
+     * Строит пути ресурсов.
+     *
+     * @param count  количество ресурсов
+     * @param random генератор случайных чисел
+     * @return пути ресурсов
+     */
+    private String[] paths(int count, SplittableRandom random) {
+        String[] paths = new String[count];
+        for (int i = 0; i < count; i++) {
+            paths[i] = PATH_PREFIXES[random.nextInt(PATH_PREFIXES.length)] + i;
+        }
+        return paths;
+    }
+
+    /**
+     * Строит значения User-Agent на основе шаблонов популярных клиентов.
+     *
+     * @param count количество значений
+     * @return значения User-Agent
+     */
+    private String[] userAgents(int count) {
+        String[] userAgents = new String[count];
+        for (int i = 0; i < count; i++) {
+            String template = USER_AGENT_TEMPLATES.get(i % USER_AGENT_TEMPLATES.size());
+            userAgents[i] = String.format(template, i / USER_AGENT_TEMPLATES.size() + 1);
+        }
+        return userAgents;
+    }
+
+    /**
+     * Возвращает веса кодов ответа в порядке кодов.
+     *
+     * @param statuses      коды ответа
+     * @param statusWeights веса кодов ответа
+     * @return массив весов
+     */
+    private double[] statusWeights(int[] statuses, Map<Integer, Double> statusWeights) {
+        double[] weights = new double[statuses.length];
+        for (int i = 0; i < statuses.length; i++) {
+            weights[i] = statusWeights.get(statuses[i]);
+        }
+        return weights;
+    }
+
+    /**
+     * Оценивает количество строк в логе заданного размера, чтобы равномерно распределить время записей.
+     *
+     * @param targetBytes размер лога
+     * @return оценка количества строк
+     */
+    private long estimateLines(long targetBytes) {
+        return Math.max(targetBytes / AVERAGE_LINE_LENGTH, 1);
+    }
+
+    /**
+     * Поток gzip с максимальной скоростью сжатия: генератору важнее скорость, чем размер файла.
+     */
+    private static final class FastGzipOutputStream extends GZIPOutputStream {
+
+        FastGzipOutputStream(OutputStream output) throws IOException {
+            super(output, WRITE_BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
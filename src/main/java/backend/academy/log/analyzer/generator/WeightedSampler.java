@@ -0,0 +1,71 @@
+package backend.academy.log.analyzer.generator;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Выбор индекса из дискретного распределения с заданными весами.
+ * Хранит накопленные веса, поэтому один выбор стоит двоичного поиска по массиву.
+ */
+public class WeightedSampler {
+
+    private final double[] cumulativeWeights;
+
+    /**
+     * Создает распределение с заданными весами.
+     *
+     * @param weights неотрицательные веса значений; сумма весов должна быть положительной
+     */
+    public WeightedSampler(double[] weights) {
+        cumulativeWeights = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0) {
+                throw new IllegalArgumentException("Weights cannot be negative");
+            }
+            total += weights[i];
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The sum of weights must be positive");
+        }
+    }
+
+    /**
+     * Создает распределение Ципфа: вес значения с номером k пропорционален 1 / k^exponent.
+     * Так распределена популярность ресурсов и клиентов в реальных логах.
+     *
+     * @param size     количество значений
+     * @param exponent показатель распределения (0 - равномерное распределение)
+     * @return распределение
+     */
+    public static WeightedSampler zipf(int size, double exponent) {
+        double[] weights = new double[size];
+        for (int k = 0; k < size; k++) {
+            weights[k] = 1 / Math.pow(k + 1, exponent);
+        }
+        return new WeightedSampler(weights);
+    }
+
+    /**
+     * Выбирает случайный индекс.
+     *
+     * @param random генератор случайных чисел
+     * @return индекс значения
+     */
+    public int sample(RandomGenerator random) {
+        double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        index = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(index, cumulativeWeights.length - 1);
+    }
+
+    /**
+     * Возвращает количество значений распределения.
+     *
+     * @return количество значений
+     */
+    public int size() {
+        return cumulativeWeights.length;
+    }
+}
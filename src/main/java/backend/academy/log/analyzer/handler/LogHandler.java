@@ -1,62 +1,105 @@
 package backend.academy.log.analyzer.handler;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
-import backend.academy.log.analyzer.entry.LogEntry;
-import backend.academy.log.analyzer.filter.LogFilter;
-import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.arguments.MergeArguments;
+import backend.academy.log.analyzer.cache.CachedLogProcessor;
+import backend.academy.log.analyzer.execution.ExecutionModel;
+import backend.academy.log.analyzer.execution.ExecutionModelFactory;
+import backend.academy.log.analyzer.follow.LogFollower;
+import backend.academy.log.analyzer.index.IndexedLogProcessor;
+import backend.academy.log.analyzer.jfr.AnalyzerEvents;
+import backend.academy.log.analyzer.metrics.ParseErrorLimitException;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.metrics.ProgressReporter;
+import backend.academy.log.analyzer.parser.LogFormatDetector;
+import backend.academy.log.analyzer.partial.PartialResult;
+import backend.academy.log.analyzer.partial.PartialResultMerger;
+import backend.academy.log.analyzer.pipeline.EntryPipeline;
+import backend.academy.log.analyzer.pipeline.LogProcessor;
+import backend.academy.log.analyzer.pipeline.ProcessedLogs;
 import backend.academy.log.analyzer.reader.LogReader;
 import backend.academy.log.analyzer.reader.factory.LogReaderFactory;
-import backend.academy.log.analyzer.reporter.Reporter;
-import backend.academy.log.analyzer.reporter.factory.ReporterFactory;
-import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import backend.academy.log.analyzer.reporter.ReportGenerator;
 import com.google.inject.Inject;
 import java.io.IOException;
-import java.time.LocalDate;
+import java.nio.file.Path;
 import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Optional;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Класс для обработки логов, включая чтение, фильтрацию, парсинг и генерацию отчетов.
- * Использует фабрики для создания необходимых компонентов и выполняет обработку логов по заданным параметрам.
+ * Выбирает режим обработки по аргументам командной строки и передает обработку соответствующему
+ * обработчику, после чего генерирует отчет по ее результату.
  */
 @Slf4j
 public class LogHandler {
 
     private final LogReaderFactory logReaderFactory;
 
-    private final ReporterFactory reporterFactory;
+    private final EntryPipeline entryPipeline;
 
-    private final LogParser logParser;
+    private final LogProcessor logProcessor;
 
-    private final LogStatisticsCollector logStatisticsCollector;
+    private final IndexedLogProcessor indexedLogProcessor;
 
-    private final LogFilter logFilter;
+    private final CachedLogProcessor cachedLogProcessor;
+
+    private final LogFollower logFollower;
+
+    private final PartialResultMerger partialResultMerger;
+
+    private final ReportGenerator reportGenerator;
+
+    private final ExecutionModelFactory executionModelFactory;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final ProgressReporter progressReporter;
 
     /**
      * Конструктор для инъекции зависимостей.
      *
-     * @param logReaderFactory       фабрика для создания лог-ридеров
-     * @param reporterFactory        фабрика для создания репортеров
-     * @param logParser              парсер для обработки строк логов
-     * @param logStatisticsCollector сборщик статистики по логам
-     * @param logFilter              фильтр для фильтрации логов
+     * @param logReaderFactory      фабрика для создания лог-ридеров
+     * @param entryPipeline         преобразование строк логов в записи
+     * @param logProcessor          обработчик логов полным чтением
+     * @param indexedLogProcessor   обработчик локальных файлов с помощью индексов
+     * @param cachedLogProcessor    обработчик локальных файлов с кэшем статистики
+     * @param logFollower           обработчик инкрементального режима
+     * @param partialResultMerger   объединение частичных результатов
+     * @param reportGenerator       генератор отчетов
+     * @param executionModelFactory фабрика моделей выполнения
+     * @param pipelineMetrics       метрики конвейера обработки
+     * @param progressReporter      вывод хода обработки
      */
     @Inject
     public LogHandler(
         LogReaderFactory logReaderFactory,
-        ReporterFactory reporterFactory,
-        LogParser logParser,
-        LogStatisticsCollector logStatisticsCollector,
-        LogFilter logFilter
+        EntryPipeline entryPipeline,
+        LogProcessor logProcessor,
+        IndexedLogProcessor indexedLogProcessor,
+        CachedLogProcessor cachedLogProcessor,
+        LogFollower logFollower,
+        PartialResultMerger partialResultMerger,
+        ReportGenerator reportGenerator,
+        ExecutionModelFactory executionModelFactory,
+        PipelineMetrics pipelineMetrics,
+        ProgressReporter progressReporter
     ) {
         this.logReaderFactory = logReaderFactory;
-        this.reporterFactory = reporterFactory;
-        this.logParser = logParser;
-        this.logStatisticsCollector = logStatisticsCollector;
-        this.logFilter = logFilter;
+        this.entryPipeline = entryPipeline;
+        this.logProcessor = logProcessor;
+        this.indexedLogProcessor = indexedLogProcessor;
+        this.cachedLogProcessor = cachedLogProcessor;
+        this.logFollower = logFollower;
+        this.partialResultMerger = partialResultMerger;
+        this.reportGenerator = reportGenerator;
+        this.executionModelFactory = executionModelFactory;
+        this.pipelineMetrics = pipelineMetrics;
+        this.progressReporter = progressReporter;
     }
 
     /**
@@ -73,87 +116,80 @@ public class LogHandler {
     }
 
     /**
-     * Обрабатывает логи, фильтрует и парсит их, а затем генерирует отчет.
+     * Объединяет частичные результаты анализа и генерирует по ним отчет.
      *
-     * @param cliArgs аргументы командной строки с параметрами для фильтрации
-     * @throws IOException            если произошла ошибка при чтении файла
-     * @throws DateTimeParseException если произошла ошибка при парсинге даты
+     * @param mergeArgs аргументы команды merge
      */
-    private void processLogs(CliArguments cliArgs) throws IOException, DateTimeParseException {
-        LogReader logReader = logReaderFactory.create(cliArgs.path());
-
-        try (Stream<String> logLines = logReader.readLogs(cliArgs.path())) {
-            LocalDate fromDate = parseDate(cliArgs.from());
-            LocalDate toDate = parseDate(cliArgs.to());
-
-            Stream<LogEntry> entries = prepareLogEntries(
-                logLines,
-                fromDate,
-                toDate,
-                cliArgs.filterField(),
-                cliArgs.filterValue()
-            );
-
-            generateReport(entries, logReader.getFileNames(), cliArgs);
+    public void merge(MergeArguments mergeArgs) {
+        try {
+            mergePartialResults(mergeArgs);
+        } catch (Exception e) {
+            handleException(e);
         }
     }
 
     /**
-     * Парсит строку с датой в формате ISO8601 в объект LocalDate.
+     * Обрабатывает логи в режиме, выбранном по аргументам командной строки, а затем генерирует отчет.
      *
-     * @param date строка с датой
-     * @return объект LocalDate или null, если дата не указана
+     * @param cliArgs аргументы командной строки с параметрами для фильтрации
+     * @throws IOException            если произошла ошибка при чтении файла
+     * @throws DateTimeParseException если произошла ошибка при парсинге даты
+     * @throws InterruptedException   если обработка была прервана
      */
-    private LocalDate parseDate(String date) {
-        return date != null ? LocalDate.parse(date) : null;
-    }
+    private void processLogs(CliArguments cliArgs) throws IOException, DateTimeParseException, InterruptedException {
+        AnalyzerEvents.setEnabled(cliArgs.jfrEvents());
+        if (cliArgs.follow()) {
+            logFollower.follow(cliArgs, processedLogs -> reportGenerator.generate(processedLogs, cliArgs));
+            return;
+        }
 
-    /**
-     * Фильтрует и парсит строки логов, применяя фильтры по датам и полям.
-     *
-     * @param logLines    потока строк логов
-     * @param from        начальная дата диапазона
-     * @param to          конечная дата диапазона
-     * @param filterField поле для фильтрации
-     * @param filterValue значение для фильтрации
-     * @return поток объектов LogEntry
-     */
-    private Stream<LogEntry> prepareLogEntries(
-        Stream<String> logLines,
-        LocalDate from,
-        LocalDate to,
-        String filterField,
-        String filterValue
-    ) {
-        return logLines
-            .map(logParser::parse)
-            .filter(Objects::nonNull)
-            .filter(entry -> logFilter.isWithinDateRange(entry.timeLocal(), from, to))
-            .filter(entry ->
-                filterField == null
-                    || filterValue == null
-                    || logFilter.matches(entry, filterField, ".*" + filterValue + ".*"));
+        entryPipeline.start(cliArgs);
+        LogFormatDetector detector = entryPipeline.detector(cliArgs);
+        LogReader logReader = logReaderFactory.create(cliArgs.path(), detector);
+
+        try (ExecutionModel executionModel =
+                 executionModelFactory.create(cliArgs.execution(), cliArgs.parallelism())) {
+            ProcessedLogs processedLogs;
+            if (logReader instanceof FileLogReader fileLogReader) {
+                List<Path> files = fileLogReader.findLogFiles(cliArgs.path());
+                progressReporter.start(fileLogReader.getTotalSize(), cliArgs.progressInterval());
+                if (cliArgs.indexDir() != null) {
+                    processedLogs = indexedLogProcessor.process(cliArgs, fileLogReader, files, executionModel);
+                } else if (cliArgs.cacheDir() != null) {
+                    processedLogs = cachedLogProcessor.process(cliArgs, fileLogReader, files, executionModel);
+                } else {
+                    processedLogs = logProcessor.processFiles(cliArgs, fileLogReader, files, executionModel);
+                }
+            } else {
+                processedLogs = logProcessor.processStream(cliArgs, logReader, detector, executionModel);
+            }
+            reportGenerator.generate(processedLogs, cliArgs);
+        } finally {
+            progressReporter.stop();
+            entryPipeline.stop();
+        }
     }
 
     /**
-     * Генерирует отчет по обработанным логам.
+     * Объединяет частичные результаты и генерирует отчет по объединенной статистике.
+     * При необходимости объединенный результат сохраняется как новый частичный результат.
      *
-     * @param entries   поток объектов LogEntry
-     * @param fileNames список имен файлов логов
-     * @param cliArgs   аргументы командной строки для формирования отчета
+     * @param mergeArgs аргументы команды merge
      */
-    private void generateReport(
-        Stream<LogEntry> entries,
-        List<String> fileNames,
-        CliArguments cliArgs
-    ) {
-        logStatisticsCollector.computeStatistics(entries, fileNames);
-
-        Reporter reporter = reporterFactory.createReporter(logStatisticsCollector, cliArgs.format());
-        String outputPath = "report." + cliArgs.format();
+    private void mergePartialResults(MergeArguments mergeArgs) {
+        pipelineMetrics.reset();
+        Optional<PartialResult> merged = partialResultMerger.merge(mergeArgs.inputs());
+        if (merged.isEmpty()) {
+            return;
+        }
 
-        reporter.formatReport(outputPath, cliArgs);
-        log.info("The report is saved to a file: {}", outputPath);
+        PartialResult result = merged.get();
+        CliArguments reportArgs = new CliArguments(String.join(", ", mergeArgs.inputs()), result.from(),
+            result.to(), mergeArgs.format(), result.filterField(), result.filterValue());
+        reportGenerator.generate(new ProcessedLogs(result.statistics(), result.fileNames(), Map.of()), reportArgs);
+        if (mergeArgs.partialOutput() != null) {
+            reportGenerator.savePartialResult(mergeArgs.partialOutput(), result);
+        }
     }
 
     /**
@@ -162,8 +198,15 @@ public class LogHandler {
      * @param e исключение
      */
     private void handleException(Exception e) {
-        if (e instanceof DateTimeParseException) {
+        if (e instanceof InterruptedException) {
+            log.info("Log processing was stopped");
+            Thread.currentThread().interrupt();
+        } else if (e instanceof ParseErrorLimitException) {
+            log.error("Log processing was stopped: {}", e.getMessage());
+        } else if (e instanceof DateTimeParseException) {
             log.error("Date parsing error");
+        } else if (e instanceof IllegalArgumentException) {
+            log.error(e.getMessage());
         } else if (e instanceof IOException) {
             log.error("File reading error");
         } else {
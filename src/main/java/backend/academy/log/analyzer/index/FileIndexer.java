@@ -0,0 +1,87 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.metrics.ParseErrorMonitor;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.metrics.Stage;
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.reader.BufferedLineSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Построение индексов файла как побочный результат его обычного чтения.
+ * За один проход по файлу строит индекс агрегатов по часовым интервалам и индекс позиций строк,
+ * передавая каждую разобранную запись дальше для вычисления статистики текущего запроса.
+ */
+@Slf4j
+public class FileIndexer {
+
+    private final IndexStore indexStore;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final ParseErrorMonitor parseErrorMonitor;
+
+    /**
+     * Создает построитель индексов.
+     *
+     * @param indexStore        хранилище индексов
+     * @param pipelineMetrics   метрики конвейера
+     * @param parseErrorMonitor монитор строк, которые не удалось разобрать
+     */
+    public FileIndexer(IndexStore indexStore, PipelineMetrics pipelineMetrics, ParseErrorMonitor parseErrorMonitor) {
+        this.indexStore = indexStore;
+        this.pipelineMetrics = pipelineMetrics;
+        this.parseErrorMonitor = parseErrorMonitor;
+    }
+
+    /**
+     * Читает файл целиком, разбирая строки заданным парсером, строит и сохраняет его индексы.
+     * Если файл изменился во время чтения, индексы не сохраняются.
+     *
+     * @param file          путь к файлу логов
+     * @param indexDir      директория индексов
+     * @param parser        парсер строк логов
+     * @param entryConsumer получатель каждой разобранной записи
+     * @throws IOException если произошла ошибка при чтении файла
+     */
+    public void index(Path file, Path indexDir, LogParser parser, Consumer<LogEntry> entryConsumer)
+        throws IOException {
+        String key = indexStore.keyOf(file);
+        RollupIndex rollupIndex = new RollupIndex();
+        OffsetIndex offsetIndex = new OffsetIndex();
+
+        try (BufferedLineSource lines = BufferedLineSource.open(file, 0, Files.size(file), true);
+             Stream<CharSequence> meteredLines = pipelineMetrics.meter(lines.stream())) {
+            Iterator<CharSequence> iterator = meteredLines.iterator();
+            long lineOffset = 0;
+            while (iterator.hasNext()) {
+                CharSequence line = iterator.next();
+                long startTime = pipelineMetrics.start();
+                LogEntry entry = parser.parse(line);
+                pipelineMetrics.stop(Stage.PARSE, startTime);
+                if (entry != null) {
+                    rollupIndex.add(entry);
+                    offsetIndex.add(lineOffset, entry);
+                    entryConsumer.accept(entry);
+                } else {
+                    parseErrorMonitor.rejected(parser, line);
+                }
+                lineOffset = lines.offset();
+            }
+            offsetIndex.finish(lines.offset());
+        }
+
+        if (key.equals(indexStore.keyOf(file))) {
+            indexStore.saveRollup(indexDir, key, rollupIndex);
+            indexStore.saveOffsets(indexDir, key, offsetIndex);
+            log.info("The file {} was indexed: {} segments", file, offsetIndex.segments().size());
+        }
+    }
+}
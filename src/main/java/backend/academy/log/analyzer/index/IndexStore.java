@@ -0,0 +1,161 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.cache.FileFingerprint;
+import backend.academy.log.analyzer.statistics.StatisticsCodec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Хранилище индексов файлов логов: агрегатов по часовым интервалам ({@link RollupIndex})
+ * и позиций строк по времени ({@link OffsetIndex}).
+ * Индексы привязаны к отпечатку файла (путь, размер, время изменения)
+ * и перестают использоваться, как только файл меняется.
+ */
+@Slf4j
+public class IndexStore {
+
+    /** Сигнатура формата: "LAI" (Log Analyzer Index) */
+    private static final int MAGIC = 0x4C4149;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String ROLLUP_SUFFIX = ".rollup";
+
+    private static final String OFFSETS_SUFFIX = ".offsets";
+
+    /**
+     * Чтение индекса из двоичного представления.
+     *
+     * @param <T> тип индекса
+     */
+    @FunctionalInterface
+    private interface IndexReader<T> {
+        T read(DataInput input) throws IOException;
+    }
+
+    /**
+     * Запись индекса в двоичное представление.
+     */
+    @FunctionalInterface
+    private interface IndexWriter {
+        void write(DataOutput output) throws IOException;
+    }
+
+    /**
+     * Загружает индекс агрегатов файла, если он построен для текущего состояния файла.
+     *
+     * @param indexDir директория индексов
+     * @param file     путь к файлу логов
+     * @return индекс или пустое значение, если индекс отсутствует или устарел
+     * @throws IOException если не удалось прочитать атрибуты файла логов
+     */
+    public Optional<RollupIndex> loadRollup(Path indexDir, Path file) throws IOException {
+        return load(indexDir.resolve(keyOf(file) + ROLLUP_SUFFIX), RollupIndex::read);
+    }
+
+    /**
+     * Загружает индекс позиций файла, если он построен для текущего состояния файла.
+     *
+     * @param indexDir директория индексов
+     * @param file     путь к файлу логов
+     * @return индекс или пустое значение, если индекс отсутствует или устарел
+     * @throws IOException если не удалось прочитать атрибуты файла логов
+     */
+    public Optional<OffsetIndex> loadOffsets(Path indexDir, Path file) throws IOException {
+        return load(indexDir.resolve(keyOf(file) + OFFSETS_SUFFIX), OffsetIndex::read);
+    }
+
+    /**
+     * Сохраняет индекс агрегатов файла.
+     *
+     * @param indexDir директория индексов
+     * @param key      ключ, вычисленный {@link #keyOf(Path)} до чтения файла
+     * @param index    индекс
+     */
+    public void saveRollup(Path indexDir, String key, RollupIndex index) {
+        save(indexDir, key + ROLLUP_SUFFIX, index::write);
+    }
+
+    /**
+     * Сохраняет индекс позиций файла.
+     *
+     * @param indexDir директория индексов
+     * @param key      ключ, вычисленный {@link #keyOf(Path)} до чтения файла
+     * @param index    индекс
+     */
+    public void saveOffsets(Path indexDir, String key, OffsetIndex index) {
+        save(indexDir, key + OFFSETS_SUFFIX, index::write);
+    }
+
+    /**
+     * Вычисляет ключ индексов для текущего состояния файла.
+     *
+     * @param file путь к файлу логов
+     * @return ключ индексов
+     * @throws IOException если не удалось прочитать атрибуты файла
+     */
+    public String keyOf(Path file) throws IOException {
+        return FileFingerprint.of(file, String.valueOf(FORMAT_VERSION), String.valueOf(StatisticsCodec.FORMAT_VERSION));
+    }
+
+    /**
+     * Загружает индекс из файла.
+     *
+     * @param indexFile путь к файлу индекса
+     * @param reader    чтение индекса
+     * @param <T>       тип индекса
+     * @return индекс или пустое значение, если файла нет или он поврежден
+     */
+    private <T> Optional<T> load(Path indexFile, IndexReader<T> reader) {
+        if (!Files.isRegularFile(indexFile)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            return Optional.of(reader.read(input));
+        } catch (IOException e) {
+            log.warn("The index {} is damaged and will be rebuilt", indexFile);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Сохраняет индекс в файл через временный файл.
+     *
+     * @param indexDir  директория индексов
+     * @param indexName имя файла индекса
+     * @param writer    запись индекса
+     */
+    private void save(Path indexDir, String indexName, IndexWriter writer) {
+        try {
+            Files.createDirectories(indexDir);
+            Path tempFile = Files.createTempFile(indexDir, "index_", ".tmp");
+            try {
+                try (DataOutputStream output =
+                         new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    output.writeInt(MAGIC);
+                    output.writeInt(FORMAT_VERSION);
+                    writer.write(output);
+                }
+                Files.move(tempFile, indexDir.resolve(indexName),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to save the index to the directory {}", indexDir);
+        }
+    }
+}
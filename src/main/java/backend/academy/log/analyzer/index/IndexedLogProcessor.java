@@ -0,0 +1,158 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.execution.ExecutionModel;
+import backend.academy.log.analyzer.metrics.ProgressReporter;
+import backend.academy.log.analyzer.pipeline.EntryPipeline;
+import backend.academy.log.analyzer.pipeline.ProcessedLogs;
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Обработка локальных файлов с помощью индексов.
+ * Без фильтра по полю и без динамики запросов статистика по диапазону дат собирается из индекса агрегатов
+ * по часовым интервалам без чтения строк. Иначе индекс позиций ограничивает чтение файла диапазоном байт,
+ * в котором могут находиться записи из заданного диапазона дат.
+ * Для файлов без актуальных индексов индексы строятся по ходу полного чтения и сохраняются.
+ */
+@Slf4j
+public class IndexedLogProcessor {
+
+    private final IndexStore indexStore;
+
+    private final FileIndexer fileIndexer;
+
+    private final EntryPipeline entryPipeline;
+
+    private final ProgressReporter progressReporter;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param indexStore       хранилище индексов файлов логов
+     * @param fileIndexer      построитель индексов файлов логов
+     * @param entryPipeline    преобразование строк логов в записи
+     * @param progressReporter вывод хода обработки
+     */
+    @Inject
+    public IndexedLogProcessor(
+        IndexStore indexStore,
+        FileIndexer fileIndexer,
+        EntryPipeline entryPipeline,
+        ProgressReporter progressReporter
+    ) {
+        this.indexStore = indexStore;
+        this.fileIndexer = fileIndexer;
+        this.entryPipeline = entryPipeline;
+        this.progressReporter = progressReporter;
+    }
+
+    /**
+     * Обрабатывает локальные файлы, каждый отдельной задачей модели выполнения, и объединяет статистику по ним.
+     *
+     * @param cliArgs        аргументы командной строки
+     * @param fileLogReader  ридер локальных файлов
+     * @param files          найденные файлы логов
+     * @param executionModel модель выполнения
+     * @return результат обработки файлов
+     * @throws IOException          если произошла ошибка при чтении файлов
+     * @throws InterruptedException если обработка была прервана
+     */
+    public ProcessedLogs process(
+        CliArguments cliArgs,
+        FileLogReader fileLogReader,
+        List<Path> files,
+        ExecutionModel executionModel
+    ) throws IOException, InterruptedException {
+        Path indexDir = indexDirFor(cliArgs);
+
+        List<Callable<StatisticsAccumulator>> tasks = new ArrayList<>();
+        for (Path file : files) {
+            tasks.add(() -> processFile(cliArgs, fileLogReader, executionModel, file, indexDir));
+        }
+
+        return ProcessedLogs.merged(executionModel.invokeAll(tasks), fileLogReader);
+    }
+
+    /**
+     * Собирает статистику по одному файлу с помощью его индексов, при необходимости строя их.
+     * Сжатые файлы не индексируются и читаются целиком.
+     *
+     * @param cliArgs        аргументы командной строки
+     * @param fileLogReader  ридер локальных файлов
+     * @param executionModel модель выполнения
+     * @param file           путь к файлу логов
+     * @param indexDir       директория индексов
+     * @return статистика по файлу
+     * @throws IOException          если произошла ошибка при чтении файла
+     * @throws InterruptedException если обработка была прервана
+     */
+    private StatisticsAccumulator processFile(
+        CliArguments cliArgs,
+        FileLogReader fileLogReader,
+        ExecutionModel executionModel,
+        Path file,
+        Path indexDir
+    ) throws IOException, InterruptedException {
+        if (FileLogReader.isCompressed(file)) {
+            try (Stream<CharSequence> logLines = fileLogReader.openLogFile(file).stream()) {
+                return executionModel.aggregate(entryPipeline.entries(cliArgs, fileLogReader.parserFor(file))
+                    .apply(logLines), entryPipeline.accumulatorFactory(cliArgs));
+            }
+        }
+
+        LocalDate fromDate = entryPipeline.parseDate(cliArgs.from());
+        LocalDate toDate = entryPipeline.parseDate(cliArgs.to());
+
+        if (cliArgs.filterField() == null && cliArgs.timeSeries() == null) {
+            Optional<RollupIndex> rollupIndex = indexStore.loadRollup(indexDir, file);
+            if (rollupIndex.isPresent()) {
+                log.info("Statistics for the file {} were taken from the index", file);
+                progressReporter.skip(FileLogReader.estimateSize(file));
+                return rollupIndex.get().query(fromDate, toDate);
+            }
+        } else {
+            Optional<OffsetIndex> offsetIndex = indexStore.loadOffsets(indexDir, file);
+            if (offsetIndex.isPresent()) {
+                OffsetIndex.ByteRange range = offsetIndex.get().range(fromDate, toDate);
+                log.info("The file {} is read from offset {} to {} using the index", file, range.start(),
+                    range.end());
+                progressReporter.skip(FileLogReader.estimateSize(file) - (range.end() - range.start()));
+                try (Stream<CharSequence> logLines = fileLogReader.readLogFile(file, range.start(), range.end())) {
+                    return executionModel.aggregate(
+                        entryPipeline.entries(cliArgs, fileLogReader.parserFor(file)).apply(logLines),
+                        entryPipeline.accumulatorFactory(cliArgs));
+                }
+            }
+        }
+
+        StatisticsAccumulator statistics = entryPipeline.accumulatorFactory(cliArgs).get();
+        fileIndexer.index(file, indexDir, fileLogReader.parserFor(file), entryPipeline.collector(cliArgs, statistics));
+        return statistics;
+    }
+
+    /**
+     * Возвращает директорию индексов. Индексы файлов, разобранных по формату, заданному
+     * в аргументах командной строки, хранятся в отдельной поддиректории этого формата.
+     *
+     * @param cliArgs аргументы командной строки
+     * @return директория индексов
+     */
+    private Path indexDirFor(CliArguments cliArgs) {
+        Path indexDir = Path.of(cliArgs.indexDir());
+        if (cliArgs.logFormat() == null) {
+            return indexDir;
+        }
+        return indexDir.resolve("format-" + Integer.toHexString(cliArgs.logFormat().hashCode()));
+    }
+}
@@ -0,0 +1,161 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Разреженный индекс позиций строк файла по времени.
+ * Файл делится на последовательные сегменты: новый сегмент начинается, когда время записей
+ * переходит на следующую минуту или в текущем сегменте набралось {@link #SEGMENT_LINES} строк.
+ * Для каждого сегмента хранятся позиция его первой строки и наименьшее и наибольшее время записей,
+ * поэтому даже при небольшом беспорядке во времени записей диапазон байт для окна дат вычисляется точно.
+ */
+public class OffsetIndex {
+
+    /** Максимальное количество строк в одном сегменте */
+    static final int SEGMENT_LINES = 64 * 1024;
+
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    /** Сегменты файла в порядке следования */
+    @Getter
+    private final List<Segment> segments = new ArrayList<>();
+
+    /** Позиция конца проиндексированной части файла */
+    @Getter
+    private long endOffset;
+
+    /** Количество записей в последнем сегменте (используется только при построении) */
+    private int segmentLines;
+
+    /**
+     * Сегмент файла.
+     *
+     * @param offset  позиция первой строки сегмента
+     * @param minTime наименьшее время записи в сегменте (секунды местного времени от начала эпохи)
+     * @param maxTime наибольшее время записи в сегменте (секунды местного времени от начала эпохи)
+     */
+    public record Segment(long offset, long minTime, long maxTime) {
+    }
+
+    /**
+     * Диапазон байт файла.
+     *
+     * @param start позиция начала диапазона (включительно)
+     * @param end   позиция конца диапазона (не включительно)
+     */
+    public record ByteRange(long start, long end) {
+    }
+
+    /**
+     * Учитывает запись лога, начинающуюся с заданной позиции.
+     * Записи должны передаваться в порядке их следования в файле.
+     *
+     * @param lineOffset позиция начала строки
+     * @param entry      запись лога
+     */
+    public void add(long lineOffset, LogEntry entry) {
+        long time = secondsOf(entry.timeLocal().toLocalDateTime());
+        Segment last = segments.isEmpty() ? null : segments.getLast();
+        if (last == null
+            || segmentLines >= SEGMENT_LINES
+            || time / SECONDS_PER_MINUTE > last.maxTime() / SECONDS_PER_MINUTE) {
+            segments.add(new Segment(lineOffset, time, time));
+            segmentLines = 1;
+            return;
+        }
+        segments.set(
+            segments.size() - 1,
+            new Segment(last.offset(), Math.min(last.minTime(), time), Math.max(last.maxTime(), time))
+        );
+        segmentLines++;
+    }
+
+    /**
+     * Завершает построение индекса.
+     *
+     * @param fileEndOffset позиция конца прочитанной части файла
+     */
+    public void finish(long fileEndOffset) {
+        this.endOffset = fileEndOffset;
+    }
+
+    /**
+     * Вычисляет диапазон байт, за пределами которого нет записей из заданного диапазона дат.
+     *
+     * @param from начальная дата диапазона (включительно, может быть null)
+     * @param to   конечная дата диапазона (включительно, может быть null)
+     * @return диапазон байт для чтения
+     */
+    public ByteRange range(LocalDate from, LocalDate to) {
+        long fromTime = from != null ? secondsOf(from.atStartOfDay()) : Long.MIN_VALUE;
+        long toTime = to != null ? secondsOf(to.plusDays(1).atStartOfDay()) : Long.MAX_VALUE;
+
+        int first = 0;
+        while (first < segments.size() && segments.get(first).maxTime() < fromTime) {
+            first++;
+        }
+        int last = segments.size() - 1;
+        while (last >= first && segments.get(last).minTime() >= toTime) {
+            last--;
+        }
+        if (first > last) {
+            return new ByteRange(endOffset, endOffset);
+        }
+
+        long end = last + 1 < segments.size() ? segments.get(last + 1).offset() : endOffset;
+        return new ByteRange(segments.get(first).offset(), end);
+    }
+
+    /**
+     * Записывает индекс в двоичном формате.
+     *
+     * @param output приемник данных
+     * @throws IOException если произошла ошибка записи
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeLong(endOffset);
+        output.writeInt(segments.size());
+        for (Segment segment : segments) {
+            output.writeLong(segment.offset());
+            output.writeLong(segment.minTime());
+            output.writeLong(segment.maxTime());
+        }
+    }
+
+    /**
+     * Читает индекс, записанный {@link #write(DataOutput)}.
+     *
+     * @param input источник данных
+     * @return индекс
+     * @throws IOException если данные повреждены
+     */
+    public static OffsetIndex read(DataInput input) throws IOException {
+        OffsetIndex index = new OffsetIndex();
+        index.endOffset = input.readLong();
+        int segmentCount = input.readInt();
+        for (int i = 0; i < segmentCount; i++) {
+            index.segments.add(new Segment(input.readLong(), input.readLong(), input.readLong()));
+        }
+        return index;
+    }
+
+    /**
+     * Переводит местное время в секунды от начала эпохи без учета часового пояса,
+     * так же, как фильтр по датам сравнивает календарные дни записей.
+     *
+     * @param localTime местное время
+     * @return количество секунд
+     */
+    private static long secondsOf(LocalDateTime localTime) {
+        return localTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,98 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import backend.academy.log.analyzer.statistics.StatisticsCodec;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import lombok.Getter;
+
+/**
+ * Индекс агрегатов по часовым интервалам для одного файла логов.
+ * Каждый интервал хранит объединяемую статистику по записям, время которых (в часовом поясе записи)
+ * попадает в этот час. Фильтр по датам {@code --from/--to} работает с календарными днями записи,
+ * поэтому любой часовой интервал целиком входит в диапазон дат или целиком лежит вне его,
+ * и запрос отвечается объединением интервалов без повторного чтения строк.
+ */
+@Getter
+public class RollupIndex {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    /** Статистика по часовым интервалам: номер часа от начала эпохи (по местному времени записи) -> статистика */
+    private final NavigableMap<Long, StatisticsAccumulator> buckets = new TreeMap<>();
+
+    /**
+     * Учитывает запись лога в интервале, соответствующем ее времени.
+     *
+     * @param entry запись лога
+     */
+    public void add(LogEntry entry) {
+        buckets.computeIfAbsent(bucketOf(entry.timeLocal().toLocalDateTime()), bucket -> new StatisticsAccumulator())
+            .add(entry);
+    }
+
+    /**
+     * Объединяет статистику интервалов, входящих в диапазон дат.
+     *
+     * @param from начальная дата диапазона (включительно, может быть null)
+     * @param to   конечная дата диапазона (включительно, может быть null)
+     * @return статистика по записям из диапазона
+     */
+    public StatisticsAccumulator query(LocalDate from, LocalDate to) {
+        long fromBucket = from != null ? bucketOf(from.atStartOfDay()) : Long.MIN_VALUE;
+        long toBucket = to != null ? bucketOf(to.plusDays(1).atStartOfDay()) : Long.MAX_VALUE;
+
+        StatisticsAccumulator result = new StatisticsAccumulator();
+        buckets.subMap(fromBucket, true, toBucket, false).values().forEach(result::merge);
+        return result;
+    }
+
+    /**
+     * Записывает индекс в двоичном формате.
+     *
+     * @param output приемник данных
+     * @throws IOException если произошла ошибка записи
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeInt(buckets.size());
+        for (Map.Entry<Long, StatisticsAccumulator> bucket : buckets.entrySet()) {
+            output.writeLong(bucket.getKey());
+            StatisticsCodec.write(bucket.getValue(), output);
+        }
+    }
+
+    /**
+     * Читает индекс, записанный {@link #write(DataOutput)}.
+     *
+     * @param input источник данных
+     * @return индекс
+     * @throws IOException если данные повреждены
+     */
+    public static RollupIndex read(DataInput input) throws IOException {
+        RollupIndex index = new RollupIndex();
+        int bucketCount = input.readInt();
+        for (int i = 0; i < bucketCount; i++) {
+            index.buckets.put(input.readLong(), StatisticsCodec.read(input));
+        }
+        return index;
+    }
+
+    /**
+     * Возвращает номер часового интервала для местного времени.
+     *
+     * @param localTime местное время записи
+     * @return номер часа от начала эпохи
+     */
+    static long bucketOf(LocalDateTime localTime) {
+        return localTime.truncatedTo(ChronoUnit.HOURS).toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_HOUR;
+    }
+}
@@ -0,0 +1,126 @@
+package backend.academy.log.analyzer.jfr;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Точка записи событий Java Flight Recorder о работе анализатора.
+ * События создаются, только если они включены аргументом командной строки; при выключенных событиях
+ * каждый метод сводится к проверке одного флага на файл, поток или отчет, без работы на каждую строку.
+ * Включенные события попадают в запись, если она запущена (например, {@code -XX:StartFlightRecording}).
+ */
+@UtilityClass
+public class AnalyzerEvents {
+
+    private static volatile boolean enabled;
+
+    /**
+     * Включает или выключает запись событий.
+     *
+     * @param value true, чтобы записывать события
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Проверяет, включена ли запись событий.
+     *
+     * @return true, если события записываются
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Начинает событие чтения файла.
+     *
+     * @param file путь к файлу
+     * @return событие или null, если события выключены
+     */
+    public static FileRead beginFileRead(Path file) {
+        if (!enabled) {
+            return null;
+        }
+        FileReadEvent event = new FileReadEvent();
+        event.path = file.toString();
+        event.size = file.toFile().length();
+        event.begin();
+        return new FileRead(event);
+    }
+
+    /**
+     * Разбирает и фильтрует строки логов, записывая события по пачкам строк.
+     *
+     * @param lines             поток строк логов
+     * @param parser            разбор строки; возвращает null, если строку не удалось разобрать
+     * @param filter            условие отбора записей
+     * @param filterDescription описание фильтров для событий
+     * @param <T>               тип строк логов
+     * @return поток записей, прошедших фильтры; закрытие потока закрывает поток строк
+     */
+    public static <T extends CharSequence> Stream<LogEntry> recordBatches(
+        Stream<T> lines,
+        Function<? super T, LogEntry> parser,
+        Predicate<LogEntry> filter,
+        String filterDescription
+    ) {
+        EntryBatchSpliterator<T> spliterator =
+            new EntryBatchSpliterator<>(lines.spliterator(), parser, filter, filterDescription);
+        return StreamSupport.stream(spliterator, lines.isParallel()).onClose(lines::close);
+    }
+
+    /**
+     * Выполняет формирование отчета, записывая событие о нем.
+     *
+     * @param format формат отчета
+     * @param path   путь к файлу отчета
+     * @param action формирование отчета
+     */
+    public static void recordReport(String format, String path, Runnable action) {
+        if (!enabled) {
+            action.run();
+            return;
+        }
+
+        ReportEvent event = new ReportEvent();
+        event.format = format;
+        event.path = path;
+        event.begin();
+        try {
+            action.run();
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Начатое событие чтения файла.
+     */
+    public static final class FileRead {
+
+        private final FileReadEvent event;
+
+        private boolean ended;
+
+        private FileRead(FileReadEvent event) {
+            this.event = event;
+        }
+
+        /**
+         * Завершает и записывает событие; повторные вызовы ничего не делают.
+         */
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            event.commit();
+        }
+    }
+}
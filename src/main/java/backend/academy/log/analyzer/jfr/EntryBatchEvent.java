@@ -0,0 +1,41 @@
+package backend.academy.log.analyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: обработка пачки строк логов (чтение, разбор, фильтрация и агрегирование).
+ */
+@Name("backend.academy.log.analyzer.EntryBatch")
+@Label("Log Entry Batch")
+@Category({"Log Analyzer", "Pipeline"})
+@Description("A batch of log lines read, parsed, filtered and aggregated")
+@StackTrace(false)
+class EntryBatchEvent extends Event {
+
+    /** Количество строк в пачке */
+    @Label("Lines")
+    long lines;
+
+    /** Объем строк с учетом переводов строк */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /** Количество строк, которые не удалось разобрать */
+    @Label("Parse Failures")
+    long parseFailures;
+
+    /** Количество записей, отброшенных фильтрами */
+    @Label("Rejected Entries")
+    long rejectedEntries;
+
+    /** Количество записей, прошедших фильтры */
+    @Label("Accepted Entries")
+    long acceptedEntries;
+}
@@ -0,0 +1,138 @@
+package backend.academy.log.analyzer.jfr;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Разделитель потока, который разбирает и фильтрует строки логов и записывает по каждой пачке строк
+ * событие {@link EntryBatchEvent}. Каждая часть потока при параллельной обработке ведет свою пачку,
+ * поэтому счетчики пачки не разделяются между потоками.
+ *
+ * @param <T> тип строк логов
+ */
+class EntryBatchSpliterator<T extends CharSequence> implements Spliterator<LogEntry> {
+
+    /** Количество строк в пачке */
+    static final int BATCH_LINES = 16_384;
+
+    private final Spliterator<T> lines;
+
+    private final Function<? super T, LogEntry> parser;
+
+    private final Predicate<LogEntry> filter;
+
+    private final String filterDescription;
+
+    private EntryBatchEvent batch;
+
+    private T line;
+
+    /**
+     * Создает разделитель.
+     *
+     * @param lines             разделитель строк логов
+     * @param parser            разбор строки; возвращает null, если строку не удалось разобрать
+     * @param filter            условие отбора записей
+     * @param filterDescription описание фильтров для событий
+     */
+    EntryBatchSpliterator(
+        Spliterator<T> lines,
+        Function<? super T, LogEntry> parser,
+        Predicate<LogEntry> filter,
+        String filterDescription
+    ) {
+        this.lines = lines;
+        this.parser = parser;
+        this.filter = filter;
+        this.filterDescription = filterDescription;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super LogEntry> action) {
+        while (lines.tryAdvance(this::setLine)) {
+            LogEntry entry = process(line);
+            if (entry != null) {
+                action.accept(entry);
+                return true;
+            }
+        }
+        commitBatch();
+        return false;
+    }
+
+    @Override
+    public Spliterator<LogEntry> trySplit() {
+        Spliterator<T> split = lines.trySplit();
+        return split != null ? new EntryBatchSpliterator<>(split, parser, filter, filterDescription) : null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return lines.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return (lines.characteristics() & ORDERED) | NONNULL;
+    }
+
+    /**
+     * Запоминает очередную строку.
+     *
+     * @param value строка лога
+     */
+    private void setLine(T value) {
+        line = value;
+    }
+
+    /**
+     * Разбирает и фильтрует строку, учитывая результат в текущей пачке.
+     *
+     * @param value строка лога
+     * @return запись, прошедшая фильтры, или null
+     */
+    private LogEntry process(T value) {
+        if (batch == null) {
+            batch = new EntryBatchEvent();
+            batch.begin();
+        }
+        batch.lines++;
+        batch.bytes += value.length() + 1;
+
+        LogEntry entry = parser.apply(value);
+        if (entry == null) {
+            batch.parseFailures++;
+        } else if (filter.test(entry)) {
+            batch.acceptedEntries++;
+        } else {
+            batch.rejectedEntries++;
+            entry = null;
+        }
+
+        if (batch.lines == BATCH_LINES) {
+            commitBatch();
+        }
+        return entry;
+    }
+
+    /**
+     * Записывает событие текущей пачки и, если фильтры отбросили записи, событие об отброшенных записях.
+     */
+    private void commitBatch() {
+        if (batch == null) {
+            return;
+        }
+        batch.commit();
+
+        if (batch.rejectedEntries > 0) {
+            FilterRejectEvent reject = new FilterRejectEvent();
+            reject.filter = filterDescription;
+            reject.rejectedEntries = batch.rejectedEntries;
+            reject.commit();
+        }
+        batch = null;
+    }
+}
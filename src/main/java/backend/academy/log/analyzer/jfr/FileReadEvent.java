@@ -0,0 +1,29 @@
+package backend.academy.log.analyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: чтение файла логов от открытия до закрытия.
+ */
+@Name("backend.academy.log.analyzer.FileRead")
+@Label("Log File Read")
+@Category({"Log Analyzer", "Input"})
+@Description("A log file read from opening to closing")
+@StackTrace(false)
+class FileReadEvent extends Event {
+
+    /** Путь к файлу */
+    @Label("Path")
+    String path;
+
+    /** Размер файла */
+    @Label("File Size")
+    @DataAmount
+    long size;
+}
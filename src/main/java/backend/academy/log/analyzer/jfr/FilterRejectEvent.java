@@ -0,0 +1,28 @@
+package backend.academy.log.analyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: записи пачки, отброшенные фильтрами.
+ * Записывается только для пачек, в которых фильтры отбросили хотя бы одну запись.
+ */
+@Name("backend.academy.log.analyzer.FilterReject")
+@Label("Log Filter Reject")
+@Category({"Log Analyzer", "Pipeline"})
+@Description("Log entries of a batch rejected by the date and field filters")
+@StackTrace(false)
+class FilterRejectEvent extends Event {
+
+    /** Описание фильтров */
+    @Label("Filter")
+    String filter;
+
+    /** Количество отброшенных записей */
+    @Label("Rejected Entries")
+    long rejectedEntries;
+}
@@ -0,0 +1,27 @@
+package backend.academy.log.analyzer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие JFR: формирование и запись отчета.
+ */
+@Name("backend.academy.log.analyzer.Report")
+@Label("Report Generation")
+@Category({"Log Analyzer", "Output"})
+@Description("Formatting and writing of the report")
+@StackTrace(false)
+class ReportEvent extends Event {
+
+    /** Формат отчета */
+    @Label("Format")
+    String format;
+
+    /** Путь к файлу отчета */
+    @Label("Path")
+    String path;
+}
@@ -0,0 +1,58 @@
+package backend.academy.log.analyzer.metrics;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Учет диагностики запуска: метрики конвейера выводятся в журнал, а при необходимости добавляются в отчет
+ * ({@code --diagnostics}) и сохраняются в файл ({@code --metrics-file}).
+ */
+@Slf4j
+public class DiagnosticsRecorder {
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final LogStatisticsCollector logStatisticsCollector;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param pipelineMetrics        метрики конвейера обработки
+     * @param logStatisticsCollector сборщик статистики, в отчет которого добавляется диагностика
+     */
+    @Inject
+    public DiagnosticsRecorder(PipelineMetrics pipelineMetrics, LogStatisticsCollector logStatisticsCollector) {
+        this.pipelineMetrics = pipelineMetrics;
+        this.logStatisticsCollector = logStatisticsCollector;
+    }
+
+    /**
+     * Выводит метрики конвейера в журнал, а при необходимости добавляет их в отчет и сохраняет в файл.
+     *
+     * @param cliArgs аргументы командной строки
+     */
+    public void record(CliArguments cliArgs) {
+        RunDiagnostics diagnostics = pipelineMetrics.snapshot();
+        log.info("Lines read: {}, parse failures: {}, filtered out: {}, entries aggregated: {}, time: {} ms",
+            diagnostics.linesRead(), diagnostics.parseFailures(), diagnostics.filteredOut(),
+            diagnostics.entriesAggregated(), diagnostics.wallMillis());
+
+        if (cliArgs.diagnostics()) {
+            logStatisticsCollector.recordDiagnostics(diagnostics);
+        }
+        if (cliArgs.metricsFile() != null) {
+            try {
+                new ObjectMapper().writerWithDefaultPrettyPrinter()
+                    .writeValue(Path.of(cliArgs.metricsFile()).toFile(), diagnostics);
+                log.info("The run metrics are saved to a file: {}", cliArgs.metricsFile());
+            } catch (IOException e) {
+                log.error("Error when writing the run metrics to a file: {}", cliArgs.metricsFile(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package backend.academy.log.analyzer.metrics;
+
+/**
+ * Ошибка, прерывающая обработку, если доля строк, которые не удалось разобрать, превысила допустимую.
+ * Обычно означает, что логи записаны в другом формате.
+ */
+public class ParseErrorLimitException extends IllegalStateException {
+
+    /**
+     * Создает ошибку с описанием превышения.
+     *
+     * @param message описание превышения
+     */
+    public ParseErrorLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,193 @@
+package backend.academy.log.analyzer.metrics;
+
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.parser.ParseFailure;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Учет строк, которые не удалось разобрать, вместо их молчаливого отбрасывания.
+ * Для каждой строки определяется причина ошибки, которая учитывается в {@link PipelineMetrics}.
+ * Выборка отклоненных строк записывается в файл карантина: не больше заданного количества строк
+ * и не чаще одной строки за {@link #QUARANTINE_INTERVAL_MILLIS} мс, поэтому при массовых ошибках
+ * в файл попадают строки из разных частей входных данных, а запись не замедляет обработку.
+ * Если доля ошибок среди первых прочитанных строк превышает допустимую, обработка прерывается
+ * {@link ParseErrorLimitException}: неверно выбранный формат не приводит к пустому отчету после полного чтения.
+ * Корректные строки через монитор не проходят, поэтому он не влияет на скорость их разбора.
+ */
+@Slf4j
+public class ParseErrorMonitor {
+
+    /** Минимальный интервал между строками, записываемыми в файл карантина, в миллисекундах */
+    static final long QUARANTINE_INTERVAL_MILLIS = 10;
+
+    private static final double PERCENT = 100.0;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final long quarantineIntervalNanos;
+
+    /** Ошибки разбора среди первых {@link #checkLines} прочитанных строк */
+    private final LongAdder windowFailures = new LongAdder();
+
+    private volatile double maxErrorPercent = PERCENT;
+
+    private volatile long checkLines;
+
+    private volatile BufferedWriter quarantine;
+
+    private int quarantineLimit;
+
+    private int quarantined;
+
+    private long lastQuarantinedNanos;
+
+    /**
+     * Создает монитор ошибок разбора без файла карантина и без ограничения доли ошибок.
+     *
+     * @param pipelineMetrics метрики конвейера, в которых учитываются ошибки и прочитанные строки
+     */
+    public ParseErrorMonitor(PipelineMetrics pipelineMetrics) {
+        this(pipelineMetrics, TimeUnit.MILLISECONDS.toNanos(QUARANTINE_INTERVAL_MILLIS));
+    }
+
+    /**
+     * Создает монитор ошибок разбора с заданным интервалом записи в файл карантина.
+     *
+     * @param pipelineMetrics         метрики конвейера
+     * @param quarantineIntervalNanos минимальный интервал между записываемыми строками в наносекундах
+     */
+    ParseErrorMonitor(PipelineMetrics pipelineMetrics, long quarantineIntervalNanos) {
+        this.pipelineMetrics = pipelineMetrics;
+        this.quarantineIntervalNanos = quarantineIntervalNanos;
+    }
+
+    /**
+     * Начинает учет ошибок разбора для нового запуска.
+     *
+     * @param quarantineFile  файл карантина или null, если отклоненные строки не сохраняются
+     * @param quarantineLimit максимальное количество строк в файле карантина
+     * @param maxErrorPercent допустимая доля ошибок в процентах; 100 отключает проверку
+     * @param checkLines      количество первых строк, по которым проверяется доля ошибок
+     * @throws IOException если файл карантина не удалось создать
+     */
+    public synchronized void start(Path quarantineFile, int quarantineLimit, double maxErrorPercent, long checkLines)
+        throws IOException {
+        stop();
+        windowFailures.reset();
+        this.maxErrorPercent = maxErrorPercent;
+        this.checkLines = checkLines;
+        this.quarantineLimit = quarantineLimit;
+        quarantined = 0;
+        lastQuarantinedNanos = System.nanoTime() - quarantineIntervalNanos;
+        if (quarantineFile != null) {
+            quarantine = Files.newBufferedWriter(quarantineFile, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Учитывает строку, которую парсер не разобрал: определяет причину, при необходимости сохраняет строку
+     * в файл карантина и проверяет долю ошибок.
+     *
+     * @param parser парсер, отклонивший строку
+     * @param line   строка лога
+     * @throws ParseErrorLimitException если доля ошибок среди первых строк превысила допустимую
+     */
+    public void rejected(LogParser parser, CharSequence line) {
+        ParseFailure reason = parser.failureReason(line);
+        if (reason == null) {
+            reason = ParseFailure.MALFORMED;
+        }
+        pipelineMetrics.parseFailed(reason);
+        if (quarantine != null) {
+            quarantine(reason, line);
+        }
+
+        if (pipelineMetrics.linesRead() <= checkLines) {
+            windowFailures.increment();
+            long failures = windowFailures.sum();
+            if (failures * PERCENT > maxErrorPercent * checkLines) {
+                throw limitExceeded(failures, checkLines);
+            }
+        }
+    }
+
+    /**
+     * Проверяет долю ошибок, если прочитано меньше строк, чем проверяется: для небольших входных данных
+     * превышение становится известно только после их полного чтения.
+     *
+     * @throws ParseErrorLimitException если доля ошибок превысила допустимую
+     */
+    public void verify() {
+        long lines = Math.min(pipelineMetrics.linesRead(), checkLines);
+        long failures = windowFailures.sum();
+        if (lines > 0 && failures * PERCENT > maxErrorPercent * lines) {
+            throw limitExceeded(failures, lines);
+        }
+    }
+
+    /**
+     * Закрывает файл карантина.
+     */
+    public synchronized void stop() {
+        if (quarantine == null) {
+            return;
+        }
+        try {
+            quarantine.close();
+            if (quarantined > 0) {
+                log.info("{} rejected lines were written to the quarantine file", quarantined);
+            }
+        } catch (IOException e) {
+            log.error("Error when writing the quarantine file: {}", e.getMessage());
+        }
+        quarantine = null;
+    }
+
+    /**
+     * Записывает строку в файл карантина, если лимит строк не исчерпан и с записи предыдущей строки
+     * прошло достаточно времени.
+     *
+     * @param reason причина ошибки разбора
+     * @param line   строка лога
+     */
+    private synchronized void quarantine(ParseFailure reason, CharSequence line) {
+        long now = System.nanoTime();
+        boolean limited = quarantined >= quarantineLimit || now - lastQuarantinedNanos < quarantineIntervalNanos;
+        if (quarantine == null || limited) {
+            return;
+        }
+        try {
+            quarantine.write(reason.reason());
+            quarantine.write('\t');
+            quarantine.append(line);
+            quarantine.newLine();
+            quarantined++;
+            lastQuarantinedNanos = now;
+        } catch (IOException e) {
+            log.error("Error when writing the quarantine file, rejected lines are no longer saved: {}",
+                e.getMessage());
+            stop();
+        }
+    }
+
+    /**
+     * Создает ошибку превышения доли ошибок разбора.
+     *
+     * @param failures количество ошибок
+     * @param lines    количество проверенных строк
+     * @return ошибка превышения
+     */
+    private ParseErrorLimitException limitExceeded(long failures, long lines) {
+        return new ParseErrorLimitException(String.format(Locale.ROOT,
+            "%d of the first %d lines could not be parsed, more than the allowed %.1f%%; check the log format",
+            failures, lines, maxErrorPercent));
+    }
+}
@@ -0,0 +1,255 @@
+package backend.academy.log.analyzer.metrics;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.ParseFailure;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Метрики конвейера обработки логов: счетчики строк и записей на каждом этапе и время этапов.
+ * Счетчики построены на {@link LongAdder}, поэтому потоки параллельной обработки не конкурируют
+ * за одну ячейку памяти. Время этапов измеряется не для каждой строки, а для случайной выборки
+ * (в среднем одна строка из {@link #SAMPLE_RATE}), и масштабируется: так вызовы {@link System#nanoTime()}
+ * почти не влияют на производительность горячего пути.
+ */
+public class PipelineMetrics {
+
+    /** Средний интервал выборки строк для измерения времени (степень двойки) */
+    static final int SAMPLE_RATE = 64;
+
+    private static final long NOT_SAMPLED = -1;
+
+    private final LongAdder linesRead = new LongAdder();
+
+    private final LongAdder bytesRead = new LongAdder();
+
+    private final LongAdder parseFailures = new LongAdder();
+
+    private final Map<ParseFailure, LongAdder> parseFailureReasons = new EnumMap<>(ParseFailure.class);
+
+    private final LongAdder filteredOut = new LongAdder();
+
+    private final LongAdder entriesAggregated = new LongAdder();
+
+    private final Map<Stage, LongAdder> stageNanos = new EnumMap<>(Stage.class);
+
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Создает метрики с нулевыми значениями.
+     */
+    public PipelineMetrics() {
+        for (Stage stage : Stage.values()) {
+            stageNanos.put(stage, new LongAdder());
+        }
+        for (ParseFailure reason : ParseFailure.values()) {
+            parseFailureReasons.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Обнуляет метрики перед новым запуском.
+     */
+    public void reset() {
+        linesRead.reset();
+        bytesRead.reset();
+        parseFailures.reset();
+        parseFailureReasons.values().forEach(LongAdder::reset);
+        filteredOut.reset();
+        entriesAggregated.reset();
+        stageNanos.values().forEach(LongAdder::reset);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Оборачивает поток строк так, что учитываются прочитанные строки, их объем и время чтения.
+     *
+     * @param lines поток строк
+     * @param <T>   тип строк
+     * @return поток тех же строк; закрытие потока закрывает исходный поток
+     */
+    public <T extends CharSequence> Stream<T> meter(Stream<T> lines) {
+        return StreamSupport.stream(new MeteredSpliterator<>(lines.spliterator()), lines.isParallel())
+            .onClose(lines::close);
+    }
+
+    /**
+     * Начинает измерение времени этапа, если строка попала в выборку.
+     *
+     * @return метка времени начала или признак того, что строка не измеряется
+     */
+    public long start() {
+        return ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /**
+     * Завершает измерение времени этапа, начатое {@link #start()}.
+     *
+     * @param stage     этап
+     * @param startTime метка времени начала
+     */
+    public void stop(Stage stage, long startTime) {
+        if (startTime != NOT_SAMPLED) {
+            stageNanos.get(stage).add((System.nanoTime() - startTime) * SAMPLE_RATE);
+        }
+    }
+
+    /**
+     * Учитывает строку, которую не удалось разобрать.
+     *
+     * @param reason причина ошибки разбора
+     */
+    public void parseFailed(ParseFailure reason) {
+        parseFailures.increment();
+        parseFailureReasons.get(reason).increment();
+    }
+
+    /**
+     * Учитывает запись, отброшенную фильтрами.
+     */
+    public void filtered() {
+        filteredOut.increment();
+    }
+
+    /**
+     * Учитывает запись, прошедшую фильтры и переданную в статистику.
+     */
+    public void accepted() {
+        entriesAggregated.increment();
+    }
+
+    /**
+     * Добавляет запись в статистику, измеряя время агрегирования.
+     *
+     * @param statistics накопитель статистики
+     * @param entry      запись
+     */
+    public void aggregate(StatisticsAccumulator statistics, LogEntry entry) {
+        long startTime = start();
+        statistics.add(entry);
+        stop(Stage.AGGREGATE, startTime);
+    }
+
+    /**
+     * Возвращает количество прочитанных строк.
+     * Чтение суммы не блокирует потоки, увеличивающие счетчик.
+     *
+     * @return количество прочитанных строк
+     */
+    public long linesRead() {
+        return linesRead.sum();
+    }
+
+    /**
+     * Возвращает объем прочитанных строк с учетом переводов строк.
+     *
+     * @return объем прочитанных строк
+     */
+    public long bytesRead() {
+        return bytesRead.sum();
+    }
+
+    /**
+     * Возвращает снимок метрик.
+     *
+     * @return метрики запуска
+     */
+    public RunDiagnostics snapshot() {
+        return new RunDiagnostics(
+            linesRead.sum(),
+            bytesRead.sum(),
+            parseFailures.sum(),
+            failureReasons(),
+            filteredOut.sum(),
+            entriesAggregated.sum(),
+            millis(Stage.READ),
+            millis(Stage.PARSE),
+            millis(Stage.FILTER),
+            millis(Stage.AGGREGATE),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+        );
+    }
+
+    /**
+     * Возвращает количество ошибок разбора по причинам, которые встречались.
+     *
+     * @return количество ошибок по именам причин в порядке {@link ParseFailure}
+     */
+    private Map<String, Long> failureReasons() {
+        Map<String, Long> reasons = new LinkedHashMap<>();
+        parseFailureReasons.forEach((reason, count) -> {
+            if (count.sum() > 0) {
+                reasons.put(reason.reason(), count.sum());
+            }
+        });
+        return reasons;
+    }
+
+    /**
+     * Возвращает время этапа в миллисекундах.
+     *
+     * @param stage этап
+     * @return время этапа
+     */
+    private long millis(Stage stage) {
+        return TimeUnit.NANOSECONDS.toMillis(stageNanos.get(stage).sum());
+    }
+
+    /**
+     * Разделитель потока строк, измеряющий время получения строки из источника.
+     * Измеряется промежуток от запроса следующей строки до ее получения,
+     * без времени обработки строки последующими этапами.
+     */
+    private final class MeteredSpliterator<T extends CharSequence> implements Spliterator<T> {
+
+        private final Spliterator<T> delegate;
+
+        MeteredSpliterator(Spliterator<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            long startTime = start();
+            return delegate.tryAdvance(line -> {
+                stop(Stage.READ, startTime);
+                linesRead.increment();
+                bytesRead.add(line.length() + 1);
+                action.accept(line);
+            });
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            boolean hasNext = true;
+            while (hasNext) {
+                hasNext = tryAdvance(action);
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            Spliterator<T> split = delegate.trySplit();
+            return split != null ? new MeteredSpliterator<>(split) : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package backend.academy.log.analyzer.metrics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Периодический вывод хода обработки: доли прочитанных данных, скорости чтения и оценки оставшегося времени.
+ * Значения берутся из счетчиков {@link PipelineMetrics} фоновым потоком с заданным интервалом,
+ * поэтому потоки обработки ничего не делают для вывода прогресса.
+ * Данные, которые не нужно читать (статистика взята из кэша или индекса), учитываются
+ * как пропущенные, чтобы доля прочитанного дошла до 100%.
+ */
+@Slf4j
+public class ProgressReporter {
+
+    private static final double BYTES_IN_MEGABYTE = 1024.0 * 1024.0;
+
+    private static final double PERCENT = 100.0;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final LongAdder skippedBytes = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+
+    private long totalBytes;
+
+    private long startNanos;
+
+    private long lastNanos;
+
+    private long lastLines;
+
+    private long lastBytes;
+
+    /**
+     * Создает вывод хода обработки.
+     *
+     * @param pipelineMetrics метрики конвейера, из которых берутся прочитанные строки и байты
+     */
+    public ProgressReporter(PipelineMetrics pipelineMetrics) {
+        this.pipelineMetrics = pipelineMetrics;
+    }
+
+    /**
+     * Начинает отслеживание хода обработки.
+     * Метрики конвейера должны быть обнулены перед вызовом.
+     *
+     * @param inputBytes      объем входных данных или отрицательное значение, если он неизвестен
+     * @param intervalSeconds интервал вывода в секундах; 0 отключает вывод
+     */
+    public synchronized void start(long inputBytes, long intervalSeconds) {
+        stop();
+        begin(inputBytes, System.nanoTime());
+        if (intervalSeconds <= 0) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("progress-reporter").daemon().factory());
+        scheduler.scheduleAtFixedRate(
+            () -> log.info(report(System.nanoTime())), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Учитывает данные, которые не нужно читать.
+     *
+     * @param bytes объем пропущенных данных
+     */
+    public void skip(long bytes) {
+        skippedBytes.add(bytes);
+    }
+
+    /**
+     * Останавливает вывод хода обработки.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Запоминает начальное состояние отслеживания.
+     *
+     * @param inputBytes объем входных данных или отрицательное значение, если он неизвестен
+     * @param nowNanos   текущее время
+     */
+    synchronized void begin(long inputBytes, long nowNanos) {
+        totalBytes = inputBytes;
+        skippedBytes.reset();
+        startNanos = nowNanos;
+        lastNanos = nowNanos;
+        lastLines = pipelineMetrics.linesRead();
+        lastBytes = pipelineMetrics.bytesRead();
+    }
+
+    /**
+     * Формирует строку о ходе обработки. Скорость считается за время с предыдущего вывода,
+     * а оставшееся время - по средней скорости чтения с начала обработки.
+     *
+     * @param nowNanos текущее время
+     * @return строка о ходе обработки
+     */
+    synchronized String report(long nowNanos) {
+        long lines = pipelineMetrics.linesRead();
+        long bytes = pipelineMetrics.bytesRead();
+        double intervalSeconds = Math.max(nowNanos - lastNanos, 1) / (double) TimeUnit.SECONDS.toNanos(1);
+        long linesPerSecond = Math.round((lines - lastLines) / intervalSeconds);
+        double megabytesPerSecond = (bytes - lastBytes) / BYTES_IN_MEGABYTE / intervalSeconds;
+        lastNanos = nowNanos;
+        lastLines = lines;
+        lastBytes = bytes;
+
+        if (totalBytes <= 0) {
+            return String.format(Locale.ROOT, "Progress: %s read, %d lines/s, %.1f MB/s",
+                megabytes(bytes), linesPerSecond, megabytesPerSecond);
+        }
+
+        long consumed = Math.min(bytes + skippedBytes.sum(), totalBytes);
+        return String.format(Locale.ROOT, "Progress: %.1f%% (%s of %s), %d lines/s, %.1f MB/s, ETA %s",
+            consumed * PERCENT / totalBytes, megabytes(consumed), megabytes(totalBytes),
+            linesPerSecond, megabytesPerSecond, eta(totalBytes - consumed, bytes, nowNanos - startNanos));
+    }
+
+    /**
+     * Оценивает оставшееся время по средней скорости чтения.
+     *
+     * @param remainingBytes объем оставшихся данных
+     * @param readBytes      объем прочитанных данных
+     * @param elapsedNanos   время с начала обработки
+     * @return оставшееся время в формате ЧЧ:ММ:СС или прочерки, если скорость пока неизвестна
+     */
+    private String eta(long remainingBytes, long readBytes, long elapsedNanos) {
+        if (remainingBytes == 0) {
+            return "00:00:00";
+        }
+        if (readBytes == 0) {
+            return "--:--:--";
+        }
+
+        Duration remaining = Duration.ofNanos(Math.round((double) remainingBytes / readBytes * elapsedNanos));
+        return String.format(Locale.ROOT, "%02d:%02d:%02d",
+            remaining.toHours(), remaining.toMinutesPart(), remaining.toSecondsPart());
+    }
+
+    /**
+     * Форматирует объем данных в мегабайтах.
+     *
+     * @param bytes объем данных
+     * @return объем данных в мегабайтах
+     */
+    private String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / BYTES_IN_MEGABYTE);
+    }
+}
@@ -0,0 +1,47 @@
+package backend.academy.log.analyzer.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Снимок метрик конвейера обработки логов за один запуск.
+ * Время этапов оценивается по выборке строк и суммируется по всем потокам,
+ * поэтому при параллельной обработке может превышать время выполнения.
+ *
+ * @param linesRead           количество прочитанных строк
+ * @param bytesRead           объем прочитанных строк с учетом переводов строк (в символах,
+ *                            что для логов в ASCII совпадает с байтами)
+ * @param parseFailures       количество строк, которые не удалось разобрать
+ * @param parseFailureReasons количество ошибок разбора по причинам ({@code format_mismatch},
+ *                            {@code invalid_time}, {@code invalid_number}, {@code malformed});
+ *                            причины без ошибок не включаются
+ * @param filteredOut         количество записей, отброшенных фильтрами
+ * @param entriesAggregated   количество записей, учтенных в статистике
+ * @param readMillis          время чтения строк
+ * @param parseMillis         время разбора строк
+ * @param filterMillis        время фильтрации записей
+ * @param aggregateMillis     время агрегирования записей
+ * @param wallMillis          время выполнения запуска
+ */
+public record RunDiagnostics(
+    long linesRead,
+    long bytesRead,
+    long parseFailures,
+    Map<String, Long> parseFailureReasons,
+    long filteredOut,
+    long entriesAggregated,
+    long readMillis,
+    long parseMillis,
+    long filterMillis,
+    long aggregateMillis,
+    long wallMillis
+) {
+
+    /**
+     * Создает снимок, сохраняя порядок причин ошибок разбора.
+     */
+    public RunDiagnostics {
+        parseFailureReasons = Collections.unmodifiableMap(new LinkedHashMap<>(parseFailureReasons));
+    }
+}
@@ -0,0 +1,15 @@
+package backend.academy.log.analyzer.metrics;
+
+/**
+ * Этапы конвейера обработки логов, время которых измеряется отдельно.
+ */
+public enum Stage {
+    /** Чтение строк из источника */
+    READ,
+    /** Разбор строк в записи */
+    PARSE,
+    /** Фильтрация записей по датам и полям */
+    FILTER,
+    /** Агрегирование записей в статистику */
+    AGGREGATE
+}
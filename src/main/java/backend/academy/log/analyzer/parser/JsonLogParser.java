@@ -0,0 +1,82 @@
+package backend.academy.log.analyzer.parser;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Парсер строк логов nginx в формате JSON ({@code log_format ... escape=json}): каждая строка - JSON-объект.
+ * Строка читается потоковым {@link JsonParser} без построения дерева: значения ключей, сопоставленных
+ * полям записи в шаблоне формата, извлекаются, остальные ключи и вложенные значения пропускаются.
+ * Имена ключей интернируются фабрикой Jackson, поэтому поле по ключу ищется сравнением ссылок.
+ * Строки, в которых нет времени запроса, не разбираются. Представление строки из буфера ридера
+ * копируется в строку, из которой читает потоковый парсер.
+ */
+public class JsonLogParser extends LogParser {
+
+    /**
+     * Фабрика потоковых парсеров JSON. Потокобезопасна и переиспользует буферы и таблицу имен ключей.
+     */
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+        .enable(JsonFactory.Feature.CANONICALIZE_FIELD_NAMES)
+        .enable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+        .build();
+
+    /** Извлекаемые поля по интернированным ключам */
+    private final Map<String, LogFormat.Field> fieldsByKey = new IdentityHashMap<>();
+
+    /** Извлекает ли формат время запроса */
+    private final boolean requiresTime;
+
+    /**
+     * Создает парсер строк в формате, заданном шаблоном JSON-объекта.
+     *
+     * @param format скомпилированный формат строк лога, {@link LogFormat#json()} должен быть true
+     */
+    public JsonLogParser(LogFormat format) {
+        super(format);
+        format.jsonFields().forEach((key, field) -> fieldsByKey.put(key.intern(), field));
+        this.requiresTime = fieldsByKey.values().stream().anyMatch(LogFormat.Field::isTime);
+    }
+
+    @Override
+    protected LogEntry parseFields(CharSequence logLine) {
+        return parseFields(logLine.toString());
+    }
+
+    @Override
+    protected LogEntry parseFields(String logLine) {
+        String[] values = new String[FIELDS.length];
+        try (JsonParser parser = JSON_FACTORY.createParser(logLine)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonToken token = parser.nextToken();
+            while (token == JsonToken.FIELD_NAME) {
+                LogFormat.Field field = fieldsByKey.get(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (field != null && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    values[field.ordinal()] = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+                token = parser.nextToken();
+            }
+            if (token != JsonToken.END_OBJECT) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        if (requiresTime && values[LogFormat.Field.TIME_LOCAL.ordinal()] == null
+            && values[LogFormat.Field.TIME_ISO8601.ordinal()] == null) {
+            return null;
+        }
+        return parseLogEntry(values);
+    }
+}
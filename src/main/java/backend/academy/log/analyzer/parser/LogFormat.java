@@ -0,0 +1,335 @@
+package backend.academy.log.analyzer.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Формат строк лога, заданный директивой nginx {@code log_format}, например
+ * {@code $remote_addr - $remote_user [$time_local] "$request" $status $body_bytes_sent}.
+ * Формат один раз компилируется в позиционный план разбора: чередование постоянных разделителей
+ * и переменных. Значение переменной - текст до следующего разделителя, поэтому строка разбирается
+ * поиском разделителей без регулярных выражений. Переменные, которые не нужны статистике и фильтрам,
+ * а также неизвестные переменные (например, {@code $request_time} или {@code $host}) пропускаются
+ * без выделения строк.
+ * Формат, заданный шаблоном JSON-объекта (nginx {@code log_format ... escape=json '{"ip":"$remote_addr",...}'}),
+ * разбирается {@link JsonLogParser}: ключи объекта сопоставляются переменным шаблона, поэтому порядок ключей
+ * и экранирование значений в строках не важны.
+ */
+public final class LogFormat {
+
+    /**
+     * Формат common: combined без полей Referer и User-Agent.
+     */
+    public static final String COMMON = "$remote_addr - $remote_user [$time_local] \"$request\" "
+        + "$status $body_bytes_sent";
+
+    /**
+     * Формат combined, используемый nginx по умолчанию.
+     */
+    public static final String COMBINED = COMMON + " \"$http_referer\" \"$http_user_agent\"";
+
+    /**
+     * Формат JSON-строк с ключами, совпадающими с именами переменных nginx.
+     * Используется для JSON-строк, если формат не задан явно.
+     */
+    public static final String JSON = "{\"remote_addr\":\"$remote_addr\",\"remote_user\":\"$remote_user\","
+        + "\"time_local\":\"$time_local\",\"time_iso8601\":\"$time_iso8601\",\"request\":\"$request\","
+        + "\"status\":$status,\"body_bytes_sent\":$body_bytes_sent,\"http_referer\":\"$http_referer\","
+        + "\"http_user_agent\":\"$http_user_agent\"}";
+
+    /**
+     * Имя формата, заданного строкой формата, а не именем.
+     */
+    public static final String CUSTOM = "custom";
+
+    /**
+     * Поля записи лога, которые может извлекать разбор. Имена совпадают с именами полей фильтрации.
+     */
+    public static final Set<String> ALL_FIELDS = Arrays.stream(Field.values())
+        .map(Field::entryField)
+        .collect(Collectors.toUnmodifiableSet());
+
+    /** Множитель для объединения хэш-кодов */
+    private static final int HASH_MULTIPLIER = 31;
+
+    /** Первый код символа за пределами ASCII */
+    private static final int ASCII_END = 0x80;
+
+    /**
+     * Шаблон переменной nginx: {@code $name} или {@code ${name}}.
+     */
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$(?:\\{(\\w+)}|(\\w+))");
+
+    /**
+     * Ключ JSON-объекта в конце разделителя, предшествующего переменной: {@code "key":"} или {@code "key":}.
+     */
+    private static final Pattern JSON_KEY_PATTERN = Pattern.compile("\"([^\"\\\\]+)\"\\s*:\\s*\"?$");
+
+    /**
+     * Форматы, которые можно задать именем вместо строки формата.
+     */
+    private static final Map<String, String> NAMED_FORMATS =
+        Map.of("combined", COMBINED, "common", COMMON, "json", JSON);
+
+    /**
+     * Переменные nginx, из которых извлекаются поля записи лога.
+     */
+    private static final Map<String, Field> FIELDS_BY_VARIABLE = Arrays.stream(Field.values())
+        .collect(Collectors.toUnmodifiableMap(Field::variable, Function.identity()));
+
+    /** Исходная строка формата */
+    private final String pattern;
+
+    /** Разделители: i-й разделитель предшествует i-й переменной, последний завершает строку */
+    private final String[] delimiters;
+
+    /** Извлекаемые поля по переменным; null, если переменная пропускается */
+    private final Field[] fields;
+
+    /** Извлекаемые поля по ключам JSON-объекта или null, если формат не является шаблоном JSON */
+    private final Map<String, Field> jsonFields;
+
+    /** Состоят ли все разделители из символов ASCII */
+    private final boolean asciiDelimiters;
+
+    /**
+     * Создает скомпилированный формат.
+     *
+     * @param pattern    исходная строка формата
+     * @param delimiters разделители
+     * @param fields     извлекаемые поля по переменным
+     * @param jsonFields извлекаемые поля по ключам JSON-объекта или null
+     */
+    private LogFormat(String pattern, String[] delimiters, Field[] fields, Map<String, Field> jsonFields) {
+        this.pattern = pattern;
+        this.delimiters = delimiters;
+        this.fields = fields;
+        this.jsonFields = jsonFields;
+        this.asciiDelimiters = Arrays.stream(delimiters)
+            .allMatch(delimiter -> delimiter.chars().allMatch(c -> c < ASCII_END));
+    }
+
+    /**
+     * Компилирует формат, извлекающий все известные поля.
+     *
+     * @param pattern строка формата nginx {@code log_format} или имя формата ({@code combined}, {@code common},
+     *                {@code json})
+     * @return скомпилированный формат
+     * @throws IllegalArgumentException если формат нельзя разобрать позиционно
+     */
+    public static LogFormat compile(String pattern) {
+        return compile(pattern, ALL_FIELDS);
+    }
+
+    /**
+     * Компилирует формат, извлекающий только заданные поля.
+     *
+     * @param pattern        строка формата nginx {@code log_format} или имя формата ({@code combined}, {@code common},
+     *                       {@code json})
+     * @param requiredFields имена нужных полей записи ({@code remote_addr}, {@code status} и т.д.)
+     * @return скомпилированный формат
+     * @throws IllegalArgumentException если две переменные идут подряд без разделителя
+     *                                  или формат не содержит времени запроса
+     */
+    public static LogFormat compile(String pattern, Set<String> requiredFields) {
+        String source = NAMED_FORMATS.getOrDefault(pattern, pattern);
+        List<String> delimiters = new ArrayList<>();
+        List<Field> fields = new ArrayList<>();
+        boolean hasTime = false;
+
+        Matcher matcher = VARIABLE_PATTERN.matcher(source);
+        int position = 0;
+        while (matcher.find()) {
+            String delimiter = source.substring(position, matcher.start());
+            if (delimiter.isEmpty() && !fields.isEmpty()) {
+                throw new IllegalArgumentException("Variables without a delimiter between them: " + matcher.group());
+            }
+            String variable = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            Field field = FIELDS_BY_VARIABLE.get(variable);
+            hasTime |= field != null && field.isTime();
+            delimiters.add(delimiter);
+            fields.add(field != null && requiredFields.contains(field.entryField()) ? field : null);
+            position = matcher.end();
+        }
+        delimiters.add(source.substring(position));
+
+        if (!hasTime) {
+            throw new IllegalArgumentException("The log format must contain $time_local or $time_iso8601");
+        }
+        Map<String, Field> jsonFields = source.stripLeading().startsWith("{") ? jsonFields(delimiters, fields) : null;
+        return new LogFormat(source, delimiters.toArray(String[]::new), fields.toArray(Field[]::new), jsonFields);
+    }
+
+    /**
+     * Возвращает имя формата.
+     *
+     * @param pattern строка формата nginx {@code log_format} или имя формата
+     * @return имя формата или {@link #CUSTOM}, если формат задан строкой формата
+     */
+    public static String nameOf(String pattern) {
+        return NAMED_FORMATS.containsKey(pattern) ? pattern : CUSTOM;
+    }
+
+    /**
+     * Сопоставляет извлекаемые поля ключам шаблона JSON-объекта: ключ - строка в кавычках перед двоеточием
+     * в конце разделителя, предшествующего переменной.
+     *
+     * @param delimiters разделители шаблона
+     * @param fields     извлекаемые поля по переменным
+     * @return извлекаемые поля по ключам
+     */
+    private static Map<String, Field> jsonFields(List<String> delimiters, List<Field> fields) {
+        Map<String, Field> result = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            Matcher key = JSON_KEY_PATTERN.matcher(delimiters.get(i));
+            if (fields.get(i) != null && key.find()) {
+                result.put(key.group(1), fields.get(i));
+            }
+        }
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Возвращает исходную строку формата.
+     *
+     * @return строка формата
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Проверяет, задан ли формат шаблоном JSON-объекта.
+     *
+     * @return true, если строки в этом формате - JSON-объекты
+     */
+    public boolean json() {
+        return jsonFields != null;
+    }
+
+    /**
+     * Возвращает извлекаемые поля по ключам JSON-объекта.
+     *
+     * @return поля по ключам; пустое отображение, если формат не является шаблоном JSON
+     */
+    Map<String, Field> jsonFields() {
+        return jsonFields != null ? jsonFields : Map.of();
+    }
+
+    /**
+     * Проверяет, состоят ли все разделители из символов ASCII. Только такие разделители можно искать
+     * в представлении строки, позиции которого - позиции байт UTF-8.
+     *
+     * @return true, если разделители не содержат символов вне ASCII
+     */
+    boolean asciiDelimiters() {
+        return asciiDelimiters;
+    }
+
+    /**
+     * Возвращает количество переменных в формате.
+     *
+     * @return количество переменных
+     */
+    int variableCount() {
+        return fields.length;
+    }
+
+    /**
+     * Возвращает разделитель, предшествующий переменной.
+     * Разделитель с номером {@link #variableCount()} завершает строку.
+     *
+     * @param index номер переменной
+     * @return разделитель, возможно пустой
+     */
+    String delimiter(int index) {
+        return delimiters[index];
+    }
+
+    /**
+     * Возвращает поле, извлекаемое из переменной.
+     *
+     * @param index номер переменной
+     * @return поле или null, если переменная пропускается
+     */
+    Field field(int index) {
+        return fields[index];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof LogFormat format
+            && Arrays.equals(delimiters, format.delimiters)
+            && Arrays.equals(fields, format.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(delimiters) * HASH_MULTIPLIER + Arrays.hashCode(fields);
+    }
+
+    /**
+     * Поля записи лога и соответствующие им переменные nginx.
+     */
+    enum Field {
+        REMOTE_ADDR("remote_addr"),
+        REMOTE_USER("remote_user"),
+        TIME_LOCAL("time_local"),
+        TIME_ISO8601("time_iso8601", TIME_LOCAL.entryField),
+        REQUEST("request"),
+        STATUS("status"),
+        BODY_BYTES_SENT("body_bytes_sent"),
+        HTTP_REFERER("http_referer"),
+        HTTP_USER_AGENT("http_user_agent");
+
+        /** Имя переменной nginx */
+        private final String variable;
+
+        /** Имя поля записи лога */
+        private final String entryField;
+
+        Field(String variable) {
+            this(variable, variable);
+        }
+
+        Field(String variable, String entryField) {
+            this.variable = variable;
+            this.entryField = entryField;
+        }
+
+        /**
+         * Возвращает имя переменной nginx.
+         *
+         * @return имя переменной
+         */
+        String variable() {
+            return variable;
+        }
+
+        /**
+         * Возвращает имя поля записи лога.
+         *
+         * @return имя поля
+         */
+        String entryField() {
+            return entryField;
+        }
+
+        /**
+         * Проверяет, содержит ли переменная время запроса.
+         *
+         * @return true для {@code $time_local} и {@code $time_iso8601}
+         */
+        boolean isTime() {
+            return this == TIME_LOCAL || this == TIME_ISO8601;
+        }
+    }
+}
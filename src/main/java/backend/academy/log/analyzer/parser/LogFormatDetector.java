@@ -0,0 +1,85 @@
+package backend.academy.log.analyzer.parser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Определитель формата логов по первым строкам файла или потока.
+ * Формат выбирается один раз на источник: каждый кандидат разбирает выборку строк, побеждает кандидат,
+ * разобравший больше всего строк, при равенстве - кандидат, указанный раньше. Дальше все строки источника
+ * разбираются только парсером выбранного формата, без повторных попыток разбора другими форматами.
+ */
+public class LogFormatDetector {
+
+    /**
+     * Количество первых строк источника, по которым определяется формат.
+     */
+    public static final int SAMPLE_LINES = 100;
+
+    /** Парсеры форматов-кандидатов по именам в порядке приоритета */
+    private final Map<String, LogParser> candidates;
+
+    /**
+     * Создает определитель с одним форматом: строки, которые не разбирает парсер, не относятся к логам.
+     *
+     * @param name   имя формата
+     * @param parser парсер строк в этом формате
+     */
+    public LogFormatDetector(String name, LogParser parser) {
+        this(Map.of(name, parser));
+    }
+
+    /**
+     * Создает определитель, выбирающий один из форматов-кандидатов.
+     *
+     * @param candidates парсеры форматов по именам в порядке приоритета
+     * @throws IllegalArgumentException если не задано ни одного кандидата
+     */
+    public LogFormatDetector(Map<String, LogParser> candidates) {
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException("At least one log format candidate is required");
+        }
+        this.candidates = new LinkedHashMap<>(candidates);
+    }
+
+    /**
+     * Определяет формат по выборке строк.
+     *
+     * @param sample первые строки источника, не больше {@link #SAMPLE_LINES}
+     * @return формат, разобравший больше всего строк, или пустое значение, если ни одна строка не разобрана
+     */
+    public Optional<DetectedFormat> detect(List<String> sample) {
+        DetectedFormat best = null;
+        for (Map.Entry<String, LogParser> candidate : candidates.entrySet()) {
+            LogParser parser = candidate.getValue();
+            int parsed = (int) sample.stream().filter(line -> parser.parse(line) != null).count();
+            if (parsed > 0 && (best == null || parsed > best.parsedLines())) {
+                best = new DetectedFormat(candidate.getKey(), parser, parsed, sample.size());
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Возвращает формат с наивысшим приоритетом. Используется для источников, формат которых не определялся.
+     *
+     * @return первый формат-кандидат
+     */
+    public DetectedFormat defaultFormat() {
+        Map.Entry<String, LogParser> first = candidates.entrySet().iterator().next();
+        return new DetectedFormat(first.getKey(), first.getValue(), 0, 0);
+    }
+
+    /**
+     * Формат, выбранный для источника.
+     *
+     * @param name        имя формата
+     * @param parser      парсер строк в этом формате
+     * @param parsedLines количество разобранных строк выборки
+     * @param sampleLines размер выборки
+     */
+    public record DetectedFormat(String name, LogParser parser, int parsedLines, int sampleLines) {
+    }
+}
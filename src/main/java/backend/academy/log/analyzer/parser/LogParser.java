@@ -1,22 +1,31 @@
 package backend.academy.log.analyzer.parser;
 
 import backend.academy.log.analyzer.entry.LogEntry;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
 import java.util.Locale;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Класс для парсинга строк логов в форматах, соответствующих стандарту Nginx.
- * Преобразует строку лога в объект {@link LogEntry}.
+ * Преобразует строку лога в объект {@link LogEntry} по скомпилированному формату {@link LogFormat}:
+ * по умолчанию - combined, либо по формату, заданному директивой nginx {@code log_format}.
+ * Парсер не хранит состояния разбора и может использоваться из нескольких потоков.
+ * Строка может передаваться изменяемым представлением ({@link CharSequence}) в буфере ридера: границы полей
+ * находятся по символам представления, время и числа разбираются прямо из него, а в строки копируются только
+ * значения, которые сохраняются в записи.
  */
 @Slf4j
 public class LogParser {
 
     /**
-     * Шаблон для извлечения данных из строки лога.
+     * Шаблон для извлечения данных из строки лога в формате combined.
      */
     public static final Pattern LOG_PATTERN = Pattern.compile(
         "(?<remoteAddr>\\S+) - (?<remoteUser>-|\\S*) \\[(?<timeLocal>[^]]+)] \"(?<request>[^\"]*)\" "
@@ -29,6 +38,49 @@ public class LogParser {
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter
         .ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
 
+    /**
+     * Поля записи лога; массив значений полей индексируется по {@link LogFormat.Field#ordinal()}.
+     */
+    static final LogFormat.Field[] FIELDS = LogFormat.Field.values();
+
+    private static final int DECIMAL_RADIX = 10;
+
+    /** Наибольшее число, которое можно дополнить любой цифрой без переполнения long */
+    private static final long MAX_LONG_TENTH = Long.MAX_VALUE / DECIMAL_RADIX;
+
+    /** Последняя цифра {@link Long#MAX_VALUE} */
+    private static final int MAX_LONG_LAST_DIGIT = (int) (Long.MAX_VALUE % DECIMAL_RADIX);
+
+    /**
+     * Скомпилированный формат строк лога.
+     */
+    private final LogFormat format;
+
+    /**
+     * Создает парсер строк в формате combined.
+     */
+    public LogParser() {
+        this(LogFormat.compile(LogFormat.COMBINED));
+    }
+
+    /**
+     * Создает парсер строк в заданном формате.
+     *
+     * @param format скомпилированный формат строк лога
+     */
+    public LogParser(LogFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Возвращает формат строк лога, по которому работает парсер.
+     *
+     * @return скомпилированный формат
+     */
+    public LogFormat format() {
+        return format;
+    }
+
     /**
      * Парсит строку лога и возвращает объект {@link LogEntry}.
      * Если строка не соответствует ожидаемому формату, возвращает null.
@@ -37,68 +89,468 @@ public class LogParser {
      * @return объект LogEntry, если строка лога валидна; иначе null
      */
     public LogEntry parse(String logLine) {
-        Matcher matcher = LOG_PATTERN.matcher(logLine);
-        if (!matcher.matches()) {
+        try {
+            return parseFields(logLine);
+        } catch (Exception e) {
             return null;
         }
+    }
 
+    /**
+     * Парсит строку лога, переданную представлением, и возвращает объект {@link LogEntry}.
+     * Представление может измениться после возврата из метода: запись не ссылается на него.
+     * Если строка не соответствует ожидаемому формату, возвращает null.
+     *
+     * @param logLine представление строки лога
+     * @return объект LogEntry, если строка лога валидна; иначе null
+     */
+    public LogEntry parse(CharSequence logLine) {
         try {
-            return parseLogEntry(matcher);
+            return parseFields(logLine);
         } catch (Exception e) {
             return null;
         }
     }
 
     /**
-     * Извлекает данные из совпавшей строки и создает объект {@link LogEntry}.
+     * Определяет, почему строка лога не разбирается. Строка разбирается повторно, поэтому метод
+     * вызывается только для строк, которые {@link #parse(CharSequence)} уже отклонил, и не замедляет
+     * разбор корректных строк.
+     *
+     * @param logLine строка лога или ее представление
+     * @return причина ошибки разбора или null, если строка разбирается
+     */
+    public ParseFailure failureReason(CharSequence logLine) {
+        try {
+            return parseFields(logLine) == null ? ParseFailure.FORMAT_MISMATCH : null;
+        } catch (DateTimeException e) {
+            return ParseFailure.INVALID_TIME;
+        } catch (NumberFormatException e) {
+            return ParseFailure.INVALID_NUMBER;
+        } catch (Exception e) {
+            return ParseFailure.MALFORMED;
+        }
+    }
+
+    /**
+     * Разбирает строку лога по плану формата. Переопределяется парсерами, сгенерированными
+     * {@link LogParserGenerator} для конкретного формата.
      *
-     * @param matcher сопоставленный объект Matcher со строкой лога
+     * @param logLine строка лога
+     * @return объект LogEntry или null, если строка не соответствует разделителям формата
+     * @throws RuntimeException если значение поля не удалось преобразовать
+     */
+    protected LogEntry parseFields(String logLine) {
+        int[] bounds = locateFields(logLine);
+        return bounds != null ? parseLogEntry(logLine, bounds) : null;
+    }
+
+    /**
+     * Разбирает представление строки лога по плану формата. Строки передаются в {@link #parseFields(String)},
+     * поэтому подклассам, которые переопределяют только его, достаточно переопределить этот метод
+     * копированием представления в строку.
+     * Представление может хранить символы вне ASCII байтами UTF-8, по символу на байт, поэтому формат
+     * с такими символами в разделителях разбирает копию представления.
+     *
+     * @param logLine представление строки лога
+     * @return объект LogEntry или null, если строка не соответствует разделителям формата
+     * @throws RuntimeException если значение поля не удалось преобразовать
+     */
+    protected LogEntry parseFields(CharSequence logLine) {
+        if (logLine instanceof String || !format.asciiDelimiters()) {
+            return parseFields(logLine.toString());
+        }
+        int[] bounds = locateFields(logLine);
+        return bounds != null ? parseLogEntry(logLine, bounds) : null;
+    }
+
+    /**
+     * Разбивает строку по разделителям формата и находит границы значений нужных полей.
+     * Значения пропускаемых переменных не выделяются.
+     *
+     * @param logLine строка лога
+     * @return границы значений: для поля с номером {@link LogFormat.Field#ordinal()} начало хранится
+     *     в элементе {@code 2 * ordinal}, конец - в элементе {@code 2 * ordinal + 1}; -1, если поле не извлекается;
+     *     null, если строка не соответствует формату
+     */
+    final int[] locateFields(CharSequence logLine) {
+        String first = format.delimiter(0);
+        if (!startsWith(logLine, first, 0)) {
+            return null;
+        }
+
+        int[] bounds = new int[FIELDS.length * 2];
+        Arrays.fill(bounds, -1);
+        int position = first.length();
+        int last = format.variableCount() - 1;
+        for (int i = 0; i <= last; i++) {
+            String delimiter = format.delimiter(i + 1);
+            int end = i == last ? logLine.length() - delimiter.length() : indexOf(logLine, delimiter, position);
+            if (end < position || i == last && !startsWith(logLine, delimiter, end)) {
+                return null;
+            }
+            LogFormat.Field field = format.field(i);
+            if (field != null) {
+                bounds[field.ordinal() * 2] = position;
+                bounds[field.ordinal() * 2 + 1] = end;
+            }
+            position = end + delimiter.length();
+        }
+        return bounds;
+    }
+
+    /**
+     * Создает объект {@link LogEntry} из значений полей в строке лога: в строки копируются только
+     * строковые поля, время и числа разбираются по границам значений.
+     *
+     * @param logLine строка лога или ее представление
+     * @param bounds  границы значений полей, найденные {@link #locateFields(CharSequence)}
      * @return объект LogEntry с разобранными значениями
      */
-    private LogEntry parseLogEntry(Matcher matcher) {
+    static LogEntry parseLogEntry(CharSequence logLine, int[] bounds) {
         return new LogEntry(
-            matcher.group("remoteAddr"),
-            parseOptionalField(matcher, "remoteUser"),
-            parseTime(matcher.group("timeLocal")),
-            parseOptionalField(matcher, "request"),
-            parseIntField(matcher, "status"),
-            parseIntField(matcher, "bodyBytesSent"),
-            parseOptionalField(matcher, "httpReferer"),
-            parseOptionalField(matcher, "httpUserAgent")
+            text(logLine, bounds, LogFormat.Field.REMOTE_ADDR, false),
+            text(logLine, bounds, LogFormat.Field.REMOTE_USER, true),
+            time(logLine, bounds),
+            text(logLine, bounds, LogFormat.Field.REQUEST, true),
+            status(logLine, bounds),
+            number(logLine, bounds, LogFormat.Field.BODY_BYTES_SENT),
+            text(logLine, bounds, LogFormat.Field.HTTP_REFERER, true),
+            text(logLine, bounds, LogFormat.Field.HTTP_USER_AGENT, true)
         );
     }
 
+    /**
+     * Создает объект {@link LogEntry} из извлеченных значений полей.
+     *
+     * @param values значения полей по {@link LogFormat.Field#ordinal()}; null, если поле не извлекалось
+     * @return объект LogEntry с разобранными значениями
+     */
+    static LogEntry parseLogEntry(String[] values) {
+        String timeIso = values[LogFormat.Field.TIME_ISO8601.ordinal()];
+        return new LogEntry(
+            values[LogFormat.Field.REMOTE_ADDR.ordinal()],
+            optional(values[LogFormat.Field.REMOTE_USER.ordinal()]),
+            timeIso != null ? isoTime(timeIso) : localTime(values[LogFormat.Field.TIME_LOCAL.ordinal()]),
+            optional(values[LogFormat.Field.REQUEST.ordinal()]),
+            status(values[LogFormat.Field.STATUS.ordinal()]),
+            number(values[LogFormat.Field.BODY_BYTES_SENT.ordinal()]),
+            optional(values[LogFormat.Field.HTTP_REFERER.ordinal()]),
+            optional(values[LogFormat.Field.HTTP_USER_AGENT.ordinal()])
+        );
+    }
+
+    /**
+     * Копирует значение строкового поля в строку.
+     *
+     * @param logLine  строка лога или ее представление
+     * @param bounds   границы значений полей
+     * @param field    поле
+     * @param optional true, если пустое значение и "-" заменяются на null
+     * @return значение поля или null, если поле не извлекается
+     */
+    private static String text(CharSequence logLine, int[] bounds, LogFormat.Field field, boolean optional) {
+        int start = bounds[field.ordinal() * 2];
+        if (start < 0) {
+            return null;
+        }
+        int end = bounds[field.ordinal() * 2 + 1];
+        return optional ? optional(logLine, start, end) : text(logLine, start, end);
+    }
+
+    /**
+     * Разбирает время запроса: {@code $time_iso8601}, если формат его извлекает, иначе {@code $time_local}.
+     *
+     * @param logLine строка лога или ее представление
+     * @param bounds  границы значений полей
+     * @return время запроса или null, если формат не извлекает время
+     */
+    private static ZonedDateTime time(CharSequence logLine, int[] bounds) {
+        int isoStart = bounds[LogFormat.Field.TIME_ISO8601.ordinal() * 2];
+        if (isoStart >= 0) {
+            return isoTime(logLine, isoStart, bounds[LogFormat.Field.TIME_ISO8601.ordinal() * 2 + 1]);
+        }
+        int localStart = bounds[LogFormat.Field.TIME_LOCAL.ordinal() * 2];
+        return localStart >= 0
+            ? localTime(logLine, localStart, bounds[LogFormat.Field.TIME_LOCAL.ordinal() * 2 + 1])
+            : null;
+    }
+
+    /**
+     * Разбирает числовое поле.
+     *
+     * @param logLine строка лога или ее представление
+     * @param bounds  границы значений полей
+     * @param field   поле
+     * @return число или 0, если поле не извлекается
+     */
+    private static long number(CharSequence logLine, int[] bounds, LogFormat.Field field) {
+        int start = bounds[field.ordinal() * 2];
+        return start >= 0 ? number(logLine, start, bounds[field.ordinal() * 2 + 1]) : 0;
+    }
+
+    /**
+     * Разбирает код ответа.
+     *
+     * @param logLine строка лога или ее представление
+     * @param bounds  границы значений полей
+     * @return код ответа или 0, если поле не извлекается
+     */
+    private static int status(CharSequence logLine, int[] bounds) {
+        int start = bounds[LogFormat.Field.STATUS.ordinal() * 2];
+        return start >= 0 ? status(logLine, start, bounds[LogFormat.Field.STATUS.ordinal() * 2 + 1]) : 0;
+    }
+
+    /**
+     * Копирует часть строки лога в строку.
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return значение
+     */
+    static String text(CharSequence logLine, int start, int end) {
+        return logLine.subSequence(start, end).toString();
+    }
+
+    /**
+     * Копирует значение опционального поля в строку, если оно не пустое и не равно "-".
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return значение или null, если оно пустое или равно "-"
+     */
+    static String optional(CharSequence logLine, int start, int end) {
+        if (start == end || end - start == 1 && logLine.charAt(start) == '-') {
+            return null;
+        }
+        return text(logLine, start, end);
+    }
+
+    /**
+     * Разбирает время в формате "dd/MMM/yyyy:HH:mm:ss Z" прямо из строки лога, без выделения подстроки.
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return объект ZonedDateTime
+     * @throws DateTimeParseException если значение не является временем в этом формате
+     */
+    static ZonedDateTime localTime(CharSequence logLine, int start, int end) {
+        return parseTime(TIME_FORMATTER, logLine, start, end);
+    }
+
+    /**
+     * Разбирает время в формате ISO 8601 прямо из строки лога, без выделения подстроки.
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return объект ZonedDateTime
+     * @throws DateTimeParseException если значение не является временем в формате ISO 8601
+     */
+    static ZonedDateTime isoTime(CharSequence logLine, int start, int end) {
+        return parseTime(DateTimeFormatter.ISO_ZONED_DATE_TIME, logLine, start, end);
+    }
+
+    /**
+     * Разбирает время форматтером с позиции начала значения. Если форматтер остановился не на конце значения
+     * (например, разобрал необязательную часть из следующего за значением текста), значение разбирается
+     * повторно как отдельная подстрока.
+     *
+     * @param formatter форматтер времени
+     * @param logLine   строка лога или ее представление
+     * @param start     начало значения
+     * @param end       конец значения
+     * @return объект ZonedDateTime
+     * @throws DateTimeParseException если значение не является временем в формате форматтера
+     */
+    private static ZonedDateTime parseTime(DateTimeFormatter formatter, CharSequence logLine, int start, int end) {
+        ParsePosition position = new ParsePosition(start);
+        TemporalAccessor parsed = formatter.parse(logLine, position);
+        if (position.getIndex() != end) {
+            return ZonedDateTime.parse(logLine.subSequence(start, end), formatter);
+        }
+        return ZonedDateTime.from(parsed);
+    }
+
+    /**
+     * Преобразует значение поля из десятичных цифр в число прямо из строки лога, без промежуточной строки.
+     * Цифры накапливаются в long с проверкой переполнения, поэтому размеры ответов больше 2 ГБ разбираются
+     * без потерь, а значения больше {@link Long#MAX_VALUE} отклоняются, а не искажаются.
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return число
+     * @throws NumberFormatException если значение пустое, содержит не только цифры ASCII или не помещается в long
+     */
+    static long number(CharSequence logLine, int start, int end) {
+        if (start == end) {
+            throw new NumberFormatException("Not a number: empty value");
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = logLine.charAt(i) - '0';
+            if (digit < 0 || digit >= DECIMAL_RADIX) {
+                throw new NumberFormatException("Not a number: " + logLine.subSequence(start, end));
+            }
+            if (value >= MAX_LONG_TENTH && (value > MAX_LONG_TENTH || digit > MAX_LONG_LAST_DIGIT)) {
+                throw tooLarge(logLine, start, end);
+            }
+            value = value * DECIMAL_RADIX + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Преобразует код ответа из десятичных цифр в int прямо из строки лога.
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return код ответа
+     * @throws NumberFormatException если значение не является числом или не помещается в int
+     */
+    static int status(CharSequence logLine, int start, int end) {
+        long value = number(logLine, start, end);
+        if (value > Integer.MAX_VALUE) {
+            throw tooLarge(logLine, start, end);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Создает ошибку слишком большого числа.
+     *
+     * @param logLine строка лога или ее представление
+     * @param start   начало значения
+     * @param end     конец значения
+     * @return ошибка преобразования
+     */
+    private static NumberFormatException tooLarge(CharSequence logLine, int start, int end) {
+        return new NumberFormatException("Number is too large: " + logLine.subSequence(start, end));
+    }
+
+    /**
+     * Находит разделитель в строке лога. Для строк используется {@link String#indexOf(String, int)}.
+     *
+     * @param logLine   строка лога или ее представление
+     * @param delimiter разделитель
+     * @param from      позиция начала поиска
+     * @return позиция разделителя или -1, если он не найден
+     */
+    static int indexOf(CharSequence logLine, String delimiter, int from) {
+        if (logLine instanceof String line) {
+            return line.indexOf(delimiter, from);
+        }
+        if (delimiter.isEmpty()) {
+            return Math.min(from, logLine.length());
+        }
+        char first = delimiter.charAt(0);
+        int last = logLine.length() - delimiter.length();
+        for (int i = from; i <= last; i++) {
+            if (logLine.charAt(i) == first && startsWith(logLine, delimiter, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Находит разделитель из одного символа в строке лога. Для строк используется {@link String#indexOf(int, int)}.
+     *
+     * @param logLine   строка лога или ее представление
+     * @param delimiter символ-разделитель
+     * @param from      позиция начала поиска
+     * @return позиция разделителя или -1, если он не найден
+     */
+    static int indexOf(CharSequence logLine, char delimiter, int from) {
+        if (logLine instanceof String line) {
+            return line.indexOf(delimiter, from);
+        }
+        for (int i = from; i < logLine.length(); i++) {
+            if (logLine.charAt(i) == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, что строка лога содержит разделитель с заданной позиции.
+     *
+     * @param logLine   строка лога или ее представление
+     * @param delimiter разделитель
+     * @param offset    позиция разделителя
+     * @return true, если разделитель находится на этой позиции
+     */
+    static boolean startsWith(CharSequence logLine, String delimiter, int offset) {
+        if (logLine instanceof String line) {
+            return line.startsWith(delimiter, offset);
+        }
+        if (offset < 0 || offset > logLine.length() - delimiter.length()) {
+            return false;
+        }
+        for (int i = 0; i < delimiter.length(); i++) {
+            if (logLine.charAt(offset + i) != delimiter.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Парсит опциональные поля, которые могут быть пустыми или содержать значение "-".
      * Если поле пустое или содержит "-", возвращает null.
      *
-     * @param matcher   сопоставленный объект Matcher со строкой лога
-     * @param fieldName имя поля для извлечения
-     * @return значение поля или null, если оно пустое или равно "-"
+     * @param value значение поля
+     * @return значение поля или null, если оно не извлекалось, пустое или равно "-"
      */
-    private String parseOptionalField(Matcher matcher, String fieldName) {
-        String field = matcher.group(fieldName);
-        return (field == null || field.isEmpty() || "-".equals(field)) ? null : field;
+    static String optional(String value) {
+        return (value == null || value.isEmpty() || "-".equals(value)) ? null : value;
     }
 
     /**
      * Преобразует строку с датой и временем в объект {@link ZonedDateTime}.
      *
      * @param time строка с временем в формате "dd/MMM/yyyy:HH:mm:ss Z"
+     * @return объект ZonedDateTime или null, если время не извлекалось
+     */
+    static ZonedDateTime localTime(String time) {
+        return time != null ? ZonedDateTime.parse(time, TIME_FORMATTER) : null;
+    }
+
+    /**
+     * Преобразует строку с датой и временем в формате ISO 8601 в объект {@link ZonedDateTime}.
+     *
+     * @param time строка с временем, например "2024-08-31T12:00:00+03:00"
      * @return объект ZonedDateTime
      */
-    private ZonedDateTime parseTime(String time) {
-        return ZonedDateTime.parse(time, TIME_FORMATTER);
+    static ZonedDateTime isoTime(String time) {
+        return ZonedDateTime.parse(time);
+    }
+
+    /**
+     * Преобразует значение поля из десятичных цифр в число.
+     *
+     * @param value значение поля
+     * @return число или 0, если поле не извлекалось
+     * @throws NumberFormatException если значение не является числом или не помещается в long
+     */
+    static long number(String value) {
+        return value != null ? number(value, 0, value.length()) : 0;
     }
 
     /**
-     * Преобразует строку в целочисленное значение.
+     * Преобразует код ответа из десятичных цифр в int.
      *
-     * @param matcher   сопоставленный объект Matcher со строкой лога
-     * @param fieldName имя поля для извлечения
-     * @return целочисленное значение
+     * @param value значение поля
+     * @return код ответа или 0, если поле не извлекалось
+     * @throws NumberFormatException если значение не является числом или не помещается в int
      */
-    private int parseIntField(Matcher matcher, String fieldName) {
-        return Integer.parseInt(matcher.group(fieldName));
+    static int status(String value) {
+        return value != null ? status(value, 0, value.length()) : 0;
     }
 }
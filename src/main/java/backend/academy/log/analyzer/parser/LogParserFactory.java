@@ -0,0 +1,62 @@
+package backend.academy.log.analyzer.parser;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Фабрика для создания парсеров строк логов по режиму, выбранному в аргументах командной строки.
+ * Сгенерированные парсеры кэшируются по формату, поэтому класс для формата генерируется один раз за запуск.
+ */
+@Slf4j
+public class LogParserFactory {
+
+    private final LogParserGenerator generator;
+
+    private final Map<LogFormat, LogParser> generatedParsers = new ConcurrentHashMap<>();
+
+    /**
+     * Создает фабрику парсеров.
+     *
+     * @param generator генератор парсеров для режима generated
+     */
+    public LogParserFactory(LogParserGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Создает парсер.
+     * Если сгенерировать парсер не удалось, используется парсер, интерпретирующий план разбора формата.
+     * Строки в формате, заданном шаблоном JSON-объекта, в любом режиме разбираются {@link JsonLogParser}.
+     *
+     * @param mode   режим разбора
+     * @param format скомпилированный формат строк лога
+     * @return парсер строк логов
+     */
+    public LogParser create(String mode, LogFormat format) {
+        if (format.json()) {
+            return new JsonLogParser(format);
+        }
+        return switch (ParserMode.fromString(mode)) {
+            case INTERPRETED -> new LogParser(format);
+            case GENERATED -> generatedParsers.computeIfAbsent(format, this::generate);
+        };
+    }
+
+    /**
+     * Генерирует парсер для формата.
+     *
+     * @param format скомпилированный формат строк лога
+     * @return сгенерированный парсер или интерпретирующий парсер, если генерация не удалась
+     */
+    private LogParser generate(LogFormat format) {
+        try {
+            LogParser parser = generator.generate(format);
+            log.info("A parser class was generated for the log format {}", format.pattern());
+            return parser;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Failed to generate a parser, the interpreted parser is used: {}", e.getMessage());
+            return new LogParser(format);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package backend.academy.log.analyzer.parser;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.lang.invoke.MethodHandles;
+import java.time.ZonedDateTime;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.bytecode.ByteCodeAppender;
+import net.bytebuddy.jar.asm.ClassWriter;
+import net.bytebuddy.jar.asm.Label;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+import net.bytebuddy.matcher.ElementMatchers;
+
+/**
+ * Генератор парсеров, специализированных под конкретный формат строк лога.
+ * Для формата создается подкласс {@link LogParser}, в котором {@link LogParser#parseFields(String)} -
+ * линейный код без циклов и таблиц: для каждого разделителя формата - свой поиск (по символу, если
+ * разделитель из одного символа), для каждого нужного поля - выделение подстроки и вызов преобразования.
+ * {@link LogParser#parseFields(CharSequence)} для представлений строк из буфера ридера генерируется так же,
+ * но вместо подстрок запоминает границы значений и преобразует их прямо из представления.
+ * Такой метод JIT-компилятор встраивает целиком, без диспетчеризации по плану разбора.
+ * Класс определяется в пакете парсера через {@link MethodHandles.Lookup}, поэтому вызывает
+ * преобразования полей {@link LogParser} напрямую.
+ */
+public class LogParserGenerator {
+
+    private static final String STRING = Type.getInternalName(String.class);
+
+    private static final String CHAR_SEQUENCE = Type.getInternalName(CharSequence.class);
+
+    private static final String PARSER = Type.getInternalName(LogParser.class);
+
+    private static final String ENTRY = Type.getInternalName(LogEntry.class);
+
+    private static final Type STRING_TYPE = Type.getType(String.class);
+
+    private static final Type CHAR_SEQUENCE_TYPE = Type.getType(CharSequence.class);
+
+    private static final Type TIME_TYPE = Type.getType(ZonedDateTime.class);
+
+    private static final String VIEW_INDEX_OF_CHAR = Type.getMethodDescriptor(
+        Type.INT_TYPE, CHAR_SEQUENCE_TYPE, Type.CHAR_TYPE, Type.INT_TYPE);
+
+    private static final String VIEW_INDEX_OF_STRING = Type.getMethodDescriptor(
+        Type.INT_TYPE, CHAR_SEQUENCE_TYPE, STRING_TYPE, Type.INT_TYPE);
+
+    private static final String VIEW_STARTS_WITH = Type.getMethodDescriptor(
+        Type.BOOLEAN_TYPE, CHAR_SEQUENCE_TYPE, STRING_TYPE, Type.INT_TYPE);
+
+    private static final String STRING_STARTS_WITH = Type.getMethodDescriptor(Type.BOOLEAN_TYPE, STRING_TYPE);
+
+    private static final String STRING_STARTS_WITH_FROM = Type.getMethodDescriptor(
+        Type.BOOLEAN_TYPE, STRING_TYPE, Type.INT_TYPE);
+
+    private static final String STRING_INDEX_OF_CHAR = Type.getMethodDescriptor(
+        Type.INT_TYPE, Type.INT_TYPE, Type.INT_TYPE);
+
+    private static final String STRING_INDEX_OF_STRING = Type.getMethodDescriptor(
+        Type.INT_TYPE, STRING_TYPE, Type.INT_TYPE);
+
+    private static final String STRING_SUBSTRING = Type.getMethodDescriptor(
+        STRING_TYPE, Type.INT_TYPE, Type.INT_TYPE);
+
+    private static final String LENGTH_DESCRIPTOR = Type.getMethodDescriptor(Type.INT_TYPE);
+
+    private static final String STARTS_WITH = "startsWith";
+
+    private static final String INDEX_OF = "indexOf";
+
+    private static final String LENGTH = "length";
+
+    private static final String SUBSTRING = "substring";
+
+    private static final String PARSE_FIELDS = "parseFields";
+
+    private static final String ENTRY_CONSTRUCTOR = Type.getMethodDescriptor(
+        Type.VOID_TYPE,
+        Type.getType(String.class),
+        Type.getType(String.class),
+        Type.getType(ZonedDateTime.class),
+        Type.getType(String.class),
+        Type.INT_TYPE,
+        Type.LONG_TYPE,
+        Type.getType(String.class),
+        Type.getType(String.class)
+    );
+
+    /** Локальная переменная со строкой лога или ее представлением */
+    private static final int LINE = 1;
+
+    /** Локальная переменная с позицией начала текущего значения */
+    private static final int POSITION = 2;
+
+    /** Локальная переменная с позицией конца текущего значения */
+    private static final int END = 3;
+
+    /**
+     * Первая локальная переменная со значениями полей: по одной на {@link LogFormat.Field} со строкой значения,
+     * а при разборе представления - по две с началом и концом значения.
+     */
+    private static final int FIRST_FIELD = 4;
+
+    /**
+     * Наибольшая глубина стека операндов: аргументы конструктора {@link LogEntry}, сама запись
+     * и аргументы преобразования значения из представления.
+     */
+    private static final int MAX_STACK = 13;
+
+    /**
+     * Генерирует парсер для формата. Разбор представлений строк генерируется, только если разделители
+     * формата состоят из символов ASCII; иначе представление копируется и разбирается как строка.
+     *
+     * @param format скомпилированный формат строк лога
+     * @return парсер сгенерированного класса
+     * @throws ReflectiveOperationException если не удалось создать экземпляр сгенерированного класса
+     */
+    public LogParser generate(LogFormat format) throws ReflectiveOperationException {
+        DynamicType.Builder<LogParser> builder = new ByteBuddy()
+            .subclass(LogParser.class, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_PUBLIC)
+            .method(ElementMatchers.named(PARSE_FIELDS).and(ElementMatchers.takesArguments(String.class)))
+            .intercept(new Implementation.Simple(new ParseFieldsAppender(format, false)));
+        if (format.asciiDelimiters()) {
+            builder = builder
+                .method(ElementMatchers.named(PARSE_FIELDS).and(ElementMatchers.takesArguments(CharSequence.class)))
+                .intercept(new Implementation.Simple(new ParseFieldsAppender(format, true)));
+        }
+        Class<? extends LogParser> parserClass = builder
+            .visit(new AsmVisitorWrapper.ForDeclaredMethods().writerFlags(ClassWriter.COMPUTE_FRAMES))
+            .make()
+            .load(LogParser.class.getClassLoader(), ClassLoadingStrategy.UsingLookup.of(MethodHandles.lookup()))
+            .getLoaded();
+        return parserClass.getConstructor(LogFormat.class).newInstance(format);
+    }
+
+    /**
+     * Записывает тело метода {@link LogParser#parseFields(String)} или {@link LogParser#parseFields(CharSequence)}
+     * для формата.
+     *
+     * @param mv     получатель инструкций метода
+     * @param format скомпилированный формат строк лога
+     * @param view   true для метода, разбирающего представление строки
+     */
+    static void emitParseFields(MethodVisitor mv, LogFormat format, boolean view) {
+        Label mismatch = new Label();
+
+        String first = format.delimiter(0);
+        if (!first.isEmpty()) {
+            mv.visitVarInsn(Opcodes.ALOAD, LINE);
+            mv.visitLdcInsn(first);
+            if (view) {
+                pushInt(mv, 0);
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, PARSER, STARTS_WITH, VIEW_STARTS_WITH, false);
+            } else {
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, STARTS_WITH, STRING_STARTS_WITH, false);
+            }
+            mv.visitJumpInsn(Opcodes.IFEQ, mismatch);
+        }
+        pushInt(mv, first.length());
+        mv.visitVarInsn(Opcodes.ISTORE, POSITION);
+
+        int last = format.variableCount() - 1;
+        for (int i = 0; i <= last; i++) {
+            String delimiter = format.delimiter(i + 1);
+            if (i == last) {
+                emitFindLastEnd(mv, delimiter, mismatch, view);
+            } else {
+                emitFindEnd(mv, delimiter, mismatch, view);
+            }
+
+            LogFormat.Field field = format.field(i);
+            if (field != null && view) {
+                mv.visitVarInsn(Opcodes.ILOAD, POSITION);
+                mv.visitVarInsn(Opcodes.ISTORE, fieldSlot(field, true));
+                mv.visitVarInsn(Opcodes.ILOAD, END);
+                mv.visitVarInsn(Opcodes.ISTORE, fieldSlot(field, true) + 1);
+            } else if (field != null) {
+                mv.visitVarInsn(Opcodes.ALOAD, LINE);
+                mv.visitVarInsn(Opcodes.ILOAD, POSITION);
+                mv.visitVarInsn(Opcodes.ILOAD, END);
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, SUBSTRING, STRING_SUBSTRING, false);
+                mv.visitVarInsn(Opcodes.ASTORE, fieldSlot(field, false));
+            }
+
+            if (i < last) {
+                mv.visitVarInsn(Opcodes.ILOAD, END);
+                pushInt(mv, delimiter.length());
+                mv.visitInsn(Opcodes.IADD);
+                mv.visitVarInsn(Opcodes.ISTORE, POSITION);
+            }
+        }
+
+        emitNewEntry(mv, format, view);
+        mv.visitInsn(Opcodes.ARETURN);
+
+        mv.visitLabel(mismatch);
+        mv.visitInsn(Opcodes.ACONST_NULL);
+        mv.visitInsn(Opcodes.ARETURN);
+    }
+
+    /**
+     * Записывает поиск разделителя после текущего значения: по символу для разделителя из одного символа.
+     *
+     * @param mv        получатель инструкций метода
+     * @param delimiter разделитель
+     * @param mismatch  метка перехода, если разделитель не найден
+     * @param view      true, если разбирается представление строки
+     */
+    private static void emitFindEnd(MethodVisitor mv, String delimiter, Label mismatch, boolean view) {
+        mv.visitVarInsn(Opcodes.ALOAD, LINE);
+        if (delimiter.length() == 1) {
+            pushInt(mv, delimiter.charAt(0));
+            mv.visitVarInsn(Opcodes.ILOAD, POSITION);
+            if (view) {
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, PARSER, INDEX_OF, VIEW_INDEX_OF_CHAR, false);
+            } else {
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, INDEX_OF, STRING_INDEX_OF_CHAR, false);
+            }
+        } else {
+            mv.visitLdcInsn(delimiter);
+            mv.visitVarInsn(Opcodes.ILOAD, POSITION);
+            if (view) {
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, PARSER, INDEX_OF, VIEW_INDEX_OF_STRING, false);
+            } else {
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, INDEX_OF, STRING_INDEX_OF_STRING, false);
+            }
+        }
+        mv.visitVarInsn(Opcodes.ISTORE, END);
+        mv.visitVarInsn(Opcodes.ILOAD, END);
+        mv.visitJumpInsn(Opcodes.IFLT, mismatch);
+    }
+
+    /**
+     * Записывает проверку завершающего разделителя: последнее значение продолжается до него.
+     *
+     * @param mv        получатель инструкций метода
+     * @param delimiter завершающий разделитель, возможно пустой
+     * @param mismatch  метка перехода, если строка не заканчивается разделителем
+     * @param view      true, если разбирается представление строки
+     */
+    private static void emitFindLastEnd(MethodVisitor mv, String delimiter, Label mismatch, boolean view) {
+        mv.visitVarInsn(Opcodes.ALOAD, LINE);
+        if (view) {
+            mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, CHAR_SEQUENCE, LENGTH, LENGTH_DESCRIPTOR, true);
+        } else {
+            mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, LENGTH, LENGTH_DESCRIPTOR, false);
+        }
+        pushInt(mv, delimiter.length());
+        mv.visitInsn(Opcodes.ISUB);
+        mv.visitVarInsn(Opcodes.ISTORE, END);
+        mv.visitVarInsn(Opcodes.ILOAD, END);
+        mv.visitVarInsn(Opcodes.ILOAD, POSITION);
+        mv.visitJumpInsn(Opcodes.IF_ICMPLT, mismatch);
+        if (!delimiter.isEmpty()) {
+            mv.visitVarInsn(Opcodes.ALOAD, LINE);
+            mv.visitLdcInsn(delimiter);
+            mv.visitVarInsn(Opcodes.ILOAD, END);
+            if (view) {
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, PARSER, STARTS_WITH, VIEW_STARTS_WITH, false);
+            } else {
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, STRING, STARTS_WITH, STRING_STARTS_WITH_FROM, false);
+            }
+            mv.visitJumpInsn(Opcodes.IFEQ, mismatch);
+        }
+    }
+
+    /**
+     * Записывает создание {@link LogEntry}: для извлеченных полей - вызовы преобразований {@link LogParser},
+     * для остальных - значения по умолчанию.
+     *
+     * @param mv     получатель инструкций метода
+     * @param format скомпилированный формат строк лога
+     * @param view   true, если разбирается представление строки
+     */
+    private static void emitNewEntry(MethodVisitor mv, LogFormat format, boolean view) {
+        boolean[] present = new boolean[LogFormat.Field.values().length];
+        for (int i = 0; i < format.variableCount(); i++) {
+            if (format.field(i) != null) {
+                present[format.field(i).ordinal()] = true;
+            }
+        }
+
+        mv.visitTypeInsn(Opcodes.NEW, ENTRY);
+        mv.visitInsn(Opcodes.DUP);
+        emitString(mv, present, LogFormat.Field.REMOTE_ADDR, false, view);
+        emitString(mv, present, LogFormat.Field.REMOTE_USER, true, view);
+        if (present[LogFormat.Field.TIME_ISO8601.ordinal()]) {
+            emitConversion(mv, LogFormat.Field.TIME_ISO8601, "isoTime", TIME_TYPE, view);
+        } else if (present[LogFormat.Field.TIME_LOCAL.ordinal()]) {
+            emitConversion(mv, LogFormat.Field.TIME_LOCAL, "localTime", TIME_TYPE, view);
+        } else {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        }
+        emitString(mv, present, LogFormat.Field.REQUEST, true, view);
+        if (present[LogFormat.Field.STATUS.ordinal()]) {
+            emitConversion(mv, LogFormat.Field.STATUS, "status", Type.INT_TYPE, view);
+        } else {
+            mv.visitInsn(Opcodes.ICONST_0);
+        }
+        if (present[LogFormat.Field.BODY_BYTES_SENT.ordinal()]) {
+            emitConversion(mv, LogFormat.Field.BODY_BYTES_SENT, "number", Type.LONG_TYPE, view);
+        } else {
+            mv.visitInsn(Opcodes.LCONST_0);
+        }
+        emitString(mv, present, LogFormat.Field.HTTP_REFERER, true, view);
+        emitString(mv, present, LogFormat.Field.HTTP_USER_AGENT, true, view);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, ENTRY, "<init>", ENTRY_CONSTRUCTOR, false);
+    }
+
+    /**
+     * Записывает значение строкового поля или null, если поле не извлекается.
+     *
+     * @param mv       получатель инструкций метода
+     * @param present  признаки извлекаемых полей
+     * @param field    поле
+     * @param optional true, если пустое значение и "-" заменяются на null
+     * @param view     true, если разбирается представление строки
+     */
+    private static void emitString(
+        MethodVisitor mv,
+        boolean[] present,
+        LogFormat.Field field,
+        boolean optional,
+        boolean view
+    ) {
+        if (!present[field.ordinal()]) {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        } else if (optional) {
+            emitConversion(mv, field, "optional", STRING_TYPE, view);
+        } else if (view) {
+            emitConversion(mv, field, "text", STRING_TYPE, view);
+        } else {
+            mv.visitVarInsn(Opcodes.ALOAD, fieldSlot(field, false));
+        }
+    }
+
+    /**
+     * Записывает вызов статического преобразования {@link LogParser} для значения поля:
+     * для строки - преобразование подстроки, для представления - преобразование по границам значения.
+     *
+     * @param mv     получатель инструкций метода
+     * @param field  поле
+     * @param method имя метода преобразования
+     * @param result тип результата преобразования
+     * @param view   true, если разбирается представление строки
+     */
+    private static void emitConversion(
+        MethodVisitor mv,
+        LogFormat.Field field,
+        String method,
+        Type result,
+        boolean view
+    ) {
+        if (view) {
+            mv.visitVarInsn(Opcodes.ALOAD, LINE);
+            mv.visitVarInsn(Opcodes.ILOAD, fieldSlot(field, true));
+            mv.visitVarInsn(Opcodes.ILOAD, fieldSlot(field, true) + 1);
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, PARSER, method,
+                Type.getMethodDescriptor(result, CHAR_SEQUENCE_TYPE, Type.INT_TYPE, Type.INT_TYPE), false);
+        } else {
+            mv.visitVarInsn(Opcodes.ALOAD, fieldSlot(field, false));
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, PARSER, method, Type.getMethodDescriptor(result, STRING_TYPE),
+                false);
+        }
+    }
+
+    /**
+     * Возвращает номер локальной переменной со значением поля.
+     *
+     * @param field поле
+     * @param view  true, если разбирается представление строки: тогда это переменная с началом значения,
+     *              а следующая за ней - с концом
+     * @return номер локальной переменной
+     */
+    private static int fieldSlot(LogFormat.Field field, boolean view) {
+        return FIRST_FIELD + (view ? field.ordinal() * 2 : field.ordinal());
+    }
+
+    /**
+     * Записывает загрузку целочисленной константы.
+     *
+     * @param mv    получатель инструкций метода
+     * @param value значение
+     */
+    private static void pushInt(MethodVisitor mv, int value) {
+        if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            mv.visitIntInsn(Opcodes.SIPUSH, value);
+        } else {
+            mv.visitLdcInsn(value);
+        }
+    }
+
+    /**
+     * Реализация метода {@link LogParser#parseFields(String)} или {@link LogParser#parseFields(CharSequence)}
+     * сгенерированного класса.
+     *
+     * @param format скомпилированный формат строк лога
+     * @param view   true для метода, разбирающего представление строки
+     */
+    private record ParseFieldsAppender(LogFormat format, boolean view) implements ByteCodeAppender {
+
+        @Override
+        public Size apply(
+            MethodVisitor methodVisitor,
+            Implementation.Context implementationContext,
+            MethodDescription instrumentedMethod
+        ) {
+            emitParseFields(methodVisitor, format, view);
+            int fields = LogFormat.Field.values().length;
+            return new Size(MAX_STACK, FIRST_FIELD + (view ? fields * 2 : fields));
+        }
+    }
+}
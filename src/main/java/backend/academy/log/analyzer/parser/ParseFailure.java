@@ -0,0 +1,30 @@
+package backend.academy.log.analyzer.parser;
+
+/**
+ * Причины, по которым строку лога не удалось разобрать.
+ */
+public enum ParseFailure {
+    /** Строка не соответствует разделителям формата или не является JSON-объектом с временем запроса */
+    FORMAT_MISMATCH("format_mismatch"),
+    /** Время запроса не удалось разобрать */
+    INVALID_TIME("invalid_time"),
+    /** Код ответа или размер ответа не является числом */
+    INVALID_NUMBER("invalid_number"),
+    /** Другая ошибка разбора значений */
+    MALFORMED("malformed");
+
+    private final String reason;
+
+    ParseFailure(String reason) {
+        this.reason = reason;
+    }
+
+    /**
+     * Возвращает имя причины для журнала, отчета и файла карантина.
+     *
+     * @return имя причины
+     */
+    public String reason() {
+        return reason;
+    }
+}
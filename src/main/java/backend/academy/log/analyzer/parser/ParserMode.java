@@ -0,0 +1,30 @@
+package backend.academy.log.analyzer.parser;
+
+import java.util.Arrays;
+
+/**
+ * Поддерживаемые режимы разбора строк логов.
+ */
+public enum ParserMode {
+    INTERPRETED("interpreted"),
+    GENERATED("generated");
+
+    private final String mode;
+
+    ParserMode(String mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Возвращает режим разбора по его имени.
+     *
+     * @param mode имя режима
+     * @return режим разбора
+     */
+    public static ParserMode fromString(String mode) {
+        return Arrays.stream(values())
+            .filter(m -> m.mode.equalsIgnoreCase(mode))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported parser mode: " + mode));
+    }
+}
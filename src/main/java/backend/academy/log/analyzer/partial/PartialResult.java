@@ -0,0 +1,56 @@
+package backend.academy.log.analyzer.partial;
+
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Частичный результат анализа: статистика по части логов вместе с параметрами запроса,
+ * по которым она собрана. Частичные результаты, собранные с одинаковыми параметрами
+ * (например, на разных машинах по разным файлам), объединяются в один отчет.
+ *
+ * @param from        Начальная дата запроса в формате ISO8601 (может быть null)
+ * @param to          Конечная дата запроса в формате ISO8601 (может быть null)
+ * @param filterField Поле для фильтрации (может быть null)
+ * @param filterValue Значение для фильтрации (может быть null)
+ * @param fileNames   Имена обработанных файлов логов
+ * @param statistics  Накопленная статистика
+ */
+public record PartialResult(
+
+    String from,
+
+    String to,
+
+    String filterField,
+
+    String filterValue,
+
+    List<String> fileNames,
+
+    StatisticsAccumulator statistics
+) {
+
+    /**
+     * Проверяет, собран ли другой частичный результат с теми же параметрами запроса.
+     *
+     * @param other другой частичный результат
+     * @return true, если даты, фильтры и интервал динамики запросов совпадают
+     */
+    public boolean hasSameQuery(PartialResult other) {
+        return Objects.equals(from, other.from)
+            && Objects.equals(to, other.to)
+            && Objects.equals(filterField, other.filterField)
+            && Objects.equals(filterValue, other.filterValue)
+            && Objects.equals(timeSeriesInterval(), other.timeSeriesInterval());
+    }
+
+    /**
+     * Возвращает длину интервала динамики запросов.
+     *
+     * @return длина интервала в секундах или null, если динамика не собиралась
+     */
+    private Long timeSeriesInterval() {
+        return statistics.timeSeries() != null ? statistics.timeSeries().intervalSeconds() : null;
+    }
+}
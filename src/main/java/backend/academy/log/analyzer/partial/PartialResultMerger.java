@@ -0,0 +1,67 @@
+package backend.academy.log.analyzer.partial;
+
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Объединение частичных результатов анализа (команда {@code merge}).
+ * Объединяются только результаты, собранные с одинаковыми датами, фильтрами и интервалом динамики запросов.
+ */
+@Slf4j
+public class PartialResultMerger {
+
+    private final PartialResultStore partialResultStore;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param partialResultStore хранилище частичных результатов
+     */
+    @Inject
+    public PartialResultMerger(PartialResultStore partialResultStore) {
+        this.partialResultStore = partialResultStore;
+    }
+
+    /**
+     * Читает частичные результаты и объединяет их статистику и списки файлов.
+     *
+     * @param inputs пути к файлам частичных результатов
+     * @return объединенный результат с параметрами запроса первого результата или пустое значение,
+     *     если результат не удалось прочитать или он собран с другими параметрами запроса
+     */
+    public Optional<PartialResult> merge(List<String> inputs) {
+        List<PartialResult> partialResults = new ArrayList<>();
+        for (String input : inputs) {
+            try {
+                partialResults.add(partialResultStore.load(Path.of(input)));
+            } catch (IOException e) {
+                log.error("Error reading the partial result {}", input, e);
+                return Optional.empty();
+            }
+        }
+
+        PartialResult first = partialResults.getFirst();
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        List<String> fileNames = new ArrayList<>();
+        for (int i = 0; i < partialResults.size(); i++) {
+            PartialResult partialResult = partialResults.get(i);
+            if (!partialResult.hasSameQuery(first)) {
+                log.error("The partial result {} was computed with other dates, filters or time series interval "
+                    + "than {}", inputs.get(i), inputs.getFirst());
+                return Optional.empty();
+            }
+            statistics.merge(partialResult.statistics());
+            fileNames.addAll(partialResult.fileNames());
+        }
+        log.info("{} partial results were merged", partialResults.size());
+
+        return Optional.of(new PartialResult(first.from(), first.to(), first.filterField(), first.filterValue(),
+            fileNames, statistics));
+    }
+}
@@ -0,0 +1,91 @@
+package backend.academy.log.analyzer.partial;
+
+import backend.academy.log.analyzer.statistics.StatisticsCodec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Чтение и запись файлов частичных результатов ({@link PartialResult}).
+ * Формат версионирован: после сигнатуры записывается номер версии, затем параметры запроса,
+ * имена файлов и статистика в формате {@link StatisticsCodec}, который проверяет и собственную версию.
+ * Статистика хранится полностью (частоты, гистограмма размеров ответов, уникальные IP-адреса),
+ * поэтому объединение частичных результатов дает тот же отчет, что и анализ всех логов сразу.
+ */
+public class PartialResultStore {
+
+    /** Сигнатура формата: "LAP" (Log Analyzer Partial result) */
+    private static final int MAGIC = 0x4C4150;
+
+    /** Текущая версия формата */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Сохраняет частичный результат в файл через временный файл в той же директории.
+     *
+     * @param file   путь к файлу частичного результата
+     * @param result частичный результат
+     * @throws IOException если не удалось записать файл
+     */
+    public void save(Path file, PartialResult result) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path tempFile = Files.createTempFile(directory, "partial_", ".tmp");
+        try {
+            try (DataOutputStream output =
+                     new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                StatisticsCodec.writeVarLong(output, FORMAT_VERSION);
+                StatisticsCodec.writeString(output, result.from());
+                StatisticsCodec.writeString(output, result.to());
+                StatisticsCodec.writeString(output, result.filterField());
+                StatisticsCodec.writeString(output, result.filterValue());
+                StatisticsCodec.writeVarLong(output, result.fileNames().size());
+                for (String fileName : result.fileNames()) {
+                    StatisticsCodec.writeString(output, fileName);
+                }
+                StatisticsCodec.write(result.statistics(), output);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Читает частичный результат из файла.
+     *
+     * @param file путь к файлу частичного результата
+     * @return частичный результат
+     * @throws IOException если файл не удалось прочитать, он поврежден или записан в другой версии формата
+     */
+    public PartialResult load(Path file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a partial result file: " + file);
+            }
+            long version = StatisticsCodec.readVarLong(input);
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported partial result format version " + version + ": " + file);
+            }
+
+            String from = StatisticsCodec.readString(input);
+            String to = StatisticsCodec.readString(input);
+            String filterField = StatisticsCodec.readString(input);
+            String filterValue = StatisticsCodec.readString(input);
+            long fileCount = StatisticsCodec.readVarLong(input);
+            List<String> fileNames = new ArrayList<>();
+            for (long i = 0; i < fileCount; i++) {
+                fileNames.add(StatisticsCodec.readString(input));
+            }
+            return new PartialResult(from, to, filterField, filterValue, fileNames, StatisticsCodec.read(input));
+        }
+    }
+}
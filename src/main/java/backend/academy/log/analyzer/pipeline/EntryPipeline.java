@@ -0,0 +1,292 @@
+package backend.academy.log.analyzer.pipeline;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.filter.LogFilter;
+import backend.academy.log.analyzer.jfr.AnalyzerEvents;
+import backend.academy.log.analyzer.metrics.ParseErrorMonitor;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.metrics.Stage;
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.parser.LogFormatDetector;
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.parser.LogParserFactory;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import backend.academy.log.analyzer.statistics.TimeSeries;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Преобразование строк логов в записи, общее для всех режимов обработки: выбор формата источника,
+ * разбор строк, отбор записей по датам и полю, а также учет каждого этапа в метриках конвейера
+ * и в мониторе ошибок разбора. Параметры берутся из аргументов командной строки.
+ */
+public class EntryPipeline {
+
+    /**
+     * Форматы, из которых выбирается формат источника, если он не задан в аргументах командной строки,
+     * в порядке приоритета
+     */
+    public static final List<String> DETECTED_FORMATS = List.of("combined", "common", "json");
+
+    /**
+     * Поля записей, которые нужны статистике и фильтру по датам. Остальные поля извлекаются,
+     * только если по ним задан фильтр.
+     */
+    private static final Set<String> STATISTICS_FIELDS =
+        Set.of("remote_addr", "time_local", "request", "status", "body_bytes_sent");
+
+    private final LogParserFactory logParserFactory;
+
+    private final LogFilter logFilter;
+
+    private final PipelineMetrics pipelineMetrics;
+
+    private final ParseErrorMonitor parseErrorMonitor;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param logParserFactory  фабрика парсеров строк логов
+     * @param logFilter         фильтр для фильтрации логов
+     * @param pipelineMetrics   метрики конвейера обработки
+     * @param parseErrorMonitor монитор строк, которые не удалось разобрать
+     */
+    @Inject
+    public EntryPipeline(
+        LogParserFactory logParserFactory,
+        LogFilter logFilter,
+        PipelineMetrics pipelineMetrics,
+        ParseErrorMonitor parseErrorMonitor
+    ) {
+        this.logParserFactory = logParserFactory;
+        this.logFilter = logFilter;
+        this.pipelineMetrics = pipelineMetrics;
+        this.parseErrorMonitor = parseErrorMonitor;
+    }
+
+    /**
+     * Начинает запуск: сбрасывает метрики конвейера, открывает файл карантина и задает допустимую долю
+     * ошибок разбора из аргументов командной строки.
+     *
+     * @param cliArgs аргументы командной строки
+     * @throws IOException если файл карантина не удалось создать
+     */
+    public void start(CliArguments cliArgs) throws IOException {
+        pipelineMetrics.reset();
+        parseErrorMonitor.start(
+            cliArgs.quarantineFile() != null ? Path.of(cliArgs.quarantineFile()) : null,
+            cliArgs.quarantineLimit(),
+            cliArgs.maxParseErrors(),
+            cliArgs.parseCheckLines()
+        );
+    }
+
+    /**
+     * Завершает учет ошибок разбора и закрывает файл карантина.
+     */
+    public void stop() {
+        parseErrorMonitor.stop();
+    }
+
+    /**
+     * Возвращает определитель формата логов с парсерами, извлекающими только поля, нужные статистике
+     * и фильтру по полю, в выбранном режиме разбора.
+     * Если формат задан в аргументах командной строки, все источники разбираются в нем. Иначе формат каждого
+     * источника выбирается по его первым строкам из {@link #DETECTED_FORMATS}.
+     *
+     * @param cliArgs аргументы командной строки
+     * @return определитель формата логов
+     */
+    public LogFormatDetector detector(CliArguments cliArgs) {
+        Set<String> fields = new HashSet<>(STATISTICS_FIELDS);
+        if (cliArgs.filterField() != null) {
+            fields.add(cliArgs.filterField());
+        }
+        if (cliArgs.logFormat() != null) {
+            return new LogFormatDetector(LogFormat.nameOf(cliArgs.logFormat()),
+                logParserFactory.create(cliArgs.parser(), LogFormat.compile(cliArgs.logFormat(), fields)));
+        }
+        Map<String, LogParser> candidates = new LinkedHashMap<>();
+        for (String name : DETECTED_FORMATS) {
+            candidates.put(name, logParserFactory.create(cliArgs.parser(), LogFormat.compile(name, fields)));
+        }
+        return new LogFormatDetector(candidates);
+    }
+
+    /**
+     * Возвращает преобразование строк логов в записи с учетом фильтров из аргументов командной строки.
+     *
+     * @param cliArgs аргументы командной строки
+     * @param parser  парсер строк в формате источника
+     * @return преобразование потока строк в поток отфильтрованных записей
+     */
+    public Function<Stream<CharSequence>, Stream<LogEntry>> entries(CliArguments cliArgs, LogParser parser) {
+        LocalDate fromDate = parseDate(cliArgs.from());
+        LocalDate toDate = parseDate(cliArgs.to());
+        return logLines -> prepareLogEntries(
+            logLines,
+            parser,
+            fromDate,
+            toDate,
+            cliArgs.filterField(),
+            cliArgs.filterValue()
+        );
+    }
+
+    /**
+     * Возвращает получателя уже разобранных записей, который добавляет в статистику записи,
+     * прошедшие фильтры из аргументов командной строки.
+     *
+     * @param cliArgs    аргументы командной строки
+     * @param statistics накопитель статистики
+     * @return получатель записей
+     */
+    public Consumer<LogEntry> collector(CliArguments cliArgs, StatisticsAccumulator statistics) {
+        Predicate<LogEntry> filter = entryFilter(parseDate(cliArgs.from()), parseDate(cliArgs.to()),
+            cliArgs.filterField(), cliArgs.filterValue());
+        return entry -> {
+            if (acceptEntry(filter, entry)) {
+                pipelineMetrics.aggregate(statistics, entry);
+            }
+        };
+    }
+
+    /**
+     * Возвращает фабрику пустых накопителей: если задан интервал динамики запросов,
+     * накопители дополнительно собирают динамику.
+     *
+     * @param cliArgs аргументы командной строки
+     * @return фабрика накопителей
+     */
+    public Supplier<StatisticsAccumulator> accumulatorFactory(CliArguments cliArgs) {
+        if (cliArgs.timeSeries() == null) {
+            return StatisticsAccumulator::new;
+        }
+        long intervalSeconds = TimeSeries.parseInterval(cliArgs.timeSeries());
+        return () -> new StatisticsAccumulator(intervalSeconds);
+    }
+
+    /**
+     * Возвращает сигнатуру параметров, влияющих на состав учитываемых записей (даты и фильтры).
+     * Сохраненная статистика применима только к запросу с той же сигнатурой.
+     *
+     * @param cliArgs аргументы командной строки
+     * @return сигнатура запроса
+     */
+    public String querySignature(CliArguments cliArgs) {
+        return String.join("|", cliArgs.from(), cliArgs.to(), cliArgs.filterField(), cliArgs.filterValue(),
+            cliArgs.timeSeries(), cliArgs.logFormat());
+    }
+
+    /**
+     * Парсит строку с датой в формате ISO8601 в объект LocalDate.
+     *
+     * @param date строка с датой
+     * @return объект LocalDate или null, если дата не указана
+     */
+    public LocalDate parseDate(String date) {
+        return date != null ? LocalDate.parse(date) : null;
+    }
+
+    /**
+     * Фильтрует и парсит строки логов, применяя фильтры по датам и полям.
+     *
+     * @param logLines    потока строк логов
+     * @param parser      парсер строк логов
+     * @param from        начальная дата диапазона
+     * @param to          конечная дата диапазона
+     * @param filterField поле для фильтрации
+     * @param filterValue значение для фильтрации
+     * @return поток объектов LogEntry
+     */
+    private Stream<LogEntry> prepareLogEntries(
+        Stream<CharSequence> logLines,
+        LogParser parser,
+        LocalDate from,
+        LocalDate to,
+        String filterField,
+        String filterValue
+    ) {
+        Predicate<LogEntry> filter = entryFilter(from, to, filterField, filterValue);
+        Stream<CharSequence> meteredLines = pipelineMetrics.meter(logLines);
+        if (AnalyzerEvents.isEnabled()) {
+            String filterDescription = "from=" + from + ", to=" + to + ", " + filterField + "=" + filterValue;
+            return AnalyzerEvents.recordBatches(meteredLines, line -> parseLine(parser, line),
+                entry -> acceptEntry(filter, entry), filterDescription);
+        }
+
+        return meteredLines
+            .map(line -> parseLine(parser, line))
+            .filter(Objects::nonNull)
+            .filter(entry -> acceptEntry(filter, entry));
+    }
+
+    /**
+     * Разбирает строку лога, учитывая время разбора в метриках конвейера, а строку, которую не удалось
+     * разобрать, - в мониторе ошибок разбора.
+     *
+     * @param parser парсер строк логов
+     * @param line   строка лога
+     * @return запись лога или null, если строку не удалось разобрать
+     */
+    private LogEntry parseLine(LogParser parser, CharSequence line) {
+        long startTime = pipelineMetrics.start();
+        LogEntry entry = parser.parse(line);
+        pipelineMetrics.stop(Stage.PARSE, startTime);
+        if (entry == null) {
+            parseErrorMonitor.rejected(parser, line);
+        }
+        return entry;
+    }
+
+    /**
+     * Проверяет запись условием отбора, учитывая время фильтрации и результат в метриках конвейера.
+     *
+     * @param filter условие отбора записей
+     * @param entry  запись лога
+     * @return true, если запись прошла фильтры
+     */
+    private boolean acceptEntry(Predicate<LogEntry> filter, LogEntry entry) {
+        long startTime = pipelineMetrics.start();
+        boolean accepted = filter.test(entry);
+        pipelineMetrics.stop(Stage.FILTER, startTime);
+        if (accepted) {
+            pipelineMetrics.accepted();
+        } else {
+            pipelineMetrics.filtered();
+        }
+        return accepted;
+    }
+
+    /**
+     * Возвращает условие отбора записей по датам и полям.
+     * Если диапазон дат не задан, время записи не проверяется.
+     *
+     * @param from        начальная дата диапазона
+     * @param to          конечная дата диапазона
+     * @param filterField поле для фильтрации
+     * @param filterValue значение для фильтрации
+     * @return условие отбора записей
+     */
+    private Predicate<LogEntry> entryFilter(LocalDate from, LocalDate to, String filterField, String filterValue) {
+        boolean dateRange = from != null || to != null;
+        return entry -> (!dateRange || logFilter.isWithinDateRange(entry.timeLocal(), from, to))
+            && (filterField == null
+                || filterValue == null
+                || logFilter.matches(entry, filterField, ".*" + filterValue + ".*"));
+    }
+}
@@ -0,0 +1,117 @@
+package backend.academy.log.analyzer.pipeline;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.execution.ExecutionModel;
+import backend.academy.log.analyzer.metrics.ProgressReporter;
+import backend.academy.log.analyzer.parser.LogFormatDetector;
+import backend.academy.log.analyzer.reader.LineSource;
+import backend.academy.log.analyzer.reader.LogReader;
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Обработка логов полным чтением без сохраненного состояния: локальные файлы читаются каждый своей задачей
+ * модели выполнения, а лог, загружаемый одним потоком, - целиком.
+ */
+public class LogProcessor {
+
+    private final EntryPipeline entryPipeline;
+
+    private final ProgressReporter progressReporter;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param entryPipeline    преобразование строк логов в записи
+     * @param progressReporter вывод хода обработки
+     */
+    @Inject
+    public LogProcessor(EntryPipeline entryPipeline, ProgressReporter progressReporter) {
+        this.entryPipeline = entryPipeline;
+        this.progressReporter = progressReporter;
+    }
+
+    /**
+     * Обрабатывает локальные файлы: каждый файл читается отдельной задачей модели выполнения,
+     * после чего статистика по файлам объединяется.
+     *
+     * @param cliArgs        аргументы командной строки
+     * @param fileLogReader  ридер локальных файлов
+     * @param files          найденные файлы логов
+     * @param executionModel модель выполнения
+     * @return результат обработки файлов
+     * @throws IOException          если произошла ошибка при чтении файлов
+     * @throws InterruptedException если обработка была прервана
+     */
+    public ProcessedLogs processFiles(
+        CliArguments cliArgs,
+        FileLogReader fileLogReader,
+        List<Path> files,
+        ExecutionModel executionModel
+    ) throws IOException, InterruptedException {
+        List<Callable<StatisticsAccumulator>> tasks = new ArrayList<>();
+        for (Path file : files) {
+            Function<Stream<CharSequence>, Stream<LogEntry>> pipeline =
+                entryPipeline.entries(cliArgs, fileLogReader.parserFor(file));
+            tasks.add(() -> {
+                try (Stream<CharSequence> logLines = fileLogReader.openLogFile(file).stream()) {
+                    return executionModel.aggregate(pipeline.apply(logLines),
+                        entryPipeline.accumulatorFactory(cliArgs));
+                }
+            });
+        }
+
+        return ProcessedLogs.merged(executionModel.invokeAll(tasks), fileLogReader);
+    }
+
+    /**
+     * Обрабатывает логи, которые читаются одним потоком (например, по URL).
+     * Формат определяется по первым строкам потока; эти строки затем разбираются вместе с остальными.
+     *
+     * @param cliArgs        аргументы командной строки
+     * @param logReader      ридер логов
+     * @param detector       определитель формата логов
+     * @param executionModel модель выполнения
+     * @return результат обработки лога
+     * @throws IOException          если произошла ошибка при чтении логов
+     * @throws InterruptedException если обработка была прервана
+     */
+    public ProcessedLogs processStream(
+        CliArguments cliArgs,
+        LogReader logReader,
+        LogFormatDetector detector,
+        ExecutionModel executionModel
+    ) throws IOException, InterruptedException {
+        try (LineSource lines = logReader.readLines(cliArgs.path())) {
+            progressReporter.start(logReader.getTotalSize(), cliArgs.progressInterval());
+            List<String> sample = new ArrayList<>();
+            while (sample.size() < LogFormatDetector.SAMPLE_LINES) {
+                CharSequence line = lines.nextLine();
+                if (line == null) {
+                    break;
+                }
+                sample.add(line.toString());
+            }
+            LogFormatDetector.DetectedFormat format = detector.detect(sample).orElseGet(detector::defaultFormat);
+            Stream<CharSequence> allLines = Stream.concat(sample.stream(), lines.stream());
+
+            StatisticsAccumulator statistics = executionModel.aggregate(
+                entryPipeline.entries(cliArgs, format.parser()).apply(allLines),
+                entryPipeline.accumulatorFactory(cliArgs));
+            Map<String, String> fileFormats = new LinkedHashMap<>();
+            logReader.getFileNames().forEach(fileName -> fileFormats.put(fileName, format.name()));
+            return new ProcessedLogs(statistics, logReader.getFileNames(), fileFormats);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package backend.academy.log.analyzer.pipeline;
+
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Результат обработки логов, по которому строится отчет.
+ *
+ * @param statistics  накопленная статистика
+ * @param fileNames   имена обработанных файлов логов
+ * @param fileFormats имена форматов, определенных для файлов, по именам файлов
+ */
+public record ProcessedLogs(StatisticsAccumulator statistics, List<String> fileNames, Map<String, String> fileFormats) {
+
+    /**
+     * Объединяет статистику, собранную по отдельным локальным файлам.
+     *
+     * @param statistics    статистика по файлам
+     * @param fileLogReader ридер, которым найдены файлы
+     * @return результат обработки файлов
+     */
+    public static ProcessedLogs merged(List<StatisticsAccumulator> statistics, FileLogReader fileLogReader) {
+        StatisticsAccumulator total = new StatisticsAccumulator();
+        statistics.forEach(total::merge);
+        return of(total, fileLogReader);
+    }
+
+    /**
+     * Создает результат обработки локальных файлов с уже объединенной статистикой.
+     *
+     * @param statistics    статистика по всем файлам
+     * @param fileLogReader ридер, которым найдены файлы
+     * @return результат обработки файлов
+     */
+    public static ProcessedLogs of(StatisticsAccumulator statistics, FileLogReader fileLogReader) {
+        return new ProcessedLogs(statistics, fileLogReader.getFileNames(), fileLogReader.getFileFormats());
+    }
+}
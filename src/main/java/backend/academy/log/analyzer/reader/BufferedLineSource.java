@@ -0,0 +1,230 @@
+package backend.academy.log.analyzer.reader;
+
+import backend.academy.log.analyzer.jfr.AnalyzerEvents;
+import backend.academy.log.analyzer.reader.scan.ByteScanner;
+import backend.academy.log.analyzer.reader.scan.ByteScanners;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Источник строк из потока байт с переиспользуемыми буферами: байты читаются блоками в один буфер,
+ * перевод строки ищется через {@link ByteScanner}, а строка возвращается общим представлением
+ * {@link LineBuffer} поверх ее байт вместо новой строки {@link String} на каждую строку.
+ * Для файлов чтение может начинаться с заданной позиции и заканчиваться на заданной границе; источник
+ * отслеживает позицию сразу после последней прочитанной строки, что позволяет продолжить чтение
+ * с этого места или запомнить позиции строк в индексе.
+ * Для растущих файлов незавершенная последняя строка (без перевода строки) может не возвращаться:
+ * она будет прочитана, когда запись в нее завершится.
+ */
+public class BufferedLineSource implements LineSource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int INITIAL_LINE_CAPACITY = 512;
+
+    private static final byte NEWLINE = '\n';
+
+    private final InputStream input;
+
+    private final boolean includeIncompleteLine;
+
+    private final AnalyzerEvents.FileRead fileRead;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private final ByteScanner scanner = ByteScanners.preferred();
+
+    private final LineBuffer view = new LineBuffer();
+
+    /** Байты строки, пересекающей границу буфера */
+    private byte[] pending = new byte[INITIAL_LINE_CAPACITY];
+
+    private int pendingLength;
+
+    private int position;
+
+    private int limit;
+
+    private long remaining;
+
+    private long offset;
+
+    private boolean closed;
+
+    /**
+     * Создает источник строк из потока байт, читаемого до конца.
+     *
+     * @param input поток байт в UTF-8; закрывается при закрытии источника
+     */
+    public BufferedLineSource(InputStream input) {
+        this(input, null);
+    }
+
+    /**
+     * Создает источник строк из потока байт, читаемого до конца, с записью события чтения файла.
+     *
+     * @param input    поток байт в UTF-8; закрывается при закрытии источника
+     * @param fileRead событие чтения файла, завершаемое при закрытии источника, или null
+     */
+    public BufferedLineSource(InputStream input, AnalyzerEvents.FileRead fileRead) {
+        this(input, 0, Long.MAX_VALUE, true, fileRead);
+    }
+
+    private BufferedLineSource(
+        InputStream input,
+        long startOffset,
+        long length,
+        boolean includeIncompleteLine,
+        AnalyzerEvents.FileRead fileRead
+    ) {
+        this.input = input;
+        this.offset = startOffset;
+        this.remaining = length;
+        this.includeIncompleteLine = includeIncompleteLine;
+        this.fileRead = fileRead;
+    }
+
+    /**
+     * Открывает файл для чтения диапазона байт.
+     *
+     * @param file                  путь к файлу
+     * @param startOffset           позиция, с которой начинается чтение
+     * @param endOffset             позиция, дальше которой чтение не продолжается
+     * @param includeIncompleteLine возвращать ли последнюю строку, не завершенную переводом строки
+     * @return источник строк файла
+     * @throws IOException если файл не удалось открыть
+     */
+    public static BufferedLineSource open(
+        Path file,
+        long startOffset,
+        long endOffset,
+        boolean includeIncompleteLine
+    ) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(startOffset);
+        return new BufferedLineSource(Channels.newInputStream(channel), startOffset,
+            Math.max(0, endOffset - startOffset), includeIncompleteLine, AnalyzerEvents.beginFileRead(file));
+    }
+
+    /**
+     * Возвращает позицию сразу после последней прочитанной полной строки.
+     *
+     * @return позиция в байтах
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * Читает следующую полную строку. Перевод строки ищется в буфере блоками через {@link ByteScanner};
+     * строка, целиком лежащая в буфере, передается прямо из него, а строка на границе буферов
+     * собирается копированием частей.
+     *
+     * @return представление строки без символов перевода строки, действительное до следующего вызова,
+     *     или null, если полных строк больше нет
+     * @throws IOException если произошла ошибка чтения
+     */
+    @Override
+    public CharSequence nextLine() throws IOException {
+        long consumed = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (includeIncompleteLine && consumed > 0) {
+                    offset += consumed;
+                    return lineView(pending, 0, pendingLength);
+                }
+                pendingLength = 0;
+                return null;
+            }
+            int newline = scanner.indexOf(buffer, position, limit, NEWLINE);
+            int end = newline >= 0 ? newline : limit;
+            int chunk = end - position;
+            consumed += chunk;
+            if (newline >= 0 && pendingLength == 0) {
+                CharSequence line = lineView(buffer, position, chunk);
+                position = newline + 1;
+                offset += consumed + 1;
+                return line;
+            }
+            append(position, chunk);
+            position = end;
+            if (newline >= 0) {
+                position++;
+                offset += consumed + 1;
+                return lineView(pending, 0, pendingLength);
+            }
+        }
+    }
+
+    /**
+     * Закрывает поток байт. Повторное закрытие ничего не делает.
+     *
+     * @throws IOException если поток не удалось закрыть
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        input.close();
+        if (fileRead != null) {
+            fileRead.end();
+        }
+    }
+
+    /**
+     * Дописывает часть буфера к накопленным байтам строки, при необходимости увеличивая их массив.
+     *
+     * @param from   начало части в буфере
+     * @param length длина части
+     */
+    private void append(int from, int length) {
+        int required = pendingLength + length;
+        if (required > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(required, pending.length * 2));
+        }
+        System.arraycopy(buffer, from, pending, pendingLength, length);
+        pendingLength = required;
+    }
+
+    /**
+     * Направляет общее представление строки на ее байты, отбрасывая завершающий возврат каретки.
+     *
+     * @param bytes  массив с байтами строки
+     * @param from   начало строки в массиве
+     * @param length количество байт строки
+     * @return представление строки
+     */
+    private LineBuffer lineView(byte[] bytes, int from, int length) {
+        pendingLength = 0;
+        int end = (length > 0 && bytes[from + length - 1] == '\r') ? length - 1 : length;
+        view.wrap(bytes, from, end);
+        return view;
+    }
+
+    /**
+     * Заполняет буфер очередной порцией данных, не выходя за границу чтения.
+     *
+     * @return true, если данные были прочитаны
+     * @throws IOException если произошла ошибка чтения
+     */
+    private boolean fill() throws IOException {
+        if (remaining <= 0) {
+            return false;
+        }
+        int read = input.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+        if (read <= 0) {
+            return false;
+        }
+        remaining -= read;
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
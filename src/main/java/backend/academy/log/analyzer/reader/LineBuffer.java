@@ -0,0 +1,93 @@
+package backend.academy.log.analyzer.reader;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Изменяемое представление строки лога поверх байт UTF-8 в буфере чтения, без декодирования всей строки.
+ * Представление переиспользуется для каждой следующей строки источника и действительно только до чтения
+ * следующей строки: значения, которые нужно сохранить, копируются в строки через {@link #toString()}
+ * или {@link #subSequence(int, int)}.
+ *
+ * <p>Позиции представления - позиции байт: {@link #length()} возвращает количество байт, а {@link #charAt(int)} -
+ * байт как символ. Для строк ASCII это совпадает с символами строки. Байты многобайтовых символов UTF-8
+ * возвращаются символами U+0080-U+00FF, которые не совпадают ни с одним символом ASCII, поэтому поиск
+ * разделителей ASCII по байтам находит те же границы полей, что и по декодированной строке.
+ * Декодируется только копируемая часть строки: часть из одних байт ASCII копируется без декодирования,
+ * а часть с другими байтами декодируется из UTF-8 с заменой некорректных последовательностей символом U+FFFD.
+ * Поэтому некорректный байт в одном поле не влияет на остальные поля и не прерывает чтение.
+ */
+public final class LineBuffer implements CharSequence {
+
+    private static final int BYTE_MASK = 0xFF;
+
+    private byte[] bytes = new byte[0];
+
+    private int from;
+
+    private int length;
+
+    /**
+     * Направляет представление на байты следующей строки. Байты не копируются.
+     *
+     * @param bytes  массив с байтами строки
+     * @param from   начало строки в массиве
+     * @param length количество байт строки
+     */
+    void wrap(byte[] bytes, int from, int length) {
+        this.bytes = bytes;
+        this.from = from;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return (char) (bytes[from + index] & BYTE_MASK);
+    }
+
+    /**
+     * Копирует часть строки в новую строку, декодируя ее, только если в ней есть байты вне ASCII.
+     *
+     * @param start позиция первого байта части (включительно)
+     * @param end   позиция конца части (не включительно)
+     * @return строка с символами части, не зависящая от буфера
+     */
+    @Override
+    public String subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        return decode(from + start, end - start);
+    }
+
+    /**
+     * Копирует строку в новую строку, декодируя ее, только если в ней есть байты вне ASCII.
+     *
+     * @return строка, не зависящая от буфера
+     */
+    @Override
+    public String toString() {
+        return decode(from, length);
+    }
+
+    /**
+     * Создает строку из байт: байты ASCII копируются как есть, иначе байты декодируются из UTF-8.
+     *
+     * @param offset начало байт в массиве
+     * @param count  количество байт
+     * @return строка
+     */
+    private String decode(int offset, int count) {
+        int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] < 0) {
+                return new String(bytes, offset, count, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(bytes, offset, count, StandardCharsets.ISO_8859_1);
+    }
+}
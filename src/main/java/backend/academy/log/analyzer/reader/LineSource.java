@@ -0,0 +1,65 @@
+package backend.academy.log.analyzer.reader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Источник строк логов. В отличие от потока строк {@link String}, источник может передавать каждую строку
+ * изменяемым представлением в переиспользуемом буфере ({@link LineBuffer}), не создавая строку на каждую
+ * строку лога: строки создаются только для значений, которые сохраняются после разбора.
+ * Представление действительно до чтения следующей строки.
+ */
+public interface LineSource extends Closeable {
+
+    /**
+     * Читает следующую строку.
+     *
+     * @return представление строки без символов перевода строки, действительное до следующего вызова,
+     *     или null, если строк больше нет
+     * @throws IOException если произошла ошибка чтения
+     */
+    CharSequence nextLine() throws IOException;
+
+    /**
+     * Представляет оставшиеся строки в виде последовательного потока, закрывающего источник при своем закрытии.
+     * Каждая строка должна быть обработана до запроса следующей, как в цепочке {@code map}/{@code filter}.
+     * При параллельной обработке строки, передаваемые другим потокам, копируются в строки {@link String}.
+     *
+     * @return поток представлений строк
+     */
+    default Stream<CharSequence> stream() {
+        return StreamSupport.stream(new LineSpliterator(this), false)
+            .onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Создает источник строк из потока строк.
+     *
+     * @param lines поток строк; закрывается при закрытии источника
+     * @return источник, возвращающий строки потока
+     */
+    static LineSource of(Stream<? extends CharSequence> lines) {
+        Iterator<? extends CharSequence> iterator = lines.iterator();
+        return new LineSource() {
+            @Override
+            public CharSequence nextLine() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+
+            @Override
+            public void close() {
+                lines.close();
+            }
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package backend.academy.log.analyzer.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Разделитель потока строк {@link LineSource}. Последовательно передает представления строк без копирования,
+ * а при разделении для параллельной обработки копирует очередную пачку строк в массив строк {@link String}:
+ * представление в общем буфере нельзя передавать другим потокам. Размер пачки растет с каждым разделением,
+ * как у разделителей итераторов JDK.
+ */
+final class LineSpliterator implements Spliterator<CharSequence> {
+
+    private static final int BATCH_UNIT = 1 << 10;
+
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final LineSource source;
+
+    private int batch;
+
+    /**
+     * Создает разделитель.
+     *
+     * @param source источник строк
+     */
+    LineSpliterator(LineSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super CharSequence> action) {
+        CharSequence line = next();
+        if (line == null) {
+            return false;
+        }
+        action.accept(line);
+        return true;
+    }
+
+    @Override
+    public Spliterator<CharSequence> trySplit() {
+        int size = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+        String[] lines = new String[size];
+        int count = 0;
+        while (count < size) {
+            CharSequence line = next();
+            if (line == null) {
+                break;
+            }
+            lines[count++] = line.toString();
+        }
+        if (count == 0) {
+            return null;
+        }
+        batch = count;
+        return Spliterators.spliterator(lines, 0, count, ORDERED | NONNULL | IMMUTABLE);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Читает следующую строку источника.
+     *
+     * @return представление строки или null, если строк больше нет
+     */
+    private CharSequence next() {
+        try {
+            return source.nextLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package backend.academy.log.analyzer.reader;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -9,6 +10,11 @@ import java.util.stream.Stream;
  */
 public interface LogReader {
 
+    /**
+     * Значение объема данных, если он неизвестен.
+     */
+    long UNKNOWN_SIZE = -1;
+
     /**
      * Читает логи из указанного пути.
      *
@@ -18,10 +24,41 @@ public interface LogReader {
      */
     Stream<String> readLogs(String path) throws IOException;
 
+    /**
+     * Открывает логи из указанного пути как источник строк. Источники, читающие байты, передают строки
+     * представлениями в переиспользуемом буфере; по умолчанию источник строится над {@link #readLogs(String)}.
+     *
+     * @param path путь к файлу или URL
+     * @return источник строк; источник нужно закрыть после использования
+     * @throws IOException если произошла ошибка при чтении данных
+     */
+    default LineSource readLines(String path) throws IOException {
+        return LineSource.of(readLogs(path));
+    }
+
     /**
      * Возвращает список имен файлов, из которых были считаны логи.
      *
      * @return список имен файлов
      */
     List<String> getFileNames();
+
+    /**
+     * Возвращает объем данных, из которых считываются логи (для сжатых файлов - после распаковки).
+     * Используется для оценки хода обработки.
+     *
+     * @return объем данных в байтах или {@link #UNKNOWN_SIZE}, если он неизвестен
+     */
+    default long getTotalSize() {
+        return UNKNOWN_SIZE;
+    }
+
+    /**
+     * Возвращает форматы, определенные для файлов, из которых считываются логи.
+     *
+     * @return имена форматов по именам файлов; пустое отображение, если форматы не определялись
+     */
+    default Map<String, String> getFileFormats() {
+        return Map.of();
+    }
 }
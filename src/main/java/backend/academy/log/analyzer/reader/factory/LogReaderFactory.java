@@ -1,5 +1,7 @@
 package backend.academy.log.analyzer.reader.factory;
 
+import backend.academy.log.analyzer.parser.LogFormatDetector;
+import backend.academy.log.analyzer.parser.LogParser;
 import backend.academy.log.analyzer.reader.LogReader;
 import backend.academy.log.analyzer.reader.impl.FileLogReader;
 import backend.academy.log.analyzer.reader.impl.UrlLogReader;
@@ -18,10 +20,22 @@ public class LogReaderFactory {
      * @return объект {@link LogReader} для чтения логов
      */
     public LogReader create(String path) {
+        return create(path, new LogFormatDetector("combined", new LogParser()));
+    }
+
+    /**
+     * Создает объект {@link LogReader} на основе пути.
+     * Локальные файлы отбираются по тому, определяет ли заданный определитель формат их первых строк.
+     *
+     * @param path     путь к логам (может быть URL или путь к файлу)
+     * @param detector определитель формата логов
+     * @return объект {@link LogReader} для чтения логов
+     */
+    public LogReader create(String path, LogFormatDetector detector) {
         if (path.startsWith("http://") || path.startsWith("https://") || path.startsWith("ftp://")) {
             return new UrlLogReader();
         } else {
-            return new FileLogReader();
+            return new FileLogReader(detector);
         }
     }
 }
@@ -1,23 +1,36 @@
 package backend.academy.log.analyzer.reader.impl;
 
+import backend.academy.log.analyzer.jfr.AnalyzerEvents;
+import backend.academy.log.analyzer.parser.LogFormatDetector;
 import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.reader.BufferedLineSource;
+import backend.academy.log.analyzer.reader.LineSource;
 import backend.academy.log.analyzer.reader.LogReader;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Реализация интерфейса {@link LogReader}, считывающая логи из файловой системы.
+ * Формат каждого файла определяется один раз при поиске по первым строкам файла.
  */
 @SuppressFBWarnings("PATH_TRAVERSAL_IN")
 @Slf4j
@@ -25,8 +38,36 @@ public class FileLogReader implements LogReader {
 
     private static final String UNKNOWN = "Unknown"; // Константа для неизвестных имен файлов
 
+    private static final String GZIP_SUFFIX = ".gz"; // Суффикс сжатых файлов логов
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024; // Размер буфера распаковки
+
+    private static final int GZIP_TRAILER_SIZE = Integer.BYTES; // Размер поля ISIZE в конце файла gzip
+
     private final List<String> fileNames = new ArrayList<>(); // Список имен файлов, из которых считаны логи
 
+    private long totalSize; // Объем найденных файлов после распаковки
+
+    private final LogFormatDetector detector; // Определитель формата, по которому отбираются файлы с логами
+
+    private final Map<Path, LogFormatDetector.DetectedFormat> formats = new HashMap<>(); // Форматы найденных файлов
+
+    /**
+     * Создает ридер файлов с логами в формате combined.
+     */
+    public FileLogReader() {
+        this(new LogFormatDetector("combined", new LogParser()));
+    }
+
+    /**
+     * Создает ридер файлов с логами, формат которых выбирает заданный определитель.
+     *
+     * @param detector определитель формата логов
+     */
+    public FileLogReader(LogFormatDetector detector) {
+        this.detector = detector;
+    }
+
     /**
      * Читает логи из указанного пути. Если путь является шаблоном (содержит '*', '?', '[', ']'),
      * будет применен glob-шаблон.
@@ -37,10 +78,22 @@ public class FileLogReader implements LogReader {
      */
     @Override
     public Stream<String> readLogs(String path) throws IOException {
+        return findLogFiles(path).stream()
+            .flatMap(this::readFileLines);
+    }
+
+    /**
+     * Находит файлы логов по указанному пути. Если путь является шаблоном (содержит '*', '?', '[', ']'),
+     * будет применен glob-шаблон.
+     *
+     * @param path путь к файлу или шаблон для поиска логов
+     * @return список абсолютных путей к найденным файлам логов
+     */
+    public List<Path> findLogFiles(String path) {
         if (isGlobPattern(path)) {
-            return readLogsWithGlob(path);
+            return findLogFilesWithGlob(path);
         } else {
-            return readSingleLogFile(path);
+            return findSingleLogFile(path);
         }
     }
 
@@ -55,31 +108,31 @@ public class FileLogReader implements LogReader {
     }
 
     /**
-     * Читает логи из единственного файла.
+     * Проверяет единственный файл логов.
      *
      * @param path путь к файлу
-     * @return поток строк, представляющий логи
-     * @throws IOException в случае проблем при чтении файла
+     * @return список из найденного файла или пустой список, если файл не найден или не содержит логов
      */
-    private Stream<String> readSingleLogFile(String path) throws IOException {
+    private List<Path> findSingleLogFile(String path) {
         Path filePath = Paths.get(path).toAbsolutePath();
         if (Files.isRegularFile(filePath) && containsLogData(filePath)) {
             fileNames.add(getFileName(filePath));
+            totalSize += estimateSize(filePath);
             log.info("The file was found directly: {}", filePath);
-            return Files.lines(filePath, StandardCharsets.UTF_8);
+            return List.of(filePath);
         } else {
             log.error("The file was not found or does not contain logs: {}", filePath);
-            return Stream.empty();
+            return List.of();
         }
     }
 
     /**
-     * Читает файлы, определенные шаблоном glob.
+     * Находит файлы, определенные шаблоном glob.
      *
      * @param path путь-шаблон для поиска файлов
-     * @return поток строк, представляющий логи
+     * @return список путей к найденным файлам
      */
-    private Stream<String> readLogsWithGlob(String path) {
+    private List<Path> findLogFilesWithGlob(String path) {
         Path rootPath = getRootPathForGlob(path);
         PathMatcher matcher = createPathMatcher(path);
 
@@ -87,11 +140,8 @@ public class FileLogReader implements LogReader {
 
         if (matchedPaths.isEmpty()) {
             log.error("No files were found using the {} template", path);
-            return Stream.empty();
         }
-
-        return matchedPaths.stream()
-            .flatMap(this::readFileLines);
+        return matchedPaths;
     }
 
     /**
@@ -115,6 +165,92 @@ public class FileLogReader implements LogReader {
         return List.of();
     }
 
+    /**
+     * Читает строки из одного файла логов, найденного {@link #findLogFiles(String)}.
+     * Файлы с расширением ".gz" распаковываются при чтении. Некорректные последовательности UTF-8
+     * заменяются символом U+FFFD.
+     *
+     * @param filePath путь к файлу
+     * @return поток строк из файла
+     * @throws IOException если файл не удалось открыть
+     */
+    public Stream<String> readLogFile(Path filePath) throws IOException {
+        return openLogFile(filePath).stream().map(CharSequence::toString);
+    }
+
+    /**
+     * Открывает файл логов, найденный {@link #findLogFiles(String)}, для чтения строк через переиспользуемый
+     * буфер: строки передаются представлениями {@link CharSequence}, а не новыми строками {@link String}.
+     * Файлы с расширением ".gz" распаковываются при чтении. Некорректные последовательности UTF-8
+     * заменяются символом U+FFFD.
+     *
+     * @param filePath путь к файлу
+     * @return источник строк файла; источник нужно закрыть после использования
+     * @throws IOException если файл не удалось открыть
+     */
+    public LineSource openLogFile(Path filePath) throws IOException {
+        if (!isCompressed(filePath)) {
+            return BufferedLineSource.open(filePath, 0, Long.MAX_VALUE, true);
+        }
+        return new BufferedLineSource(new GZIPInputStream(Files.newInputStream(filePath), GZIP_BUFFER_SIZE),
+            AnalyzerEvents.beginFileRead(filePath));
+    }
+
+    /**
+     * Проверяет, сжат ли файл логов. Позиции в сжатых файлах не соответствуют позициям строк,
+     * поэтому такие файлы читаются только целиком.
+     *
+     * @param filePath путь к файлу
+     * @return true, если файл сжат в формате gzip
+     */
+    public static boolean isCompressed(Path filePath) {
+        Path fileName = filePath.getFileName();
+        return fileName != null && fileName.toString().endsWith(GZIP_SUFFIX);
+    }
+
+    /**
+     * Оценивает объем данных файла логов. Для сжатого файла возвращается размер после распаковки
+     * из поля ISIZE в конце файла gzip. Это поле хранит размер по модулю 2^32, поэтому для файлов
+     * больше 4 ГБ после распаковки оценка занижена.
+     *
+     * @param filePath путь к файлу
+     * @return объем данных файла в байтах или 0, если размер не удалось определить
+     */
+    public static long estimateSize(Path filePath) {
+        try (SeekableByteChannel channel = Files.newByteChannel(filePath)) {
+            long size = channel.size();
+            if (!isCompressed(filePath) || size < GZIP_TRAILER_SIZE) {
+                return size;
+            }
+
+            ByteBuffer trailer = ByteBuffer.allocate(GZIP_TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            channel.position(size - GZIP_TRAILER_SIZE);
+            int read = 0;
+            while (trailer.hasRemaining() && read >= 0) {
+                read = channel.read(trailer);
+            }
+            return Integer.toUnsignedLong(trailer.getInt(0));
+        } catch (IOException e) {
+            log.error("Unable to determine the size of the file {}", filePath);
+            return 0;
+        }
+    }
+
+    /**
+     * Читает строки из заданного диапазона байт файла логов.
+     * Начало диапазона должно совпадать с началом строки.
+     *
+     * @param filePath    путь к файлу
+     * @param startOffset позиция начала диапазона (включительно)
+     * @param endOffset   позиция конца диапазона (не включительно)
+     * @return поток представлений строк из диапазона (см. {@link LineSource#stream()});
+     *     поток нужно закрыть после использования
+     * @throws IOException если файл не удалось открыть
+     */
+    public Stream<CharSequence> readLogFile(Path filePath, long startOffset, long endOffset) throws IOException {
+        return BufferedLineSource.open(filePath, startOffset, endOffset, true).stream();
+    }
+
     /**
      * Читает строки из указанного файла.
      *
@@ -123,7 +259,7 @@ public class FileLogReader implements LogReader {
      */
     private Stream<String> readFileLines(Path filePath) {
         try {
-            return Files.lines(filePath, StandardCharsets.UTF_8);
+            return readLogFile(filePath);
         } catch (IOException e) {
             log.error("Error reading the file {}: ", filePath);
             return Stream.empty();
@@ -138,6 +274,7 @@ public class FileLogReader implements LogReader {
     private void logAndStoreFileName(Path filePath) {
         if (filePath != null) {
             fileNames.add(getFileName(filePath));
+            totalSize += estimateSize(filePath);
             log.info("The file was found using a template: {}", filePath);
         }
     }
@@ -152,6 +289,40 @@ public class FileLogReader implements LogReader {
         return fileNames;
     }
 
+    /**
+     * Возвращает форматы найденных файлов логов.
+     *
+     * @return имена форматов по именам файлов
+     */
+    @Override
+    public Map<String, String> getFileFormats() {
+        Map<String, String> fileFormats = new TreeMap<>();
+        formats.forEach((file, format) -> fileFormats.put(getFileName(file), format.name()));
+        return fileFormats;
+    }
+
+    /**
+     * Возвращает парсер формата, определенного для файла при поиске.
+     * Для файла, формат которого не определялся, возвращается парсер формата с наивысшим приоритетом.
+     *
+     * @param filePath путь к файлу, найденному {@link #findLogFiles(String)}
+     * @return парсер строк файла
+     */
+    public LogParser parserFor(Path filePath) {
+        LogFormatDetector.DetectedFormat format = formats.get(filePath);
+        return format != null ? format.parser() : detector.defaultFormat().parser();
+    }
+
+    /**
+     * Возвращает объем найденных файлов логов; сжатые файлы учитываются по размеру после распаковки.
+     *
+     * @return объем найденных файлов в байтах
+     */
+    @Override
+    public long getTotalSize() {
+        return totalSize;
+    }
+
     /**
      * Возвращает корневую директорию для шаблона glob.
      *
@@ -220,20 +391,40 @@ public class FileLogReader implements LogReader {
     }
 
     /**
-     * Проверяет, содержат ли данные в файле логи.
+     * Проверяет, содержат ли данные в файле логи, и определяет их формат по первым строкам файла.
+     * Выбранный формат запоминается: все строки файла затем разбираются парсером этого формата.
+     * Байты, которые не являются корректным UTF-8 (например, в запросах сканеров уязвимостей), не исключают
+     * файл: они заменяются в строках выборки, а файл исключается, только если выборка не разбирается.
      *
      * @param filePath путь к файлу
-     * @return true, если файл содержит данные логов, иначе false
+     * @return true, если первые строки файла разбираются в одном из форматов, иначе false
      */
     private boolean containsLogData(Path filePath) {
-        try (Stream<String> lines = Files.lines(filePath, StandardCharsets.UTF_8)) {
-            return lines.anyMatch(line -> LogParser.LOG_PATTERN.matcher(line).matches());
-        } catch (UncheckedIOException e) {
-            log.warn("File {} skipped due to unsupported encoding", filePath);
-            return false;
-        } catch (IOException e) {
-            log.error("Error checking the file {}: ", filePath);
+        try (Stream<String> lines = openSample(filePath).stream().map(CharSequence::toString)) {
+            Optional<LogFormatDetector.DetectedFormat> format =
+                detector.detect(lines.limit(LogFormatDetector.SAMPLE_LINES).toList());
+            format.ifPresent(detected -> {
+                formats.put(filePath, detected);
+                log.info("The file {} is parsed as {} ({} of {} sample lines)", filePath, detected.name(),
+                    detected.parsedLines(), detected.sampleLines());
+            });
+            return format.isPresent();
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Error checking the file {}", filePath, e);
             return false;
         }
     }
+
+    /**
+     * Открывает файл для чтения выборки строк при определении формата. В отличие от {@link #openLogFile(Path)},
+     * не записывает событие чтения файла: выборка не относится к обработке логов.
+     *
+     * @param filePath путь к файлу
+     * @return источник строк файла; источник нужно закрыть после использования
+     * @throws IOException если файл не удалось открыть
+     */
+    private LineSource openSample(Path filePath) throws IOException {
+        InputStream input = Files.newInputStream(filePath);
+        return new BufferedLineSource(isCompressed(filePath) ? new GZIPInputStream(input, GZIP_BUFFER_SIZE) : input);
+    }
 }
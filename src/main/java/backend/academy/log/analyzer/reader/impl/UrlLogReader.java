@@ -1,5 +1,7 @@
 package backend.academy.log.analyzer.reader.impl;
 
+import backend.academy.log.analyzer.reader.BufferedLineSource;
+import backend.academy.log.analyzer.reader.LineSource;
 import backend.academy.log.analyzer.reader.LogReader;
 import backend.academy.log.analyzer.statistics.HttpStatus;
 import java.io.IOException;
@@ -11,6 +13,7 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
@@ -22,16 +25,73 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class UrlLogReader implements LogReader {
 
+    private static final String READ_ERROR = "Error when reading data from the URL: {}";
+
     private final List<String> logFileName = new ArrayList<>(); // Список имен логов, считанных с URL
 
+    private long contentLength = UNKNOWN_SIZE; // Объем данных из заголовка Content-Length
+
     /**
-     * Читает логи из указанного URL.
+     * Читает логи из указанного URL. Некорректные последовательности UTF-8 заменяются символом U+FFFD.
      *
      * @param urlPath путь к URL
      * @return поток строк, представляющий логи
      */
     @Override
     public Stream<String> readLogs(String urlPath) {
+        return readLines(urlPath).stream().map(CharSequence::toString);
+    }
+
+    /**
+     * Открывает логи из указанного URL как источник строк с переиспользуемым буфером.
+     * Временный файл с данными удаляется при закрытии источника.
+     *
+     * @param urlPath путь к URL
+     * @return источник строк, представляющий логи
+     */
+    @Override
+    public LineSource readLines(String urlPath) {
+        Path tempFile = download(urlPath);
+        if (tempFile == null) {
+            return LineSource.of(Stream.empty());
+        }
+
+        try {
+            return new BufferedLineSource(Files.newInputStream(tempFile, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException e) {
+            log.error(READ_ERROR, urlPath);
+            deleteTempFile(tempFile);
+            return LineSource.of(Stream.empty());
+        }
+    }
+
+    /**
+     * Возвращает список имен файлов, полученных из URL.
+     *
+     * @return список имен файлов
+     */
+    @Override
+    public List<String> getFileNames() {
+        return logFileName;
+    }
+
+    /**
+     * Возвращает объем данных из заголовка Content-Length ответа.
+     *
+     * @return объем данных в байтах или {@link #UNKNOWN_SIZE}, если сервер его не передал
+     */
+    @Override
+    public long getTotalSize() {
+        return contentLength;
+    }
+
+    /**
+     * Загружает данные из URL во временный файл.
+     *
+     * @param urlPath путь к URL
+     * @return путь к временному файлу или null, если данные не удалось получить
+     */
+    private Path download(String urlPath) {
         HttpClient client = HttpClient.newHttpClient();
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(urlPath))
@@ -45,40 +105,40 @@ public class UrlLogReader implements LogReader {
 
             if (response.statusCode() != HttpStatus.OK.code()) {
                 log.error("Failed to get data from URL: {}. Status: {}", urlPath, response.statusCode());
-                return Stream.empty();
+                return null;
             }
 
             logFileName.add("File from URL: " + extractFileName(urlPath));
+            contentLength = response.headers().firstValueAsLong("Content-Length").orElse(UNKNOWN_SIZE);
 
             Path tempFile = Files.createTempFile("log_data_", ".tmp");
 
             try (InputStream inputStream = response.body();
                  OutputStream outputStream = Files.newOutputStream(tempFile)) {
                 inputStream.transferTo(outputStream); // Копирование данных
+            } catch (IOException e) {
+                deleteTempFile(tempFile);
+                throw e;
             }
-
-            return Files.lines(tempFile).onClose(() -> {
-                try {
-                    Files.deleteIfExists(tempFile);
-                } catch (IOException e) {
-                    log.error("Error deleting temporary file: {}", tempFile, e);
-                }
-            });
+            return tempFile;
 
         } catch (InterruptedException | IOException e) {
-            log.error("Error when reading data from the URL: {}", urlPath);
-            return Stream.empty();
+            log.error(READ_ERROR, urlPath);
+            return null;
         }
     }
 
     /**
-     * Возвращает список имен файлов, полученных из URL.
+     * Удаляет временный файл с данными из URL.
      *
-     * @return список имен файлов
+     * @param tempFile путь к временному файлу
      */
-    @Override
-    public List<String> getFileNames() {
-        return logFileName;
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            log.error("Error deleting temporary file: {}", tempFile, e);
+        }
     }
 
     /**
@@ -0,0 +1,18 @@
+package backend.academy.log.analyzer.reader.scan;
+
+/**
+ * Поиск байта-разделителя (перевода строки, пробела, кавычки и т.д.) в массиве байт.
+ */
+public interface ByteScanner {
+
+    /**
+     * Находит первое вхождение байта в диапазоне массива.
+     *
+     * @param data  массив байт
+     * @param from  начало диапазона (включительно)
+     * @param to    конец диапазона (не включительно)
+     * @param value искомый байт
+     * @return позиция первого вхождения или -1, если байт не найден
+     */
+    int indexOf(byte[] data, int from, int to, byte value);
+}
@@ -0,0 +1,49 @@
+package backend.academy.log.analyzer.reader.scan;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Выбор реализации {@link ByteScanner}: векторная, если она собрана (профиль {@code vector}) и JVM запущена
+ * с модулем {@code jdk.incubator.vector} ({@code --add-modules jdk.incubator.vector}), иначе последовательная.
+ */
+@Slf4j
+@UtilityClass
+public class ByteScanners {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final String VECTOR_SCANNER = "backend.academy.log.analyzer.reader.scan.VectorByteScanner";
+
+    private static final ByteScanner PREFERRED = createPreferred();
+
+    /**
+     * Возвращает самую быструю доступную реализацию.
+     *
+     * @return реализация поиска байта
+     */
+    public static ByteScanner preferred() {
+        return PREFERRED;
+    }
+
+    /**
+     * Создает векторную реализацию, если модуль Vector API загружен, иначе последовательную.
+     * Векторная реализация загружается по имени: она собирается из отдельного каталога исходников
+     * и без профиля {@code vector} отсутствует, а без модуля ее класс не должен связываться.
+     *
+     * @return реализация поиска байта
+     */
+    private static ByteScanner createPreferred() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return new ScalarByteScanner();
+        }
+        try {
+            ByteScanner scanner = (ByteScanner) Class.forName(VECTOR_SCANNER).getDeclaredConstructor().newInstance();
+            log.debug("Delimiter scanning uses the Vector API");
+            return scanner;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.warn("The Vector API is unavailable, delimiter scanning falls back to the scalar loop");
+            return new ScalarByteScanner();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package backend.academy.log.analyzer.reader.scan;
+
+/**
+ * Поиск байта последовательным перебором. Используется, когда модуль {@code jdk.incubator.vector} недоступен.
+ */
+public class ScalarByteScanner implements ByteScanner {
+
+    @Override
+    public int indexOf(byte[] data, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
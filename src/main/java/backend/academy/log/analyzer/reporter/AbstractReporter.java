@@ -0,0 +1,32 @@
+package backend.academy.log.analyzer.reporter;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Базовый класс репортеров: записывает отчет в файл через буферизированный поток вывода.
+ * Реализации формируют отчет в {@link #writeReport(Writer, CliArguments)}.
+ */
+@Slf4j
+public abstract class AbstractReporter implements Reporter {
+
+    /**
+     * Записывает отчет в файл в кодировке UTF-8.
+     *
+     * @param outputPath Путь к файлу, в который будет записан отчет.
+     * @param cliArgs    Аргументы командной строки {@link CliArguments}
+     */
+    @Override
+    public void formatReport(String outputPath, CliArguments cliArgs) {
+        try (Writer writer = Files.newBufferedWriter(Path.of(outputPath), StandardCharsets.UTF_8)) {
+            writeReport(writer, cliArgs);
+        } catch (IOException e) {
+            log.error("Error when writing a report to a file: {}", outputPath, e);
+        }
+    }
+}
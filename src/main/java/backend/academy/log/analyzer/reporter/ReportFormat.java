@@ -1,6 +1,8 @@
 package backend.academy.log.analyzer.reporter;
 
 import backend.academy.log.analyzer.reporter.impl.ADocReporter;
+import backend.academy.log.analyzer.reporter.impl.CsvReporter;
+import backend.academy.log.analyzer.reporter.impl.JsonReporter;
 import backend.academy.log.analyzer.reporter.impl.MarkdownReporter;
 import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
 import java.util.Arrays;
@@ -8,7 +10,9 @@ import java.util.function.Function;
 
 public enum ReportFormat {
     MARKDOWN("markdown", MarkdownReporter::new),
-    ASCIIDOC("adoc", ADocReporter::new);
+    ASCIIDOC("adoc", ADocReporter::new),
+    JSON("json", JsonReporter::new),
+    CSV("csv", CsvReporter::new);
 
     private final String format;
     private final Function<LogStatisticsCollector, Reporter> reporterFactory;
@@ -0,0 +1,126 @@
+package backend.academy.log.analyzer.reporter;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.jfr.AnalyzerEvents;
+import backend.academy.log.analyzer.metrics.DiagnosticsRecorder;
+import backend.academy.log.analyzer.metrics.ParseErrorMonitor;
+import backend.academy.log.analyzer.partial.PartialResult;
+import backend.academy.log.analyzer.partial.PartialResultStore;
+import backend.academy.log.analyzer.pipeline.EntryPipeline;
+import backend.academy.log.analyzer.pipeline.ProcessedLogs;
+import backend.academy.log.analyzer.reporter.factory.ReporterFactory;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Построение отчета по результату обработки логов: статистика передается сборщику статистики,
+ * отчет записывается в формате из аргументов командной строки, а при необходимости результат
+ * сохраняется как частичный результат для команды {@code merge}.
+ */
+@Slf4j
+public class ReportGenerator {
+
+    private final ReporterFactory reporterFactory;
+
+    private final LogStatisticsCollector logStatisticsCollector;
+
+    private final ParseErrorMonitor parseErrorMonitor;
+
+    private final DiagnosticsRecorder diagnosticsRecorder;
+
+    private final PartialResultStore partialResultStore;
+
+    /**
+     * Конструктор для инъекции зависимостей.
+     *
+     * @param reporterFactory        фабрика для создания репортеров
+     * @param logStatisticsCollector сборщик статистики по логам
+     * @param parseErrorMonitor      монитор строк, которые не удалось разобрать
+     * @param diagnosticsRecorder    учет диагностики запуска
+     * @param partialResultStore     хранилище частичных результатов
+     */
+    @Inject
+    public ReportGenerator(
+        ReporterFactory reporterFactory,
+        LogStatisticsCollector logStatisticsCollector,
+        ParseErrorMonitor parseErrorMonitor,
+        DiagnosticsRecorder diagnosticsRecorder,
+        PartialResultStore partialResultStore
+    ) {
+        this.reporterFactory = reporterFactory;
+        this.logStatisticsCollector = logStatisticsCollector;
+        this.parseErrorMonitor = parseErrorMonitor;
+        this.diagnosticsRecorder = diagnosticsRecorder;
+        this.partialResultStore = partialResultStore;
+    }
+
+    /**
+     * Генерирует отчет по обработанным логам.
+     *
+     * @param processedLogs результат обработки логов
+     * @param cliArgs       аргументы командной строки для формирования отчета
+     */
+    public void generate(ProcessedLogs processedLogs, CliArguments cliArgs) {
+        parseErrorMonitor.verify();
+        logStatisticsCollector.computeStatistics(processedLogs.statistics(), processedLogs.fileNames());
+        logStatisticsCollector.recordFileFormats(reportedFormats(processedLogs.fileFormats(), cliArgs));
+        diagnosticsRecorder.record(cliArgs);
+        writeReport(cliArgs);
+        if (cliArgs.partialOutput() != null) {
+            savePartialResult(cliArgs.partialOutput(), new PartialResult(cliArgs.from(), cliArgs.to(),
+                cliArgs.filterField(), cliArgs.filterValue(), List.copyOf(processedLogs.fileNames()),
+                processedLogs.statistics()));
+        }
+    }
+
+    /**
+     * Сохраняет частичный результат анализа в файл.
+     *
+     * @param outputPath    путь к файлу частичного результата
+     * @param partialResult частичный результат
+     */
+    public void savePartialResult(String outputPath, PartialResult partialResult) {
+        try {
+            partialResultStore.save(Path.of(outputPath), partialResult);
+            log.info("The partial result is saved to a file: {}", outputPath);
+        } catch (IOException e) {
+            log.error("Error when writing the partial result to a file: {}", outputPath, e);
+        }
+    }
+
+    /**
+     * Возвращает форматы файлов для раздела отчета. Раздел нужен, только если формат хотя бы одного файла
+     * определен автоматически и отличается от формата по умолчанию, в том числе если форматы файлов различаются.
+     * Если все файлы разобраны в формате из аргументов командной строки или в формате combined, раздел
+     * не выводится.
+     *
+     * @param fileFormats имена форматов, определенных для файлов, по именам файлов
+     * @param cliArgs     аргументы командной строки
+     * @return форматы файлов для отчета или пустое отображение
+     */
+    private Map<String, String> reportedFormats(Map<String, String> fileFormats, CliArguments cliArgs) {
+        if (cliArgs.logFormat() != null
+            || fileFormats.values().stream().allMatch(EntryPipeline.DETECTED_FORMATS.getFirst()::equals)) {
+            return Map.of();
+        }
+        return fileFormats;
+    }
+
+    /**
+     * Записывает отчет по уже вычисленной статистике.
+     *
+     * @param cliArgs аргументы командной строки для формирования отчета
+     */
+    private void writeReport(CliArguments cliArgs) {
+        Reporter reporter = reporterFactory.createReporter(logStatisticsCollector, cliArgs.format());
+        String outputPath = "report." + cliArgs.format();
+
+        AnalyzerEvents.recordReport(cliArgs.format(), outputPath, () -> reporter.formatReport(outputPath, cliArgs));
+        log.info("The report is saved to a file: {}", outputPath);
+    }
+}
@@ -0,0 +1,75 @@
+package backend.academy.log.analyzer.reporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Обертка над {@link Writer} для записи отчета цепочкой вызовов, как в {@link StringBuilder}.
+ * Значения преобразуются в текст так же, как в {@link StringBuilder}, поэтому отчет совпадает
+ * с собранным в памяти побайтно. Ошибки записи передаются как {@link UncheckedIOException},
+ * чтобы строки таблиц можно было записывать в лямбда-выражениях.
+ */
+public class ReportWriter {
+
+    private final Writer writer;
+
+    /**
+     * Создает обертку над потоком вывода.
+     *
+     * @param writer поток вывода
+     */
+    public ReportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Записывает строку.
+     *
+     * @param value строка
+     * @return эта же обертка
+     */
+    public ReportWriter append(CharSequence value) {
+        try {
+            writer.append(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Записывает символ.
+     *
+     * @param value символ
+     * @return эта же обертка
+     */
+    public ReportWriter append(char value) {
+        try {
+            writer.append(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Записывает целое число.
+     *
+     * @param value число
+     * @return эта же обертка
+     */
+    public ReportWriter append(long value) {
+        return append(Long.toString(value));
+    }
+
+    /**
+     * Записывает строковое представление объекта.
+     *
+     * @param value объект
+     * @return эта же обертка
+     */
+    public ReportWriter append(Object value) {
+        return append(String.valueOf(value));
+    }
+}
@@ -1,6 +1,8 @@
 package backend.academy.log.analyzer.reporter;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * Интерфейс для формирования отчетов в различных форматах.
@@ -14,5 +16,13 @@ public interface Reporter {
      * @param cliArgs    Аргументы командной строки {@link CliArguments}
      */
     void formatReport(String outputPath, CliArguments cliArgs);
-}
 
+    /**
+     * Записывает отчет в поток вывода по мере формирования, не собирая весь документ в памяти.
+     *
+     * @param writer  Поток вывода, в который записывается отчет.
+     * @param cliArgs Аргументы командной строки {@link CliArguments}
+     * @throws IOException если не удалось записать отчет
+     */
+    void writeReport(Writer writer, CliArguments cliArgs) throws IOException;
+}
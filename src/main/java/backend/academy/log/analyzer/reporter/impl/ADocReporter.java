@@ -1,27 +1,37 @@
 package backend.academy.log.analyzer.reporter.impl;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
-import backend.academy.log.analyzer.reporter.Reporter;
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
+import backend.academy.log.analyzer.reporter.AbstractReporter;
+import backend.academy.log.analyzer.reporter.ReportWriter;
 import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import backend.academy.log.analyzer.statistics.TimeSeriesPoint;
 import com.google.inject.Inject;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import lombok.extern.slf4j.Slf4j;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Реализация Reporter для создания отчета в формате AsciiDoc
  */
-@Slf4j
-public class ADocReporter implements Reporter {
+public class ADocReporter extends AbstractReporter {
     private static final String TABLE_SEPARATOR = "|===\n";
 
     private static final String PIPE_SPACE = " | ";
 
+    private static final String METRICS_TABLE_HEADER = "| Метрика | Значение\n";
+
     private static final String B_SUFFIX = "b\n";
 
     private static final String DOUBLE_NEWLINE = "\n\n";
 
+    private static final String MS_SUFFIX = " ms\n";
+
+    private static final String PERCENT_FORMAT = "%.1f";
+
     private final LogStatisticsCollector statistics;
 
     /**
@@ -35,37 +45,45 @@ public class ADocReporter implements Reporter {
     }
 
     /**
-     * Форматирует отчет в формате AsciiDoc и записывает его в указанный путь.
+     * Записывает отчет в формате AsciiDoc в поток вывода.
      *
-     * @param outputPath Путь, по которому будет записан сформированный отчет в формате AsciiDoc.
-     * @param cliArgs    Аргументы командной строки {@link CliArguments}.
+     * @param writer  Поток вывода, в который записывается отчет.
+     * @param cliArgs Аргументы командной строки {@link CliArguments}.
+     * @throws IOException если не удалось записать отчет
      */
     @Override
-    public void formatReport(String outputPath, CliArguments cliArgs) {
-        StringBuilder sb = new StringBuilder();
-
-        appendGeneralInfo(sb, cliArgs);
-        appendRequestedResources(sb);
-        appendResponseCodes(sb);
-        appendRequestMethods(sb);
-
+    public void writeReport(Writer writer, CliArguments cliArgs) throws IOException {
+        ReportWriter out = new ReportWriter(writer);
         try {
-            Files.writeString(Path.of(outputPath), sb.toString());
-        } catch (IOException e) {
-            log.error("Error when writing a report to a file: {}", outputPath, e);
+            appendGeneralInfo(out, cliArgs);
+            appendRequestedResources(out);
+            appendResponseCodes(out);
+            appendRequestMethods(out);
+            List<TimeSeriesPoint> timeSeries = statistics.getTimeSeries();
+            if (!timeSeries.isEmpty()) {
+                appendTimeSeries(out, timeSeries);
+            }
+            if (!statistics.fileFormats().isEmpty()) {
+                appendFileFormats(out, statistics.fileFormats());
+            }
+            if (statistics.diagnostics() != null) {
+                appendDiagnostics(out, statistics.diagnostics());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
     /**
      * Добавляет в отчет раздел с общей информацией.
      *
-     * @param sb      {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out     {@link ReportWriter}, в который добавляется информация для отчета.
      * @param cliArgs Аргументы командной строки {@link CliArguments} для получения информации о фильтрации.
      */
-    private void appendGeneralInfo(StringBuilder sb, CliArguments cliArgs) {
-        sb.append("==== Общая информация\n\n")
+    private void appendGeneralInfo(ReportWriter out, CliArguments cliArgs) {
+        out.append("==== Общая информация\n\n")
             .append(TABLE_SEPARATOR)
-            .append("| Метрика | Значение\n")
+            .append(METRICS_TABLE_HEADER)
             .append("| Файл(-ы) | `")
             .append(statistics.getFileNames()).append("`\n")
             .append("| Начальная дата | ")
@@ -90,51 +108,115 @@ public class ADocReporter implements Reporter {
     /**
      * Добавляет в отчет раздел с запрашиваемыми ресурсами, включая название ресурса и количество запросов.
      *
-     * @param sb {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out {@link ReportWriter}, в который добавляется информация для отчета.
      */
-    private void appendRequestedResources(StringBuilder sb) {
-        sb.append("==== Запрашиваемые ресурсы\n\n")
+    private void appendRequestedResources(ReportWriter out) {
+        out.append("==== Запрашиваемые ресурсы\n\n")
             .append(TABLE_SEPARATOR)
             .append("| Ресурс | Количество\n");
-        statistics.getTopResources().forEach(entry -> sb.append("| ").append(entry.getKey())
+        statistics.getTopResources().forEach(entry -> out.append("| ").append(entry.getKey())
             .append(PIPE_SPACE)
             .append(entry.getValue()).append('\n'));
-        sb.append(TABLE_SEPARATOR).append(DOUBLE_NEWLINE);
+        out.append(TABLE_SEPARATOR).append(DOUBLE_NEWLINE);
     }
 
     /**
      * Добавляет в отчет раздел с кодами ответов, включая код, имя и количество каждого кода ответа.
      *
-     * @param sb {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out {@link ReportWriter}, в который добавляется информация для отчета.
      */
-    private void appendResponseCodes(StringBuilder sb) {
-        sb.append("==== Коды ответа\n\n")
+    private void appendResponseCodes(ReportWriter out) {
+        out.append("==== Коды ответа\n\n")
             .append(TABLE_SEPARATOR)
             .append("| Код | Имя | Количество\n");
         statistics.getTopStatuses().forEach(entry -> {
             String statusName = statistics.getStatusName(entry.getKey());
-            sb.append("| ").append(entry.getKey()).append(PIPE_SPACE)
+            out.append("| ").append(entry.getKey()).append(PIPE_SPACE)
                 .append(statusName).append(PIPE_SPACE)
                 .append(entry.getValue()).append('\n');
         });
-        sb.append(TABLE_SEPARATOR).append(DOUBLE_NEWLINE);
+        out.append(TABLE_SEPARATOR).append(DOUBLE_NEWLINE);
     }
 
     /**
      * Добавляет в отчет раздел с методами запросов, включая название метода и количество его вхождений.
      *
-     * @param sb {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out {@link ReportWriter}, в который добавляется информация для отчета.
      */
-    private void appendRequestMethods(StringBuilder sb) {
-        sb.append("==== Методы запросов\n\n")
+    private void appendRequestMethods(ReportWriter out) {
+        out.append("==== Методы запросов\n\n")
             .append(TABLE_SEPARATOR)
             .append("| Метод | Количество\n");
         statistics.getMethods().forEach(entry -> {
-            sb.append("| ").append(entry.getKey())
+            out.append("| ").append(entry.getKey())
                 .append(PIPE_SPACE)
                 .append(entry.getValue())
                 .append('\n');
         });
-        sb.append(TABLE_SEPARATOR);
+        out.append(TABLE_SEPARATOR);
+    }
+
+    /**
+     * Добавляет в отчет раздел с динамикой запросов: количеством запросов, долей ответов 4xx и 5xx,
+     * объемом отправленных данных и 95-м процентилем размера ответа по интервалам времени.
+     *
+     * @param out        {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param timeSeries Значения по интервалам.
+     */
+    private void appendTimeSeries(ReportWriter out, List<TimeSeriesPoint> timeSeries) {
+        out.append(DOUBLE_NEWLINE)
+            .append("==== Динамика запросов (интервал ").append(statistics.getTimeSeriesInterval()).append(")\n\n")
+            .append(TABLE_SEPARATOR)
+            .append("| Начало интервала | Запросы | 4xx, % | 5xx, % | Отправлено | 95p размера ответа\n");
+        timeSeries.forEach(point -> out.append("| ").append(point.start())
+            .append(PIPE_SPACE).append(point.requests())
+            .append(PIPE_SPACE).append(String.format(Locale.ROOT, PERCENT_FORMAT, point.clientErrorRate()))
+            .append(PIPE_SPACE).append(String.format(Locale.ROOT, PERCENT_FORMAT, point.serverErrorRate()))
+            .append(PIPE_SPACE).append(point.bytesSent()).append('b')
+            .append(PIPE_SPACE).append(point.percentile95ResponseSize()).append(B_SUFFIX));
+        out.append(TABLE_SEPARATOR);
+    }
+
+    /**
+     * Добавляет в отчет раздел с форматами, определенными для лог-файлов.
+     *
+     * @param out         {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param fileFormats Имена форматов по именам файлов.
+     */
+    private void appendFileFormats(ReportWriter out, Map<String, String> fileFormats) {
+        out.append(DOUBLE_NEWLINE)
+            .append("==== Форматы файлов\n\n")
+            .append(TABLE_SEPARATOR)
+            .append("| Файл | Формат\n");
+        fileFormats.forEach((file, format) -> out.append("| ").append(file).append(PIPE_SPACE).append(format)
+            .append('\n'));
+        out.append(TABLE_SEPARATOR);
+    }
+
+    /**
+     * Добавляет в отчет раздел с диагностикой запуска: объемом прочитанных данных,
+     * количеством отброшенных строк и временем этапов обработки.
+     *
+     * @param out         {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param diagnostics Метрики запуска.
+     */
+    private void appendDiagnostics(ReportWriter out, RunDiagnostics diagnostics) {
+        out.append(DOUBLE_NEWLINE)
+            .append("==== Диагностика запуска\n\n")
+            .append(TABLE_SEPARATOR)
+            .append(METRICS_TABLE_HEADER)
+            .append("| Прочитано строк | ").append(diagnostics.linesRead()).append('\n')
+            .append("| Прочитано данных | ").append(diagnostics.bytesRead()).append(B_SUFFIX)
+            .append("| Ошибки разбора | ").append(diagnostics.parseFailures()).append('\n');
+        diagnostics.parseFailureReasons().forEach((reason, count) -> out.append("| Ошибки разбора: ").append(reason)
+            .append(PIPE_SPACE).append(count).append('\n'));
+        out.append("| Отброшено фильтрами | ").append(diagnostics.filteredOut()).append('\n')
+            .append("| Учтено записей | ").append(diagnostics.entriesAggregated()).append('\n')
+            .append("| Время чтения | ").append(diagnostics.readMillis()).append(MS_SUFFIX)
+            .append("| Время разбора | ").append(diagnostics.parseMillis()).append(MS_SUFFIX)
+            .append("| Время фильтрации | ").append(diagnostics.filterMillis()).append(MS_SUFFIX)
+            .append("| Время агрегирования | ").append(diagnostics.aggregateMillis()).append(MS_SUFFIX)
+            .append("| Общее время | ").append(diagnostics.wallMillis()).append(MS_SUFFIX)
+            .append(TABLE_SEPARATOR);
     }
 }
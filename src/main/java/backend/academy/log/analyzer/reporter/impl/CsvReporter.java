@@ -0,0 +1,177 @@
+package backend.academy.log.analyzer.reporter.impl;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
+import backend.academy.log.analyzer.reporter.AbstractReporter;
+import backend.academy.log.analyzer.reporter.ReportWriter;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import backend.academy.log.analyzer.statistics.TimeSeriesPoint;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реализация Reporter для создания отчета в формате CSV (RFC 4180).
+ * Отчет - одна таблица из трех колонок "раздел, ключ, значение": так все метрики, полные частотные таблицы
+ * и гистограмма размеров ответов загружаются одним чтением без разбора нескольких таблиц.
+ * Дробные значения записываются без округления.
+ */
+public class CsvReporter extends AbstractReporter {
+
+    private static final String HEADER = "section,key,value\r\n";
+
+    private static final String LINE_END = "\r\n";
+
+    private static final String GENERAL = "general";
+
+    private static final String DIAGNOSTICS = "diagnostics";
+
+    private final LogStatisticsCollector statistics;
+
+    /**
+     * Конструктор для создания экземпляра {@link CsvReporter}.
+     *
+     * @param statistics Экземпляр {@link LogStatisticsCollector}, содержащий статистику для отчета.
+     */
+    @Inject
+    public CsvReporter(LogStatisticsCollector statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Записывает отчет в формате CSV в поток вывода.
+     *
+     * @param writer  Поток вывода, в который записывается отчет.
+     * @param cliArgs Аргументы командной строки {@link CliArguments}.
+     * @throws IOException если не удалось записать отчет
+     */
+    @Override
+    public void writeReport(Writer writer, CliArguments cliArgs) throws IOException {
+        ReportWriter out = new ReportWriter(writer);
+        try {
+            out.append(HEADER);
+            appendGeneralInfo(out, cliArgs);
+            appendFrequencies(out, "resource", statistics.getAllResources());
+            appendFrequencies(out, "status", statistics.getAllStatuses());
+            appendFrequencies(out, "method", statistics.getAllMethods());
+            appendFrequencies(out, "response_size", statistics.getResponseSizeHistogram());
+            appendTimeSeries(out, statistics.getTimeSeries());
+            statistics.fileFormats().forEach((file, format) -> appendRow(out, "file_format", file, format));
+            if (statistics.diagnostics() != null) {
+                appendDiagnostics(out, statistics.diagnostics());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Добавляет в отчет общую информацию: файлы, фильтры и итоговые метрики.
+     *
+     * @param out     {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param cliArgs Аргументы командной строки {@link CliArguments} для получения информации о фильтрации.
+     */
+    private void appendGeneralInfo(ReportWriter out, CliArguments cliArgs) {
+        statistics.logFiles().stream().sorted().forEach(file -> appendRow(out, GENERAL, "file", file));
+        appendRow(out, GENERAL, "from", cliArgs.from());
+        appendRow(out, GENERAL, "to", cliArgs.to());
+        appendRow(out, GENERAL, "filter_field", cliArgs.filterField());
+        appendRow(out, GENERAL, "filter_value", cliArgs.filterValue());
+        appendRow(out, GENERAL, "total_requests", statistics.totalRequests());
+        appendRow(out, GENERAL, "unique_ip_count", statistics.getUniqueIpCount());
+        appendRow(out, GENERAL, "response_size_sum", statistics.statistics().responseSizeSum());
+        appendRow(out, GENERAL, "average_response_size", decimal(statistics.getExactAverageResponseSize()));
+        appendRow(out, GENERAL, "percentile95_response_size", decimal(statistics.exactPercentile95ResponseSize()));
+    }
+
+    /**
+     * Добавляет в отчет частотную таблицу.
+     *
+     * @param out     {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param section Название раздела.
+     * @param entries Пары "значение - количество".
+     */
+    private void appendFrequencies(ReportWriter out, String section, List<? extends Map.Entry<?, Long>> entries) {
+        entries.forEach(entry -> appendRow(out, section, entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Добавляет в отчет динамику запросов: по разделу на каждую величину, ключ - начало интервала.
+     *
+     * @param out        {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param timeSeries Значения по интервалам.
+     */
+    private void appendTimeSeries(ReportWriter out, List<TimeSeriesPoint> timeSeries) {
+        timeSeries.forEach(point -> {
+            appendRow(out, "time_series_requests", point.start(), point.requests());
+            appendRow(out, "time_series_client_errors", point.start(), point.clientErrors());
+            appendRow(out, "time_series_server_errors", point.start(), point.serverErrors());
+            appendRow(out, "time_series_bytes_sent", point.start(), point.bytesSent());
+            appendRow(out, "time_series_percentile95_response_size", point.start(), point.percentile95ResponseSize());
+        });
+    }
+
+    /**
+     * Добавляет в отчет диагностику запуска.
+     *
+     * @param out         {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param diagnostics Метрики запуска.
+     */
+    private void appendDiagnostics(ReportWriter out, RunDiagnostics diagnostics) {
+        appendRow(out, DIAGNOSTICS, "lines_read", diagnostics.linesRead());
+        appendRow(out, DIAGNOSTICS, "bytes_read", diagnostics.bytesRead());
+        appendRow(out, DIAGNOSTICS, "parse_failures", diagnostics.parseFailures());
+        diagnostics.parseFailureReasons()
+            .forEach((reason, count) -> appendRow(out, DIAGNOSTICS, "parse_failures_" + reason, count));
+        appendRow(out, DIAGNOSTICS, "filtered_out", diagnostics.filteredOut());
+        appendRow(out, DIAGNOSTICS, "entries_aggregated", diagnostics.entriesAggregated());
+        appendRow(out, DIAGNOSTICS, "read_millis", diagnostics.readMillis());
+        appendRow(out, DIAGNOSTICS, "parse_millis", diagnostics.parseMillis());
+        appendRow(out, DIAGNOSTICS, "filter_millis", diagnostics.filterMillis());
+        appendRow(out, DIAGNOSTICS, "aggregate_millis", diagnostics.aggregateMillis());
+        appendRow(out, DIAGNOSTICS, "wall_millis", diagnostics.wallMillis());
+    }
+
+    /**
+     * Добавляет в отчет строку таблицы. Пустое значение записывается пустой ячейкой.
+     *
+     * @param out     {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param section Название раздела.
+     * @param key     Ключ.
+     * @param value   Значение.
+     */
+    private void appendRow(ReportWriter out, String section, Object key, Object value) {
+        out.append(section).append(',')
+            .append(escape(String.valueOf(key))).append(',')
+            .append(value != null ? escape(String.valueOf(value)) : "")
+            .append(LINE_END);
+    }
+
+    /**
+     * Экранирует значение ячейки: значения с запятыми, кавычками и переводами строк заключаются в кавычки,
+     * кавычки внутри значения удваиваются.
+     *
+     * @param value Значение ячейки.
+     * @return Экранированное значение.
+     */
+    private String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Форматирует дробное значение без экспоненциальной записи и без потери точности.
+     *
+     * @param value Дробное значение.
+     * @return Строковое представление значения.
+     */
+    private String decimal(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+}
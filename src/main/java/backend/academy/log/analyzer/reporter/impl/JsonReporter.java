@@ -0,0 +1,169 @@
+package backend.academy.log.analyzer.reporter.impl;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.reporter.AbstractReporter;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import backend.academy.log.analyzer.statistics.TimeSeriesPoint;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.inject.Inject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Реализация Reporter для создания отчета в формате JSON.
+ * В отличие от текстовых форматов, отчет содержит все значения частотных таблиц, гистограмму размеров ответов
+ * и точные значения среднего и процентиля, а также динамику запросов, если она собиралась.
+ * Отчет записывается потоково через {@link JsonGenerator}.
+ */
+public class JsonReporter extends AbstractReporter {
+
+    private static final String COUNT = "count";
+
+    private static final String PERCENTILE_95_RESPONSE_SIZE = "percentile95ResponseSize";
+
+    private final LogStatisticsCollector statistics;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * Конструктор для создания экземпляра {@link JsonReporter}.
+     *
+     * @param statistics Экземпляр {@link LogStatisticsCollector}, содержащий статистику для отчета.
+     */
+    @Inject
+    public JsonReporter(LogStatisticsCollector statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Записывает отчет в формате JSON в поток вывода.
+     *
+     * @param writer  Поток вывода, в который записывается отчет.
+     * @param cliArgs Аргументы командной строки {@link CliArguments}.
+     * @throws IOException если не удалось записать отчет
+     */
+    @Override
+    public void writeReport(Writer writer, CliArguments cliArgs) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+
+            generator.writeStartObject();
+            writeGeneralInfo(generator, cliArgs);
+            writeFrequencies(generator, "resources", "resource", statistics.getAllResources());
+            writeStatuses(generator);
+            writeFrequencies(generator, "methods", "method", statistics.getAllMethods());
+            writeFrequencies(generator, "responseSizes", "size", statistics.getResponseSizeHistogram());
+            List<TimeSeriesPoint> timeSeries = statistics.getTimeSeries();
+            if (!timeSeries.isEmpty()) {
+                writeTimeSeries(generator, timeSeries);
+            }
+            if (!statistics.fileFormats().isEmpty()) {
+                generator.writeObjectField("fileFormats", statistics.fileFormats());
+            }
+            if (statistics.diagnostics() != null) {
+                generator.writeObjectField("diagnostics", statistics.diagnostics());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Записывает общую информацию: файлы, фильтры и итоговые метрики.
+     *
+     * @param generator Генератор JSON.
+     * @param cliArgs   Аргументы командной строки {@link CliArguments} для получения информации о фильтрации.
+     * @throws IOException если не удалось записать отчет
+     */
+    private void writeGeneralInfo(JsonGenerator generator, CliArguments cliArgs) throws IOException {
+        generator.writeArrayFieldStart("files");
+        for (String file : statistics.logFiles().stream().sorted().toList()) {
+            generator.writeString(file);
+        }
+        generator.writeEndArray();
+
+        generator.writeStringField("from", cliArgs.from());
+        generator.writeStringField("to", cliArgs.to());
+        generator.writeStringField("filterField", cliArgs.filterField());
+        generator.writeStringField("filterValue", cliArgs.filterValue());
+
+        generator.writeNumberField("totalRequests", statistics.totalRequests());
+        generator.writeNumberField("uniqueIpCount", statistics.getUniqueIpCount());
+        generator.writeNumberField("responseSizeSum", statistics.statistics().responseSizeSum());
+        generator.writeNumberField("averageResponseSize", statistics.getExactAverageResponseSize());
+        generator.writeNumberField(PERCENTILE_95_RESPONSE_SIZE, statistics.exactPercentile95ResponseSize());
+    }
+
+    /**
+     * Записывает коды ответа с их описаниями и количеством.
+     *
+     * @param generator Генератор JSON.
+     * @throws IOException если не удалось записать отчет
+     */
+    private void writeStatuses(JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("statuses");
+        for (Map.Entry<Integer, Long> entry : statistics.getAllStatuses()) {
+            generator.writeStartObject();
+            generator.writeNumberField("status", entry.getKey());
+            generator.writeStringField("name", statistics.getStatusName(entry.getKey()));
+            generator.writeNumberField(COUNT, entry.getValue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Записывает динамику запросов: длину интервала и значения по интервалам.
+     *
+     * @param generator  Генератор JSON.
+     * @param timeSeries Значения по интервалам.
+     * @throws IOException если не удалось записать отчет
+     */
+    private void writeTimeSeries(JsonGenerator generator, List<TimeSeriesPoint> timeSeries) throws IOException {
+        generator.writeObjectFieldStart("timeSeries");
+        generator.writeStringField("interval", statistics.getTimeSeriesInterval());
+        generator.writeArrayFieldStart("points");
+        for (TimeSeriesPoint point : timeSeries) {
+            generator.writeStartObject();
+            generator.writeStringField("start", point.start().toString());
+            generator.writeNumberField("requests", point.requests());
+            generator.writeNumberField("clientErrors", point.clientErrors());
+            generator.writeNumberField("serverErrors", point.serverErrors());
+            generator.writeNumberField("clientErrorRate", point.clientErrorRate());
+            generator.writeNumberField("serverErrorRate", point.serverErrorRate());
+            generator.writeNumberField("bytesSent", point.bytesSent());
+            generator.writeNumberField(PERCENTILE_95_RESPONSE_SIZE, point.percentile95ResponseSize());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Записывает частотную таблицу массивом объектов "значение - количество".
+     *
+     * @param generator Генератор JSON.
+     * @param field     Имя поля с массивом.
+     * @param keyField  Имя поля значения.
+     * @param entries   Пары "значение - количество".
+     * @throws IOException если не удалось записать отчет
+     */
+    private void writeFrequencies(
+        JsonGenerator generator,
+        String field,
+        String keyField,
+        List<? extends Map.Entry<?, Long>> entries
+    ) throws IOException {
+        generator.writeArrayFieldStart(field);
+        for (Map.Entry<?, Long> entry : entries) {
+            generator.writeStartObject();
+            generator.writeObjectField(keyField, entry.getKey());
+            generator.writeNumberField(COUNT, entry.getValue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
@@ -1,23 +1,28 @@
 package backend.academy.log.analyzer.reporter.impl;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
-import backend.academy.log.analyzer.reporter.Reporter;
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
+import backend.academy.log.analyzer.reporter.AbstractReporter;
+import backend.academy.log.analyzer.reporter.ReportWriter;
 import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import backend.academy.log.analyzer.statistics.TimeSeriesPoint;
 import com.google.inject.Inject;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import lombok.extern.slf4j.Slf4j;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * Реализация Reporter для создания отчета в формате Markdown
  */
-@Slf4j
-public class MarkdownReporter implements Reporter {
+public class MarkdownReporter extends AbstractReporter {
 
     private static final String PIPE_SPACE = " | ";
 
+    private static final String METRICS_TABLE_HEADER = "|        Метрика        |     Значение      |\n";
+
     private static final String TABLE_BODY_SEPARATOR_TWO_COLS =
         "|:-------------------:|:------------:|\n";
 
@@ -30,6 +35,10 @@ public class MarkdownReporter implements Reporter {
 
     private static final String CELL_END = " |\n";
 
+    private static final String SUFFIX_MS = " ms |\n";
+
+    private static final String PERCENT_FORMAT = "%.1f";
+
     private final LogStatisticsCollector statistics;
 
     /**
@@ -43,36 +52,44 @@ public class MarkdownReporter implements Reporter {
     }
 
     /**
-     * Форматирует отчет в формате Markdown и записывает его в указанный путь.
+     * Записывает отчет в формате Markdown в поток вывода.
      *
-     * @param outputPath Путь, по которому будет записан сформированный отчет в формате Markdown.
-     * @param cliArgs    Аргументы командной строки {@link CliArguments}.
+     * @param writer  Поток вывода, в который записывается отчет.
+     * @param cliArgs Аргументы командной строки {@link CliArguments}.
+     * @throws IOException если не удалось записать отчет
      */
     @Override
-    public void formatReport(String outputPath, CliArguments cliArgs) {
-        StringBuilder sb = new StringBuilder();
-
-        appendGeneralInfo(sb, cliArgs);
-        appendRequestedResources(sb);
-        appendResponseCodes(sb);
-        appendRequestMethods(sb);
-
+    public void writeReport(Writer writer, CliArguments cliArgs) throws IOException {
+        ReportWriter out = new ReportWriter(writer);
         try {
-            Files.writeString(Path.of(outputPath), sb.toString(), StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            log.error("Error when writing a report to a file: {}", outputPath);
+            appendGeneralInfo(out, cliArgs);
+            appendRequestedResources(out);
+            appendResponseCodes(out);
+            appendRequestMethods(out);
+            List<TimeSeriesPoint> timeSeries = statistics.getTimeSeries();
+            if (!timeSeries.isEmpty()) {
+                appendTimeSeries(out, timeSeries);
+            }
+            if (!statistics.fileFormats().isEmpty()) {
+                appendFileFormats(out, statistics.fileFormats());
+            }
+            if (statistics.diagnostics() != null) {
+                appendDiagnostics(out, statistics.diagnostics());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
     /**
      * Добавляет в отчет раздел с общей информацией.
      *
-     * @param sb      {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out     {@link ReportWriter}, в который добавляется информация для отчета.
      * @param cliArgs Аргументы командной строки {@link CliArguments} для получения информации о фильтрации.
      */
-    private void appendGeneralInfo(StringBuilder sb, CliArguments cliArgs) {
-        sb.append("#### Общая информация\n\n")
-            .append("|        Метрика        |     Значение      |\n")
+    private void appendGeneralInfo(ReportWriter out, CliArguments cliArgs) {
+        out.append("#### Общая информация\n\n")
+            .append(METRICS_TABLE_HEADER)
             .append(TABLE_BODY_SEPARATOR_TWO_COLS)
             .append("|       Файл(-ы)        | `")
             .append(String.join(", ", statistics.getFileNames())).append("`|\n")
@@ -97,13 +114,13 @@ public class MarkdownReporter implements Reporter {
     /**
      * Добавляет в отчет раздел с запрашиваемыми ресурсами, включая название ресурса и количество запросов.
      *
-     * @param sb {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out {@link ReportWriter}, в который добавляется информация для отчета.
      */
-    private void appendRequestedResources(StringBuilder sb) {
-        sb.append("#### Запрашиваемые ресурсы\n\n")
+    private void appendRequestedResources(ReportWriter out) {
+        out.append("#### Запрашиваемые ресурсы\n\n")
             .append("|     Ресурс      | Количество |\n")
             .append(TABLE_BODY_SEPARATOR_TWO_COLS);
-        statistics.getTopResources().forEach(entry -> sb.append(CELL_START).append(entry.getKey())
+        statistics.getTopResources().forEach(entry -> out.append(CELL_START).append(entry.getKey())
             .append(PIPE_SPACE)
             .append(entry.getValue())
             .append(CELL_END));
@@ -112,15 +129,15 @@ public class MarkdownReporter implements Reporter {
     /**
      * Добавляет в отчет раздел с кодами ответов, включая код, имя и количество каждого кода ответа.
      *
-     * @param sb {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out {@link ReportWriter}, в который добавляется информация для отчета.
      */
-    private void appendResponseCodes(StringBuilder sb) {
-        sb.append("\n#### Коды ответа\n\n")
+    private void appendResponseCodes(ReportWriter out) {
+        out.append("\n#### Коды ответа\n\n")
             .append("| Код |          Имя          | Количество |\n")
             .append(TABLE_HEADER_SEPARATOR_THREE_COLS);
         statistics.getTopStatuses().forEach(entry -> {
             String statusName = statistics.getStatusName(entry.getKey());
-            sb.append(CELL_START).append(entry.getKey())
+            out.append(CELL_START).append(entry.getKey())
                 .append(PIPE_SPACE)
                 .append(String.format("%-20s", statusName))
                 .append(PIPE_SPACE)
@@ -132,17 +149,75 @@ public class MarkdownReporter implements Reporter {
     /**
      * Добавляет в отчет раздел с методами запросов, включая название метода и количество его вхождений.
      *
-     * @param sb {@link StringBuilder}, в который добавляется информация для отчета.
+     * @param out {@link ReportWriter}, в который добавляется информация для отчета.
      */
-    private void appendRequestMethods(StringBuilder sb) {
-        sb.append("\n#### Методы запросов\n\n")
+    private void appendRequestMethods(ReportWriter out) {
+        out.append("\n#### Методы запросов\n\n")
             .append("| Метод | Количество |\n")
             .append(TABLE_BODY_SEPARATOR_TWO_COLS);
         statistics.getMethods().forEach(entry -> {
-            sb.append(CELL_START).append(entry.getKey())
+            out.append(CELL_START).append(entry.getKey())
                 .append(PIPE_SPACE)
                 .append(entry.getValue())
                 .append(CELL_END);
         });
     }
+
+    /**
+     * Добавляет в отчет раздел с динамикой запросов: количеством запросов, долей ответов 4xx и 5xx,
+     * объемом отправленных данных и 95-м процентилем размера ответа по интервалам времени.
+     *
+     * @param out        {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param timeSeries Значения по интервалам.
+     */
+    private void appendTimeSeries(ReportWriter out, List<TimeSeriesPoint> timeSeries) {
+        out.append("\n#### Динамика запросов (интервал ").append(statistics.getTimeSeriesInterval()).append(")\n\n")
+            .append("| Начало интервала | Запросы | 4xx, % | 5xx, % | Отправлено | 95p размера ответа |\n")
+            .append("|:----------------:|:-------:|:------:|:------:|:----------:|:------------------:|\n");
+        timeSeries.forEach(point -> out.append(CELL_START).append(point.start())
+            .append(PIPE_SPACE).append(point.requests())
+            .append(PIPE_SPACE).append(String.format(Locale.ROOT, PERCENT_FORMAT, point.clientErrorRate()))
+            .append(PIPE_SPACE).append(String.format(Locale.ROOT, PERCENT_FORMAT, point.serverErrorRate()))
+            .append(PIPE_SPACE).append(point.bytesSent()).append(" b")
+            .append(PIPE_SPACE).append(point.percentile95ResponseSize()).append(SUFFIX_B));
+    }
+
+    /**
+     * Добавляет в отчет раздел с форматами, определенными для лог-файлов.
+     *
+     * @param out         {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param fileFormats Имена форматов по именам файлов.
+     */
+    private void appendFileFormats(ReportWriter out, Map<String, String> fileFormats) {
+        out.append("\n#### Форматы файлов\n\n")
+            .append("|        Файл        |     Формат      |\n")
+            .append(TABLE_BODY_SEPARATOR_TWO_COLS);
+        fileFormats.forEach((file, format) -> out.append(CELL_START).append(file).append(PIPE_SPACE).append(format)
+            .append(CELL_END));
+    }
+
+    /**
+     * Добавляет в отчет раздел с диагностикой запуска: объемом прочитанных данных,
+     * количеством отброшенных строк и временем этапов обработки.
+     *
+     * @param out         {@link ReportWriter}, в который добавляется информация для отчета.
+     * @param diagnostics Метрики запуска.
+     */
+    private void appendDiagnostics(ReportWriter out, RunDiagnostics diagnostics) {
+        out.append("\n#### Диагностика запуска\n\n")
+            .append(METRICS_TABLE_HEADER)
+            .append(TABLE_BODY_SEPARATOR_TWO_COLS)
+            .append("|  Прочитано строк  | ").append(diagnostics.linesRead()).append(CELL_END)
+            .append("|  Прочитано данных  | ").append(diagnostics.bytesRead()).append(SUFFIX_B)
+            .append("|  Ошибки разбора  | ").append(diagnostics.parseFailures()).append(CELL_END);
+        diagnostics.parseFailureReasons().forEach((reason, count) -> out.append("|  Ошибки разбора: ").append(reason)
+            .append(PIPE_SPACE).append(count).append(CELL_END));
+        out.append("|  Отброшено фильтрами  | ").append(diagnostics.filteredOut()).append(CELL_END)
+            .append("|  Учтено записей  | ").append(diagnostics.entriesAggregated()).append(CELL_END)
+            .append("|  Время чтения  | ").append(diagnostics.readMillis()).append(SUFFIX_MS)
+            .append("|  Время разбора  | ").append(diagnostics.parseMillis()).append(SUFFIX_MS)
+            .append("|  Время фильтрации  | ").append(diagnostics.filterMillis()).append(SUFFIX_MS)
+            .append("|  Время агрегирования  | ").append(diagnostics.aggregateMillis()).append(SUFFIX_MS)
+            .append("|  Общее время  | ").append(diagnostics.wallMillis()).append(SUFFIX_MS);
+    }
 }
@@ -1,13 +1,13 @@
 package backend.academy.log.analyzer.statistics;
 
 import backend.academy.log.analyzer.entry.LogEntry;
-import com.google.common.math.Quantiles;
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.Getter;
@@ -26,6 +26,9 @@ public class LogStatisticsCollector {
     /** Параметр для расчета 95-го процентиля размера ответа */
     private static final int PERCENTILE = 95;
 
+    /** Масштаб процентилей: 100 для перцентилей */
+    private static final int PERCENTILE_SCALE = 100;
+
     /** Лимит для отображения топ-ресурсов и топ-статусов */
     private static final int TOP_LIMIT = 3;
 
@@ -35,32 +38,26 @@ public class LogStatisticsCollector {
     /** Общее количество запросов */
     private long totalRequests;
 
-    /** Частота запросов по ресурсам */
-    private final Map<String, Long> resourceFrequency = new HashMap<>();
-
-    /** Частота кодов состояния HTTP */
-    private final Map<Integer, Long> statusFrequency = new HashMap<>();
-
-    /** Частота HTTP-методов */
-    private final Map<String, Long> methodFrequency = new HashMap<>();
-
     /** Средний размер ответа */
     private double averageResponseSize;
 
     /** Размер ответа для 95-го процентиля */
     private long percentile95ResponseSize;
 
+    /** Размер ответа для 95-го процентиля без отбрасывания дробной части */
+    private double exactPercentile95ResponseSize;
+
     /** Набор лог-файлов, которые были обработаны */
     private final Set<String> logFiles = new HashSet<>();
 
-    /** Общая сумма размеров ответов */
-    private long responseSizeSum = 0;
+    /** Накопленные объединяемые данные, по которым вычисляются итоговые метрики */
+    private StatisticsAccumulator statistics = new StatisticsAccumulator();
 
-    /** Список всех размеров ответов */
-    private final List<Long> responseSizes = new ArrayList<>();
+    /** Диагностика запуска для отчета; null, если раздел диагностики не нужен */
+    private RunDiagnostics diagnostics;
 
-    /** Множество уникальных IP-адресов */
-    private final Set<String> uniqueIpAddresses = new HashSet<>();
+    /** Форматы, определенные для лог-файлов, по именам файлов */
+    private final Map<String, String> fileFormats = new TreeMap<>();
 
     /**
      * Вычисляет статистику по логам.
@@ -72,127 +69,119 @@ public class LogStatisticsCollector {
         Stream<LogEntry> entries,
         List<String> fileNames
     ) {
-        logFiles.addAll(fileNames);
-
-        entries.forEach(entry -> {
-            totalRequests++;
-            countUniqueIp(entry);
-            trackResourceFrequency(entry);
-            trackStatusFrequency(entry);
-            trackMethodFrequency(entry);
-            accumulateResponseSizes(entry);
-        });
-
-        calculateAverageResponseSize();
-        calculatePercentileResponseSize();
-
-        log.info("Statistics have been calculated successfully. {} requests processed.", totalRequests);
+        StatisticsAccumulator accumulator = new StatisticsAccumulator();
+        entries.forEach(accumulator::add);
+        computeStatistics(accumulator, fileNames);
     }
 
     /**
-     * Считывает уникальные IP-адреса из логов.
+     * Вычисляет статистику по заранее накопленным данным.
+     * Используется, когда данные собраны по частям (например, по отдельным файлам или запускам).
      *
-     * @param entry Лог-запись.
+     * @param accumulator Накопленные данные по лог-записям.
+     * @param fileNames   Список имен файлов логов.
      */
-    private void countUniqueIp(LogEntry entry) {
-        uniqueIpAddresses.add(entry.remoteAddr());
-    }
+    public void computeStatistics(
+        StatisticsAccumulator accumulator,
+        List<String> fileNames
+    ) {
+        logFiles.clear();
+        logFiles.addAll(fileNames);
+        statistics = accumulator;
+        diagnostics = null;
+        fileFormats.clear();
+        totalRequests = accumulator.totalRequests();
 
-    /**
-     * Отслеживает частоту использования ресурсов.
-     *
-     * @param entry Лог-запись.
-     */
-    private void trackResourceFrequency(LogEntry entry) {
-        String resource = extractResourcePath(entry.request());
-        resourceFrequency.merge(resource, 1L, Long::sum);
-    }
+        calculateAverageResponseSize();
+        calculatePercentileResponseSize();
 
-    /**
-     * Отслеживает частоту кодов состояния.
-     *
-     * @param entry Лог-запись.
-     */
-    private void trackStatusFrequency(LogEntry entry) {
-        statusFrequency.merge(entry.status(), 1L, Long::sum);
+        log.info("Statistics have been calculated successfully. {} requests processed.", totalRequests);
     }
 
     /**
-     * Отслеживает частоту использования HTTP-методов.
+     * Добавляет к вычисленной статистике диагностику запуска, которая выводится в отчете.
      *
-     * @param entry Лог-запись.
+     * @param runDiagnostics Метрики запуска.
      */
-    private void trackMethodFrequency(LogEntry entry) {
-        String method = extractMethod(entry.request());
-        methodFrequency.merge(method, 1L, Long::sum);
+    public void recordDiagnostics(RunDiagnostics runDiagnostics) {
+        diagnostics = runDiagnostics;
     }
 
     /**
-     * Накапливает размеры ответов для дальнейшего анализа.
+     * Добавляет к вычисленной статистике форматы, определенные для лог-файлов, которые выводятся в отчете.
      *
-     * @param entry Лог-запись.
+     * @param formats Имена форматов по именам файлов.
      */
-    private void accumulateResponseSizes(LogEntry entry) {
-        long responseSize = entry.bodyBytesSent();
-        responseSizes.add(responseSize);
-        responseSizeSum += responseSize;
+    public void recordFileFormats(Map<String, String> formats) {
+        fileFormats.putAll(formats);
     }
 
     /**
      * Вычисляет средний размер ответа.
      */
     private void calculateAverageResponseSize() {
-        averageResponseSize = totalRequests > 0 ? Math.round((double) responseSizeSum / totalRequests) : 0;
+        averageResponseSize = totalRequests > 0
+            ? Math.round((double) statistics.responseSizeSum() / totalRequests)
+            : 0;
     }
 
     /**
      * Вычисляет размер ответа для 95-го процентиля.
+     * Использует ту же линейную интерполяцию, что и {@code Quantiles.percentiles()} из Guava,
+     * но работает по гистограмме размеров, не требуя хранить размер каждого ответа.
      */
     private void calculatePercentileResponseSize() {
-        if (!responseSizes.isEmpty()) {
-            percentile95ResponseSize = (long) Quantiles.percentiles()
-                .index(PERCENTILE)
-                .compute(responseSizes);
+        percentile95ResponseSize = 0;
+        exactPercentile95ResponseSize = 0;
+        if (totalRequests == 0) {
+            return;
         }
-    }
 
-    /**
-     * Возвращает количество уникальных IP-адресов.
-     *
-     * @return Количество уникальных IP-адресов.
-     */
-    public int getUniqueIpCount() {
-        return uniqueIpAddresses.size();
+        long numerator = PERCENTILE * (totalRequests - 1);
+        long lowerRank = numerator / PERCENTILE_SCALE;
+        long remainder = numerator - lowerRank * PERCENTILE_SCALE;
+
+        List<Map.Entry<Long, Long>> histogram = statistics.responseSizeFrequency().entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .toList();
+
+        long lower = valueAtRank(histogram, lowerRank);
+        if (remainder == 0) {
+            percentile95ResponseSize = lower;
+            exactPercentile95ResponseSize = lower;
+            return;
+        }
+        long upper = valueAtRank(histogram, lowerRank + 1);
+        exactPercentile95ResponseSize = lower + (upper - lower) * remainder / (double) PERCENTILE_SCALE;
+        percentile95ResponseSize = (long) exactPercentile95ResponseSize;
     }
 
     /**
-     * Извлекает путь ресурса из запроса.
+     * Возвращает значение, стоящее на заданной позиции в отсортированной выборке,
+     * представленной гистограммой.
      *
-     * @param request HTTP-запрос.
-     * @return Путь ресурса.
+     * @param histogram Отсортированная по значению гистограмма.
+     * @param rank      Позиция в выборке (с нуля).
+     * @return Значение на заданной позиции.
      */
-    private String extractResourcePath(String request) {
-        if (request == null || request.isBlank()) {
-            return UNKNOWN;
+    private long valueAtRank(List<Map.Entry<Long, Long>> histogram, long rank) {
+        long seen = 0;
+        for (Map.Entry<Long, Long> bucket : histogram) {
+            seen += bucket.getValue();
+            if (rank < seen) {
+                return bucket.getKey();
+            }
         }
-        int startIdx = request.indexOf(' ');
-        int endIdx = request.indexOf(' ', startIdx + 1);
-        return (startIdx != -1 && endIdx != -1) ? request.substring(startIdx + 1, endIdx) : request;
+        return histogram.getLast().getKey();
     }
 
     /**
-     * Извлекает метод из HTTP-запроса.
+     * Возвращает количество уникальных IP-адресов.
      *
-     * @param request HTTP-запрос.
-     * @return Метод запроса.
+     * @return Количество уникальных IP-адресов.
      */
-    private String extractMethod(String request) {
-        if (request == null || request.isBlank()) {
-            return UNKNOWN;
-        }
-
-        int endIdx = request.indexOf(' ');
-        return (endIdx != -1) ? request.substring(0, endIdx) : UNKNOWN;
+    public int getUniqueIpCount() {
+        return statistics.uniqueIpAddresses().size();
     }
 
     /**
@@ -201,7 +190,7 @@ public class LogStatisticsCollector {
      * @return Список топ-ресурсов.
      */
     public List<Map.Entry<String, Long>> getTopResources() {
-        return resourceFrequency.entrySet().stream()
+        return statistics.resourceFrequency().entrySet().stream()
             .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
             .limit(TOP_LIMIT)
             .collect(Collectors.toList());
@@ -213,7 +202,7 @@ public class LogStatisticsCollector {
      * @return Список топ-статусов.
      */
     public List<Map.Entry<Integer, Long>> getTopStatuses() {
-        return statusFrequency.entrySet().stream()
+        return statistics.statusFrequency().entrySet().stream()
             .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed())
             .limit(TOP_LIMIT)
             .collect(Collectors.toList());
@@ -225,12 +214,107 @@ public class LogStatisticsCollector {
      * @return Список методов запросов.
      */
     public List<Map.Entry<String, Long>> getMethods() {
-        return methodFrequency.entrySet().stream()
+        return statistics.methodFrequency().entrySet().stream()
             .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
             .limit(TOP_LIMIT)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Возвращает средний размер ответа без округления.
+     *
+     * @return Средний размер ответа.
+     */
+    public double getExactAverageResponseSize() {
+        return totalRequests > 0 ? (double) statistics.responseSizeSum() / totalRequests : 0;
+    }
+
+    /**
+     * Получает все ресурсы, упорядоченные по убыванию частоты запросов.
+     *
+     * @return Список всех ресурсов.
+     */
+    public List<Map.Entry<String, Long>> getAllResources() {
+        return sortedByFrequency(statistics.resourceFrequency());
+    }
+
+    /**
+     * Получает все коды ответа, упорядоченные по убыванию частоты появления.
+     *
+     * @return Список всех кодов ответа.
+     */
+    public List<Map.Entry<Integer, Long>> getAllStatuses() {
+        return sortedByFrequency(statistics.statusFrequency());
+    }
+
+    /**
+     * Получает все HTTP-методы, упорядоченные по убыванию частоты.
+     *
+     * @return Список всех методов запросов.
+     */
+    public List<Map.Entry<String, Long>> getAllMethods() {
+        return sortedByFrequency(statistics.methodFrequency());
+    }
+
+    /**
+     * Получает гистограмму размеров ответов, упорядоченную по размеру.
+     *
+     * @return Список пар "размер ответа - количество ответов".
+     */
+    public List<Map.Entry<Long, Long>> getResponseSizeHistogram() {
+        return statistics.responseSizeFrequency().entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .toList();
+    }
+
+    /**
+     * Получает динамику запросов по интервалам времени, включая интервалы без запросов.
+     *
+     * @return Значения по интервалам в порядке времени или пустой список, если динамика не собиралась.
+     */
+    public List<TimeSeriesPoint> getTimeSeries() {
+        TimeSeries timeSeries = statistics.timeSeries();
+        if (timeSeries == null) {
+            return List.of();
+        }
+
+        List<TimeSeriesPoint> points = new ArrayList<>(timeSeries.bucketCount());
+        for (int i = 0; i < timeSeries.bucketCount(); i++) {
+            points.add(new TimeSeriesPoint(
+                timeSeries.bucketStart(i),
+                timeSeries.requests(i),
+                timeSeries.clientErrors(i),
+                timeSeries.serverErrors(i),
+                timeSeries.bytesSent(i),
+                timeSeries.percentile95ResponseSize(i)
+            ));
+        }
+        return points;
+    }
+
+    /**
+     * Получает длину интервала динамики запросов.
+     *
+     * @return Длина интервала, например "5m", или null, если динамика не собиралась.
+     */
+    public String getTimeSeriesInterval() {
+        TimeSeries timeSeries = statistics.timeSeries();
+        return timeSeries != null ? TimeSeries.formatInterval(timeSeries.intervalSeconds()) : null;
+    }
+
+    /**
+     * Упорядочивает частотную таблицу по убыванию частоты, а при равной частоте - по значению.
+     *
+     * @param frequency Частотная таблица.
+     * @param <K>       Тип значений.
+     * @return Упорядоченный список пар "значение - частота".
+     */
+    private static <K extends Comparable<K>> List<Map.Entry<K, Long>> sortedByFrequency(Map<K, Long> frequency) {
+        return frequency.entrySet().stream()
+            .sorted(Map.Entry.<K, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .toList();
+    }
+
     /**
      * Получает описание статуса по его коду.
      *
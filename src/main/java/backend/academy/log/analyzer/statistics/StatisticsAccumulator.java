@@ -0,0 +1,155 @@
+package backend.academy.log.analyzer.statistics;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Накопитель "сырой" статистики по записям логов.
+ * В отличие от {@link LogStatisticsCollector}, хранит только объединяемые (mergeable) данные:
+ * счетчики и частотные таблицы. Благодаря этому накопители, посчитанные для отдельных файлов
+ * или отдельных запусков, можно сохранять и объединять без повторного чтения логов.
+ * Если задана длина интервала, накопитель дополнительно собирает динамику запросов ({@link TimeSeries}).
+ */
+@Getter
+public class StatisticsAccumulator {
+
+    /** Значение по умолчанию для неизвестных значений */
+    private static final String UNKNOWN = "unknown";
+
+    /** Общее количество запросов */
+    private long totalRequests;
+
+    /** Общая сумма размеров ответов */
+    private long responseSizeSum;
+
+    /** Частота запросов по ресурсам */
+    private final Map<String, Long> resourceFrequency = new HashMap<>();
+
+    /** Частота кодов состояния HTTP */
+    private final Map<Integer, Long> statusFrequency = new HashMap<>();
+
+    /** Частота HTTP-методов */
+    private final Map<String, Long> methodFrequency = new HashMap<>();
+
+    /** Гистограмма размеров ответов: размер ответа -> количество ответов такого размера */
+    private final Map<Long, Long> responseSizeFrequency = new HashMap<>();
+
+    /** Множество уникальных IP-адресов */
+    private final Set<String> uniqueIpAddresses = new HashSet<>();
+
+    /** Динамика запросов по интервалам времени или null, если она не собирается */
+    private TimeSeries timeSeries;
+
+    /**
+     * Создает пустой накопитель.
+     */
+    public StatisticsAccumulator() {
+    }
+
+    /**
+     * Создает пустой накопитель, собирающий динамику запросов по интервалам заданной длины.
+     *
+     * @param timeSeriesIntervalSeconds Длина интервала в секундах.
+     */
+    public StatisticsAccumulator(long timeSeriesIntervalSeconds) {
+        this.timeSeries = new TimeSeries(timeSeriesIntervalSeconds);
+    }
+
+    /**
+     * Создает накопитель с заданными итоговыми счетчиками.
+     * Используется при восстановлении сохраненной статистики.
+     *
+     * @param totalRequests   Общее количество запросов.
+     * @param responseSizeSum Общая сумма размеров ответов.
+     */
+    StatisticsAccumulator(long totalRequests, long responseSizeSum) {
+        this.totalRequests = totalRequests;
+        this.responseSizeSum = responseSizeSum;
+    }
+
+    /**
+     * Учитывает одну запись лога.
+     *
+     * @param entry Лог-запись.
+     */
+    public void add(LogEntry entry) {
+        totalRequests++;
+        uniqueIpAddresses.add(entry.remoteAddr());
+        resourceFrequency.merge(extractResourcePath(entry.request()), 1L, Long::sum);
+        statusFrequency.merge(entry.status(), 1L, Long::sum);
+        methodFrequency.merge(extractMethod(entry.request()), 1L, Long::sum);
+
+        long responseSize = entry.bodyBytesSent();
+        responseSizeFrequency.merge(responseSize, 1L, Long::sum);
+        responseSizeSum += responseSize;
+
+        if (timeSeries != null && entry.timeLocal() != null) {
+            timeSeries.add(entry.timeLocal(), entry.status(), responseSize);
+        }
+    }
+
+    /**
+     * Добавляет к текущему накопителю данные другого накопителя.
+     *
+     * @param other Накопитель, данные которого нужно добавить.
+     */
+    public void merge(StatisticsAccumulator other) {
+        totalRequests += other.totalRequests;
+        responseSizeSum += other.responseSizeSum;
+        other.resourceFrequency.forEach((key, count) -> resourceFrequency.merge(key, count, Long::sum));
+        other.statusFrequency.forEach((key, count) -> statusFrequency.merge(key, count, Long::sum));
+        other.methodFrequency.forEach((key, count) -> methodFrequency.merge(key, count, Long::sum));
+        other.responseSizeFrequency.forEach((key, count) -> responseSizeFrequency.merge(key, count, Long::sum));
+        uniqueIpAddresses.addAll(other.uniqueIpAddresses);
+
+        if (other.timeSeries != null) {
+            if (timeSeries == null) {
+                timeSeries = new TimeSeries(other.timeSeries.intervalSeconds());
+            }
+            timeSeries.merge(other.timeSeries);
+        }
+    }
+
+    /**
+     * Устанавливает восстановленную динамику запросов.
+     *
+     * @param restored Динамика запросов.
+     */
+    void restoreTimeSeries(TimeSeries restored) {
+        this.timeSeries = restored;
+    }
+
+    /**
+     * Извлекает путь ресурса из запроса.
+     *
+     * @param request HTTP-запрос.
+     * @return Путь ресурса.
+     */
+    private String extractResourcePath(String request) {
+        if (request == null || request.isBlank()) {
+            return UNKNOWN;
+        }
+        int startIdx = request.indexOf(' ');
+        int endIdx = request.indexOf(' ', startIdx + 1);
+        return (startIdx != -1 && endIdx != -1) ? request.substring(startIdx + 1, endIdx) : request;
+    }
+
+    /**
+     * Извлекает метод из HTTP-запроса.
+     *
+     * @param request HTTP-запрос.
+     * @return Метод запроса.
+     */
+    private String extractMethod(String request) {
+        if (request == null || request.isBlank()) {
+            return UNKNOWN;
+        }
+
+        int endIdx = request.indexOf(' ');
+        return (endIdx != -1) ? request.substring(0, endIdx) : UNKNOWN;
+    }
+}
@@ -0,0 +1,244 @@
+package backend.academy.log.analyzer.statistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Компактное двоичное представление {@link StatisticsAccumulator}.
+ * Формат версионирован: после сигнатуры записывается номер версии, и данные другой версии
+ * не читаются. Числа записываются в формате переменной длины (LEB128), размеры ответов
+ * хранятся отсортированными разностями, поэтому типичная статистика занимает единицы килобайт.
+ * Динамика запросов ({@link TimeSeries}), если она собирается, записывается после основной статистики.
+ */
+public final class StatisticsCodec {
+
+    /** Сигнатура формата: "LAS" (Log Analyzer Statistics) */
+    private static final int MAGIC = 0x4C4153;
+
+    /** Текущая версия формата */
+    public static final int FORMAT_VERSION = 3;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+
+    private static final int VARINT_CONTINUATION = 0x80;
+
+    private StatisticsCodec() {
+    }
+
+    /**
+     * Записывает накопитель в двоичном формате.
+     *
+     * @param statistics накопитель
+     * @param output     приемник данных
+     * @throws IOException если произошла ошибка записи
+     */
+    public static void write(StatisticsAccumulator statistics, DataOutput output) throws IOException {
+        output.writeInt(MAGIC);
+        writeVarLong(output, FORMAT_VERSION);
+        writeVarLong(output, statistics.totalRequests());
+        writeVarLong(output, statistics.responseSizeSum());
+
+        writeStringCounts(output, statistics.resourceFrequency());
+        writeStringCounts(output, statistics.methodFrequency());
+
+        writeVarLong(output, statistics.statusFrequency().size());
+        for (Map.Entry<Integer, Long> entry : statistics.statusFrequency().entrySet()) {
+            writeVarLong(output, entry.getKey());
+            writeVarLong(output, entry.getValue());
+        }
+
+        List<Map.Entry<Long, Long>> sizes = statistics.responseSizeFrequency().entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .toList();
+        writeVarLong(output, sizes.size());
+        long previous = 0;
+        for (Map.Entry<Long, Long> entry : sizes) {
+            writeVarLong(output, entry.getKey() - previous);
+            writeVarLong(output, entry.getValue());
+            previous = entry.getKey();
+        }
+
+        writeStrings(output, statistics.uniqueIpAddresses());
+
+        TimeSeries timeSeries = statistics.timeSeries();
+        output.writeBoolean(timeSeries != null);
+        if (timeSeries != null) {
+            timeSeries.write(output);
+        }
+    }
+
+    /**
+     * Читает накопитель из двоичного формата.
+     *
+     * @param input источник данных
+     * @return восстановленный накопитель
+     * @throws IOException если данные повреждены или записаны в другой версии формата
+     */
+    public static StatisticsAccumulator read(DataInput input) throws IOException {
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a statistics file");
+        }
+        long version = readVarLong(input);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported statistics format version: " + version);
+        }
+
+        StatisticsAccumulator statistics = new StatisticsAccumulator(readVarLong(input), readVarLong(input));
+        readStringCounts(input, statistics.resourceFrequency());
+        readStringCounts(input, statistics.methodFrequency());
+
+        long statuses = readVarLong(input);
+        for (long i = 0; i < statuses; i++) {
+            statistics.statusFrequency().put((int) readVarLong(input), readVarLong(input));
+        }
+
+        long sizes = readVarLong(input);
+        long previous = 0;
+        for (long i = 0; i < sizes; i++) {
+            previous += readVarLong(input);
+            statistics.responseSizeFrequency().put(previous, readVarLong(input));
+        }
+
+        readStrings(input, statistics.uniqueIpAddresses());
+
+        if (input.readBoolean()) {
+            statistics.restoreTimeSeries(TimeSeries.read(input));
+        }
+        return statistics;
+    }
+
+    /**
+     * Записывает частотную таблицу со строковыми ключами.
+     *
+     * @param output приемник данных
+     * @param counts частотная таблица
+     * @throws IOException если произошла ошибка записи
+     */
+    private static void writeStringCounts(DataOutput output, Map<String, Long> counts) throws IOException {
+        writeVarLong(output, counts.size());
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            writeString(output, entry.getKey());
+            writeVarLong(output, entry.getValue());
+        }
+    }
+
+    /**
+     * Читает частотную таблицу со строковыми ключами.
+     *
+     * @param input  источник данных
+     * @param counts таблица, в которую добавляются прочитанные значения
+     * @throws IOException если данные повреждены
+     */
+    private static void readStringCounts(DataInput input, Map<String, Long> counts) throws IOException {
+        long size = readVarLong(input);
+        for (long i = 0; i < size; i++) {
+            counts.put(readString(input), readVarLong(input));
+        }
+    }
+
+    /**
+     * Записывает набор строк.
+     *
+     * @param output  приемник данных
+     * @param strings набор строк
+     * @throws IOException если произошла ошибка записи
+     */
+    private static void writeStrings(DataOutput output, Collection<String> strings) throws IOException {
+        writeVarLong(output, strings.size());
+        for (String value : strings) {
+            writeString(output, value);
+        }
+    }
+
+    /**
+     * Читает набор строк.
+     *
+     * @param input   источник данных
+     * @param strings коллекция, в которую добавляются прочитанные строки
+     * @throws IOException если данные повреждены
+     */
+    private static void readStrings(DataInput input, Collection<String> strings) throws IOException {
+        long size = readVarLong(input);
+        for (long i = 0; i < size; i++) {
+            strings.add(readString(input));
+        }
+    }
+
+    /**
+     * Записывает строку в UTF-8 с длиной переменного размера. Длина 0 обозначает null.
+     *
+     * @param output приемник данных
+     * @param value  строка или null
+     * @throws IOException если произошла ошибка записи
+     */
+    public static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(output, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(output, bytes.length + 1L);
+        output.write(bytes);
+    }
+
+    /**
+     * Читает строку, записанную {@link #writeString(DataOutput, String)}.
+     *
+     * @param input источник данных
+     * @return строка или null
+     * @throws IOException если данные повреждены
+     */
+    public static String readString(DataInput input) throws IOException {
+        long length = readVarLong(input);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[Math.toIntExact(length - 1)];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Записывает неотрицательное число в формате переменной длины (LEB128).
+     *
+     * @param output приемник данных
+     * @param value  число
+     * @throws IOException если произошла ошибка записи
+     */
+    public static void writeVarLong(DataOutput output, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~VARINT_PAYLOAD_MASK) != 0) {
+            output.writeByte((int) (remaining & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION);
+            remaining >>>= VARINT_PAYLOAD_BITS;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    /**
+     * Читает число, записанное {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param input источник данных
+     * @return число
+     * @throws IOException если данные повреждены
+     */
+    public static long readVarLong(DataInput input) throws IOException {
+        long result = 0;
+        int shift = 0;
+        while (shift < Long.SIZE) {
+            int current = input.readUnsignedByte();
+            result |= (long) (current & VARINT_PAYLOAD_MASK) << shift;
+            if ((current & VARINT_CONTINUATION) == 0) {
+                return result;
+            }
+            shift += VARINT_PAYLOAD_BITS;
+        }
+        throw new IOException("Malformed variable-length number");
+    }
+}
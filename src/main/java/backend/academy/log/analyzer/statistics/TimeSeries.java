@@ -0,0 +1,538 @@
+package backend.academy.log.analyzer.statistics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Динамика запросов по интервалам времени: количество запросов, ответов 4xx и 5xx, отправленных байт
+ * и гистограмма размеров ответов для 95-го процентиля в каждом интервале.
+ * Интервалы отсчитываются от начала эпохи по местному времени логов, поэтому границы часов и суток
+ * совпадают с границами в часовом поясе логов, а не UTC. Значения хранятся в массивах примитивов, индексируемых
+ * номером интервала относительно первого, без отображений на каждый интервал. Поэтому объем памяти
+ * зависит только от количества интервалов, а не от количества строк.
+ * Размеры ответов учитываются в логарифмической гистограмме (четыре корзины на каждую степень двойки),
+ * поэтому 95-й процентиль по интервалу - оценка с относительной погрешностью не более 25%.
+ * Гистограмма интервала разреженная: хранятся только непустые корзины, которых в интервале обычно единицы.
+ */
+public class TimeSeries {
+
+    /** Максимальное количество интервалов, чтобы ошибочные даты в логах не исчерпали память */
+    public static final int MAX_BUCKETS = 50_000;
+
+    private static final int SUB_BIN_BITS = 2;
+
+    /** Количество корзин гистограммы на каждую степень двойки */
+    private static final int SUB_BINS = 1 << SUB_BIN_BITS;
+
+    /** Количество корзин гистограммы размеров ответов в одном интервале */
+    static final int SIZE_BINS = (Long.SIZE - 2) * SUB_BINS;
+
+    /** Количество младших бит, занятых счетчиком в упакованной корзине разреженной гистограммы */
+    private static final int COUNT_BITS = 56;
+
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private static final long[] EMPTY_HISTOGRAM = new long[0];
+
+    private static final int PERCENTILE = 95;
+
+    private static final int PERCENTILE_SCALE = 100;
+
+    private static final int CLIENT_ERROR_MIN = 400;
+
+    private static final int SERVER_ERROR_MIN = 500;
+
+    private static final int SERVER_ERROR_MAX = 600;
+
+    private static final Pattern INTERVAL_PATTERN = Pattern.compile("(\\d+)([smhd])");
+
+    private static final String INVALID_INTERVAL = "Invalid time series interval: ";
+
+    private static final String MALFORMED = "Malformed time series";
+
+    private static final long SECONDS_PER_MINUTE = 60;
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    /** Длина интервала в секундах */
+    private long intervalSeconds;
+
+    /** Смещение часового пояса логов, в котором выводится начало интервалов */
+    private int zoneOffsetSeconds;
+
+    /** Номер первого интервала от начала эпохи */
+    private long firstBucket;
+
+    /** Количество интервалов от первого до последнего включительно */
+    private int bucketCount;
+
+    /** Количество запросов по интервалам */
+    private long[] requests = new long[0];
+
+    /** Количество ответов 4xx по интервалам */
+    private long[] clientErrors = new long[0];
+
+    /** Количество ответов 5xx по интервалам */
+    private long[] serverErrors = new long[0];
+
+    /** Сумма размеров ответов по интервалам */
+    private long[] bytesSent = new long[0];
+
+    /**
+     * Разреженные гистограммы размеров ответов по интервалам: непустые корзины в порядке возрастания номера,
+     * номер корзины упакован в старшие биты, а количество - в младшие {@link #COUNT_BITS} бит
+     */
+    private long[][] sizeHistograms = new long[0][];
+
+    /**
+     * Создает пустую динамику с заданной длиной интервала.
+     *
+     * @param intervalSeconds длина интервала в секундах
+     */
+    public TimeSeries(long intervalSeconds) {
+        if (intervalSeconds <= 0) {
+            throw new IllegalArgumentException("The time series interval must be positive");
+        }
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    /**
+     * Создает пустую динамику для восстановления сохраненного состояния.
+     */
+    private TimeSeries() {
+    }
+
+    /**
+     * Разбирает длину интервала вида {@code 30s}, {@code 5m}, {@code 1h} или {@code 1d}.
+     *
+     * @param interval длина интервала
+     * @return длина интервала в секундах
+     * @throws IllegalArgumentException если длина интервала задана неверно
+     */
+    public static long parseInterval(String interval) {
+        Matcher matcher = INTERVAL_PATTERN.matcher(interval);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(INVALID_INTERVAL + interval);
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        long seconds = switch (matcher.group(2)) {
+            case "s" -> amount;
+            case "m" -> amount * SECONDS_PER_MINUTE;
+            case "h" -> amount * SECONDS_PER_HOUR;
+            default -> amount * SECONDS_PER_DAY;
+        };
+        if (seconds <= 0) {
+            throw new IllegalArgumentException(INVALID_INTERVAL + interval);
+        }
+        return seconds;
+    }
+
+    /**
+     * Форматирует длину интервала в наиболее крупных целых единицах.
+     *
+     * @param intervalSeconds длина интервала в секундах
+     * @return длина интервала, например {@code 5m}
+     */
+    public static String formatInterval(long intervalSeconds) {
+        if (intervalSeconds % SECONDS_PER_DAY == 0) {
+            return intervalSeconds / SECONDS_PER_DAY + "d";
+        }
+        if (intervalSeconds % SECONDS_PER_HOUR == 0) {
+            return intervalSeconds / SECONDS_PER_HOUR + "h";
+        }
+        if (intervalSeconds % SECONDS_PER_MINUTE == 0) {
+            return intervalSeconds / SECONDS_PER_MINUTE + "m";
+        }
+        return intervalSeconds + "s";
+    }
+
+    /**
+     * Учитывает один запрос.
+     *
+     * @param time   время запроса
+     * @param status код ответа
+     * @param size   размер ответа
+     */
+    public void add(ZonedDateTime time, int status, long size) {
+        if (bucketCount == 0) {
+            zoneOffsetSeconds = time.getOffset().getTotalSeconds();
+        }
+        int index = indexOf(Math.floorDiv(time.toEpochSecond() + zoneOffsetSeconds, intervalSeconds));
+        requests[index]++;
+        if (status >= CLIENT_ERROR_MIN && status < SERVER_ERROR_MIN) {
+            clientErrors[index]++;
+        } else if (status >= SERVER_ERROR_MIN && status < SERVER_ERROR_MAX) {
+            serverErrors[index]++;
+        }
+        bytesSent[index] += size;
+        addToHistogram(index, sizeBin(size), 1);
+    }
+
+    /**
+     * Добавляет к текущей динамике данные другой динамики с той же длиной интервала.
+     * Если часовые пояса динамик различаются, интервалы другой динамики переносятся в интервалы текущей,
+     * содержащие их начало.
+     *
+     * @param other динамика, данные которой нужно добавить
+     * @throws IllegalArgumentException если длины интервалов различаются
+     */
+    public void merge(TimeSeries other) {
+        if (other.intervalSeconds != intervalSeconds) {
+            throw new IllegalArgumentException("Time series with different intervals cannot be merged: "
+                + formatInterval(intervalSeconds) + " and " + formatInterval(other.intervalSeconds));
+        }
+        if (other.bucketCount == 0) {
+            return;
+        }
+        if (bucketCount == 0) {
+            zoneOffsetSeconds = other.zoneOffsetSeconds;
+        }
+
+        long otherFirstBucket = other.firstBucket
+            + Math.floorDiv((long) zoneOffsetSeconds - other.zoneOffsetSeconds, intervalSeconds);
+        indexOf(otherFirstBucket);
+        int offset = indexOf(otherFirstBucket + other.bucketCount - 1) - (other.bucketCount - 1);
+        for (int i = 0; i < other.bucketCount; i++) {
+            requests[offset + i] += other.requests[i];
+            clientErrors[offset + i] += other.clientErrors[i];
+            serverErrors[offset + i] += other.serverErrors[i];
+            bytesSent[offset + i] += other.bytesSent[i];
+            for (long packed : other.histogram(i)) {
+                addToHistogram(offset + i, binOf(packed), countOf(packed));
+            }
+        }
+    }
+
+    /**
+     * Возвращает длину интервала.
+     *
+     * @return длина интервала в секундах
+     */
+    public long intervalSeconds() {
+        return intervalSeconds;
+    }
+
+    /**
+     * Возвращает количество интервалов от первого до последнего, включая интервалы без запросов.
+     *
+     * @return количество интервалов
+     */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Возвращает начало интервала в часовом поясе логов.
+     *
+     * @param index номер интервала от первого
+     * @return начало интервала
+     */
+    public OffsetDateTime bucketStart(int index) {
+        return Instant.ofEpochSecond((firstBucket + index) * intervalSeconds - zoneOffsetSeconds)
+            .atOffset(ZoneOffset.ofTotalSeconds(zoneOffsetSeconds));
+    }
+
+    /**
+     * Возвращает количество запросов в интервале.
+     *
+     * @param index номер интервала от первого
+     * @return количество запросов
+     */
+    public long requests(int index) {
+        return requests[index];
+    }
+
+    /**
+     * Возвращает количество ответов 4xx в интервале.
+     *
+     * @param index номер интервала от первого
+     * @return количество ответов 4xx
+     */
+    public long clientErrors(int index) {
+        return clientErrors[index];
+    }
+
+    /**
+     * Возвращает количество ответов 5xx в интервале.
+     *
+     * @param index номер интервала от первого
+     * @return количество ответов 5xx
+     */
+    public long serverErrors(int index) {
+        return serverErrors[index];
+    }
+
+    /**
+     * Возвращает сумму размеров ответов в интервале.
+     *
+     * @param index номер интервала от первого
+     * @return сумма размеров ответов
+     */
+    public long bytesSent(int index) {
+        return bytesSent[index];
+    }
+
+    /**
+     * Оценивает 95-й процентиль размера ответа в интервале по гистограмме:
+     * внутри корзины значение интерполируется по рангу.
+     *
+     * @param index номер интервала от первого
+     * @return оценка 95-го процентиля или 0, если в интервале нет запросов
+     */
+    public long percentile95ResponseSize(int index) {
+        long count = requests[index];
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (count * PERCENTILE + PERCENTILE_SCALE - 1) / PERCENTILE_SCALE;
+        long seen = 0;
+        for (long packed : histogram(index)) {
+            int bin = binOf(packed);
+            long binCount = countOf(packed);
+            if (seen + binCount >= rank) {
+                long lower = binLowerBound(bin);
+                long width = binUpperBound(bin) - lower;
+                return lower + Math.round(width * ((double) (rank - seen) / binCount));
+            }
+            seen += binCount;
+        }
+        return binUpperBound(SIZE_BINS - 1);
+    }
+
+    /**
+     * Записывает динамику в двоичном формате: ненулевые корзины гистограмм записываются парами
+     * "номер корзины - количество".
+     *
+     * @param output приемник данных
+     * @throws IOException если произошла ошибка записи
+     */
+    void write(DataOutput output) throws IOException {
+        StatisticsCodec.writeVarLong(output, intervalSeconds);
+        output.writeInt(zoneOffsetSeconds);
+        output.writeLong(firstBucket);
+        StatisticsCodec.writeVarLong(output, bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            StatisticsCodec.writeVarLong(output, requests[i]);
+            StatisticsCodec.writeVarLong(output, clientErrors[i]);
+            StatisticsCodec.writeVarLong(output, serverErrors[i]);
+            StatisticsCodec.writeVarLong(output, bytesSent[i]);
+
+            long[] histogram = histogram(i);
+            StatisticsCodec.writeVarLong(output, histogram.length);
+            for (long packed : histogram) {
+                StatisticsCodec.writeVarLong(output, binOf(packed));
+                StatisticsCodec.writeVarLong(output, countOf(packed));
+            }
+        }
+    }
+
+    /**
+     * Читает динамику, записанную {@link #write(DataOutput)}.
+     *
+     * @param input источник данных
+     * @return динамика
+     * @throws IOException если данные повреждены
+     */
+    static TimeSeries read(DataInput input) throws IOException {
+        TimeSeries timeSeries = new TimeSeries();
+        timeSeries.intervalSeconds = StatisticsCodec.readVarLong(input);
+        timeSeries.zoneOffsetSeconds = input.readInt();
+        timeSeries.firstBucket = input.readLong();
+        long bucketCount = StatisticsCodec.readVarLong(input);
+        if (timeSeries.intervalSeconds <= 0 || bucketCount > MAX_BUCKETS) {
+            throw new IOException(MALFORMED);
+        }
+
+        timeSeries.resize(timeSeries.firstBucket, (int) bucketCount);
+        timeSeries.bucketCount = (int) bucketCount;
+        for (int i = 0; i < bucketCount; i++) {
+            timeSeries.requests[i] = StatisticsCodec.readVarLong(input);
+            timeSeries.clientErrors[i] = StatisticsCodec.readVarLong(input);
+            timeSeries.serverErrors[i] = StatisticsCodec.readVarLong(input);
+            timeSeries.bytesSent[i] = StatisticsCodec.readVarLong(input);
+
+            long nonEmptyBins = StatisticsCodec.readVarLong(input);
+            for (long j = 0; j < nonEmptyBins; j++) {
+                long bin = StatisticsCodec.readVarLong(input);
+                long count = StatisticsCodec.readVarLong(input);
+                if (bin < 0 || bin >= SIZE_BINS || count <= 0 || count > COUNT_MASK) {
+                    throw new IOException(MALFORMED);
+                }
+                timeSeries.addToHistogram(i, (int) bin, count);
+            }
+        }
+        return timeSeries;
+    }
+
+    /**
+     * Возвращает позицию интервала в массивах, при необходимости расширяя их так,
+     * чтобы они покрывали все интервалы от первого до последнего.
+     *
+     * @param bucket номер интервала от начала эпохи
+     * @return позиция интервала в массивах
+     * @throws IllegalArgumentException если интервалов стало больше {@link #MAX_BUCKETS}
+     */
+    private int indexOf(long bucket) {
+        if (bucketCount == 0) {
+            firstBucket = bucket;
+        }
+        long start = Math.min(firstBucket, bucket);
+        long end = Math.max(firstBucket + Math.max(bucketCount, 1), bucket + 1);
+        long span = end - start;
+        if (span > MAX_BUCKETS) {
+            throw new IllegalArgumentException("The time series spans more than " + MAX_BUCKETS
+                + " intervals of " + formatInterval(intervalSeconds) + ", use a longer interval or narrow the dates");
+        }
+        if (start < firstBucket || span > requests.length) {
+            resize(start, (int) span);
+        }
+        bucketCount = (int) span;
+        return (int) (bucket - firstBucket);
+    }
+
+    /**
+     * Переносит данные в массивы, начинающиеся с заданного интервала; емкость увеличивается не менее чем вдвое.
+     *
+     * @param newFirstBucket номер нового первого интервала (не больше текущего)
+     * @param minLength      минимальное количество интервалов в массивах
+     */
+    private void resize(long newFirstBucket, int minLength) {
+        int capacity = (int) Math.min(Math.max(minLength, 2L * requests.length), MAX_BUCKETS);
+        int shift = (int) (firstBucket - newFirstBucket);
+        requests = shifted(requests, new long[capacity], shift);
+        clientErrors = shifted(clientErrors, new long[capacity], shift);
+        serverErrors = shifted(serverErrors, new long[capacity], shift);
+        bytesSent = shifted(bytesSent, new long[capacity], shift);
+        sizeHistograms = shifted(sizeHistograms, new long[capacity][], shift);
+        firstBucket = newFirstBucket;
+    }
+
+    /**
+     * Копирует значения используемых интервалов в новый массив со сдвигом.
+     *
+     * @param values массив значений
+     * @param result новый массив
+     * @param shift  сдвиг в интервалах
+     * @param <T>    тип массива
+     * @return новый массив
+     */
+    private <T> T shifted(T values, T result, int shift) {
+        System.arraycopy(values, 0, result, shift, bucketCount);
+        return result;
+    }
+
+    /**
+     * Возвращает непустые корзины гистограммы размеров ответов интервала.
+     *
+     * @param index позиция интервала в массивах
+     * @return упакованные корзины в порядке возрастания номера
+     */
+    private long[] histogram(int index) {
+        long[] histogram = sizeHistograms[index];
+        return histogram != null ? histogram : EMPTY_HISTOGRAM;
+    }
+
+    /**
+     * Увеличивает количество в корзине гистограммы интервала, при необходимости добавляя корзину.
+     *
+     * @param index позиция интервала в массивах
+     * @param bin   номер корзины
+     * @param count добавляемое количество
+     */
+    private void addToHistogram(int index, int bin, long count) {
+        long[] histogram = histogram(index);
+        int low = 0;
+        int high = histogram.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleBin = binOf(histogram[middle]);
+            if (middleBin == bin) {
+                histogram[middle] += count;
+                return;
+            }
+            if (middleBin < bin) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        long[] result = new long[histogram.length + 1];
+        System.arraycopy(histogram, 0, result, 0, low);
+        result[low] = ((long) bin << COUNT_BITS) | count;
+        System.arraycopy(histogram, low, result, low + 1, histogram.length - low);
+        sizeHistograms[index] = result;
+    }
+
+    /**
+     * Возвращает номер упакованной корзины.
+     *
+     * @param packed упакованная корзина
+     * @return номер корзины
+     */
+    private static int binOf(long packed) {
+        return (int) (packed >>> COUNT_BITS);
+    }
+
+    /**
+     * Возвращает количество в упакованной корзине.
+     *
+     * @param packed упакованная корзина
+     * @return количество
+     */
+    private static long countOf(long packed) {
+        return packed & COUNT_MASK;
+    }
+
+    /**
+     * Возвращает корзину гистограммы для размера ответа: размеры меньше 4 попадают в собственные корзины,
+     * остальные - в одну из четырех корзин своей степени двойки.
+     *
+     * @param size размер ответа
+     * @return номер корзины
+     */
+    static int sizeBin(long size) {
+        if (size < SUB_BINS) {
+            return (int) Math.max(size, 0);
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(size);
+        int subBin = (int) (size >>> (exponent - SUB_BIN_BITS)) & (SUB_BINS - 1);
+        return (exponent - 1) * SUB_BINS + subBin;
+    }
+
+    /**
+     * Возвращает наименьший размер ответа, попадающий в корзину.
+     *
+     * @param bin номер корзины
+     * @return нижняя граница корзины
+     */
+    static long binLowerBound(int bin) {
+        if (bin < SUB_BINS) {
+            return bin;
+        }
+        int exponent = bin / SUB_BINS + 1;
+        return (long) (SUB_BINS + bin % SUB_BINS) << (exponent - SUB_BIN_BITS);
+    }
+
+    /**
+     * Возвращает наибольший размер ответа, попадающий в корзину.
+     *
+     * @param bin номер корзины
+     * @return верхняя граница корзины
+     */
+    static long binUpperBound(int bin) {
+        if (bin < SUB_BINS) {
+            return bin;
+        }
+        int exponent = bin / SUB_BINS + 1;
+        return binLowerBound(bin) + (1L << (exponent - SUB_BIN_BITS)) - 1;
+    }
+}
@@ -0,0 +1,49 @@
+package backend.academy.log.analyzer.statistics;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Значения динамики запросов за один интервал времени.
+ *
+ * @param start                    Начало интервала в часовом поясе логов
+ * @param requests                 Количество запросов
+ * @param clientErrors             Количество ответов 4xx
+ * @param serverErrors             Количество ответов 5xx
+ * @param bytesSent                Сумма размеров ответов
+ * @param percentile95ResponseSize Оценка 95-го процентиля размера ответа
+ */
+public record TimeSeriesPoint(
+
+    OffsetDateTime start,
+
+    long requests,
+
+    long clientErrors,
+
+    long serverErrors,
+
+    long bytesSent,
+
+    long percentile95ResponseSize
+) {
+
+    private static final double PERCENT = 100.0;
+
+    /**
+     * Возвращает долю ответов 4xx.
+     *
+     * @return доля ответов 4xx в процентах или 0, если в интервале нет запросов
+     */
+    public double clientErrorRate() {
+        return requests > 0 ? clientErrors * PERCENT / requests : 0;
+    }
+
+    /**
+     * Возвращает долю ответов 5xx.
+     *
+     * @return доля ответов 5xx в процентах или 0, если в интервале нет запросов
+     */
+    public double serverErrorRate() {
+        return requests > 0 ? serverErrors * PERCENT / requests : 0;
+    }
+}
@@ -0,0 +1,58 @@
+package backend.academy.log.analyzer.cache;
+
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты StatisticsCache")
+public class StatisticsCacheTest {
+
+    private static final String QUERY = "null|null|null|null";
+
+    @TempDir
+    private Path tempDir;
+
+    private final StatisticsCache cache = new StatisticsCache();
+
+    @Test
+    @DisplayName("Статистика по неизменившемуся файлу берется из кэша")
+    public void shouldReturnStoredStatistics() throws IOException {
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), "line\n");
+        Path cacheDir = tempDir.resolve("cache");
+
+        String key = cache.keyOf(logFile, QUERY);
+        cache.store(cacheDir, key, new StatisticsAccumulator());
+
+        assertThat(cache.load(cacheDir, cache.keyOf(logFile, QUERY))).isPresent();
+    }
+
+    @Test
+    @DisplayName("Изменение файла или запроса делает запись кэша неприменимой")
+    public void shouldMissWhenFileOrQueryChanges() throws IOException {
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), "line\n");
+        Path cacheDir = tempDir.resolve("cache");
+        cache.store(cacheDir, cache.keyOf(logFile, QUERY), new StatisticsAccumulator());
+
+        assertThat(cache.load(cacheDir, cache.keyOf(logFile, "2024-01-01|null|null|null"))).isEmpty();
+
+        Files.writeString(logFile, "another line\n", StandardOpenOption.APPEND);
+        assertThat(cache.load(cacheDir, cache.keyOf(logFile, QUERY))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Поврежденная запись кэша считается отсутствующей")
+    public void shouldIgnoreDamagedEntry() throws IOException {
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), "line\n");
+        Path cacheDir = Files.createDirectories(tempDir.resolve("cache"));
+        String key = cache.keyOf(logFile, QUERY);
+        Files.writeString(cacheDir.resolve(key + ".stats"), "damaged");
+
+        assertThat(cache.load(cacheDir, key)).isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package backend.academy.log.analyzer.entry;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Записи логов для тестов. Время записей фиксировано, чтобы результаты тестов не зависели от момента запуска.
+ */
+@UtilityClass
+public class LogEntryFixtures {
+
+    /** Время всех записей */
+    public static final ZonedDateTime TIME = ZonedDateTime.of(2024, 8, 31, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    /**
+     * Создает запись с заданным адресом клиента, запросом, кодом и размером ответа.
+     *
+     * @param remoteAddr    адрес клиента
+     * @param request       строка запроса
+     * @param status        код ответа
+     * @param bodyBytesSent размер ответа
+     * @return запись лога
+     */
+    public static LogEntry entry(String remoteAddr, String request, int status, long bodyBytesSent) {
+        return new LogEntry(remoteAddr, null, TIME, request, status, bodyBytesSent, null, null);
+    }
+
+    /**
+     * Создает запись клиента curl с заданным запросом, кодом и размером ответа.
+     *
+     * @param request       строка запроса
+     * @param status        код ответа
+     * @param bodyBytesSent размер ответа
+     * @return запись лога
+     */
+    public static LogEntry entry(String request, int status, long bodyBytesSent) {
+        return new LogEntry("192.168.1.1", "-", TIME, request, status, bodyBytesSent, "-", "curl/8.0");
+    }
+}
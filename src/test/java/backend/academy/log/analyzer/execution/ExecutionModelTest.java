@@ -0,0 +1,97 @@
+package backend.academy.log.analyzer.execution;
+
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты ExecutionModel")
+public class ExecutionModelTest {
+
+    private static final String LINE_TEMPLATE =
+        "10.0.0.%d - - [17/May/2015:08:05:32 +0000] \"GET /r%d HTTP/1.1\" %d %d \"-\" \"Agent\"";
+
+    private final ExecutionModelFactory factory = new ExecutionModelFactory(new PipelineMetrics());
+
+    private final LogParser parser = new LogParser();
+
+    @Test
+    @DisplayName("Параллельная модель возвращает результаты задач в порядке задач")
+    public void shouldReturnResultsInTaskOrder() throws Exception {
+        try (ExecutionModel model = factory.create("concurrent", 2)) {
+            List<Callable<Integer>> tasks = IntStream.range(0, 100)
+                .<Callable<Integer>>mapToObj(i -> () -> {
+                    TimeUnit.MILLISECONDS.sleep(100 - i);
+                    return i;
+                })
+                .toList();
+
+            assertThat(model.invokeAll(tasks)).containsExactlyElementsOf(IntStream.range(0, 100).boxed().toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Ошибка одной задачи отменяет остальные задачи")
+    public void shouldCancelTasksOnFailure() {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        List<Callable<Integer>> tasks = List.of(
+            () -> {
+                started.countDown();
+                try {
+                    TimeUnit.MINUTES.sleep(1);
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                    throw e;
+                }
+                return 1;
+            },
+            () -> {
+                started.await();
+                throw new IOException("broken file");
+            }
+        );
+
+        try (ExecutionModel model = factory.create("concurrent", 2)) {
+            assertThatThrownBy(() -> model.invokeAll(tasks))
+                .isInstanceOf(IOException.class)
+                .hasMessage("broken file");
+        }
+        assertThat(interrupted).isTrue();
+    }
+
+    @Test
+    @DisplayName("Параллельная и последовательная модели собирают одинаковую статистику")
+    public void shouldAggregateSameStatistics() throws Exception {
+        List<String> lines = IntStream.range(0, 10_000)
+            .mapToObj(i -> String.format(LINE_TEMPLATE, i % 250, i % 17, i % 3 == 0 ? 404 : 200, i % 1000))
+            .toList();
+
+        StatisticsAccumulator sequential;
+        try (ExecutionModel model = factory.create("sequential", 0)) {
+            sequential = model.aggregate(lines.stream().map(parser::parse).filter(Objects::nonNull));
+        }
+        StatisticsAccumulator concurrent;
+        try (ExecutionModel model = factory.create("concurrent", 4)) {
+            concurrent = model.aggregate(lines.stream().map(parser::parse).filter(Objects::nonNull));
+        }
+
+        assertThat(concurrent.totalRequests()).isEqualTo(sequential.totalRequests()).isEqualTo(10_000);
+        assertThat(concurrent.responseSizeSum()).isEqualTo(sequential.responseSizeSum());
+        assertThat(concurrent.resourceFrequency()).isEqualTo(sequential.resourceFrequency());
+        assertThat(concurrent.statusFrequency()).isEqualTo(sequential.statusFrequency());
+        assertThat(concurrent.responseSizeFrequency()).isEqualTo(sequential.responseSizeFrequency());
+        assertThat(concurrent.uniqueIpAddresses()).isEqualTo(sequential.uniqueIpAddresses());
+    }
+}
@@ -0,0 +1,158 @@
+package backend.academy.log.analyzer.follow;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты IncrementalLogProcessor")
+public class IncrementalLogProcessorTest {
+
+    private static final String FIRST_LINE =
+        "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /a HTTP/1.1\" 200 100 \"-\" \"Agent\"\n";
+
+    private static final String SECOND_LINE =
+        "93.180.71.4 - - [17/May/2015:08:05:33 +0000] \"POST /b HTTP/1.1\" 404 300 \"-\" \"Agent\"\n";
+
+    private static final String QUERY = "null|null|null|null";
+
+    @TempDir
+    private Path tempDir;
+
+    private final IncrementalLogProcessor processor = new IncrementalLogProcessor(new FollowStateStore());
+
+    private final LogParser parser = new LogParser();
+
+    private final AtomicInteger parsedLines = new AtomicInteger();
+
+    private Path logFile;
+
+    private Path stateFile;
+
+    @BeforeEach
+    public void setUp() {
+        logFile = tempDir.resolve("access.log");
+        stateFile = tempDir.resolve("state.json");
+    }
+
+    @Test
+    @DisplayName("Повторный запуск читает только новые строки и сохраняет статистику")
+    public void shouldReadOnlyAppendedLines() throws IOException {
+        Files.writeString(logFile, FIRST_LINE);
+        StatisticsAccumulator first = process();
+        assertThat(first.totalRequests()).isEqualTo(1);
+
+        Files.writeString(logFile, SECOND_LINE, StandardOpenOption.APPEND);
+        parsedLines.set(0);
+        StatisticsAccumulator second = process();
+
+        assertThat(parsedLines.get()).isEqualTo(1);
+        assertThat(second.totalRequests()).isEqualTo(2);
+        assertThat(second.statusFrequency()).containsEntry(200, 1L).containsEntry(404, 1L);
+        assertThat(second.responseSizeSum()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Незавершенная строка дочитывается при следующем запуске")
+    public void shouldWaitForIncompleteLine() throws IOException {
+        Files.writeString(logFile, FIRST_LINE + SECOND_LINE.substring(0, 20));
+        assertThat(process().totalRequests()).isEqualTo(1);
+
+        Files.writeString(logFile, SECOND_LINE.substring(20), StandardOpenOption.APPEND);
+        assertThat(process().totalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Усеченный файл читается с начала")
+    public void shouldRestartAfterTruncation() throws IOException {
+        Files.writeString(logFile, FIRST_LINE + SECOND_LINE);
+        assertThat(process().totalRequests()).isEqualTo(2);
+
+        Files.writeString(logFile, SECOND_LINE);
+        StatisticsAccumulator statistics = process();
+
+        assertThat(statistics.totalRequests()).isEqualTo(1);
+        assertThat(statistics.statusFrequency()).containsOnlyKeys(404);
+    }
+
+    @Test
+    @DisplayName("Переименованный при ротации файл продолжает читаться с сохраненной позиции")
+    public void shouldFollowRotatedFile() throws IOException {
+        Files.writeString(logFile, FIRST_LINE);
+        process();
+
+        Path rotated = tempDir.resolve("access.log.1");
+        Files.move(logFile, rotated);
+        Files.writeString(logFile, SECOND_LINE);
+        parsedLines.set(0);
+
+        StatisticsAccumulator statistics = process(List.of(rotated, logFile), QUERY);
+
+        assertThat(parsedLines.get()).isEqualTo(1);
+        assertThat(statistics.totalRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Изменение параметров запроса сбрасывает состояние")
+    public void shouldResetStateWhenQueryChanges() throws IOException {
+        Files.writeString(logFile, FIRST_LINE + SECOND_LINE);
+        process();
+        parsedLines.set(0);
+
+        process(List.of(logFile), "2015-05-17|null|null|null");
+
+        assertThat(parsedLines.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Файл состояния хранит только контрольные точки, статистика сохраняется отдельно")
+    public void shouldKeepStatisticsOutOfStateFile() throws IOException {
+        Files.writeString(logFile, FIRST_LINE + SECOND_LINE);
+        process();
+
+        assertThat(Files.readString(stateFile)).contains("\"offset\"").doesNotContain("93.180.71.3");
+        assertThat(tempDir.resolve("state.json.stats")).isRegularFile();
+    }
+
+    @Test
+    @DisplayName("Без сохраненной статистики файл читается с начала")
+    public void shouldRestartWithoutSavedStatistics() throws IOException {
+        Files.writeString(logFile, FIRST_LINE);
+        process();
+        Files.delete(tempDir.resolve("state.json.stats"));
+
+        Files.writeString(logFile, SECOND_LINE, StandardOpenOption.APPEND);
+        parsedLines.set(0);
+
+        assertThat(process().totalRequests()).isEqualTo(2);
+        assertThat(parsedLines.get()).isEqualTo(2);
+    }
+
+    private StatisticsAccumulator process() throws IOException {
+        return process(List.of(logFile), QUERY);
+    }
+
+    private StatisticsAccumulator process(List<Path> files, String query) throws IOException {
+        return processor.process(files, stateFile, query, file -> pipeline(), StatisticsAccumulator::new);
+    }
+
+    private Function<Stream<CharSequence>, Stream<LogEntry>> pipeline() {
+        return lines -> lines
+            .peek(line -> parsedLines.incrementAndGet())
+            .map(parser::parse)
+            .filter(Objects::nonNull);
+    }
+}
@@ -0,0 +1,83 @@
+package backend.academy.log.analyzer.generator;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.LogParser;
+import backend.academy.log.analyzer.reader.impl.FileLogReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты LogGenerator")
+public class LogGeneratorTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final LogGenerator generator = new LogGenerator();
+
+    private final LogParser parser = new LogParser();
+
+    @Test
+    @DisplayName("Все сгенерированные строки разбираются парсером")
+    public void shouldGenerateParsableLines() throws IOException {
+        GeneratorSettings settings = GeneratorSettings.defaults()
+            .lines(5_000)
+            .distinctIps(100)
+            .distinctPaths(20)
+            .statusWeights(Map.of(200, 9.0, 503, 1.0))
+            .maxDisorder(Duration.ZERO)
+            .build();
+
+        List<LogEntry> entries = generate(settings).lines().map(parser::parse).toList();
+
+        assertThat(entries).hasSize(5_000).doesNotContainNull();
+        assertThat(entries.stream().map(LogEntry::remoteAddr).distinct().count()).isLessThanOrEqualTo(100);
+        assertThat(entries.stream().map(LogEntry::status).distinct()).containsOnly(200, 503);
+        assertThat(entries).isSortedAccordingTo((a, b) -> a.timeLocal().compareTo(b.timeLocal()));
+    }
+
+    @Test
+    @DisplayName("Одинаковое начальное значение дает одинаковый лог")
+    public void shouldBeReproducible() throws IOException {
+        GeneratorSettings settings = GeneratorSettings.defaults().lines(1_000).build();
+
+        assertThat(generate(settings)).isEqualTo(generate(settings));
+        assertThat(generate(settings.toBuilder().seed(2).build())).isNotEqualTo(generate(settings));
+    }
+
+    @Test
+    @DisplayName("Генерация по размеру и сжатый лог читаются FileLogReader")
+    public void shouldWriteCompressedLogOfRequestedSize() throws IOException {
+        Path output = tempDir.resolve("access.log.gz");
+        GeneratorSettings settings = GeneratorSettings.defaults()
+            .lines(0)
+            .targetBytes(GeneratorArguments.parseSize("1M"))
+            .gzip(true)
+            .build();
+
+        long lines = generator.generate(settings, output);
+
+        assertThat(Files.size(output)).isLessThan(1024 * 1024);
+        FileLogReader reader = new FileLogReader();
+        try (Stream<String> logLines = reader.readLogs(output.toString())) {
+            assertThat(logLines.map(parser::parse).filter(Objects::nonNull).count()).isEqualTo(lines);
+        }
+        assertThat(reader.getFileNames()).containsExactly("access.log.gz");
+    }
+
+    private String generate(GeneratorSettings settings) throws IOException {
+        StringWriter writer = new StringWriter();
+        generator.generate(settings, writer);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.metrics.ParseErrorMonitor;
+import backend.academy.log.analyzer.metrics.PipelineMetrics;
+import backend.academy.log.analyzer.parser.LogParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты OffsetIndex")
+public class OffsetIndexTest {
+
+    private static final String LINE_TEMPLATE =
+        "93.180.71.3 - - [%s +0000] \"GET /a HTTP/1.1\" %d 100 \"-\" \"Agent\"\n";
+
+    @TempDir
+    private Path tempDir;
+
+    private final LogParser parser = new LogParser();
+
+    private final IndexStore indexStore = new IndexStore();
+
+    private final PipelineMetrics pipelineMetrics = new PipelineMetrics();
+
+    private final FileIndexer fileIndexer =
+        new FileIndexer(indexStore, pipelineMetrics, new ParseErrorMonitor(pipelineMetrics));
+
+    @Test
+    @DisplayName("Диапазон байт включает все записи из диапазона дат")
+    public void shouldReturnByteRangeForDates() throws IOException {
+        String first = line("30/May/2015:23:59:00", 200);
+        String second = line("31/May/2015:10:00:00", 404);
+        String third = line("01/Jun/2015:00:00:00", 500);
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), first + second + third);
+        Path indexDir = tempDir.resolve("index");
+
+        List<Integer> statuses = new ArrayList<>();
+        fileIndexer.index(logFile, indexDir, parser, entry -> statuses.add(entry.status()));
+        assertThat(statuses).containsExactly(200, 404, 500);
+
+        Optional<OffsetIndex> loaded = indexStore.loadOffsets(indexDir, logFile);
+        assertThat(loaded).isPresent();
+
+        OffsetIndex.ByteRange range = loaded.get().range(LocalDate.of(2015, 5, 31), LocalDate.of(2015, 5, 31));
+        assertThat(range.start()).isEqualTo(first.length());
+        assertThat(range.end()).isEqualTo(first.length() + second.length());
+
+        OffsetIndex.ByteRange empty = loaded.get().range(LocalDate.of(2015, 6, 2), null);
+        assertThat(empty.start()).isEqualTo(empty.end());
+        assertThat(loaded.get().range(null, null).end()).isEqualTo(Files.size(logFile));
+    }
+
+    @Test
+    @DisplayName("Записи с небольшим беспорядком во времени не теряются")
+    public void shouldKeepOutOfOrderEntries() {
+        OffsetIndex index = new OffsetIndex();
+        index.add(0, parser.parse(line("31/May/2015:10:00:30", 200)));
+        index.add(100, parser.parse(line("31/May/2015:10:01:00", 200)));
+        index.add(200, parser.parse(line("30/May/2015:23:59:59", 404)));
+        index.finish(300);
+
+        OffsetIndex.ByteRange range = index.range(LocalDate.of(2015, 5, 30), LocalDate.of(2015, 5, 30));
+        assertThat(range.start()).isZero();
+        assertThat(range.end()).isEqualTo(300);
+        assertThat(index.segments()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Индекс позиций становится неактуальным после изменения файла")
+    public void shouldInvalidateIndexWhenFileChanges() throws IOException {
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), line("31/May/2015:10:00:00", 200));
+        Path indexDir = tempDir.resolve("index");
+        fileIndexer.index(logFile, indexDir, parser, entry -> {
+        });
+
+        Files.writeString(logFile, line("31/May/2015:10:00:00", 200) + line("31/May/2015:11:00:00", 200));
+
+        assertThat(indexStore.loadOffsets(indexDir, logFile)).isEmpty();
+    }
+
+    private String line(String time, int status) {
+        return String.format(LINE_TEMPLATE, time, status);
+    }
+}
@@ -0,0 +1,73 @@
+package backend.academy.log.analyzer.index;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты RollupIndex")
+public class RollupIndexTest {
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter
+        .ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+    @TempDir
+    private Path tempDir;
+
+    private RollupIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new RollupIndex();
+        index.add(entry("31/May/2015:23:59:59 +0300", 200));
+        index.add(entry("01/Jun/2015:00:00:00 +0300", 200));
+        index.add(entry("01/Jun/2015:13:30:00 +0300", 404));
+        index.add(entry("02/Jun/2015:08:00:00 +0300", 500));
+    }
+
+    @Test
+    @DisplayName("Запрос по диапазону дат объединяет только входящие в него интервалы")
+    public void shouldMergeBucketsWithinRange() {
+        assertThat(index.query(LocalDate.of(2015, 6, 1), LocalDate.of(2015, 6, 1)).totalRequests()).isEqualTo(2);
+        assertThat(index.query(LocalDate.of(2015, 6, 1), null).totalRequests()).isEqualTo(3);
+        assertThat(index.query(null, LocalDate.of(2015, 5, 31)).totalRequests()).isEqualTo(1);
+        assertThat(index.query(null, null).statusFrequency())
+            .containsEntry(200, 2L)
+            .containsEntry(404, 1L)
+            .containsEntry(500, 1L);
+    }
+
+    @Test
+    @DisplayName("Сохраненный индекс используется, пока файл не изменился")
+    public void shouldLoadIndexForUnchangedFile() throws IOException {
+        IndexStore store = new IndexStore();
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), "line\n");
+        Path indexDir = tempDir.resolve("index");
+
+        store.saveRollup(indexDir, store.keyOf(logFile), index);
+        Optional<RollupIndex> loaded = store.loadRollup(indexDir, logFile);
+
+        assertThat(loaded).isPresent();
+        assertThat(loaded.get().buckets()).hasSize(index.buckets().size());
+        assertThat(loaded.get().query(LocalDate.of(2015, 6, 2), null).statusFrequency()).containsOnlyKeys(500);
+
+        Files.writeString(logFile, "line\nline\n");
+        assertThat(store.loadRollup(indexDir, logFile)).isEmpty();
+    }
+
+    private LogEntry entry(String time, int status) {
+        return new LogEntry(
+            "10.0.0.1", null, ZonedDateTime.parse(time, TIME_FORMATTER), "GET / HTTP/1.1", status, 1, null, null
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package backend.academy.log.analyzer.jfr;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты AnalyzerEvents")
+public class AnalyzerEventsTest {
+
+    private static final ZonedDateTime TIME = ZonedDateTime.of(2015, 5, 17, 8, 5, 32, 0, ZoneOffset.UTC);
+
+    private static final Function<String, LogEntry> PARSER = line -> line.startsWith("bad")
+        ? null
+        : new LogEntry("10.0.0.1", "-", TIME, "GET / HTTP/1.1", Integer.parseInt(line), 100, "-", "Agent");
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        AnalyzerEvents.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("По пачке строк записываются счетчики разбора и фильтрации")
+    public void shouldRecordEntryBatch() throws IOException {
+        AnalyzerEvents.setEnabled(true);
+
+        List<RecordedEvent> events = record(() -> {
+            try (Stream<LogEntry> entries = AnalyzerEvents.recordBatches(
+                Stream.of("200", "404", "bad line", "200"), PARSER, entry -> entry.status() == 200, "status=200")) {
+                assertThat(entries.toList()).hasSize(2);
+            }
+        });
+
+        RecordedEvent batch = single(events, "backend.academy.log.analyzer.EntryBatch");
+        assertThat(batch.getLong("lines")).isEqualTo(4);
+        assertThat(batch.getLong("bytes")).isEqualTo(21);
+        assertThat(batch.getLong("parseFailures")).isEqualTo(1);
+        assertThat(batch.getLong("rejectedEntries")).isEqualTo(1);
+        assertThat(batch.getLong("acceptedEntries")).isEqualTo(2);
+
+        RecordedEvent reject = single(events, "backend.academy.log.analyzer.FilterReject");
+        assertThat(reject.getString("filter")).isEqualTo("status=200");
+        assertThat(reject.getLong("rejectedEntries")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Чтение файла и формирование отчета записываются как события")
+    public void shouldRecordFileReadAndReport() throws IOException {
+        Path logFile = Files.writeString(tempDir.resolve("access.log"), "200\n");
+        AnalyzerEvents.setEnabled(true);
+
+        List<RecordedEvent> events = record(() -> {
+            AnalyzerEvents.FileRead fileRead = AnalyzerEvents.beginFileRead(logFile);
+            fileRead.end();
+            fileRead.end();
+            AnalyzerEvents.recordReport("markdown", "report.markdown", () -> {
+            });
+        });
+
+        RecordedEvent fileRead = single(events, "backend.academy.log.analyzer.FileRead");
+        assertThat(fileRead.getString("path")).isEqualTo(logFile.toString());
+        assertThat(fileRead.getLong("size")).isEqualTo(4);
+
+        RecordedEvent report = single(events, "backend.academy.log.analyzer.Report");
+        assertThat(report.getString("format")).isEqualTo("markdown");
+    }
+
+    @Test
+    @DisplayName("Выключенные события не создаются")
+    public void shouldNotCreateEventsWhenDisabled() {
+        assertThat(AnalyzerEvents.beginFileRead(tempDir)).isNull();
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path dump = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FileReadEvent.class);
+            recording.enable(EntryBatchEvent.class);
+            recording.enable(FilterRejectEvent.class);
+            recording.enable(ReportEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .toList();
+        assertThat(matching).hasSize(1);
+        return matching.getFirst();
+    }
+}
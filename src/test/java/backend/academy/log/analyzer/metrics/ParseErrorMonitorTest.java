@@ -0,0 +1,110 @@
+package backend.academy.log.analyzer.metrics;
+
+import backend.academy.log.analyzer.parser.LogParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты ParseErrorMonitor")
+public class ParseErrorMonitorTest {
+
+    private static final String VALID_LINE =
+        "10.0.0.1 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 100 \"-\" \"Agent\"";
+
+    private final PipelineMetrics metrics = new PipelineMetrics();
+
+    private final ParseErrorMonitor monitor = new ParseErrorMonitor(metrics, 0);
+
+    private final LogParser parser = new LogParser();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Ошибки учитываются по причинам, в карантин попадает не больше заданного числа строк")
+    public void shouldCountReasonsAndLimitQuarantine() throws IOException {
+        Path quarantine = tempDir.resolve("rejected.log");
+        monitor.start(quarantine, 2, 100, 10);
+
+        read(3);
+        monitor.rejected(parser, "garbage");
+        monitor.rejected(parser, VALID_LINE.replace(" 200 ", " abc "));
+        monitor.rejected(parser, "more garbage");
+        monitor.stop();
+
+        RunDiagnostics diagnostics = metrics.snapshot();
+        assertThat(diagnostics.parseFailures()).isEqualTo(3);
+        assertThat(diagnostics.parseFailureReasons())
+            .containsEntry("format_mismatch", 2L)
+            .containsEntry("invalid_number", 1L);
+        assertThat(Files.readAllLines(quarantine))
+            .containsExactly("format_mismatch\tgarbage", "invalid_number\t" + VALID_LINE.replace(" 200 ", " abc "));
+    }
+
+    @Test
+    @DisplayName("Обработка прерывается, если доля ошибок среди первых строк превышает допустимую")
+    public void shouldFailFastWhenTooManyLinesAreRejected() throws IOException {
+        monitor.start(null, 0, 20, 10);
+        read(10);
+
+        monitor.rejected(parser, "garbage");
+        monitor.rejected(parser, "garbage");
+
+        assertThatThrownBy(() -> monitor.rejected(parser, "garbage"))
+            .isInstanceOf(ParseErrorLimitException.class)
+            .hasMessageContaining("3 of the first 10 lines");
+    }
+
+    @Test
+    @DisplayName("Ошибки после проверяемых строк не прерывают обработку")
+    public void shouldIgnoreFailuresAfterCheckedLines() throws IOException {
+        monitor.start(null, 0, 20, 2);
+        read(10);
+
+        for (int i = 0; i < 5; i++) {
+            monitor.rejected(parser, "garbage");
+        }
+        monitor.verify();
+
+        assertThat(metrics.snapshot().parseFailures()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Для небольших входных данных доля ошибок проверяется после чтения")
+    public void shouldVerifySmallInput() throws IOException {
+        monitor.start(null, 0, 50, 100);
+        read(3);
+
+        monitor.rejected(parser, "garbage");
+        monitor.rejected(parser, "garbage");
+
+        assertThatThrownBy(monitor::verify)
+            .isInstanceOf(ParseErrorLimitException.class)
+            .hasMessageContaining("2 of the first 3 lines");
+    }
+
+    @Test
+    @DisplayName("При допустимой доле 100% обработка не прерывается")
+    public void shouldNotFailWhenLimitIsDisabled() throws IOException {
+        monitor.start(null, 0, 100, 10);
+        read(2);
+
+        monitor.rejected(parser, "garbage");
+        monitor.rejected(parser, "garbage");
+        monitor.verify();
+
+        assertThat(metrics.snapshot().parseFailures()).isEqualTo(2);
+    }
+
+    private void read(int lines) {
+        try (Stream<String> metered = metrics.meter(Stream.generate(() -> VALID_LINE).limit(lines))) {
+            assertThat(metered.toList()).hasSize(lines);
+        }
+    }
+}
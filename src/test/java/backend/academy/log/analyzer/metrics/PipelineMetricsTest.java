@@ -0,0 +1,80 @@
+package backend.academy.log.analyzer.metrics;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.ParseFailure;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты PipelineMetrics")
+public class PipelineMetricsTest {
+
+    private final PipelineMetrics metrics = new PipelineMetrics();
+
+    @Test
+    @DisplayName("Учитываются прочитанные строки и их объем")
+    public void shouldCountLinesAndBytes() {
+        List<String> lines;
+        try (Stream<String> metered = metrics.meter(Stream.of("abc", "de", ""))) {
+            lines = metered.toList();
+        }
+
+        RunDiagnostics diagnostics = metrics.snapshot();
+
+        assertThat(lines).containsExactly("abc", "de", "");
+        assertThat(diagnostics.linesRead()).isEqualTo(3);
+        assertThat(diagnostics.bytesRead()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Параллельный поток учитывает все строки")
+    public void shouldCountLinesOfParallelStream() {
+        long count = metrics.meter(Stream.generate(() -> "line").limit(10_000).parallel()).count();
+
+        assertThat(count).isEqualTo(10_000);
+        assertThat(metrics.snapshot().linesRead()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Счетчики этапов попадают в снимок и обнуляются")
+    public void shouldCountStagesAndReset() {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        LogEntry entry = new LogEntry("10.0.0.1", "-", ZonedDateTime.of(2015, 5, 17, 8, 5, 0, 0, ZoneOffset.UTC),
+            "GET / HTTP/1.1", 200, 100, "-", "Agent");
+
+        metrics.parseFailed(ParseFailure.INVALID_TIME);
+        metrics.filtered();
+        metrics.filtered();
+        metrics.accepted();
+        metrics.aggregate(statistics, entry);
+
+        RunDiagnostics diagnostics = metrics.snapshot();
+        assertThat(diagnostics.parseFailures()).isEqualTo(1);
+        assertThat(diagnostics.parseFailureReasons()).containsExactly(Map.entry("invalid_time", 1L));
+        assertThat(diagnostics.filteredOut()).isEqualTo(2);
+        assertThat(diagnostics.entriesAggregated()).isEqualTo(1);
+        assertThat(statistics.totalRequests()).isEqualTo(1);
+
+        metrics.reset();
+
+        assertThat(metrics.snapshot())
+            .extracting(RunDiagnostics::parseFailures, RunDiagnostics::filteredOut, RunDiagnostics::entriesAggregated)
+            .containsExactly(0L, 0L, 0L);
+    }
+
+    @Test
+    @DisplayName("Время этапа масштабируется на интервал выборки")
+    public void shouldScaleSampledTime() {
+        long startTime = System.nanoTime() - 2_000_000;
+
+        metrics.stop(Stage.PARSE, startTime);
+
+        assertThat(metrics.snapshot().parseMillis()).isGreaterThanOrEqualTo(2L * PipelineMetrics.SAMPLE_RATE);
+    }
+}
@@ -0,0 +1,65 @@
+package backend.academy.log.analyzer.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты ProgressReporter")
+public class ProgressReporterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final PipelineMetrics metrics = new PipelineMetrics();
+
+    private final ProgressReporter reporter = new ProgressReporter(metrics);
+
+    @Test
+    @DisplayName("Выводится доля прочитанных данных, скорость и оставшееся время")
+    public void shouldReportProgressAndEta() {
+        reporter.begin(1_048_576, 0);
+        read(1024, 255);
+
+        String progress = reporter.report(SECOND);
+
+        assertThat(progress).isEqualTo("Progress: 25.0% (0.3 MB of 1.0 MB), 1024 lines/s, 0.3 MB/s, ETA 00:00:03");
+    }
+
+    @Test
+    @DisplayName("Скорость считается за время с предыдущего вывода")
+    public void shouldReportRateSinceLastReport() {
+        reporter.begin(1_048_576, 0);
+        read(1024, 255);
+        reporter.report(SECOND);
+
+        String progress = reporter.report(2 * SECOND);
+
+        assertThat(progress).contains("0 lines/s, 0.0 MB/s, ETA 00:00:06");
+    }
+
+    @Test
+    @DisplayName("Пропущенные данные учитываются в доле прочитанного")
+    public void shouldCountSkippedBytes() {
+        reporter.begin(1_048_576, 0);
+        reporter.skip(1_048_576);
+
+        assertThat(reporter.report(SECOND)).startsWith("Progress: 100.0% (1.0 MB of 1.0 MB)").endsWith("ETA 00:00:00");
+    }
+
+    @Test
+    @DisplayName("Без известного объема данных выводится только скорость")
+    public void shouldReportRateWhenSizeIsUnknown() {
+        reporter.begin(-1, 0);
+        read(2048, 511);
+
+        assertThat(reporter.report(SECOND)).isEqualTo("Progress: 1.0 MB read, 2048 lines/s, 1.0 MB/s");
+    }
+
+    private void read(int lines, int lineLength) {
+        try (Stream<String> metered = metrics.meter(Stream.generate(() -> "x".repeat(lineLength)).limit(lines))) {
+            metered.forEach(line -> {
+            });
+        }
+    }
+}
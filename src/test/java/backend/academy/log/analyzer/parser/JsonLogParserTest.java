@@ -0,0 +1,65 @@
+package backend.academy.log.analyzer.parser;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты JsonLogParser")
+public class JsonLogParserTest {
+
+    private static final String COMBINED_LINE = "109.234.3.35 - - [02/Jun/2015:15:06:00 +0000] "
+        + "\"GET /downloads/product_2 HTTP/1.1\" 404 336 \"-\" \"Debian APT\"";
+
+    private static final String JSON_LINE = "{\"http_user_agent\":\"Debian \\\"APT\\\"\",\"status\":404,"
+        + "\"remote_addr\":\"109.234.3.35\",\"remote_user\":\"\",\"upstream\":{\"addr\":[\"10.0.0.1\"]},"
+        + "\"time_local\":\"02/Jun/2015:15:06:00 +0000\",\"request\":\"GET /downloads/product_2 HTTP/1.1\","
+        + "\"body_bytes_sent\":\"336\",\"http_referer\":null}";
+
+    @Test
+    @DisplayName("JSON-строка с ключами по именам переменных разбирается так же, как строка combined")
+    public void shouldParseDefaultKeys() {
+        LogEntry entry = new JsonLogParser(LogFormat.compile("json")).parse(JSON_LINE);
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.httpUserAgent()).isEqualTo("Debian \"APT\"");
+        assertThat(entry.remoteUser()).isNull();
+        assertThat(entry.httpReferer()).isNull();
+        assertThat(entry.status()).isEqualTo(404);
+        assertThat(entry.bodyBytesSent()).isEqualTo(336);
+        assertThat(entry.timeLocal()).isEqualTo(ZonedDateTime.of(2015, 6, 2, 15, 6, 0, 0, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Ключи сопоставляются полям по шаблону JSON-объекта из log_format")
+    public void shouldParseTemplateKeys() {
+        LogFormat format = LogFormat.compile(
+            "{\"ip\":\"$remote_addr\",\"ts\":\"$time_iso8601\",\"req\":\"$request\",\"code\":$status}",
+            Set.of("remote_addr", "time_local", "request", "status"));
+
+        LogEntry entry = new LogParserFactory(new LogParserGenerator()).create("generated", format)
+            .parse("{\"code\":200,\"req\":\"GET / HTTP/1.1\",\"ts\":\"2024-08-31T12:00:00+03:00\",\"ip\":\"::1\"}");
+
+        assertThat(format.json()).isTrue();
+        assertThat(entry).isNotNull();
+        assertThat(entry.remoteAddr()).isEqualTo("::1");
+        assertThat(entry.request()).isEqualTo("GET / HTTP/1.1");
+        assertThat(entry.status()).isEqualTo(200);
+        assertThat(entry.timeLocal()).isEqualTo(ZonedDateTime.of(2024, 8, 31, 12, 0, 0, 0, ZoneOffset.ofHours(3)));
+    }
+
+    @Test
+    @DisplayName("Строки не в формате JSON-объекта, без времени или с некорректными значениями не разбираются")
+    public void shouldRejectInvalidLines() {
+        LogParser parser = new JsonLogParser(LogFormat.compile(LogFormat.JSON));
+
+        assertThat(parser.parse(COMBINED_LINE)).isNull();
+        assertThat(parser.parse("[1, 2]")).isNull();
+        assertThat(parser.parse(JSON_LINE.substring(0, 40))).isNull();
+        assertThat(parser.parse(JSON_LINE.replace("\"time_local\"", "\"time\""))).isNull();
+        assertThat(parser.parse(JSON_LINE.replace("404", "\"OK\""))).isNull();
+    }
+}
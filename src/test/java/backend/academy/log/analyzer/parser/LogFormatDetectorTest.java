@@ -0,0 +1,58 @@
+package backend.academy.log.analyzer.parser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты LogFormatDetector")
+public class LogFormatDetectorTest {
+
+    private static final String COMMON_LINE = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] "
+        + "\"GET /downloads/product_1 HTTP/1.1\" 304 0";
+
+    private static final String COMBINED_LINE = COMMON_LINE + " \"-\" \"Debian APT\"";
+
+    private static final String JSON_LINE = "{\"remote_addr\":\"93.180.71.3\",\"time_local\":"
+        + "\"17/May/2015:08:05:32 +0000\",\"request\":\"GET /downloads/product_1 HTTP/1.1\",\"status\":304,"
+        + "\"body_bytes_sent\":0}";
+
+    private final LogFormatDetector detector = new LogFormatDetector(candidates());
+
+    @Test
+    @DisplayName("Выбирается формат, разобравший больше всего строк выборки")
+    public void shouldPickFormatParsingMostLines() {
+        assertThat(detector.detect(List.of(COMMON_LINE, COMMON_LINE, COMBINED_LINE)).orElseThrow().name())
+            .isEqualTo("common");
+        assertThat(detector.detect(List.of("garbage", COMBINED_LINE)).orElseThrow())
+            .extracting(LogFormatDetector.DetectedFormat::name, LogFormatDetector.DetectedFormat::parsedLines)
+            .containsExactly("combined", 1);
+        assertThat(detector.detect(List.of(JSON_LINE, COMBINED_LINE, JSON_LINE)).orElseThrow().name())
+            .isEqualTo("json");
+    }
+
+    @Test
+    @DisplayName("При равенстве выбирается формат, указанный раньше")
+    public void shouldPreferEarlierCandidateOnTie() {
+        assertThat(detector.detect(List.of(COMMON_LINE, COMBINED_LINE)).orElseThrow().name())
+            .isEqualTo("combined");
+    }
+
+    @Test
+    @DisplayName("Если ни одна строка не разобрана, формат не определяется")
+    public void shouldNotDetectFormatWithoutParsedLines() {
+        assertThat(detector.detect(List.of("garbage", ""))).isEmpty();
+        assertThat(detector.detect(List.of())).isEmpty();
+        assertThat(detector.defaultFormat().name()).isEqualTo("combined");
+    }
+
+    private static Map<String, LogParser> candidates() {
+        Map<String, LogParser> candidates = new LinkedHashMap<>();
+        candidates.put("combined", new LogParser(LogFormat.compile(LogFormat.COMBINED)));
+        candidates.put("common", new LogParser(LogFormat.compile("common")));
+        candidates.put("json", new JsonLogParser(LogFormat.compile(LogFormat.JSON)));
+        return candidates;
+    }
+}
@@ -0,0 +1,86 @@
+package backend.academy.log.analyzer.parser;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты LogFormat")
+public class LogFormatTest {
+
+    private static final String EXTENDED_FORMAT = "$remote_addr - $remote_user [$time_local] \"$request\" "
+        + "$status $body_bytes_sent \"$http_referer\" \"$http_user_agent\" "
+        + "rt=$request_time urt=\"$upstream_response_time\" host=$host xff=\"$http_x_forwarded_for\"";
+
+    private static final String EXTENDED_LINE = "10.0.0.1 - alice [31/Aug/2024:12:00:00 +0300] "
+        + "\"GET /api/items HTTP/1.1\" 200 512 \"-\" \"curl/8.0\" "
+        + "rt=0.012 urt=\"0.010\" host=example.com xff=\"203.0.113.7, 10.0.0.2\"";
+
+    @Test
+    @DisplayName("Строка с дополнительными переменными разбирается, лишние переменные пропускаются")
+    public void shouldParseFormatWithExtraVariables() {
+        LogEntry entry = new LogParser(LogFormat.compile(EXTENDED_FORMAT)).parse(EXTENDED_LINE);
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.remoteAddr()).isEqualTo("10.0.0.1");
+        assertThat(entry.remoteUser()).isEqualTo("alice");
+        assertThat(entry.timeLocal()).isEqualTo(ZonedDateTime.of(2024, 8, 31, 12, 0, 0, 0, ZoneOffset.ofHours(3)));
+        assertThat(entry.request()).isEqualTo("GET /api/items HTTP/1.1");
+        assertThat(entry.status()).isEqualTo(200);
+        assertThat(entry.bodyBytesSent()).isEqualTo(512);
+        assertThat(entry.httpReferer()).isNull();
+        assertThat(entry.httpUserAgent()).isEqualTo("curl/8.0");
+    }
+
+    @Test
+    @DisplayName("Извлекаются только заданные поля")
+    public void shouldExtractOnlyRequiredFields() {
+        LogFormat format = LogFormat.compile(EXTENDED_FORMAT, Set.of("time_local", "status"));
+
+        LogEntry entry = new LogParser(format).parse(EXTENDED_LINE);
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.status()).isEqualTo(200);
+        assertThat(entry.timeLocal()).isNotNull();
+        assertThat(entry.remoteAddr()).isNull();
+        assertThat(entry.request()).isNull();
+        assertThat(entry.httpUserAgent()).isNull();
+        assertThat(entry.bodyBytesSent()).isZero();
+    }
+
+    @Test
+    @DisplayName("Поддерживаются переменные в фигурных скобках и время в формате ISO 8601")
+    public void shouldParseBracedVariablesAndIsoTime() {
+        LogFormat format = LogFormat.compile("${time_iso8601}|${status}|${request_time}|$body_bytes_sent");
+
+        LogEntry entry = new LogParser(format).parse("2024-08-31T12:00:00+03:00|404|0.001|0");
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.timeLocal().toInstant()).isEqualTo(ZonedDateTime.of(2024, 8, 31, 9, 0, 0, 0,
+            ZoneOffset.UTC).toInstant());
+        assertThat(entry.status()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Строки, не соответствующие формату, не разбираются")
+    public void shouldRejectMismatchedLines() {
+        LogParser parser = new LogParser(LogFormat.compile(EXTENDED_FORMAT));
+
+        assertThat(parser.parse(EXTENDED_LINE.replace(" host=", " "))).isNull();
+        assertThat(parser.parse(EXTENDED_LINE.replace("\" 200 ", "\" OK "))).isNull();
+        assertThat(parser.parse(EXTENDED_LINE + " trailing")).isNull();
+    }
+
+    @Test
+    @DisplayName("Формат без разделителя между переменными или без времени запроса отклоняется")
+    public void shouldRejectUnsupportedFormats() {
+        assertThatThrownBy(() -> LogFormat.compile("[$time_local] $status$body_bytes_sent"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> LogFormat.compile("$remote_addr $status"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
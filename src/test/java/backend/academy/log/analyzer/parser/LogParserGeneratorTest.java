@@ -0,0 +1,88 @@
+package backend.academy.log.analyzer.parser;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты LogParserGenerator")
+public class LogParserGeneratorTest {
+
+    private static final String EXTENDED_FORMAT = LogFormat.COMBINED
+        + " $request_time \"$upstream_response_time\" $host \"$http_x_forwarded_for\" $upstream_addr";
+
+    private static final String COMBINED_LINE = "109.234.3.35 - bob [02/Jun/2015:15:06:00 +0000] "
+        + "\"GET /downloads/product_2 HTTP/1.1\" 404 336 \"-\" \"Debian APT-HTTP/1.3 (0.9.7.9)\"";
+
+    private static final List<String> LINES = List.of(
+        COMBINED_LINE,
+        COMBINED_LINE + " 0.012 \"0.010\" example.com \"203.0.113.7, 10.0.0.2\" 10.1.1.1:8080",
+        COMBINED_LINE + " 0.012 \"-\" example.com \"-\"",
+        COMBINED_LINE.replace(" 404 ", " OK "),
+        COMBINED_LINE.replace(" 336 ", " 5368709120 "),
+        COMBINED_LINE.replace(" 404 ", " 99999999999 "),
+        COMBINED_LINE.replace("+0000", "UTC"),
+        COMBINED_LINE.substring(0, 40),
+        ""
+    );
+
+    private final LogParserGenerator generator = new LogParserGenerator();
+
+    @Test
+    @DisplayName("Сгенерированный парсер разбирает строки так же, как интерпретирующий")
+    public void shouldMatchInterpretedParser() throws ReflectiveOperationException {
+        for (String pattern : List.of(LogFormat.COMBINED, EXTENDED_FORMAT)) {
+            LogFormat format = LogFormat.compile(pattern);
+            LogParser interpreted = new LogParser(format);
+            LogParser generated = generator.generate(format);
+
+            assertThat(generated.getClass()).isNotEqualTo(LogParser.class);
+            for (String line : LINES) {
+                assertThat(generated.parse(line)).as(line).isEqualTo(interpreted.parse(line));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Сгенерированный парсер разбирает представление строки так же, как строку")
+    public void shouldParseCharSequenceView() throws ReflectiveOperationException {
+        for (String pattern : List.of(LogFormat.COMBINED, EXTENDED_FORMAT)) {
+            LogFormat format = LogFormat.compile(pattern);
+            LogParser generated = generator.generate(format);
+
+            for (String line : LINES) {
+                assertThat(generated.parse(new StringBuilder(line))).as(line).isEqualTo(generated.parse(line));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Сгенерированный парсер извлекает только заданные поля")
+    public void shouldExtractOnlyRequiredFields() throws ReflectiveOperationException {
+        LogFormat format = LogFormat.compile(EXTENDED_FORMAT, Set.of("time_local", "status", "request"));
+
+        LogEntry entry = generator.generate(format).parse(LINES.get(1));
+
+        assertThat(entry).isNotNull();
+        assertThat(entry.status()).isEqualTo(404);
+        assertThat(entry.request()).isEqualTo("GET /downloads/product_2 HTTP/1.1");
+        assertThat(entry.remoteAddr()).isNull();
+        assertThat(entry.remoteUser()).isNull();
+        assertThat(entry.bodyBytesSent()).isZero();
+    }
+
+    @Test
+    @DisplayName("Фабрика генерирует класс для формата один раз")
+    public void shouldReuseGeneratedParser() {
+        LogParserFactory factory = new LogParserFactory(generator);
+
+        LogParser first = factory.create("generated", LogFormat.compile(LogFormat.COMBINED));
+        LogParser second = factory.create("generated", LogFormat.compile(LogFormat.COMBINED));
+
+        assertThat(second).isSameAs(first);
+        assertThat(factory.create("interpreted", LogFormat.compile(LogFormat.COMBINED)).getClass())
+            .isEqualTo(LogParser.class);
+    }
+}
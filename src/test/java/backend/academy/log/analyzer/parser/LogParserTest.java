@@ -96,4 +96,45 @@ class LogParserTest {
         assertNull(entry.httpReferer());
         assertNull(entry.httpUserAgent());
     }
+
+    @Test
+    @DisplayName("Причина ошибки разбора определяется по отклоненной строке")
+    void testFailureReason() {
+        String valid = "109.234.3.35 - - [02/Jun/2015:15:06:00 +0000] \"GET / HTTP/1.1\" 404 336 \"-\" \"Agent\"";
+
+        assertNull(logParser.failureReason(valid));
+        assertEquals(ParseFailure.FORMAT_MISMATCH, logParser.failureReason("not a log line"));
+        assertEquals(ParseFailure.INVALID_TIME,
+            logParser.failureReason(valid.replace("02/Jun/2015", "02/Foo/2015")));
+        assertEquals(ParseFailure.INVALID_NUMBER, logParser.failureReason(valid.replace(" 404 ", " abc ")));
+    }
+
+    @Test
+    @DisplayName("Представление строки в изменяемом буфере разбирается так же, как строка")
+    void testParseCharSequenceView() {
+        String logLine = "109.234.3.35 - bob [02/Jun/2015:15:06:00 +0000] \"GET / HTTP/1.1\" 404 336 \"-\" \"Agent\"";
+        StringBuilder view = new StringBuilder(logLine);
+
+        LogEntry entry = logParser.parse(view);
+        view.setLength(0);
+        view.append("not a log line");
+
+        assertEquals(logParser.parse(logLine), entry);
+        assertEquals("bob", entry.remoteUser());
+        assertNull(logParser.parse(view));
+        assertEquals(ParseFailure.FORMAT_MISMATCH, logParser.failureReason(view));
+    }
+
+    @Test
+    @DisplayName("Размер ответа больше 2 ГБ разбирается, а переполнение чисел отклоняет строку")
+    void testParseLargeNumbers() {
+        String logLine = "109.234.3.35 - - [02/Jun/2015:15:06:00 +0000] "
+            + "\"GET /video.mp4 HTTP/1.1\" 200 5368709120 \"-\" \"-\"";
+
+        assertEquals(5_368_709_120L, logParser.parse(logLine).bodyBytesSent());
+        assertEquals(5_368_709_120L, logParser.parse(new StringBuilder(logLine)).bodyBytesSent());
+        assertEquals(ParseFailure.INVALID_NUMBER,
+            logParser.failureReason(logLine.replace("5368709120", "99999999999999999999")));
+        assertEquals(ParseFailure.INVALID_NUMBER, logParser.failureReason(logLine.replace(" 200 ", " 99999999999 ")));
+    }
 }
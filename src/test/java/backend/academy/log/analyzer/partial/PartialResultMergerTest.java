@@ -0,0 +1,63 @@
+package backend.academy.log.analyzer.partial;
+
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static backend.academy.log.analyzer.entry.LogEntryFixtures.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты PartialResultMerger")
+public class PartialResultMergerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final PartialResultStore store = new PartialResultStore();
+
+    private final PartialResultMerger merger = new PartialResultMerger(store);
+
+    @Test
+    @DisplayName("Статистика и списки файлов частичных результатов объединяются")
+    public void shouldMergeStatisticsAndFileNames() throws IOException {
+        String first = save("host1.lap", "2024-08-01", "host1.log", "10.0.0.1");
+        String second = save("host2.lap", "2024-08-01", "host2.log", "10.0.0.2");
+
+        Optional<PartialResult> merged = merger.merge(List.of(first, second));
+
+        assertThat(merged).isPresent();
+        assertThat(merged.get().from()).isEqualTo("2024-08-01");
+        assertThat(merged.get().fileNames()).containsExactly("host1.log", "host2.log");
+        assertThat(merged.get().statistics().totalRequests()).isEqualTo(2);
+        assertThat(merged.get().statistics().uniqueIpAddresses()).containsExactlyInAnyOrder("10.0.0.1", "10.0.0.2");
+    }
+
+    @Test
+    @DisplayName("Частичные результаты с разными параметрами запроса не объединяются")
+    public void shouldNotMergeDifferentQueries() throws IOException {
+        String first = save("host1.lap", "2024-08-01", "host1.log", "10.0.0.1");
+        String second = save("host2.lap", "2024-08-02", "host2.log", "10.0.0.2");
+
+        assertThat(merger.merge(List.of(first, second))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Если частичный результат не удалось прочитать, результат не объединяется")
+    public void shouldNotMergeMissingFile() throws IOException {
+        String first = save("host1.lap", null, "host1.log", "10.0.0.1");
+
+        assertThat(merger.merge(List.of(first, tempDir.resolve("missing.lap").toString()))).isEmpty();
+    }
+
+    private String save(String name, String from, String fileName, String remoteAddr) throws IOException {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        statistics.add(entry(remoteAddr, "GET /index.html HTTP/1.1", 200, 512));
+        Path file = tempDir.resolve(name);
+        store.save(file, new PartialResult(from, null, null, null, List.of(fileName), statistics));
+        return file.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package backend.academy.log.analyzer.partial;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static backend.academy.log.analyzer.entry.LogEntryFixtures.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты PartialResultStore")
+public class PartialResultStoreTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final PartialResultStore store = new PartialResultStore();
+
+    @Test
+    @DisplayName("Частичный результат восстанавливается вместе с параметрами запроса")
+    public void shouldRoundTripPartialResult() throws IOException {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        statistics.add(entry("10.0.0.1", "GET /index.html HTTP/1.1", 200, 512));
+        statistics.add(entry("10.0.0.2", "POST /api/data HTTP/1.1", 404, 128));
+        PartialResult result = new PartialResult("2024-08-01", null, "status", "404",
+            List.of("access-1.log", "access-2.log"), statistics);
+        Path file = tempDir.resolve("host1.lap");
+
+        store.save(file, result);
+        PartialResult restored = store.load(file);
+
+        assertThat(restored.hasSameQuery(result)).isTrue();
+        assertThat(restored.to()).isNull();
+        assertThat(restored.fileNames()).containsExactly("access-1.log", "access-2.log");
+        assertThat(restored.statistics().totalRequests()).isEqualTo(2);
+        assertThat(restored.statistics().responseSizeFrequency()).isEqualTo(statistics.responseSizeFrequency());
+        assertThat(restored.statistics().uniqueIpAddresses()).containsExactlyInAnyOrder("10.0.0.1", "10.0.0.2");
+    }
+
+    @Test
+    @DisplayName("Объединение частичных результатов совпадает со статистикой по всем записям")
+    public void shouldMergeToSameStatisticsAsSingleRun() throws IOException {
+        List<LogEntry> firstHost = List.of(
+            entry("10.0.0.1", "GET /index.html HTTP/1.1", 200, 512),
+            entry("10.0.0.2", "GET /about HTTP/1.1", 200, 256));
+        List<LogEntry> secondHost = List.of(
+            entry("10.0.0.1", "POST /api/data HTTP/1.1", 500, 512),
+            entry("10.0.0.3", "GET /index.html HTTP/1.1", 200, 1024));
+        store.save(tempDir.resolve("host1.lap"), partialResult(firstHost, "host1.log"));
+        store.save(tempDir.resolve("host2.lap"), partialResult(secondHost, "host2.log"));
+
+        StatisticsAccumulator merged = new StatisticsAccumulator();
+        merged.merge(store.load(tempDir.resolve("host1.lap")).statistics());
+        merged.merge(store.load(tempDir.resolve("host2.lap")).statistics());
+        StatisticsAccumulator expected = new StatisticsAccumulator();
+        firstHost.forEach(expected::add);
+        secondHost.forEach(expected::add);
+
+        assertThat(merged.totalRequests()).isEqualTo(expected.totalRequests());
+        assertThat(merged.responseSizeSum()).isEqualTo(expected.responseSizeSum());
+        assertThat(merged.resourceFrequency()).isEqualTo(expected.resourceFrequency());
+        assertThat(merged.statusFrequency()).isEqualTo(expected.statusFrequency());
+        assertThat(merged.responseSizeFrequency()).isEqualTo(expected.responseSizeFrequency());
+        assertThat(merged.uniqueIpAddresses()).isEqualTo(expected.uniqueIpAddresses());
+    }
+
+    @Test
+    @DisplayName("Частичные результаты с разными фильтрами не считаются совместимыми")
+    public void shouldDetectDifferentQueries() {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        PartialResult first = new PartialResult("2024-08-01", null, null, null, List.of(), statistics);
+        PartialResult second = new PartialResult("2024-08-02", null, null, null, List.of(), statistics);
+
+        assertThat(first.hasSameQuery(second)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Файл в другом формате не читается")
+    public void shouldRejectUnknownFormat() throws IOException {
+        Path file = tempDir.resolve("report.md");
+        Files.writeString(file, "#### Общая информация");
+
+        assertThatThrownBy(() -> store.load(file))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("Not a partial result file");
+    }
+
+    private PartialResult partialResult(List<LogEntry> entries, String fileName) {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        entries.forEach(statistics::add);
+        return new PartialResult(null, null, null, null, List.of(fileName), statistics);
+    }
+}
@@ -0,0 +1,126 @@
+package backend.academy.log.analyzer.reader;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.parser.LogParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты BufferedLineSource")
+public class BufferedLineSourceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("Строки передаются одним переиспользуемым представлением")
+    public void shouldReuseLineView() throws IOException {
+        try (BufferedLineSource source = source("first\r\nsecond\n")) {
+            CharSequence first = source.nextLine();
+            String copy = first.toString();
+            CharSequence second = source.nextLine();
+
+            assertThat(second).isSameAs(first);
+            assertThat(copy).isEqualTo("first");
+            assertThat(second.toString()).isEqualTo("second");
+            assertThat(second.subSequence(1, 3).toString()).isEqualTo("ec");
+            assertThat(source.nextLine()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Многобайтовые символы на границе буфера и некорректные байты UTF-8 декодируются как в String")
+    public void shouldDecodeLikeString() throws IOException {
+        byte[] line = ("x".repeat(64 * 1024 - 1) + "日本😀").getBytes(StandardCharsets.UTF_8);
+        byte[] malformed = {'a', (byte) 0xC3, 'b', (byte) 0xFF};
+        byte[] data = new byte[line.length + malformed.length + 1];
+        System.arraycopy(line, 0, data, 0, line.length);
+        data[line.length] = '\n';
+        System.arraycopy(malformed, 0, data, line.length + 1, malformed.length);
+
+        try (Stream<String> lines = new BufferedLineSource(new ByteArrayInputStream(data)).stream()
+            .map(CharSequence::toString)) {
+            assertThat(lines.toList()).containsExactly(
+                new String(line, StandardCharsets.UTF_8), new String(malformed, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Позиции представления - позиции байт, а декодируется только поле с байтами вне ASCII")
+    public void shouldDecodeOnlyNonAsciiFields() throws IOException {
+        byte[] prefix = "1.2.3.4 - - [02/Jun/2015:15:06:00 +0000] \"GET /".getBytes(StandardCharsets.UTF_8);
+        byte[] suffix = " HTTP/1.1\" 400 0 \"-\" \"Агент\"\n".getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[prefix.length + 1 + suffix.length];
+        System.arraycopy(prefix, 0, data, 0, prefix.length);
+        data[prefix.length] = (byte) 0xFF;
+        System.arraycopy(suffix, 0, data, prefix.length + 1, suffix.length);
+
+        try (BufferedLineSource source = new BufferedLineSource(new ByteArrayInputStream(data))) {
+            CharSequence view = source.nextLine();
+            LogEntry entry = new LogParser().parse(view);
+
+            assertThat(view.length()).isEqualTo(data.length - 1);
+            assertThat(view.charAt(prefix.length)).isEqualTo('\u00FF');
+            assertThat(entry).isNotNull();
+            assertThat(entry.request()).isEqualTo("GET /\uFFFD HTTP/1.1");
+            assertThat(entry.status()).isEqualTo(400);
+            assertThat(entry.httpUserAgent()).isEqualTo("Агент");
+        }
+    }
+
+    @Test
+    @DisplayName("Формат с разделителями вне ASCII разбирает копию представления")
+    public void shouldParseNonAsciiDelimiters() throws IOException {
+        LogParser parser = new LogParser(LogFormat.compile("$remote_addr → [$time_local] $status $body_bytes_sent"));
+
+        try (BufferedLineSource source = source("1.2.3.4 → [02/Jun/2015:15:06:00 +0000] 200 42\n")) {
+            LogEntry entry = parser.parse(source.nextLine());
+
+            assertThat(entry).isNotNull();
+            assertThat(entry.remoteAddr()).isEqualTo("1.2.3.4");
+            assertThat(entry.bodyBytesSent()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    @DisplayName("Незавершенная строка не читается, а позиция указывает на ее начало")
+    public void shouldStopBeforeIncompleteLine() throws IOException {
+        Path file = tempDir.resolve("access.log");
+        Files.writeString(file, "one\ntwo\nthr");
+
+        try (BufferedLineSource source = BufferedLineSource.open(file, 4, Files.size(file), false)) {
+            assertThat(source.stream().map(CharSequence::toString).toList()).containsExactly("two");
+            assertThat(source.offset()).isEqualTo(8);
+        }
+    }
+
+    @Test
+    @DisplayName("При параллельной обработке строки не теряются и не искажаются")
+    public void shouldSplitForParallelStream() {
+        int count = 100_000;
+        String content = IntStream.range(0, count).mapToObj(i -> "line-" + i + "\n").collect(Collectors.joining());
+
+        List<String> lines;
+        try (Stream<CharSequence> stream = source(content).stream()) {
+            lines = stream.parallel().map(CharSequence::toString).toList();
+        }
+
+        assertThat(lines).hasSize(count);
+        assertThat(IntStream.range(0, count).allMatch(i -> lines.get(i).equals("line-" + i))).isTrue();
+    }
+
+    private BufferedLineSource source(String content) {
+        return new BufferedLineSource(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,11 +1,19 @@
 package backend.academy.log.analyzer.reader;
 
+import backend.academy.log.analyzer.parser.LogFormat;
+import backend.academy.log.analyzer.parser.LogFormatDetector;
+import backend.academy.log.analyzer.parser.LogParser;
 import backend.academy.log.analyzer.reader.impl.FileLogReader;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -91,4 +99,85 @@ public class FileLogReaderTest {
             fail("Ошибка не должна выбрасываться для несуществующего файла");
         }
     }
+
+    @Test
+    @DisplayName("Объем найденных файлов учитывает сжатые файлы по размеру после распаковки")
+    public void testTotalSizeOfPlainAndCompressedFiles() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("test_logs_");
+        Path plainFile = tempDirectory.resolve("access.log");
+        Path compressedFile = tempDirectory.resolve("access.log.1.gz");
+        String line = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 123 \"-\" \"Agent\"\n";
+        Files.writeString(plainFile, line);
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressedFile))) {
+            output.write(line.repeat(100).getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            fileLogReader.findLogFiles(tempDirectory + "/access.log*");
+
+            assertEquals(101L * line.length(), fileLogReader.getTotalSize());
+        } finally {
+            Files.deleteIfExists(plainFile);
+            Files.deleteIfExists(compressedFile);
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    @Test
+    @DisplayName("Формат каждого файла определяется по его первым строкам")
+    public void testDetectFormatPerFile() throws IOException {
+        Path tempDirectory = Files.createTempDirectory("test_logs_");
+        Path combinedFile = tempDirectory.resolve("combined.log");
+        Path commonFile = tempDirectory.resolve("common.log");
+        Path otherFile = tempDirectory.resolve("other.log");
+        String commonLine = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 123";
+        Files.writeString(combinedFile, "# header\n" + commonLine + " \"-\" \"Agent\"\n");
+        Files.writeString(commonFile, commonLine + "\n");
+        Files.writeString(otherFile, "not a log line\n");
+
+        Map<String, LogParser> candidates = new LinkedHashMap<>();
+        candidates.put("combined", new LogParser(LogFormat.compile(LogFormat.COMBINED)));
+        candidates.put("common", new LogParser(LogFormat.compile(LogFormat.COMMON)));
+        FileLogReader reader = new FileLogReader(new LogFormatDetector(candidates));
+
+        try {
+            List<Path> files = reader.findLogFiles(tempDirectory + "/*.log");
+
+            assertEquals(2, files.size());
+            assertEquals(Map.of("combined.log", "combined", "common.log", "common"), reader.getFileFormats());
+            Path common = files.stream().filter(file -> file.endsWith("common.log")).findFirst().orElseThrow();
+            assertEquals(123, reader.parserFor(common).parse(commonLine).bodyBytesSent());
+        } finally {
+            Files.deleteIfExists(combinedFile);
+            Files.deleteIfExists(commonFile);
+            Files.deleteIfExists(otherFile);
+            Files.deleteIfExists(tempDirectory);
+        }
+    }
+
+    @Test
+    @DisplayName("Файл с некорректными байтами UTF-8 не пропускается, байты заменяются только в своей строке")
+    public void testReadFileWithMalformedUtf8() throws IOException {
+        Path tempLogFile = Files.createTempFile("test_log_", ".log");
+        String line = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET / HTTP/1.1\" 200 123 \"-\" \"Agent\"";
+        byte[] probe = "93.180.71.3 - - [17/May/2015:08:05:32 +0000] \"GET /\u00ff\u00fe HTTP/1.1\" 400 0 \"-\" \"-\"\n"
+            .getBytes(StandardCharsets.ISO_8859_1);
+        try (OutputStream output = Files.newOutputStream(tempLogFile)) {
+            output.write(probe);
+            output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        try {
+            assertEquals(1, fileLogReader.findLogFiles(tempLogFile.toString()).size());
+            try (Stream<String> logStream = fileLogReader.readLogFile(tempLogFile)) {
+                List<String> logs = logStream.toList();
+
+                assertEquals(2, logs.size());
+                assertTrue(logs.getFirst().contains("GET /\uFFFD\uFFFD HTTP/1.1"));
+                assertEquals(line, logs.get(1));
+            }
+        } finally {
+            Files.deleteIfExists(tempLogFile);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package backend.academy.log.analyzer.reader.scan;
+
+import backend.academy.log.analyzer.reader.BufferedLineSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тесты поиска разделителей ByteScanner")
+public class ByteScannerTest {
+
+    private static final byte NEWLINE = '\n';
+
+    @Test
+    @DisplayName("Векторный и последовательный поиск совпадают с перебором на случайных данных")
+    public void testScannersMatchNaiveSearch() {
+        List<ByteScanner> scanners = List.of(new ScalarByteScanner(), ByteScanners.preferred());
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            byte[] data = new byte[random.nextInt(300)];
+            for (int j = 0; j < data.length; j++) {
+                data[j] = random.nextInt(40) == 0 ? NEWLINE : (byte) ('a' + random.nextInt(26));
+            }
+            int from = data.length == 0 ? 0 : random.nextInt(data.length);
+            int to = from + random.nextInt(data.length - from + 1);
+
+            for (ByteScanner scanner : scanners) {
+                assertThat(scanner.indexOf(data, from, to, NEWLINE)).isEqualTo(naiveIndexOf(data, from, to));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Разделитель находится на границах блоков и не ищется за пределами диапазона")
+    public void testBlockBoundaries() {
+        ByteScanner scanner = ByteScanners.preferred();
+        for (int length = 1; length <= 130; length++) {
+            for (int position = 0; position < length; position++) {
+                byte[] data = new byte[length];
+                data[position] = NEWLINE;
+
+                assertThat(scanner.indexOf(data, 0, length, NEWLINE)).isEqualTo(position);
+                assertThat(scanner.indexOf(data, 0, position, NEWLINE)).isEqualTo(-1);
+                assertThat(scanner.indexOf(data, position + 1, length, NEWLINE)).isEqualTo(-1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Строки длиннее буфера чтения и строки с \\r\\n читаются целиком")
+    public void testLinesAcrossBufferBoundaries() throws IOException {
+        String longLine = "x".repeat(200_000);
+        String content = "first\r\n" + longLine + "\n\nlast";
+        Path file = Files.createTempFile("test_scan_", ".log");
+        try {
+            Files.writeString(file, content);
+            long size = Files.size(file);
+
+            List<String> lines = new ArrayList<>();
+            try (BufferedLineSource source = BufferedLineSource.open(file, 0, size, false)) {
+                source.stream().map(CharSequence::toString).forEach(lines::add);
+                assertThat(lines).containsExactly("first", longLine, "");
+                assertThat(source.offset()).isEqualTo(size - "last".getBytes(StandardCharsets.UTF_8).length);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private int naiveIndexOf(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == NEWLINE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,46 @@
+package backend.academy.log.analyzer.reporter;
+
+import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Общая часть тестов отчетов, которые строятся по статистике настоящих записей, а не по заглушке:
+ * аргументы командной строки, собираемая статистика и запись отчета в строку.
+ */
+public abstract class AbstractReporterTest {
+
+    @Mock
+    protected CliArguments cliArgs;
+
+    protected LogStatisticsCollector statistics;
+
+    @BeforeEach
+    public void setUpStatistics() {
+        MockitoAnnotations.openMocks(this);
+        statistics = new LogStatisticsCollector();
+    }
+
+    /**
+     * Возвращает проверяемый отчет, построенный по {@link #statistics}.
+     *
+     * @return отчет
+     */
+    protected abstract Reporter reporter();
+
+    /**
+     * Записывает отчет в строку.
+     *
+     * @return текст отчета
+     * @throws IOException если отчет не удалось записать
+     */
+    protected String writeReport() throws IOException {
+        StringWriter writer = new StringWriter();
+        reporter().writeReport(writer, cliArgs);
+        return writer.toString();
+    }
+}
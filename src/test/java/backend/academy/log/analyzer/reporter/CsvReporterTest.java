@@ -0,0 +1,116 @@
+package backend.academy.log.analyzer.reporter;
+
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
+import backend.academy.log.analyzer.reporter.impl.CsvReporter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static backend.academy.log.analyzer.entry.LogEntryFixtures.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тесты для CsvReporter")
+public class CsvReporterTest extends AbstractReporterTest {
+
+    private CsvReporter reporter;
+
+    @BeforeEach
+    public void setUp() {
+        when(cliArgs.filterField()).thenReturn("http_user_agent");
+        when(cliArgs.filterValue()).thenReturn("Mozilla \"5.0\", curl");
+
+        statistics = new LogStatisticsCollector();
+        statistics.computeStatistics(Stream.of(
+            entry("GET /index.html HTTP/1.1", 200, 512),
+            entry("POST /api/data?ids=1,2 HTTP/1.1", 404, 971),
+            entry("GET /index.html HTTP/1.1", 200, 256)
+        ), List.of("log1.txt"));
+        reporter = new CsvReporter(statistics);
+    }
+
+    @Override
+    protected Reporter reporter() {
+        return reporter;
+    }
+
+    @Test
+    @DisplayName("Проверка полного CSV-отчета")
+    public void shouldWriteFullReport() throws IOException {
+        String expected = """
+            section,key,value
+            general,file,log1.txt
+            general,from,
+            general,to,
+            general,filter_field,http_user_agent
+            general,filter_value,"Mozilla ""5.0"", curl"
+            general,total_requests,3
+            general,unique_ip_count,1
+            general,response_size_sum,1739
+            general,average_response_size,579.6666666666666
+            general,percentile95_response_size,925.1
+            resource,/index.html,2
+            resource,"/api/data?ids=1,2",1
+            status,200,2
+            status,404,1
+            method,GET,2
+            method,POST,1
+            response_size,256,1
+            response_size,512,1
+            response_size,971,1
+            """;
+
+        assertThat(writeReport()).isEqualTo(expected.replace("\n", "\r\n"));
+    }
+
+    @Test
+    @DisplayName("Проверка строк CSV-отчета")
+    public void shouldWriteRows() throws IOException {
+        List<String> rows = rows();
+
+        assertThat(rows.getFirst()).isEqualTo("section,key,value");
+        assertThat(rows).contains(
+            "general,file,log1.txt",
+            "general,from,",
+            "general,total_requests,3",
+            "general,response_size_sum,1739",
+            "resource,/index.html,2",
+            "status,200,2",
+            "status,404,1",
+            "method,GET,2",
+            "response_size,971,1"
+        );
+        assertThat(rows).filteredOn(row -> row.startsWith("diagnostics,")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Проверка экранирования значений и точных дробных значений в CSV-отчете")
+    public void shouldEscapeValues() throws IOException {
+        List<String> rows = rows();
+
+        assertThat(rows).contains(
+            "general,filter_value,\"Mozilla \"\"5.0\"\", curl\"",
+            "resource,\"/api/data?ids=1,2\",1",
+            "general,average_response_size,579.6666666666666"
+        );
+    }
+
+    @Test
+    @DisplayName("Проверка диагностики запуска в CSV-отчете")
+    public void shouldWriteDiagnostics() throws IOException {
+        statistics.recordDiagnostics(new RunDiagnostics(5, 400, 1, Map.of("format_mismatch", 1L),
+            1, 3, 10, 20, 2, 5, 40));
+
+        assertThat(rows()).contains("diagnostics,lines_read,5", "diagnostics,wall_millis,40",
+            "diagnostics,parse_failures_format_mismatch,1");
+    }
+
+    private List<String> rows() throws IOException {
+        String report = writeReport();
+        assertThat(report).endsWith("\r\n");
+        return List.of(report.split("\r\n"));
+    }
+}
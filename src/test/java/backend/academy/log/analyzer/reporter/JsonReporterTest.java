@@ -0,0 +1,118 @@
+package backend.academy.log.analyzer.reporter;
+
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
+import backend.academy.log.analyzer.reporter.impl.JsonReporter;
+import backend.academy.log.analyzer.statistics.StatisticsAccumulator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static backend.academy.log.analyzer.entry.LogEntryFixtures.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Тесты для JsonReporter")
+public class JsonReporterTest extends AbstractReporterTest {
+
+    private JsonReporter reporter;
+
+    @BeforeEach
+    public void setUp() {
+        when(cliArgs.from()).thenReturn("2024-01-01");
+        when(cliArgs.filterField()).thenReturn("status");
+        when(cliArgs.filterValue()).thenReturn("200");
+
+        statistics = new LogStatisticsCollector();
+        statistics.computeStatistics(Stream.of(
+            entry("GET /index.html HTTP/1.1", 200, 512),
+            entry("POST /api/data HTTP/1.1", 404, 971),
+            entry("GET /index.html HTTP/1.1", 200, 256),
+            entry("GET /about HTTP/1.1", 200, 256)
+        ), List.of("log2.txt", "log1.txt"));
+        reporter = new JsonReporter(statistics);
+    }
+
+    @Override
+    protected Reporter reporter() {
+        return reporter;
+    }
+
+    @Test
+    @DisplayName("Проверка общей информации и точных значений в JSON-отчете")
+    public void shouldWriteGeneralInfo() throws IOException {
+        JsonNode report = readReport();
+
+        assertThat(report.get("files")).extracting(JsonNode::asText).containsExactly("log1.txt", "log2.txt");
+        assertThat(report.get("from").asText()).isEqualTo("2024-01-01");
+        assertThat(report.get("to").isNull()).isTrue();
+        assertThat(report.get("filterField").asText()).isEqualTo("status");
+        assertThat(report.get("filterValue").asText()).isEqualTo("200");
+        assertThat(report.get("totalRequests").asLong()).isEqualTo(4);
+        assertThat(report.get("uniqueIpCount").asInt()).isEqualTo(1);
+        assertThat(report.get("responseSizeSum").asLong()).isEqualTo(1995);
+        assertThat(report.get("averageResponseSize").asDouble()).isEqualTo(498.75);
+        assertThat(report.get("percentile95ResponseSize").asDouble())
+            .isEqualTo(statistics.exactPercentile95ResponseSize());
+        assertThat(report.has("diagnostics")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Проверка полных частотных таблиц и гистограммы в JSON-отчете")
+    public void shouldWriteAllFrequencies() throws IOException {
+        JsonNode report = readReport();
+
+        assertThat(report.get("resources")).hasSize(3);
+        assertThat(report.get("resources").get(0).get("resource").asText()).isEqualTo("/index.html");
+        assertThat(report.get("resources").get(0).get("count").asLong()).isEqualTo(2);
+        assertThat(report.get("statuses").get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(report.get("statuses").get(0).get("name").asText()).isEqualTo(statistics.getStatusName(200));
+        assertThat(report.get("statuses").get(1).get("count").asLong()).isEqualTo(1);
+        assertThat(report.get("methods")).extracting(node -> node.get("method").asText())
+            .containsExactly("GET", "POST");
+        assertThat(report.get("responseSizes")).extracting(node -> node.get("size").asLong())
+            .containsExactly(256L, 512L, 971L);
+        assertThat(report.get("responseSizes").get(0).get("count").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Проверка диагностики запуска в JSON-отчете")
+    public void shouldWriteDiagnostics() throws IOException {
+        statistics.recordDiagnostics(new RunDiagnostics(5, 400, 1, Map.of("invalid_number", 1L),
+            0, 4, 10, 20, 0, 5, 40));
+
+        JsonNode diagnostics = readReport().get("diagnostics");
+
+        assertThat(diagnostics.get("linesRead").asLong()).isEqualTo(5);
+        assertThat(diagnostics.get("parseFailures").asLong()).isEqualTo(1);
+        assertThat(diagnostics.get("parseFailureReasons").get("invalid_number").asLong()).isEqualTo(1);
+        assertThat(diagnostics.get("wallMillis").asLong()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Проверка динамики запросов в JSON-отчете")
+    public void shouldWriteTimeSeries() throws IOException {
+        StatisticsAccumulator accumulator = new StatisticsAccumulator(60);
+        accumulator.add(entry("GET /index.html HTTP/1.1", 200, 512));
+        accumulator.add(entry("GET /missing HTTP/1.1", 404, 0));
+        statistics.computeStatistics(accumulator, List.of("log1.txt"));
+
+        JsonNode timeSeries = readReport().get("timeSeries");
+
+        assertThat(timeSeries.get("interval").asText()).isEqualTo("1m");
+        assertThat(timeSeries.get("points")).hasSize(1);
+        JsonNode point = timeSeries.get("points").get(0);
+        assertThat(point.get("start").asText()).isEqualTo("2024-08-31T12:00Z");
+        assertThat(point.get("requests").asLong()).isEqualTo(2);
+        assertThat(point.get("clientErrorRate").asDouble()).isEqualTo(50.0);
+        assertThat(point.get("bytesSent").asLong()).isEqualTo(512);
+    }
+
+    private JsonNode readReport() throws IOException {
+        return new ObjectMapper().readTree(writeReport());
+    }
+}
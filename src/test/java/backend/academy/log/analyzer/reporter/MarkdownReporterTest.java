@@ -1,9 +1,11 @@
 package backend.academy.log.analyzer.reporter;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.metrics.RunDiagnostics;
 import backend.academy.log.analyzer.reporter.impl.MarkdownReporter;
 import backend.academy.log.analyzer.statistics.LogStatisticsCollector;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -137,6 +139,86 @@ public class MarkdownReporterTest {
             | POST | 2 |""");
     }
 
+    @Test
+    @DisplayName("Проверка добавления диагностики запуска")
+    public void shouldIncludeDiagnostics() throws IOException {
+        when(statistics.diagnostics()).thenReturn(new RunDiagnostics(12, 1200, 1, Map.of("invalid_time", 1L),
+            3, 8, 4, 5, 1, 2, 20));
+
+        reporter.formatReport(tempFile.toString(), cliArgs);
+
+        String reportContent = Files.readString(tempFile, StandardCharsets.UTF_8);
+
+        assertThat(reportContent).contains("""
+            #### Диагностика запуска
+
+            |        Метрика        |     Значение      |
+            |:-------------------:|:------------:|
+            |  Прочитано строк  | 12 |
+            |  Прочитано данных  | 1200 b|
+            |  Ошибки разбора  | 1 |
+            |  Ошибки разбора: invalid_time | 1 |
+            |  Отброшено фильтрами  | 3 |
+            |  Учтено записей  | 8 |""");
+        assertThat(reportContent).contains("|  Общее время  | 20 ms |");
+    }
+
+    @Test
+    @DisplayName("Раздел диагностики не выводится, если он не запрошен")
+    public void shouldOmitDiagnosticsByDefault() throws IOException {
+        reporter.formatReport(tempFile.toString(), cliArgs);
+
+        String reportContent = Files.readString(tempFile, StandardCharsets.UTF_8);
+
+        assertThat(reportContent).doesNotContain("Диагностика запуска");
+    }
+
+    @Test
+    @DisplayName("Отчет в потоке вывода и в файле совпадает с ожидаемым")
+    public void shouldWriteSameReportToWriter() throws IOException {
+        when(statistics.getFileNames()).thenReturn("log1.txt");
+        when(statistics.totalRequests()).thenReturn(10L);
+        when(statistics.getMethods()).thenReturn(List.of(Map.entry("GET", 8L)));
+
+        reporter.formatReport(tempFile.toString(), cliArgs);
+        StringWriter writer = new StringWriter();
+        reporter.writeReport(writer, cliArgs);
+
+        String expectedReport = """
+            #### Общая информация
+
+            |        Метрика        |     Значение      |
+            |:-------------------:|:------------:|
+            |       Файл(-ы)        | `log1.txt`|
+            |    Начальная дата     | - |
+            |     Конечная дата     | - |
+            |  Поле для фильтрации  | - |
+            |Значение для фильтрации| - |
+            |  Количество запросов  | 10 |
+            | Количество уникальных IP | 0 |
+            | Средний размер ответа | 0 b|
+            |   95p размера ответа  | 0 b|
+            #### Запрашиваемые ресурсы
+
+            |     Ресурс      | Количество |
+            |:-------------------:|:------------:|
+
+            #### Коды ответа
+
+            | Код |          Имя          | Количество |
+            |:-------------------:|:----------------:|:-------------:|
+
+            #### Методы запросов
+
+            | Метод | Количество |
+            |:-------------------:|:------------:|
+            | GET | 8 |
+            """;
+
+        assertThat(writer.toString()).isEqualTo(expectedReport);
+        assertThat(Files.readString(tempFile, StandardCharsets.UTF_8)).isEqualTo(expectedReport);
+    }
+
     @Test
     @DisplayName("Обработка ошибок при записи файла")
     public void shouldHandleFileWriteError() {
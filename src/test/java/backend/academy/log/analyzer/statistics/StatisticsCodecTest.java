@@ -0,0 +1,50 @@
+package backend.academy.log.analyzer.statistics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static backend.academy.log.analyzer.entry.LogEntryFixtures.entry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Тесты StatisticsCodec")
+public class StatisticsCodecTest {
+
+    @Test
+    @DisplayName("Статистика восстанавливается без потерь")
+    public void shouldRoundTripStatistics() throws IOException {
+        StatisticsAccumulator statistics = new StatisticsAccumulator();
+        statistics.add(entry("10.0.0.1", "GET /index.html HTTP/1.1", 200, 512));
+        statistics.add(entry("10.0.0.2", "POST /api/данные HTTP/1.1", 404, 3_000_000_000L));
+        statistics.add(entry(null, null, 200, 0));
+
+        StatisticsAccumulator restored = roundTrip(statistics);
+
+        assertThat(restored.totalRequests()).isEqualTo(3);
+        assertThat(restored.responseSizeSum()).isEqualTo(3_000_000_512L);
+        assertThat(restored.resourceFrequency()).isEqualTo(statistics.resourceFrequency());
+        assertThat(restored.methodFrequency()).isEqualTo(statistics.methodFrequency());
+        assertThat(restored.statusFrequency()).isEqualTo(statistics.statusFrequency());
+        assertThat(restored.responseSizeFrequency()).isEqualTo(statistics.responseSizeFrequency());
+        assertThat(restored.uniqueIpAddresses()).containsExactlyInAnyOrder("10.0.0.1", "10.0.0.2", null);
+    }
+
+    @Test
+    @DisplayName("Данные в неизвестном формате не читаются")
+    public void shouldRejectUnknownFormat() {
+        byte[] garbage = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        assertThatThrownBy(() -> StatisticsCodec.read(new DataInputStream(new ByteArrayInputStream(garbage))))
+            .isInstanceOf(IOException.class);
+    }
+
+    private StatisticsAccumulator roundTrip(StatisticsAccumulator statistics) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StatisticsCodec.write(statistics, new DataOutputStream(bytes));
+        return StatisticsCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
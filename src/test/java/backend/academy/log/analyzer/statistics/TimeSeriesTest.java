@@ -0,0 +1,152 @@
+package backend.academy.log.analyzer.statistics;
+
+import backend.academy.log.analyzer.entry.LogEntry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Тесты TimeSeries")
+public class TimeSeriesTest {
+
+    private static final ZoneOffset ZONE = ZoneOffset.ofHours(3);
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2024, 8, 31, 12, 0, 0, 0, ZONE);
+
+    @Test
+    @DisplayName("Длина интервала разбирается и форматируется в крупных единицах")
+    public void shouldParseAndFormatInterval() {
+        assertThat(TimeSeries.parseInterval("30s")).isEqualTo(30);
+        assertThat(TimeSeries.parseInterval("5m")).isEqualTo(300);
+        assertThat(TimeSeries.parseInterval("1h")).isEqualTo(3600);
+        assertThat(TimeSeries.parseInterval("1d")).isEqualTo(86_400);
+        assertThat(TimeSeries.formatInterval(120)).isEqualTo("2m");
+        assertThat(TimeSeries.formatInterval(90)).isEqualTo("90s");
+        assertThat(TimeSeries.formatInterval(7200)).isEqualTo("2h");
+
+        assertThatThrownBy(() -> TimeSeries.parseInterval("5x")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TimeSeries.parseInterval("0m")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Запросы, ошибки и объем считаются по интервалам, пустые интервалы сохраняются")
+    public void shouldCountRequestsPerInterval() {
+        TimeSeries timeSeries = new TimeSeries(300);
+        timeSeries.add(START.plusMinutes(11), 200, 100);
+        timeSeries.add(START.plusSeconds(10), 404, 50);
+        timeSeries.add(START.plusMinutes(4), 503, 10);
+        timeSeries.add(START.plusMinutes(12), 200, 40);
+
+        assertThat(timeSeries.bucketCount()).isEqualTo(3);
+        assertThat(timeSeries.bucketStart(0)).isEqualTo(OffsetDateTime.of(2024, 8, 31, 12, 0, 0, 0, ZONE));
+        assertThat(timeSeries.requests(0)).isEqualTo(2);
+        assertThat(timeSeries.clientErrors(0)).isEqualTo(1);
+        assertThat(timeSeries.serverErrors(0)).isEqualTo(1);
+        assertThat(timeSeries.bytesSent(0)).isEqualTo(60);
+        assertThat(timeSeries.requests(1)).isZero();
+        assertThat(timeSeries.percentile95ResponseSize(1)).isZero();
+        assertThat(timeSeries.bucketStart(2)).isEqualTo(OffsetDateTime.of(2024, 8, 31, 12, 10, 0, 0, ZONE));
+        assertThat(timeSeries.requests(2)).isEqualTo(2);
+        assertThat(timeSeries.bytesSent(2)).isEqualTo(140);
+    }
+
+    @Test
+    @DisplayName("Границы интервалов совпадают с границами часов и суток в часовом поясе логов")
+    public void shouldAlignBucketsToLogOffset() {
+        ZoneOffset india = ZoneOffset.ofHoursMinutes(5, 30);
+        TimeSeries hourly = new TimeSeries(3600);
+        hourly.add(ZonedDateTime.of(2024, 8, 31, 10, 10, 0, 0, india), 200, 10);
+        hourly.add(ZonedDateTime.of(2024, 8, 31, 10, 50, 0, 0, india), 200, 10);
+
+        assertThat(hourly.bucketCount()).isEqualTo(1);
+        assertThat(hourly.bucketStart(0)).isEqualTo(OffsetDateTime.of(2024, 8, 31, 10, 0, 0, 0, india));
+
+        TimeSeries daily = new TimeSeries(86_400);
+        daily.add(ZonedDateTime.of(2024, 8, 31, 0, 30, 0, 0, ZONE), 200, 10);
+        daily.add(ZonedDateTime.of(2024, 8, 31, 23, 30, 0, 0, ZONE), 200, 10);
+
+        assertThat(daily.bucketCount()).isEqualTo(1);
+        assertThat(daily.bucketStart(0)).isEqualTo(OffsetDateTime.of(2024, 8, 31, 0, 0, 0, 0, ZONE));
+
+        TimeSeries utc = new TimeSeries(86_400);
+        utc.add(ZonedDateTime.of(2024, 8, 31, 12, 0, 0, 0, ZoneOffset.UTC), 500, 10);
+        daily.merge(utc);
+
+        assertThat(daily.bucketCount()).isEqualTo(1);
+        assertThat(daily.requests(0)).isEqualTo(3);
+        assertThat(daily.serverErrors(0)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("95-й процентиль размера ответа оценивается с погрешностью в пределах корзины")
+    public void shouldEstimatePercentile() {
+        TimeSeries timeSeries = new TimeSeries(60);
+        for (int size = 1; size <= 1000; size++) {
+            timeSeries.add(START, 200, size);
+        }
+
+        assertThat((double) timeSeries.percentile95ResponseSize(0)).isCloseTo(950, within(950 * 0.25));
+    }
+
+    @Test
+    @DisplayName("Объединение динамик совпадает с последовательным добавлением")
+    public void shouldMergeTimeSeries() {
+        TimeSeries early = new TimeSeries(60);
+        early.add(START, 200, 10);
+        TimeSeries late = new TimeSeries(60);
+        late.add(START.plusMinutes(3), 500, 20);
+
+        late.merge(early);
+
+        assertThat(late.bucketCount()).isEqualTo(4);
+        assertThat(late.bucketStart(0).toInstant()).isEqualTo(START.toInstant());
+        assertThat(late.requests(0)).isEqualTo(1);
+        assertThat(late.serverErrors(3)).isEqualTo(1);
+        assertThatThrownBy(() -> late.merge(new TimeSeries(300))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Слишком большое количество интервалов отклоняется")
+    public void shouldRejectTooManyBuckets() {
+        TimeSeries timeSeries = new TimeSeries(1);
+        timeSeries.add(START, 200, 10);
+
+        assertThatThrownBy(() -> timeSeries.add(START.plusSeconds(TimeSeries.MAX_BUCKETS), 200, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Динамика запросов сохраняется и восстанавливается вместе со статистикой")
+    public void shouldRoundTripThroughCodec() throws IOException {
+        StatisticsAccumulator statistics = new StatisticsAccumulator(60);
+        statistics.add(entry(START, 200, 512));
+        statistics.add(entry(START.plusMinutes(2), 404, 3_000_000_000L));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StatisticsCodec.write(statistics, new DataOutputStream(bytes));
+        StatisticsAccumulator restored =
+            StatisticsCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        TimeSeries timeSeries = restored.timeSeries();
+        assertThat(timeSeries.intervalSeconds()).isEqualTo(60);
+        assertThat(timeSeries.bucketCount()).isEqualTo(3);
+        assertThat(timeSeries.bucketStart(0)).isEqualTo(START.toOffsetDateTime());
+        assertThat(timeSeries.clientErrors(2)).isEqualTo(1);
+        assertThat(timeSeries.bytesSent(2)).isEqualTo(3_000_000_000L);
+        assertThat(timeSeries.percentile95ResponseSize(0))
+            .isEqualTo(statistics.timeSeries().percentile95ResponseSize(0));
+    }
+
+    private LogEntry entry(ZonedDateTime time, int status, long bodyBytesSent) {
+        return new LogEntry("10.0.0.1", null, time, "GET / HTTP/1.1", status, bodyBytesSent, null, null);
+    }
+}
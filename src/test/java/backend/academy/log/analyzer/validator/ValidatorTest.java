@@ -1,7 +1,9 @@
 package backend.academy.log.analyzer.validator;
 
 import backend.academy.log.analyzer.arguments.CliArguments;
+import backend.academy.log.analyzer.arguments.MergeArguments;
 import backend.academy.log.analyzer.arguments.Validator;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -165,4 +167,76 @@ public class ValidatorTest {
 
         assertThat(isValid).isTrue();
     }
+
+    @Test
+    @DisplayName("Должен вернуть false, если режим выполнения не поддерживается")
+    public void shouldReturnFalseWhenExecutionModeIsInvalid() {
+        when(cliArgs.path()).thenReturn("/valid/path");
+        when(cliArgs.execution()).thenReturn("distributed");
+
+        boolean isValid = validator.validate(cliArgs);
+
+        assertThat(isValid).isFalse();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть false, если интервал вывода хода обработки отрицательный")
+    public void shouldReturnFalseWhenProgressIntervalIsNegative() {
+        when(cliArgs.path()).thenReturn("/valid/path");
+        when(cliArgs.progressInterval()).thenReturn(-1L);
+
+        boolean isValid = validator.validate(cliArgs);
+
+        assertThat(isValid).isFalse();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть false, если интервал динамики запросов задан неверно")
+    public void shouldReturnFalseWhenTimeSeriesIntervalIsInvalid() {
+        when(cliArgs.path()).thenReturn("/valid/path");
+        when(cliArgs.timeSeries()).thenReturn("5 minutes");
+
+        boolean isValid = validator.validate(cliArgs);
+
+        assertThat(isValid).isFalse();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть false, если формат строк лога нельзя разобрать")
+    public void shouldReturnFalseWhenLogFormatIsInvalid() {
+        when(cliArgs.path()).thenReturn("/valid/path");
+        when(cliArgs.logFormat()).thenReturn("$remote_addr $status");
+
+        boolean isValid = validator.validate(cliArgs);
+
+        assertThat(isValid).isFalse();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть false для команды merge без файлов частичных результатов")
+    public void shouldReturnFalseWhenMergeInputsAreEmpty() {
+        MergeArguments mergeArgs = spy(MergeArguments.class);
+        when(mergeArgs.inputs()).thenReturn(List.of());
+
+        assertThat(validator.validate(mergeArgs)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть false для команды merge с неподдерживаемым форматом")
+    public void shouldReturnFalseWhenMergeFormatIsInvalid() {
+        MergeArguments mergeArgs = spy(MergeArguments.class);
+        when(mergeArgs.inputs()).thenReturn(List.of("host1.lap"));
+        when(mergeArgs.format()).thenReturn("xml");
+
+        assertThat(validator.validate(mergeArgs)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Должен вернуть true для валидной команды merge")
+    public void shouldReturnTrueWhenMergeArgumentsAreValid() {
+        MergeArguments mergeArgs = spy(MergeArguments.class);
+        when(mergeArgs.inputs()).thenReturn(List.of("host1.lap", "host2.lap"));
+
+        assertThat(validator.validate(mergeArgs)).isTrue();
+    }
 }
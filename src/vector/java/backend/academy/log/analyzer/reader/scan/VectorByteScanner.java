@@ -0,0 +1,34 @@
+package backend.academy.log.analyzer.reader.scan;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Поиск байта с помощью Vector API: массив сравнивается с искомым байтом блоками по 32 или 64 байта
+ * (по ширине векторных регистров процессора), остаток диапазона проверяется последовательно.
+ * Требует модуля {@code jdk.incubator.vector}, поэтому собирается только в профиле {@code vector};
+ * создается только через {@link ByteScanners}.
+ */
+public class VectorByteScanner implements ByteScanner {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    public int indexOf(byte[] data, int from, int to, byte value) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Byte> matches = ByteVector.fromArray(SPECIES, data, i).eq(value);
+            if (matches.anyTrue()) {
+                return i + matches.firstTrue();
+            }
+        }
+        for (; i < to; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}